@@ -0,0 +1,59 @@
+package skolard.benchmark;
+
+import java.io.File;
+import java.time.LocalDate;
+
+import skolard.persistence.sqlite.DatasetGenerator;
+
+/**
+ * Generated SQLite databases shared by the benchmarks.
+ * A database is generated once per size and kept under {@code build/jmh-data}
+ * (or the {@code skolard.benchmark.dataDir} property), so later runs and forks reuse it.
+ */
+final class BenchmarkDatabases {
+
+    /** The course the generated tutors teach most, so searches have the most rows to work through. */
+    static final String POPULAR_COURSE = DatasetGenerator.courseCode(0);
+
+    private static final long SEED = 20250601L;
+
+    private BenchmarkDatabases() {}
+
+    /**
+     * Returns the database with the given number of sessions, generating it first if needed.
+     * Tutors, students and messages scale with the session count.
+     *
+     * @param sessions number of sessions in the database
+     * @return path of the database file
+     */
+    static synchronized String withSessions(int sessions) {
+        File dir = new File(System.getProperty("skolard.benchmark.dataDir", "build/jmh-data"));
+        // The anchor is part of the name: sessions are spread around it, and a database
+        // generated on an earlier day has fewer upcoming sessions to search
+        File db = new File(dir, "sessions-" + sessions + "-" + LocalDate.now() + ".db");
+        if (!db.exists()) {
+            dir.mkdirs();
+            new DatasetGenerator(SEED)
+                .sessions(sessions)
+                .tutors(tutors(sessions))
+                .students(students(sessions))
+                .conversations(Math.max(10, sessions / 20))
+                .messages(sessions * 2)
+                .ratings(sessions / 5)
+                .ratingRequests(sessions / 4)
+                .supportTickets(sessions / 50)
+                .generate(db.getPath());
+        }
+        return db.getPath();
+    }
+
+    /** @return number of tutors in the database with the given number of sessions */
+    static int tutors(int sessions) {
+        return Math.max(50, sessions / 100);
+    }
+
+    /** @return number of students in the database with the given number of sessions */
+    static int students(int sessions) {
+        return Math.max(100, sessions / 10);
+    }
+}
@@ -0,0 +1,150 @@
+package skolard.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a JMH CSV result file against a baseline and fails if any benchmark got slower
+ * than the allowed margin. Benchmarks are matched by name, mode and parameters; ones missing from
+ * either file are listed but never fail the check. A missing baseline file fails it too, so a
+ * lost or misnamed baseline cannot pass silently, unless --allow-missing-baseline is given.
+ *
+ * Usage: {@code BenchmarkRegressionCheck [--allow-missing-baseline] <baseline.csv> <results.csv> [maxSlowdown]},
+ * where maxSlowdown is a fraction, 0.2 (20%) by default.
+ */
+public final class BenchmarkRegressionCheck {
+
+    private BenchmarkRegressionCheck() {}
+
+    private static final String ALLOW_MISSING_BASELINE = "--allow-missing-baseline";
+
+    public static void main(String[] args) throws IOException {
+        List<String> positional = new ArrayList<>(List.of(args));
+        boolean allowMissingBaseline = positional.remove(ALLOW_MISSING_BASELINE);
+        args = positional.toArray(new String[0]);
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkRegressionCheck [" + ALLOW_MISSING_BASELINE
+                + "] <baseline.csv> <results.csv> [maxSlowdown]");
+            System.exit(2);
+        }
+        Path baselineFile = Path.of(args[0]);
+        if (!Files.exists(baselineFile)) {
+            if (allowMissingBaseline) {
+                System.out.println("No baseline at " + baselineFile + "; copy a results file there to start checking.");
+                return;
+            }
+            System.err.println("No baseline at " + baselineFile + "; copy a results file from the reference machine "
+                + "there, or pass " + ALLOW_MISSING_BASELINE + " to skip the check.");
+            System.exit(1);
+        }
+
+        double maxSlowdown = args.length > 2 ? Double.parseDouble(args[2]) : 0.2;
+        Map<String, Result> baseline = read(baselineFile);
+        Map<String, Result> results = read(Path.of(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, Result> entry : results.entrySet()) {
+            Result before = baseline.get(entry.getKey());
+            Result now = entry.getValue();
+            if (before == null) {
+                System.out.printf("NEW        %s: %.3f %s%n", entry.getKey(), now.score, now.unit);
+                continue;
+            }
+
+            double slowdown = now.slowdownFrom(before);
+            boolean regressed = slowdown > maxSlowdown;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-10s %s: %.3f -> %.3f %s (%+.1f%%)%n", regressed ? "REGRESSED" : "ok",
+                entry.getKey(), before.score, now.score, now.unit, slowdown * 100);
+        }
+        for (String key : baseline.keySet()) {
+            if (!results.containsKey(key)) {
+                System.out.println("MISSING    " + key);
+            }
+        }
+
+        if (regressions > 0) {
+            System.err.printf("%d benchmark(s) slower than the baseline by more than %.0f%%%n",
+                regressions, maxSlowdown * 100);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads a JMH CSV file, keyed by benchmark name and mode followed by its parameter values.
+     */
+    static Map<String, Result> read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file);
+        List<String> header = parseLine(lines.get(0));
+        int benchmark = header.indexOf("Benchmark");
+        int mode = header.indexOf("Mode");
+        int score = header.indexOf("Score");
+        int unit = header.indexOf("Unit");
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields = parseLine(line);
+            // One benchmark can run in several modes, e.g. throughput and sampled latency
+            StringBuilder key = new StringBuilder(fields.get(benchmark)).append(" [").append(fields.get(mode)).append(']');
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).startsWith("Param: ") && i < fields.size() && !fields.get(i).isEmpty()) {
+                    key.append(' ').append(header.get(i).substring(7)).append('=').append(fields.get(i));
+                }
+            }
+            results.put(key.toString(),
+                new Result(fields.get(mode), Double.parseDouble(fields.get(score)), fields.get(unit)));
+        }
+        return results;
+    }
+
+    private static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (char c : line.toCharArray()) {
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    static final class Result {
+        final String mode;
+        final double score;
+        final String unit;
+
+        Result(String mode, double score, String unit) {
+            this.mode = mode;
+            this.score = score;
+            this.unit = unit;
+        }
+
+        /**
+         * @return how much slower this result is than the baseline, as a fraction; negative if faster
+         */
+        double slowdownFrom(Result baseline) {
+            // Throughput is better when higher; every other mode measures time
+            if (mode.equals("thrpt")) {
+                return baseline.score / score - 1;
+            }
+            return score / baseline.score - 1;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package skolard.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import skolard.logic.booking.BookingHandler;
+import skolard.logic.booking.BookingHandler.SessionFilter;
+import skolard.objects.Session;
+
+/**
+ * The student's session search: {@link BookingHandler#getAvailableSessions} for the most
+ * popular course, under each filter and with none, on both backends and several dataset sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingSearchBenchmark {
+
+    /** A {@link SessionFilter} name, or NONE for the unfiltered search. */
+    @Param({"NONE", "RATE", "TIME", "TUTOR"})
+    public String filter;
+
+    private BookingHandler handler;
+    private SessionFilter sessionFilter;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @Setup(Level.Trial)
+    public void setup(SessionData data) {
+        handler = new BookingHandler(data.sessionDB);
+        sessionFilter = filter.equals("NONE") ? null : SessionFilter.valueOf(filter);
+        // The next two months, as a student picking a time range would
+        start = LocalDateTime.now().plusDays(1);
+        end = start.plusDays(60);
+    }
+
+    @Benchmark
+    public List<Session> search() {
+        return handler.getAvailableSessions(sessionFilter, BenchmarkDatabases.POPULAR_COURSE, start, end, null);
+    }
+}
@@ -0,0 +1,167 @@
+package skolard.benchmark;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import skolard.Config.Config;
+import skolard.logic.booking.BookingHandler.SessionFilter;
+import skolard.objects.Message;
+import skolard.objects.RatingRequest;
+import skolard.objects.Session;
+import skolard.objects.Student;
+import skolard.persistence.SessionPage;
+import skolard.persistence.sqlite.DatasetGenerator;
+
+/**
+ * What a simulated user does in one go, calling the handlers in the order the views would.
+ * Each step is timed under its own name in {@link LoadStats}.
+ */
+enum LoadScenario {
+
+    /** A student logs in and pages through the sessions of a course without booking. */
+    SEARCH {
+        @Override
+        void run(LoadUser user) {
+            Student student = user.logInStudent(user.anyStudent());
+            SessionFilter filter = anyFilter(user);
+            String course = anyCourse(user);
+            String cursor = null;
+            int pages = 1 + user.random.nextInt(3);
+            for (int i = 0; i < pages; i++) {
+                SessionPage page = search(user, filter, course, student, cursor);
+                if (!page.hasNext()) {
+                    break;
+                }
+                cursor = page.getNextCursor();
+            }
+        }
+    },
+
+    /**
+     * A student logs in, searches a course, books one of the first few results and pays for it.
+     * Students all look at the top of the same list, so they compete for the same sessions;
+     * a student who loses a session to another one tries the next result.
+     */
+    BOOK {
+        @Override
+        void run(LoadUser user) {
+            Student student = user.logInStudent(user.anyStudent());
+            List<Session> results = search(user, anyFilter(user), anyCourse(user), student, null).getSessions();
+
+            int tries = Math.min(results.size(), BOOKING_TRIES);
+            for (int i = 0; i < tries; i++) {
+                int sessionId = results.get(i).getSessionId();
+                // A lost session is an expected outcome of the step, not an error
+                boolean booked = user.stats.time("book", () -> {
+                    try {
+                        user.sessions.bookASession(student, sessionId);
+                        return true;
+                    } catch (IllegalArgumentException e) {
+                        return false;
+                    }
+                });
+                if (!booked) {
+                    user.stats.conflict();
+                    continue;
+                }
+
+                boolean saveCard = user.random.nextInt(4) == 0;
+                String card = anyCardNumber(user);
+                user.stats.time("pay", () -> user.payments.payWithCard("Load Test", card, CARD_EXPIRY, "123",
+                    saveCard, student));
+                return;
+            }
+        }
+    },
+
+    /** A student and a tutor exchange a burst of messages, then the student reloads the conversation. */
+    CHAT {
+        @Override
+        void run(LoadUser user) {
+            String student = user.anyStudent();
+            String tutor = user.anyTutor();
+            int burst = 1 + user.random.nextInt(10);
+            for (int i = 0; i < burst; i++) {
+                String sender = user.random.nextBoolean() ? student : tutor;
+                Message message = new Message(0, LocalDateTime.now(), student, tutor, sender, "Load test message " + i);
+                user.stats.time("chat.send", () -> user.messages.sendMessage(message));
+            }
+            user.stats.time("chat.history", () -> user.messages.getMessageHistory(student, tutor));
+        }
+    },
+
+    /** A student logs in, opens their pending rating requests and rates the first one. */
+    RATE {
+        @Override
+        void run(LoadUser user) {
+            Student student = user.logInStudent(user.anyStudent());
+            List<RatingRequest> pending = user.stats.time("rating.pending",
+                () -> user.ratings.getPendingRequestsForStudent(student));
+            if (pending.isEmpty()) {
+                return;
+            }
+            int rating = 1 + user.random.nextInt(5);
+            user.stats.time("rating.submit", () -> user.ratings.processRatingSubmission(pending.get(0), rating));
+        }
+    };
+
+    // Searches go to the most taught courses, where the rush is
+    private static final int POPULAR_COURSES = 5;
+
+    // Results a student tries to book before giving up
+    private static final int BOOKING_TRIES = 3;
+
+    private static final String CARD_EXPIRY = YearMonth.now().plusYears(2).format(DateTimeFormatter.ofPattern("MM/yy"));
+
+    /**
+     * Runs the scenario once for the given user.
+     *
+     * @throws RuntimeException if a step fails; the step has already been counted
+     */
+    abstract void run(LoadUser user);
+
+    private static SessionPage search(LoadUser user, SessionFilter filter, String course, Student student,
+                                      String cursor) {
+        LocalDateTime start = LocalDateTime.now();
+        return user.stats.time("search", () -> user.booking.getAvailableSessionsPage(filter, course, start,
+            start.plusDays(30), student.getEmail(), cursor, Config.SESSION_PAGE_SIZE));
+    }
+
+    /** @return a random search filter, or null for the unfiltered search */
+    private static SessionFilter anyFilter(LoadUser user) {
+        SessionFilter[] filters = SessionFilter.values();
+        int pick = user.random.nextInt(filters.length + 1);
+        return pick == filters.length ? null : filters[pick];
+    }
+
+    /**
+     * A new 16-digit card number with a valid Luhn check digit, so PaymentHandler accepts it
+     * and saving it never collides with a card the student saved before.
+     */
+    private static String anyCardNumber(LoadUser user) {
+        int[] digits = new int[16];
+        digits[0] = 4;
+        for (int i = 1; i < 15; i++) {
+            digits[i] = user.random.nextInt(10);
+        }
+        int sum = 0;
+        for (int i = 14; i >= 0; i--) {
+            // Every second digit from the right of the check digit is doubled
+            int digit = (14 - i) % 2 == 0 ? digits[i] * 2 : digits[i];
+            sum += digit > 9 ? digit - 9 : digit;
+        }
+        digits[15] = (10 - sum % 10) % 10;
+
+        StringBuilder number = new StringBuilder();
+        for (int digit : digits) {
+            number.append(digit);
+        }
+        return number.toString();
+    }
+
+    private static String anyCourse(LoadUser user) {
+        return DatasetGenerator.courseCode(user.random.nextInt(POPULAR_COURSES));
+    }
+}
@@ -0,0 +1,161 @@
+package skolard.benchmark;
+
+import java.io.PrintStream;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Latencies and outcome counts gathered by the load test.
+ * Each simulated user records into its own instance, so recording never contends;
+ * the instances are merged into one once the stage is over.
+ */
+final class LoadStats {
+
+    // SQLite result codes, whose extended variants keep them in the low byte
+    private static final int SQLITE_BUSY = 5;
+    private static final int SQLITE_LOCKED = 6;
+
+    private final Map<String, Operation> operations = new LinkedHashMap<>();
+    private final Map<LoadScenario, Long> scenarios = new LinkedHashMap<>();
+    private long busy;
+    private long conflicts;
+
+    /**
+     * Runs one step of a scenario and records how long it took, whether or not it succeeded.
+     * A failure is counted against the step and rethrown.
+     *
+     * @param name the step's name in the report, e.g. "book"
+     * @param step the call into the logic layer
+     * @return the step's result
+     */
+    <T> T time(String name, Supplier<T> step) {
+        Operation operation = operations.computeIfAbsent(name, n -> new Operation());
+        long start = System.nanoTime();
+        try {
+            T result = step.get();
+            operation.record(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            operation.record(System.nanoTime() - start);
+            operation.errors++;
+            if (isBusy(e)) {
+                busy++;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs one step that returns nothing, as {@link #time(String, Supplier)}.
+     */
+    void time(String name, Runnable step) {
+        time(name, () -> {
+            step.run();
+            return null;
+        });
+    }
+
+    /** Counts a booking lost to another student who booked the same session first. */
+    void conflict() {
+        conflicts++;
+    }
+
+    /** Counts a scenario that ran to the end. */
+    void completed(LoadScenario scenario) {
+        scenarios.merge(scenario, 1L, Long::sum);
+    }
+
+    /**
+     * Adds another user's numbers to these.
+     */
+    void merge(LoadStats other) {
+        other.operations.forEach((name, operation) ->
+            operations.computeIfAbsent(name, n -> new Operation()).merge(operation));
+        other.scenarios.forEach((scenario, count) -> scenarios.merge(scenario, count, Long::sum));
+        busy += other.busy;
+        conflicts += other.conflicts;
+    }
+
+    /**
+     * Prints throughput and latency percentiles per step, then the completed scenarios
+     * and the SQLITE_BUSY and booking conflict counts.
+     *
+     * @param out     where to print
+     * @param seconds how long the stage ran, for throughput
+     */
+    void report(PrintStream out, double seconds) {
+        out.printf("%-16s %9s %9s %7s %9s %9s %9s %9s%n",
+            "step", "count", "ops/s", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        operations.forEach((name, operation) -> {
+            long[] sorted = operation.sorted();
+            out.printf("%-16s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f%n", name, sorted.length,
+                sorted.length / seconds, operation.errors, millis(sorted, 0.50), millis(sorted, 0.95),
+                millis(sorted, 0.99), millis(sorted, 1.0));
+        });
+
+        long total = 0;
+        for (Map.Entry<LoadScenario, Long> entry : scenarios.entrySet()) {
+            out.printf("scenario %-7s %9d %9.1f/s%n", entry.getKey(), entry.getValue(), entry.getValue() / seconds);
+            total += entry.getValue();
+        }
+        out.printf("scenarios total  %9d %9.1f/s%n", total, total / seconds);
+        out.printf("SQLITE_BUSY      %9d%n", busy);
+        out.printf("booking conflicts %8d%n", conflicts);
+    }
+
+    /**
+     * @return the latency at the given quantile, in milliseconds, using the nearest-rank method
+     */
+    private static double millis(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+
+    /**
+     * @return true if the failure was SQLite reporting a locked database, however deeply it is wrapped
+     */
+    static boolean isBusy(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql) {
+                int code = sql.getErrorCode() & 0xff;
+                if (code == SQLITE_BUSY || code == SQLITE_LOCKED) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** Every latency recorded for one step, in nanoseconds. */
+    private static final class Operation {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        void merge(Operation other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i]);
+            }
+            errors += other.errors;
+        }
+
+        long[] sorted() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
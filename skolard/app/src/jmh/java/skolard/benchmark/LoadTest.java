@@ -0,0 +1,191 @@
+package skolard.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import skolard.Config.Config;
+import skolard.persistence.ConnectionManager;
+import skolard.persistence.PersistenceMetrics;
+import skolard.persistence.PersistenceProvider;
+
+/**
+ * Headless load test: simulated students and tutors drive the logic layer concurrently,
+ * one virtual thread each, against a copy of a generated SQLite database. No views are involved.
+ * Each user repeatedly picks a {@link LoadScenario} from the configured mix and runs it until the
+ * stage ends. A stage is run for every user count given, each on a fresh copy of the database,
+ * so the report shows how throughput and latency change as the load grows.
+ *
+ * Usage: {@code LoadTest [setting=value ...]}, with the settings
+ * <ul>
+ *   <li>users: comma-separated user counts, one stage each (default 10,50,200)</li>
+ *   <li>seconds: length of each stage (default 30)</li>
+ *   <li>sessions: size of the generated database, as for the benchmarks (default 10000)</li>
+ *   <li>readers: read-only connections in the pool; 0 sends everything through the writer
+ *       (default {@link Config#DB_READER_POOL_SIZE})</li>
+ *   <li>mix: scenario weights (default search:40,book:30,chat:20,rate:10)</li>
+ *   <li>thinkMs: average pause between a user's scenarios (default 0, no pause)</li>
+ *   <li>seed: seed of the users' random choices (default 42)</li>
+ * </ul>
+ * The busy timeout, caches and message write-behind are set with the usual skolard.* properties.
+ * Each stage's report ends with the per-method persistence metrics, which show the queries behind
+ * a slow step, and the prepared statement cache counts, which show whether the cache is big enough.
+ */
+public final class LoadTest {
+
+    private final int[] userCounts;
+    private final int seconds;
+    private final int sessions;
+    private final int readers;
+    private final Map<LoadScenario, Integer> mix;
+    private final int thinkMs;
+    private final long seed;
+
+    private LoadTest(Map<String, String> settings) {
+        this.userCounts = parseCounts(settings.getOrDefault("users", "10,50,200"));
+        this.seconds = Integer.parseInt(settings.getOrDefault("seconds", "30"));
+        this.sessions = Integer.parseInt(settings.getOrDefault("sessions", "10000"));
+        this.readers = Integer.parseInt(settings.getOrDefault("readers", String.valueOf(Config.DB_READER_POOL_SIZE)));
+        this.mix = parseMix(settings.getOrDefault("mix", "search:40,book:30,chat:20,rate:10"));
+        this.thinkMs = Integer.parseInt(settings.getOrDefault("thinkMs", "0"));
+        this.seed = Long.parseLong(settings.getOrDefault("seed", "42"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> settings = new LinkedHashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected setting=value but got: " + arg);
+            }
+            settings.put(pair[0], pair[1]);
+        }
+
+        LoadTest test = new LoadTest(settings);
+        String dataset = BenchmarkDatabases.withSessions(test.sessions);
+        for (int users : test.userCounts) {
+            System.out.printf("%n== %d users, %d s, %d readers, busy timeout %d ms, mix %s ==%n",
+                users, test.seconds, test.readers, Config.DB_BUSY_TIMEOUT_MS, test.mix);
+            PersistenceMetrics.reset();
+            test.runStage(dataset, users).report(System.out, test.seconds);
+            System.out.println();
+            if (Config.PERSISTENCE_METRICS) {
+                PersistenceMetrics.dump(System.out);
+            } else {
+                PersistenceMetrics.dumpCaches(System.out);
+            }
+        }
+    }
+
+    /**
+     * Runs one stage on a fresh copy of the dataset.
+     *
+     * @return the merged statistics of every user
+     */
+    private LoadStats runStage(String dataset, int users) throws Exception {
+        Path copy = Files.createTempFile("skolard-load", ".db");
+        Files.copy(Path.of(dataset), copy, StandardCopyOption.REPLACE_EXISTING);
+        try {
+            ConnectionManager.initialize(copy.toString(), readers);
+            PersistenceProvider.initializeSqlite(ConnectionManager.getSource());
+
+            List<LoadUser> all = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                all.add(new LoadUser(seed + i, BenchmarkDatabases.students(sessions),
+                    BenchmarkDatabases.tutors(sessions)));
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            // Closing the executor waits for every user to finish
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (LoadUser user : all) {
+                    executor.submit(() -> drive(user, deadline));
+                }
+            }
+
+            LoadStats total = new LoadStats();
+            all.forEach(user -> total.merge(user.stats));
+            return total;
+        } finally {
+            // Also flushes any messages still queued behind the write-behind writer
+            ConnectionManager.close();
+            deleteDatabase(copy);
+        }
+    }
+
+    private void drive(LoadUser user, long deadline) {
+        while (System.nanoTime() < deadline) {
+            LoadScenario scenario = pick(user.random);
+            try {
+                scenario.run(user);
+                user.stats.completed(scenario);
+            } catch (RuntimeException e) {
+                // Already counted against the step that failed; the user moves on
+            }
+
+            if (thinkMs > 0) {
+                try {
+                    Thread.sleep(user.random.nextInt(2 * thinkMs));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /** @return a scenario chosen with the probabilities of the configured mix */
+    private LoadScenario pick(SplittableRandom random) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<LoadScenario, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Scenario mix is empty");
+    }
+
+    private static int[] parseCounts(String value) {
+        String[] parts = value.split(",");
+        int[] counts = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            counts[i] = Integer.parseInt(parts[i].trim());
+        }
+        return counts;
+    }
+
+    private static Map<LoadScenario, Integer> parseMix(String value) {
+        Map<LoadScenario, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] pair = part.split(":", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected scenario:weight but got: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                mix.put(LoadScenario.valueOf(pair[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Scenario mix has no positive weights: " + value);
+        }
+        return mix;
+    }
+
+    private static void deleteDatabase(Path db) throws IOException {
+        Files.deleteIfExists(db);
+        Files.deleteIfExists(Path.of(db + "-wal"));
+        Files.deleteIfExists(Path.of(db + "-shm"));
+    }
+}
@@ -0,0 +1,78 @@
+package skolard.benchmark;
+
+import java.util.SplittableRandom;
+
+import skolard.logic.auth.LoginHandler;
+import skolard.logic.booking.BookingHandler;
+import skolard.logic.message.MessageHandler;
+import skolard.logic.payment.PaymentHandler;
+import skolard.logic.rating.RatingHandler;
+import skolard.logic.session.SessionHandler;
+import skolard.objects.LoginCredentials;
+import skolard.objects.Student;
+import skolard.persistence.PersistenceRegistry;
+import skolard.persistence.StudentPersistence;
+import skolard.persistence.sqlite.DatasetGenerator;
+
+/**
+ * One simulated user of the load test, with the handlers the views would use.
+ * Each user runs on its own virtual thread and keeps its own random numbers and statistics.
+ * The handlers are built over the persistence registered in {@link PersistenceRegistry},
+ * as the views build theirs.
+ */
+final class LoadUser {
+
+    final BookingHandler booking;
+    final SessionHandler sessions;
+    final MessageHandler messages;
+    final RatingHandler ratings;
+    final PaymentHandler payments;
+    final LoginHandler login;
+    final StudentPersistence students;
+
+    final SplittableRandom random;
+    final LoadStats stats = new LoadStats();
+
+    private final int studentCount;
+    private final int tutorCount;
+
+    LoadUser(long seed, int studentCount, int tutorCount) {
+        this.booking = new BookingHandler(PersistenceRegistry.getSessionPersistence());
+        this.sessions = new SessionHandler(PersistenceRegistry.getSessionPersistence(),
+            PersistenceRegistry.getRatingRequestPersistence());
+        this.messages = new MessageHandler(PersistenceRegistry.getMessagePersistence());
+        this.ratings = new RatingHandler(PersistenceRegistry.getRatingRequestPersistence(),
+            PersistenceRegistry.getRatingPersistence());
+        this.payments = new PaymentHandler(PersistenceRegistry.getCardPersistence());
+        this.login = new LoginHandler(PersistenceRegistry.getLoginPersistence());
+        this.students = PersistenceRegistry.getStudentPersistence();
+        this.random = new SplittableRandom(seed);
+        this.studentCount = studentCount;
+        this.tutorCount = tutorCount;
+    }
+
+    /** @return the email of a random generated student */
+    String anyStudent() {
+        return DatasetGenerator.studentEmail(random.nextInt(studentCount));
+    }
+
+    /** @return the email of a random generated tutor */
+    String anyTutor() {
+        return DatasetGenerator.tutorEmail(random.nextInt(tutorCount));
+    }
+
+    /**
+     * Logs a student in and loads their profile, as the login screen does.
+     *
+     * @return the logged-in student
+     * @throws IllegalStateException if the login is refused
+     */
+    Student logInStudent(String email) {
+        return stats.time("login", () -> {
+            if (!login.login(new LoginCredentials(email, "password", "student"))) {
+                throw new IllegalStateException("Login refused for " + email);
+            }
+            return students.getStudentByEmail(email);
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package skolard.benchmark;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import skolard.logic.booking.GradeComparator;
+import skolard.logic.booking.TimeComparator;
+import skolard.logic.booking.TutorComparator;
+import skolard.objects.Session;
+import skolard.persistence.ConnectionPool;
+import skolard.persistence.sqlite.SessionDB;
+
+/**
+ * The in-memory rankings in logic.booking, over every session of the dataset.
+ * They rank a list already loaded by either backend, so only the dataset size varies.
+ * Building the comparator is measured too, since every ranking starts with a copy of the list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RankingBenchmark {
+
+    /** Number of sessions in the dataset. */
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<Session> sessions;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(BenchmarkDatabases.withSessions(size), 1, 5_000);
+        try {
+            sessions = new SessionDB(pool).getAllSessions();
+        } finally {
+            pool.close();
+        }
+        start = LocalDateTime.now().plusDays(1);
+        end = start.plusDays(60);
+    }
+
+    @Benchmark
+    public List<Session> sortByBestCourseRating() {
+        return new GradeComparator(sessions).sortByBestCourseRating(BenchmarkDatabases.POPULAR_COURSE);
+    }
+
+    @Benchmark
+    public List<Session> getSessionsByTutor() {
+        return new TutorComparator(sessions).getSessionsByTutor(BenchmarkDatabases.POPULAR_COURSE);
+    }
+
+    @Benchmark
+    public List<Session> filterByStudentTimeRange() {
+        return new TimeComparator(sessions).filterByStudentTimeRange(start, end, BenchmarkDatabases.POPULAR_COURSE);
+    }
+}
@@ -0,0 +1,66 @@
+package skolard.benchmark;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import skolard.objects.Session;
+import skolard.persistence.ConnectionPool;
+import skolard.persistence.SessionPersistence;
+import skolard.persistence.sqlite.SessionDB;
+import skolard.persistence.stub.SessionStub;
+
+/**
+ * Session persistence filled with a generated dataset, on either backend.
+ * The stub holds the same sessions as the SQLite database, loaded from it at setup,
+ * so the two backends are compared on identical data.
+ */
+@State(Scope.Benchmark)
+public class SessionData {
+
+    /** "stub" for in-memory persistence, "sqlite" for the generated database file. */
+    @Param({"stub", "sqlite"})
+    public String backend;
+
+    /** Number of sessions in the dataset. */
+    @Param({"1000", "10000", "100000"})
+    public int sessions;
+
+    SessionPersistence sessionDB;
+
+    private ConnectionPool pool;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        pool = new ConnectionPool(BenchmarkDatabases.withSessions(sessions), 4, 5_000);
+        SessionDB sqlite = new SessionDB(pool);
+        List<Session> allSessions = sqlite.getAllSessions();
+
+        if (backend.equals("sqlite")) {
+            sessionDB = sqlite;
+        } else {
+            SessionStub stub = new SessionStub();
+            // The stub issues its own IDs, so the copies go in without one
+            for (Session session : allSessions) {
+                stub.addSession(new Session(-1, session.getTutor(), session.getStudent(),
+                    session.getStartDateTime(), session.getEndDateTime(), session.getCourseName()));
+            }
+            sessionDB = stub;
+            pool.close();
+            pool = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+}
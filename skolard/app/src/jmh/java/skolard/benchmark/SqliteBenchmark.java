@@ -0,0 +1,207 @@
+package skolard.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import skolard.objects.Message;
+import skolard.objects.RatingRequest;
+import skolard.objects.Session;
+import skolard.objects.Tutor;
+import skolard.persistence.ConnectionPool;
+import skolard.persistence.sqlite.DatasetGenerator;
+import skolard.persistence.sqlite.LoginDB;
+import skolard.persistence.sqlite.MessageDB;
+import skolard.persistence.sqlite.RatingDB;
+import skolard.persistence.sqlite.RatingRequestDB;
+import skolard.persistence.sqlite.SessionDB;
+import skolard.persistence.sqlite.StudentDB;
+import skolard.persistence.sqlite.TutorDB;
+
+/**
+ * The SQLite DB classes on their hot paths, through a {@link ConnectionPool} as the app uses them.
+ * Each benchmark reports throughput and sampled latency; the sampled mode's p0.99 row is the p99.
+ * Changes to indexes, PRAGMAs or connection handling should come with a before and after run.
+ *
+ * The database is a copy of a generated dataset, either in a temporary file or restored into
+ * memory, so writes made by one trial never reach the next. Keys are picked at random from the
+ * generated rows. The DB classes are used without the caching decorators in front of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SqliteBenchmark {
+
+    /** "file" for a database file in WAL mode, "memory" for an in-memory database. */
+    @Param({"file", "memory"})
+    public String storage;
+
+    /** Number of sessions in the dataset; the other tables scale with it. */
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private ConnectionPool pool;
+    private Path copy;
+
+    private SessionDB sessionDB;
+    private MessageDB messageDB;
+    private TutorDB tutorDB;
+    private LoginDB loginDB;
+    private RatingDB ratingDB;
+    private RatingRequestDB ratingRequestDB;
+
+    private int students;
+    private int tutors;
+    private String[][] conversations;
+    private String[] pendingStudents;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, SQLException {
+        Path dataset = Path.of(BenchmarkDatabases.withSessions(rows));
+        if (storage.equals("file")) {
+            copy = Files.createTempFile("skolard-bench", ".db");
+            Files.copy(dataset, copy, StandardCopyOption.REPLACE_EXISTING);
+            pool = new ConnectionPool(copy.toString(), 4, 5_000);
+        } else {
+            pool = new ConnectionPool(":memory:", 0, 5_000);
+            try (Statement stmt = pool.getWriterConnection().createStatement()) {
+                // sqlite-jdbc extension: load a database file into this connection's database
+                stmt.executeUpdate("restore from " + dataset.toAbsolutePath());
+            }
+        }
+
+        StudentDB studentDB = new StudentDB(pool);
+        sessionDB = new SessionDB(pool);
+        messageDB = new MessageDB(pool);
+        tutorDB = new TutorDB(pool);
+        loginDB = new LoginDB(pool);
+        ratingDB = new RatingDB(pool);
+        ratingRequestDB = new RatingRequestDB(pool, studentDB, sessionDB);
+
+        students = count("student");
+        tutors = count("tutor");
+        conversations = pairs("SELECT studentEmail, tutorEmail FROM messages GROUP BY studentEmail, tutorEmail LIMIT 1000");
+        pendingStudents = column("SELECT DISTINCT studentEmail FROM ratingRequests " +
+            "WHERE completed = 0 AND skipped = 0 LIMIT 1000");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pool.close();
+        if (copy != null) {
+            Files.deleteIfExists(copy);
+            Files.deleteIfExists(Path.of(copy + "-wal"));
+            Files.deleteIfExists(Path.of(copy + "-shm"));
+        }
+    }
+
+    @Benchmark
+    public Session getSessionById() {
+        return sessionDB.getSessionById(1 + random().nextInt(rows));
+    }
+
+    @Benchmark
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public List<Session> getAllSessions() {
+        return sessionDB.getAllSessions();
+    }
+
+    @Benchmark
+    public Message addMessage() {
+        String student = DatasetGenerator.studentEmail(random().nextInt(students));
+        String tutor = DatasetGenerator.tutorEmail(random().nextInt(tutors));
+        return messageDB.addMessage(new Message(0, LocalDateTime.now(), student, tutor, student, "Benchmark message"));
+    }
+
+    @Benchmark
+    public List<Message> getMessageHistory() {
+        String[] conversation = conversations[random().nextInt(conversations.length)];
+        return messageDB.getMessageHistory(conversation[0], conversation[1]);
+    }
+
+    @Benchmark
+    public Tutor getTutorByEmail() {
+        return tutorDB.getTutorByEmail(DatasetGenerator.tutorEmail(random().nextInt(tutors)));
+    }
+
+    @Benchmark
+    public boolean authenticateStudent() {
+        return loginDB.authenticateStudent(DatasetGenerator.studentEmail(random().nextInt(students)), "password");
+    }
+
+    @Benchmark
+    public void saveRating() {
+        ratingDB.saveRating(DatasetGenerator.tutorEmail(random().nextInt(tutors)), 1 + random().nextInt(rows),
+            DatasetGenerator.studentEmail(random().nextInt(students)), BenchmarkDatabases.POPULAR_COURSE,
+            1 + random().nextInt(5));
+    }
+
+    @Benchmark
+    public List<RatingRequest> getPendingRequestsForStudent() {
+        return ratingRequestDB.getPendingRequestsForStudent(pendingStudents[random().nextInt(pendingStudents.length)]);
+    }
+
+    private static ThreadLocalRandom random() {
+        return ThreadLocalRandom.current();
+    }
+
+    private int count(String table) throws SQLException {
+        return Integer.parseInt(column("SELECT COUNT(*) FROM " + table)[0]);
+    }
+
+    private String[] column(String sql) throws SQLException {
+        List<String> values = new ArrayList<>();
+        for (String[] row : rows(sql, 1)) {
+            values.add(row[0]);
+        }
+        return values.toArray(new String[0]);
+    }
+
+    private String[][] pairs(String sql) throws SQLException {
+        return rows(sql, 2).toArray(new String[0][]);
+    }
+
+    private List<String[]> rows(String sql, int columns) throws SQLException {
+        List<String[]> rows = new ArrayList<>();
+        try (Connection connection = pool.reader();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                String[] row = new String[columns];
+                for (int i = 0; i < columns; i++) {
+                    row[i] = rs.getString(i + 1);
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
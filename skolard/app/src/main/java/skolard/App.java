@@ -2,6 +2,7 @@ package skolard;
 
 import javax.swing.SwingUtilities;
 
+import skolard.Config.Config;
 import skolard.logic.auth.LoginHandler;
 import skolard.logic.booking.BookingHandler;
 import skolard.logic.faq.FAQHandler;
@@ -11,6 +12,7 @@ import skolard.logic.profile.ProfileHandler;
 import skolard.logic.rating.RatingHandler;
 import skolard.logic.session.SessionHandler;
 import skolard.persistence.PersistenceFactory;
+import skolard.persistence.PersistenceMetrics;
 import skolard.persistence.PersistenceRegistry;
 import skolard.persistence.PersistenceType;
 
@@ -23,6 +25,11 @@ public class App {
         // Initialize the persistence layer (PROD mode + seed)
         PersistenceFactory.initialize(PersistenceType.PROD, true);
 
+        // Print the persistence latencies now and then, when asked to
+        if (Config.PERSISTENCE_METRICS && Config.METRICS_DUMP_SECONDS > 0) {
+            PersistenceMetrics.startPeriodicDump(Config.METRICS_DUMP_SECONDS, System.out);
+        }
+
         // Get instances from the registry
         
         BookingHandler bookingHandler = new BookingHandler(PersistenceRegistry.getSessionPersistence());
@@ -34,6 +34,49 @@ public class Config {
     // File path to the testing SQLite database
     public static final String TEST_DB = "src/test/test.db";
 
+    // Number of read-only connections kept by the pool (override with -Dskolard.db.readers=N)
+    public static final int DB_READER_POOL_SIZE =
+        Integer.getInteger("skolard.db.readers", Runtime.getRuntime().availableProcessors());
+
+    // Milliseconds SQLite waits on a locked database before reporting SQLITE_BUSY
+    public static final int DB_BUSY_TIMEOUT_MS = Integer.getInteger("skolard.db.busyTimeoutMs", 5000);
+
+    // Prepared statements kept open per pooled connection; 0 disables the cache
+    public static final int DB_STATEMENT_CACHE_SIZE = Integer.getInteger("skolard.db.statementCacheSize", 64);
+
+    // Statements slower than this many milliseconds are logged with their query plan; 0 logs none
+    public static final long DB_SLOW_QUERY_MS = Long.getLong("skolard.db.slowQueryMs", 0L);
+
+    // Tutor and student profiles cached per persistence; 0 disables the cache
+    public static final int PROFILE_CACHE_SIZE = Integer.getInteger("skolard.cache.profiles", 1024);
+
+    // Milliseconds a cached profile is served before it is reloaded
+    public static final long PROFILE_CACHE_TTL_MS = Long.getLong("skolard.cache.profileTtlMs", 300_000L);
+
+    // Queue chat messages and insert them in batched transactions (enable with -Dskolard.db.messageWriteBehind=true)
+    public static final boolean MESSAGE_WRITE_BEHIND = Boolean.getBoolean("skolard.db.messageWriteBehind");
+
+    // Most queued messages committed in one transaction
+    public static final int MESSAGE_BATCH_SIZE = Integer.getInteger("skolard.db.messageBatchSize", 64);
+
+    // Milliseconds a queued message waits for its batch to fill before it is written
+    public static final long MESSAGE_FLUSH_INTERVAL_MS = Long.getLong("skolard.db.messageFlushMs", 5L);
+
+    // Messages queued before senders block until the writer catches up
+    public static final int MESSAGE_QUEUE_CAPACITY = Integer.getInteger("skolard.db.messageQueueCapacity", 1024);
+
+    // Run the views' handler calls on background virtual threads; false runs them inline (GUI tests)
+    public static final boolean ASYNC_HANDLERS = Boolean.parseBoolean(System.getProperty("skolard.async", "true"));
+
+    // Sessions per page in the booking search and session history tables
+    public static final int SESSION_PAGE_SIZE = Integer.getInteger("skolard.ui.sessionPageSize", 25);
+
+    // Time every persistence call per method, exposed over JMX (disable with -Dskolard.metrics=false)
+    public static final boolean PERSISTENCE_METRICS = Boolean.parseBoolean(System.getProperty("skolard.metrics", "true"));
+
+    // Seconds between persistence metrics dumps to standard output; 0 never dumps
+    public static final int METRICS_DUMP_SECONDS = Integer.getInteger("skolard.metrics.dumpSeconds", 0);
+
     /**
      * Private constructor prevents instantiation of this utility class.
      * All members are static and accessed directly.
@@ -0,0 +1,61 @@
+package skolard.logic;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import skolard.Config.Config;
+
+/**
+ * Runs handler calls off the caller's thread, so the Swing views never wait on the database.
+ * Every call gets its own virtual thread: blocking on a connection or a query is cheap,
+ * and no pool has to be sized for the number of views loading at once.
+ *
+ * With {@link Config#ASYNC_HANDLERS} off, calls run inline and return completed futures.
+ */
+public final class HandlerExecutor {
+
+    private static final ExecutorService executor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("skolard-handler-", 0).factory());
+
+    private HandlerExecutor() {}
+
+    /**
+     * Runs work in the background.
+     *
+     * @param work the work to run
+     * @return completes with the work's result, or exceptionally with what it threw
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> work) {
+        if (!Config.ASYNC_HANDLERS) {
+            return supplyInline(work);
+        }
+        return supplyAsync(work);
+    }
+
+    /**
+     * Runs work in the background.
+     *
+     * @param work the work to run
+     * @return completes when the work returns, or exceptionally with what it threw
+     */
+    public static CompletableFuture<Void> run(Runnable work) {
+        return supply(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    static <T> CompletableFuture<T> supplyAsync(Supplier<T> work) {
+        return CompletableFuture.supplyAsync(work, executor);
+    }
+
+    static <T> CompletableFuture<T> supplyInline(Supplier<T> work) {
+        try {
+            return CompletableFuture.completedFuture(work.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package skolard.logic.auth;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a login attempt: the role tried and whether the credentials
+ * matched. The email is left out on purpose.
+ */
+@Name("skolard.Login")
+@Label("Login")
+@Category({"SkolarD", "Authentication"})
+@Description("A login attempt by a student, tutor or support user")
+class LoginEvent extends jdk.jfr.Event {
+
+    @Label("Role")
+    String role;
+
+    @Label("Authenticated")
+    boolean authenticated;
+}
@@ -48,6 +48,21 @@ public class LoginHandler {
         String email = credentials.getEmail();
         String password = credentials.getPlainPassword();
 
+        LoginEvent event = new LoginEvent();
+        event.begin();
+        event.role = role;
+        try {
+            event.authenticated = authenticate(role, email, password);
+            return event.authenticated;
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Checks the password against the account of the given role.
+     */
+    private boolean authenticate(String role, String email, String password) {
         // Use appropriate authentication method based on role
         return switch (role) {
             case "student" -> loginDB.authenticateStudent(email, password);
@@ -2,10 +2,13 @@ package skolard.logic.booking;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
+import skolard.logic.HandlerExecutor;
 import skolard.objects.Session;
+import skolard.persistence.SessionPage;
 import skolard.persistence.SessionPersistence;
+import skolard.persistence.SessionSort;
 
 /**
  * Handles matching students with available tutoring sessions.
@@ -23,35 +26,38 @@ public class BookingHandler {
 
     /**
      * Enum representing different types of filters that can be applied
-     * to a list of tutoring sessions.
+     * to a search for tutoring sessions.
      * 
-     * Each filter defines a specific strategy to modify or refine
-     * the session list based on criteria like rating, time availability, or tutor.
+     * Each filter defines a specific strategy that turns the search into a
+     * persistence query, so filtering and sorting happen where the data lives.
      */
     public enum SessionFilter {
         /**
          * Sorts sessions by best course rating
          */
-        RATE((sessions, course, start, end) ->
-            new GradeComparator(sessions).sortByBestCourseRating(course)),
+        RATE((sessionDB, course, start, end, studentEmail) ->
+            sessionDB.findAvailableSessions(course, LocalDateTime.now(), null, studentEmail, SessionSort.COURSE_GRADE, 0)),
 
         /**
          * Filters and sorts sessions based on student time range
          */
-        TIME((sessions, course, start, end) -> {
+        TIME((sessionDB, course, start, end, studentEmail) -> {
+            LocalDateTime now = LocalDateTime.now();
             // If either times are null, return an unfiltered sessions list
             if (start != null && end != null) {
-                return new TimeComparator(sessions).filterByStudentTimeRange(start, end, course);
+                // Sessions that already started are never bookable, even inside the range
+                LocalDateTime from = start.isAfter(now) ? start : now;
+                return sessionDB.findAvailableSessions(course, from, end, studentEmail, SessionSort.START_TIME, 0);
             }
-            return sessions;
+            return sessionDB.findAvailableSessions(course, now, null, studentEmail, SessionSort.NONE, 0);
         }),
 
         
         /**
          * Sorts sessions by tutor's overall rating
          */
-        TUTOR((sessions, course, start, end) ->
-            new TutorComparator(sessions).getSessionsByTutor(course));
+        TUTOR((sessionDB, course, start, end, studentEmail) ->
+            sessionDB.findAvailableSessions(course, LocalDateTime.now(), null, studentEmail, SessionSort.TUTOR_AVERAGE, 0));
 
         private final SessionFilterStrategy strategy;
 
@@ -65,22 +71,25 @@ public class BookingHandler {
         }
 
         /**
-         * Applies the filter's strategy to a list of sessions.
+         * Runs the filter's query for the available sessions of a course.
          *
-         * @param sessions   the initial list of sessions
-         * @param courseName the name of the course
-         * @param start      the optional start time for time filtering
-         * @param end        the optional end time for time filtering
+         * @param sessionDB    the persistence to query
+         * @param courseName   the name of the course
+         * @param start        the optional start time for time filtering
+         * @param end          the optional end time for time filtering
+         * @param studentEmail the searching student, whose own tutor sessions are left out
          * @return the filtered list of sessions
          */
-        public List<Session> apply(List<Session> sessions, String courseName, LocalDateTime start, LocalDateTime end) {
-            return strategy.apply(sessions, courseName, start, end);
+        public List<Session> apply(SessionPersistence sessionDB, String courseName, LocalDateTime start,
+                                   LocalDateTime end, String studentEmail) {
+            return strategy.apply(sessionDB, courseName, start, end, studentEmail);
         }
 
-        //Functional interface that defines how to filter a list of sessions.Implemented by each enum constant.
+        //Functional interface that defines how to query for sessions.Implemented by each enum constant.
         @FunctionalInterface
         private interface SessionFilterStrategy {
-            List<Session> apply(List<Session> sessions, String courseName, LocalDateTime start, LocalDateTime end);
+            List<Session> apply(SessionPersistence sessionDB, String courseName, LocalDateTime start,
+                                LocalDateTime end, String studentEmail);
         }
     }
 
@@ -100,14 +109,17 @@ public class BookingHandler {
             throw new IllegalArgumentException("Course name cannot be null or empty.");
         }
 
-        List<Session> sessions = getNonBookedSessions(courseName, studentEmail);
-        sessions = getNonPastSession(sessions);
-
-        if (filter != null) {
-            sessions = filter.apply(sessions, courseName, start, end);
+        SessionSearchEvent event = startSearch(courseName, filter, false);
+        try {
+            List<Session> sessions = filter == null
+                ? findAvailableSessions(courseName, studentEmail)
+                : filter.apply(sessionDB, courseName, start, end, studentEmail);
+            event.results = sessions.size();
+            event.succeeded = true;
+            return sessions;
+        } finally {
+            event.commit();
         }
-
-        return sessions;
     }
 
     /**
@@ -119,54 +131,96 @@ public class BookingHandler {
      * @return a list of sessions not booked and not filtered
      */
     public List<Session> getAvailableSessions(String courseName, String studentEmail){
-        List<Session> sessions;
-
         if (courseName == null || courseName.isEmpty()) {
             throw new IllegalArgumentException("Course name cannot be null or empty.");
         }
-        
-        sessions = getNonBookedSessions(courseName,studentEmail);
-        sessions = getNonPastSession(sessions);
 
-        return sessions;
+        SessionSearchEvent event = startSearch(courseName, null, false);
+        try {
+            List<Session> sessions = findAvailableSessions(courseName, studentEmail);
+            event.results = sessions.size();
+            event.succeeded = true;
+            return sessions;
+        } finally {
+            event.commit();
+        }
     }
 
     /**
-     * Iterates through all sessions in and filters out the non-booked tutoring sessions for a specific course
+     * Retrieves one page of available (non-booked) tutoring sessions for a course, ordered by start time.
+     * Each page continues from the cursor of the one before it, so deep pages load as fast as the first.
+     * The rating filters page through the sessions best-rated tutor first instead, with cursors
+     * keyed on the rating and session ID.
      *
-     * @param courseName  the name of the course to search sessions for (required)
-     * @return a list of sessions that are not booked
+     * @param filter       the filter to apply; null or {@link SessionFilter#TIME} page by start time,
+     *                     {@link SessionFilter#RATE} and {@link SessionFilter#TUTOR} by rating
+     * @param courseName   the name of the course to search sessions for (required)
+     * @param start        the optional start time (used for time-based filtering)
+     * @param end          the optional end time (used for time-based filtering)
+     * @param studentEmail the searching student, whose own tutor sessions are left out
+     * @param cursor       next-page token from the previous page, or null for the first page
+     * @param pageSize     maximum number of sessions on the page; 0 or less for all of them
+     * @return the page of sessions and the token of the next one
      */
-    private List<Session> getNonBookedSessions(String courseName, String studentEmail) {
-        List<Session> allSessions = sessionDB.getAllSessions();
+    public SessionPage getAvailableSessionsPage(SessionFilter filter, String courseName, LocalDateTime start,
+                                                LocalDateTime end, String studentEmail, String cursor, int pageSize) {
+        if (courseName == null || courseName.isEmpty()) {
+            throw new IllegalArgumentException("Course name cannot be null or empty.");
+        }
 
-        return allSessions.stream()
-            .filter(session -> session.getCourseName().equalsIgnoreCase(courseName) && !session.isBooked())
-            .filter(session -> isStudentDifferentFromTutor(session.getTutor().getEmail(), studentEmail))
-            .collect(Collectors.toList());
+        SessionSearchEvent event = startSearch(courseName, filter, true);
+        try {
+            SessionPage page;
+            if (filter == SessionFilter.RATE || filter == SessionFilter.TUTOR) {
+                SessionSort sort = filter == SessionFilter.RATE ? SessionSort.COURSE_GRADE : SessionSort.TUTOR_AVERAGE;
+                page = sessionDB.findRankedSessionsPage(courseName, LocalDateTime.now(), studentEmail, sort,
+                        cursor, pageSize);
+            } else {
+                // Only sessions that have not started yet can be booked
+                LocalDateTime from = LocalDateTime.now();
+                LocalDateTime to = null;
+                if (filter == SessionFilter.TIME && start != null && end != null) {
+                    from = start.isAfter(from) ? start : from;
+                    to = end;
+                }
+                page = sessionDB.findAvailableSessionsPage(courseName, from, to, studentEmail, cursor, pageSize);
+            }
+            event.results = page.getSessions().size();
+            event.succeeded = true;
+            return page;
+        } finally {
+            event.commit();
+        }
     }
 
     /**
-     * Filters and returns only the sessions that are scheduled to start in the future.
-     *
-     * @param sessions the list of all session objects to filter
-     * @return a list of sessions that have not yet started (upcoming sessions)
+     * Only sessions that have not started yet can be booked.
      */
-    private List<Session> getNonPastSession(List<Session> sessions){
-        LocalDateTime now = LocalDateTime.now();
-        return sessions.stream()
-                .filter(session -> session.getStartDateTime() != null && session.getStartDateTime().isAfter(now))
-                .collect(Collectors.toList());
+    private List<Session> findAvailableSessions(String courseName, String studentEmail) {
+        return sessionDB.findAvailableSessions(courseName, LocalDateTime.now(), null, studentEmail, SessionSort.NONE, 0);
     }
 
     /**
-     * Checks if the student and tutor in a session have different emails.
-     *
-     * @param session the session to check
-     * @return true if emails are different or student is null, false otherwise
+     * Starts timing a search for the flight recorder; the caller fills in the outcome and commits.
      */
-    private boolean isStudentDifferentFromTutor(String tutorEmail, String studentEmail) {
-        return !studentEmail.equalsIgnoreCase(tutorEmail);
+    private static SessionSearchEvent startSearch(String courseName, SessionFilter filter, boolean paged) {
+        SessionSearchEvent event = new SessionSearchEvent();
+        event.begin();
+        event.course = courseName;
+        event.filter = filter == null ? "NONE" : filter.name();
+        event.paged = paged;
+        return event;
     }
 
+    /**
+     * Retrieves one page of available sessions in the background, as {@link #getAvailableSessionsPage}.
+     *
+     * @return completes with the page, or exceptionally if the search is invalid or fails
+     */
+    public CompletableFuture<SessionPage> getAvailableSessionsPageAsync(SessionFilter filter, String courseName,
+                                                                       LocalDateTime start, LocalDateTime end,
+                                                                       String studentEmail, String cursor, int pageSize) {
+        return HandlerExecutor.supply(() ->
+            getAvailableSessionsPage(filter, courseName, start, end, studentEmail, cursor, pageSize));
+    }
 }
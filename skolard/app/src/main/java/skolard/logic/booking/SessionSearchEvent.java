@@ -0,0 +1,35 @@
+package skolard.logic.booking;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a student's search of available sessions, recording the course,
+ * the filter, whether a single page was asked for and how many sessions came back.
+ */
+@Name("skolard.SessionSearch")
+@Label("Session Search")
+@Category({"SkolarD", "Booking"})
+@Description("A search for bookable sessions of a course")
+class SessionSearchEvent extends jdk.jfr.Event {
+
+    @Label("Course")
+    String course;
+
+    @Label("Filter")
+    @Description("The filter applied, or NONE")
+    String filter;
+
+    @Label("Paged")
+    @Description("Whether one page of results was requested")
+    boolean paged;
+
+    @Label("Results")
+    @Description("Sessions returned")
+    int results;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
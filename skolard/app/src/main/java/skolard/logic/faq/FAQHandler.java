@@ -2,6 +2,7 @@ package skolard.logic.faq;
 
 import skolard.objects.FAQ;
 import skolard.persistence.FAQPersistence;
+import skolard.persistence.RankedFAQ;
 
 import java.util.List;
 
@@ -55,7 +56,7 @@ public class FAQHandler {
 
     /**
      * Searches for FAQ entries that match the given keyword.
-     * May search within questions, answers, or both, depending on implementation.
+     * Searches questions and answers, most relevant first.
      *
      * @param keyword the keyword to search for
      * @return list of matching FAQs
@@ -63,4 +64,21 @@ public class FAQHandler {
     public List<FAQ> searchFAQs(String keyword) {
         return faqPersistence.searchFAQs(keyword);
     }
+
+    /**
+     * Searches for the FAQ entries most relevant to the query, with their scores.
+     * Every word of the query must start a word of the question or answer, so
+     * the results narrow as a partly typed query grows.
+     *
+     * @param query the words to search for
+     * @param limit the most results to return
+     * @return up to limit matching FAQs, most relevant first
+     * @throws IllegalArgumentException if limit is not positive
+     */
+    public List<RankedFAQ> searchRankedFAQs(String query, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Result limit must be positive.");
+        }
+        return faqPersistence.rankFAQs(query, limit);
+    }
 }
@@ -4,7 +4,9 @@ import java.util.List;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
 
+import skolard.logic.HandlerExecutor;
 import skolard.objects.Message;
 import skolard.persistence.MessagePersistence;
 import skolard.utils.MessageUtil;
@@ -150,13 +152,56 @@ public class MessageHandler {
      * @throws IllegalArgumentException if the message is null or fails validation
      */
     public Message sendMessage(Message message) {
+        MessageSendEvent event = beginSend(message);
+        try {
+            Message stored = messageDb.addMessage(message);
+            event.succeeded = true;
+            return stored;
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Sends a new message after validating its contents, without waiting for it to be stored.
+     * The message is handed to persistence in the background; with write-behind persistence
+     * it is committed together with others sent around the same time.
+     *
+     * @param message the Message object to send
+     * @return completes with the saved Message object once it is stored
+     * @throws IllegalArgumentException if the message is null or fails validation
+     */
+    public CompletableFuture<Message> sendMessageAsync(Message message) {
+        MessageSendEvent event = beginSend(message);
+        // The event spans the whole send, so it is committed once the message is stored
+        return HandlerExecutor.supply(() -> messageDb.addMessageAsync(message))
+            .thenCompose(stored -> stored)
+            .whenComplete((stored, error) -> {
+                event.succeeded = error == null;
+                event.commit();
+            });
+    }
+
+    /**
+     * Validates a message and starts timing its send.
+     *
+     * @param message the Message object about to be sent
+     * @return the started event, to be committed once the message is stored or fails
+     * @throws IllegalArgumentException if the message is null or fails validation
+     */
+    private static MessageSendEvent beginSend(Message message) {
         if (message == null) {
             throw new IllegalArgumentException("Message cannot be null.");
         }
         if (!MessageUtil.validMessage(message)) {
             throw new IllegalArgumentException("Message is invalid");
         }
-        return messageDb.addMessage(message);
+
+        MessageSendEvent event = new MessageSendEvent();
+        event.begin();
+        event.fromTutor = message.getSenderEmail().equals(message.getTutorEmail());
+        event.length = message.getMessage().length();
+        return event;
     }
 
     /**
@@ -194,4 +239,31 @@ public class MessageHandler {
         }
         messageDb.deleteMessageHistory(studentEmail, tutorEmail);
     }
+
+    /**
+     * Retrieves the message history in the background, as {@link #getMessageHistory}.
+     *
+     * @return completes with the messages exchanged between the two users
+     */
+    public CompletableFuture<List<Message>> getMessageHistoryAsync(String studentEmail, String tutorEmail) {
+        return HandlerExecutor.supply(() -> getMessageHistory(studentEmail, tutorEmail));
+    }
+
+    /**
+     * Retrieves the tutors a student has messaged in the background, as {@link #getTutorsMessaged}.
+     *
+     * @return completes with the tutor email addresses
+     */
+    public CompletableFuture<List<String>> getTutorsMessagedAsync(String studentEmail) {
+        return HandlerExecutor.supply(() -> getTutorsMessaged(studentEmail));
+    }
+
+    /**
+     * Retrieves the students a tutor has messaged in the background, as {@link #getStudentsMessaged}.
+     *
+     * @return completes with the student email addresses
+     */
+    public CompletableFuture<List<String>> getStudentsMessagedAsync(String tutorEmail) {
+        return HandlerExecutor.supply(() -> getStudentsMessaged(tutorEmail));
+    }
 }
@@ -0,0 +1,27 @@
+package skolard.logic.message;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a chat message being sent and stored: which side sent it
+ * and how long it was. The text itself is not recorded.
+ */
+@Name("skolard.MessageSend")
+@Label("Message Send")
+@Category({"SkolarD", "Messaging"})
+@Description("A chat message validated and stored")
+class MessageSendEvent extends jdk.jfr.Event {
+
+    @Label("From Tutor")
+    boolean fromTutor;
+
+    @Label("Length")
+    @Description("Characters in the message")
+    int length;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
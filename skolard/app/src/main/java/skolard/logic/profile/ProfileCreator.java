@@ -1,6 +1,8 @@
 package skolard.logic.profile;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 
 import skolard.objects.Student;
 import skolard.objects.Tutor;
@@ -77,6 +79,19 @@ public class ProfileCreator {
         return studentDB.getStudentByEmail(email.trim().toLowerCase());
     }
 
+    /**
+     * Retrieves the student objects for a set of emails in one lookup.
+     *
+     * @param emails the students' emails
+     * @return the matching Student objects; unknown emails are skipped
+     */
+    public List<Student> getStudents(Collection<String> emails) {
+        List<String> normalized = emails.stream()
+            .map(email -> email.trim().toLowerCase())
+            .toList();
+        return studentDB.getStudentsByEmails(normalized);
+    }
+
     /**
      * Retrieves a tutor object based on email.
      *
@@ -1,5 +1,8 @@
 package skolard.logic.profile;
 
+import java.util.Collection;
+import java.util.List;
+
 import skolard.logic.session.SessionHandler;
 import skolard.objects.Student;
 import skolard.objects.Tutor;
@@ -162,6 +165,16 @@ public class ProfileHandler {
         return creator.getStudent(email);
     }
 
+    /**
+     * Retrieves the student profiles for many emails with a single lookup.
+     *
+     * @param emails student emails
+     * @return matching Student objects, in no particular order
+     */
+    public List<Student> getStudents(Collection<String> emails) {
+        return creator.getStudents(emails);
+    }
+
     /**
      * Retrieves a tutor profile by email.
      *
@@ -2,7 +2,9 @@ package skolard.logic.rating;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import skolard.logic.HandlerExecutor;
 import skolard.objects.Feedback;
 import skolard.objects.RatingRequest;
 import skolard.objects.Session;
@@ -50,20 +52,30 @@ public class RatingHandler {
      * @param rating  the rating value submitted by the student
      */
     public void processRatingSubmission(RatingRequest request, int rating) {
-        request.submit(rating); // Mark the request as submitted with the given rating
-        requestPersistence.updateRequest(request); // Persist the updated request state
-
-        // Convert the submitted request into a Feedback object
-        Feedback feedback = request.toFeedback();
-
-        // Save the feedback to persistent storage
-        ratingPersistence.saveRating(
-            feedback.getTutorEmail(),
-            feedback.getSessionId(),
-            feedback.getStudentEmail(),
-            feedback.getCourseName(),
-            feedback.getRating()
-        );
+        RatingSubmitEvent event = new RatingSubmitEvent();
+        event.begin();
+        event.rating = rating;
+        try {
+            request.submit(rating); // Mark the request as submitted with the given rating
+            requestPersistence.updateRequest(request); // Persist the updated request state
+
+            // Convert the submitted request into a Feedback object
+            Feedback feedback = request.toFeedback();
+            event.sessionId = feedback.getSessionId();
+            event.course = feedback.getCourseName();
+
+            // Save the feedback to persistent storage
+            ratingPersistence.saveRating(
+                feedback.getTutorEmail(),
+                feedback.getSessionId(),
+                feedback.getStudentEmail(),
+                feedback.getCourseName(),
+                feedback.getRating()
+            );
+            event.succeeded = true;
+        } finally {
+            event.commit();
+        }
     }
 
     /**
@@ -104,4 +116,40 @@ public class RatingHandler {
     public List<Feedback> getTutorFeedback(String tutorEmail) {
         return ratingPersistence.getAllFeedbackForTutor(tutorEmail);
     }
+
+    /**
+     * Submits a rating in the background, as {@link #processRatingSubmission}.
+     *
+     * @return completes once the rating is stored
+     */
+    public CompletableFuture<Void> processRatingSubmissionAsync(RatingRequest request, int rating) {
+        return HandlerExecutor.run(() -> processRatingSubmission(request, rating));
+    }
+
+    /**
+     * Skips a rating in the background, as {@link #processRatingSkip}.
+     *
+     * @return completes once the skip is stored
+     */
+    public CompletableFuture<Void> processRatingSkipAsync(RatingRequest request) {
+        return HandlerExecutor.run(() -> processRatingSkip(request));
+    }
+
+    /**
+     * Retrieves all rating requests in the background, as {@link #getAllRequests}.
+     *
+     * @return completes with every RatingRequest
+     */
+    public CompletableFuture<List<RatingRequest>> getAllRequestsAsync() {
+        return HandlerExecutor.supply(this::getAllRequests);
+    }
+
+    /**
+     * Retrieves a student's pending rating requests in the background, as {@link #getPendingRequestsForStudent}.
+     *
+     * @return completes with the student's pending RatingRequests
+     */
+    public CompletableFuture<List<RatingRequest>> getPendingRequestsForStudentAsync(Student student) {
+        return HandlerExecutor.supply(() -> getPendingRequestsForStudent(student));
+    }
 }
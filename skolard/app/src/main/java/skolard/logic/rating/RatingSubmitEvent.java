@@ -0,0 +1,29 @@
+package skolard.logic.rating;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a student submitting a rating, with the session, its course
+ * and the score given.
+ */
+@Name("skolard.RatingSubmit")
+@Label("Rating Submit")
+@Category({"SkolarD", "Rating"})
+@Description("A rating submitted for a session, updating the request and saving the feedback")
+class RatingSubmitEvent extends jdk.jfr.Event {
+
+    @Label("Session ID")
+    int sessionId;
+
+    @Label("Course")
+    String course;
+
+    @Label("Rating")
+    int rating;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
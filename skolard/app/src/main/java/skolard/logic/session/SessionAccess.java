@@ -5,7 +5,9 @@ import java.util.List;
 import skolard.objects.Session;
 import skolard.objects.Student;
 import skolard.objects.Tutor;
+import skolard.persistence.SessionPage;
 import skolard.persistence.SessionPersistence;
+import skolard.persistence.SessionTimeframe;
 
 /**
  * Handles refreshing upcoming/past sessions for tutor and students and retrieving specific sessions.
@@ -53,6 +55,32 @@ public class SessionAccess{
         return sessionPersistence.getSessionsByTutorEmail(tutor.getEmail());
     }
 
+    /**
+     * Retrieves one page of a tutor's past or upcoming sessions, ordered by start time.
+     *
+     * @param tutor     the tutor whose sessions are being queried
+     * @param timeframe past or upcoming sessions
+     * @param cursor    next-page token from the previous page, or null for the first page
+     * @param pageSize  maximum number of sessions on the page; 0 or less for all of them
+     * @return the page of sessions
+     */
+    public SessionPage getTutorSessionsPage(Tutor tutor, SessionTimeframe timeframe, String cursor, int pageSize) {
+        return sessionPersistence.getTutorSessionsPage(tutor.getEmail(), timeframe, cursor, pageSize);
+    }
+
+    /**
+     * Retrieves one page of a student's past or upcoming sessions, ordered by start time.
+     *
+     * @param student   the student whose sessions are being queried
+     * @param timeframe past or upcoming sessions
+     * @param cursor    next-page token from the previous page, or null for the first page
+     * @param pageSize  maximum number of sessions on the page; 0 or less for all of them
+     * @return the page of sessions
+     */
+    public SessionPage getStudentSessionsPage(Student student, SessionTimeframe timeframe, String cursor, int pageSize) {
+        return sessionPersistence.getStudentSessionsPage(student.getEmail(), timeframe, cursor, pageSize);
+    }
+
     /**
      * Retrieves a specific session by its unique session ID.
      *
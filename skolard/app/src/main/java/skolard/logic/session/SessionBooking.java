@@ -3,9 +3,12 @@ package skolard.logic.session;
 import skolard.objects.Student;
 import skolard.objects.RatingRequest;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import skolard.objects.Session;
+import skolard.persistence.PersistenceRegistry;
 import skolard.persistence.RatingRequestPersistence;
 import skolard.persistence.SessionPersistence;
 
@@ -30,39 +33,101 @@ public class SessionBooking {
 
     /**
      * Books a session for a student if it is not already booked.
+     * The booking is a single conditional write, so when several students book the same
+     * session at once exactly one succeeds. Only the winner applies the booking to the
+     * session it read, which adds it to the student's and tutor's upcoming sessions.
      *
-     * @param user the user attempting to book the session (must be a Student)
+     * @param student the student attempting to book the session
      * @param sessionID the ID of the session to be booked
      */
     public void bookASession(Student student, int sessionID) {
-        Session session = sessionPersistence.getSessionById(sessionID);
-        if (!session.isBooked()) {
-            session.bookSession(student);
-            sessionPersistence.updateSession(session);
-        } else {
-            if (session.getStudent().equals(student)) {
+        SessionBookingEvent event = new SessionBookingEvent();
+        event.begin();
+        event.sessionId = sessionID;
+        event.outcome = "ERROR";
+        try {
+            Session session = sessionPersistence.getSessionById(sessionID);
+            if (session != null && !session.isBooked() && sessionPersistence.bookSession(sessionID, student)) {
+                session.bookSession(student);
+                event.outcome = "BOOKED";
+                return;
+            }
+
+            // Lost the write to another student; read again to see who holds the session now
+            if (session != null && !session.isBooked()) {
+                session = sessionPersistence.getSessionById(sessionID);
+            }
+            if (session == null) {
+                event.outcome = "NO_SESSION";
+                throw new IllegalArgumentException("Session does not exist");
+            }
+            if (bookedBy(session, student)) {
+                event.outcome = "ALREADY_BOOKED";
                 throw new IllegalArgumentException("Session is already booked");
             } else {
+                event.outcome = "TAKEN";
                 throw new IllegalArgumentException("Session is already booked by someone else");
             }
+        } finally {
+            event.commit();
         }
     }
 
     /**
-     * Unbooks a session for a student if the session is currently booked.
+     * Unbooks a session for a student if the student currently has it booked.
+     * Like booking, this is a single conditional write. It commits in one transaction
+     * with skipping the session's pending rating requests, and then the session
+     * leaves the student's upcoming sessions.
      *
      * @param student the student attempting to unbook the session
      * @param sessionID the ID of the session to be unbooked
      */
     public void unbookASession(Student student, int sessionID) {
-        Session session = sessionPersistence.getSessionById(sessionID);
-        if (session.isBooked()) {
-            session.unbookSession(student);
-            sessionPersistence.updateSession(session);
+        boolean unbooked = PersistenceRegistry.inTransaction(() -> {
+            if (!sessionPersistence.unbookSession(sessionID, student.getEmail())) {
+                return false;
+            }
             skipRequests(sessionID);
-        } else {
+            return true;
+        });
+        if (unbooked) {
+            releaseUpcoming(student, sessionID);
+            return;
+        }
+
+        Session session = sessionPersistence.getSessionById(sessionID);
+        if (session == null) {
+            throw new IllegalArgumentException("Session does not exist");
+        }
+        if (!session.isBooked()) {
             throw new IllegalArgumentException("Session has not been booked");
         }
+        throw new IllegalArgumentException("You can only unbook sessions you booked");
+    }
+
+    /**
+     * Unbooks the student's own copies of a session, found by ID since a session
+     * read from storage is a different object from the one the student holds.
+     */
+    private void releaseUpcoming(Student student, int sessionID) {
+        for (Session held : new ArrayList<>(student.getUpcomingSessions())) {
+            if (held.getSessionId() != sessionID) {
+                continue;
+            }
+            if (bookedBy(held, student)) {
+                held.unbookSession(student);
+            } else {
+                student.removeUpcomingSession(held);
+            }
+        }
+    }
+
+    /**
+     * @return true if the session is booked by the given student
+     */
+    private boolean bookedBy(Session session, Student student) {
+        return session.getStudent() == student
+            || (session.getStudent() != null && Objects.equals(session.getStudent().getEmail(), student.getEmail()));
     }
 
     /**
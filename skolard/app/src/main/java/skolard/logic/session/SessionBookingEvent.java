@@ -0,0 +1,24 @@
+package skolard.logic.session;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a student booking a session. The outcome tells a won booking
+ * apart from one lost to another student.
+ */
+@Name("skolard.SessionBooking")
+@Label("Session Booking")
+@Category({"SkolarD", "Booking"})
+@Description("A student's attempt to book a session")
+class SessionBookingEvent extends jdk.jfr.Event {
+
+    @Label("Session ID")
+    int sessionId;
+
+    @Label("Outcome")
+    @Description("BOOKED, ALREADY_BOOKED, TAKEN (booked by someone else), NO_SESSION or ERROR")
+    String outcome;
+}
@@ -2,12 +2,16 @@ package skolard.logic.session;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import skolard.logic.HandlerExecutor;
 import skolard.objects.Session;
 import skolard.objects.Student;
 import skolard.objects.Tutor;
 import skolard.persistence.RatingRequestPersistence;
+import skolard.persistence.SessionPage;
 import skolard.persistence.SessionPersistence;
+import skolard.persistence.SessionTimeframe;
 
 /**
  * Facade that delegates session operations to specialized handlers.
@@ -63,8 +67,55 @@ public class SessionHandler {
         return accessHandler.getSessionsByTutor(tutor);
     }
 
+    /** Delegates to SessionAccess to retrieve a page of a tutor's sessions */
+    public SessionPage getTutorSessionsPage(Tutor tutor, SessionTimeframe timeframe, String cursor, int pageSize) {
+        return accessHandler.getTutorSessionsPage(tutor, timeframe, cursor, pageSize);
+    }
+
+    /** Delegates to SessionAccess to retrieve a page of a student's sessions */
+    public SessionPage getStudentSessionsPage(Student student, SessionTimeframe timeframe, String cursor, int pageSize) {
+        return accessHandler.getStudentSessionsPage(student, timeframe, cursor, pageSize);
+    }
+
     /** Delegates to SessionAccess to retrieve a session by ID */
     public Session getSessionByID(int id) {
         return accessHandler.getSessionByID(id);
     }
-}
\ No newline at end of file
+
+    /** Creates a session in the background, as {@link #createSession} */
+    public CompletableFuture<Void> createSessionAsync(Tutor tutor, LocalDateTime start, LocalDateTime end, String courseName) {
+        return HandlerExecutor.run(() -> createSession(tutor, start, end, courseName));
+    }
+
+    /** Deletes a session in the background, as {@link #deleteSession} */
+    public CompletableFuture<Void> deleteSessionAsync(Tutor tutor, Session session) {
+        return HandlerExecutor.run(() -> deleteSession(tutor, session));
+    }
+
+    /** Unbooks a session in the background, as {@link #unbookASession} */
+    public CompletableFuture<Void> unbookASessionAsync(Student student, int sessionID) {
+        return HandlerExecutor.run(() -> unbookASession(student, sessionID));
+    }
+
+    /** Retrieves all of a tutor's sessions in the background, as {@link #getSessionsByTutor} */
+    public CompletableFuture<List<Session>> getSessionsByTutorAsync(Tutor tutor) {
+        return HandlerExecutor.supply(() -> getSessionsByTutor(tutor));
+    }
+
+    /** Retrieves a page of a tutor's sessions in the background, as {@link #getTutorSessionsPage} */
+    public CompletableFuture<SessionPage> getTutorSessionsPageAsync(Tutor tutor, SessionTimeframe timeframe,
+                                                                   String cursor, int pageSize) {
+        return HandlerExecutor.supply(() -> getTutorSessionsPage(tutor, timeframe, cursor, pageSize));
+    }
+
+    /** Retrieves a page of a student's sessions in the background, as {@link #getStudentSessionsPage} */
+    public CompletableFuture<SessionPage> getStudentSessionsPageAsync(Student student, SessionTimeframe timeframe,
+                                                                     String cursor, int pageSize) {
+        return HandlerExecutor.supply(() -> getStudentSessionsPage(student, timeframe, cursor, pageSize));
+    }
+
+    /** Retrieves a session by ID in the background, as {@link #getSessionByID} */
+    public CompletableFuture<Session> getSessionByIDAsync(int id) {
+        return HandlerExecutor.supply(() -> getSessionByID(id));
+    }
+}
@@ -0,0 +1,129 @@
+package skolard.persistence;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Handle for a connection borrowed from a {@link ConnectionSource}.
+ * Every call is forwarded to the underlying connection except close(),
+ * which hands the connection back instead of closing it. When the connection
+ * has a {@link StatementCache}, prepareStatement calls are served from it, and with
+ * a {@link SlowQueryLog} every statement created through it is watched.
+ */
+final class BorrowedConnection implements InvocationHandler {
+
+    private final Connection target;
+    private final StatementCache statements;
+    private final SlowQueryLog slowQueries;
+    private final Runnable onReturn;
+    private boolean returned;
+
+    private BorrowedConnection(Connection target, StatementCache statements, SlowQueryLog slowQueries,
+                               Runnable onReturn) {
+        this.target = target;
+        this.statements = statements;
+        this.slowQueries = slowQueries;
+        this.onReturn = onReturn;
+    }
+
+    /**
+     * Creates a borrowed handle around a connection.
+     *
+     * @param target   the underlying connection
+     * @param onReturn action run once when the handle is closed
+     * @return a Connection whose close() runs onReturn
+     */
+    static Connection wrap(Connection target, Runnable onReturn) {
+        return wrap(target, null, onReturn);
+    }
+
+    /**
+     * Creates a borrowed handle whose prepared statements come from a cache.
+     *
+     * @param target     the underlying connection
+     * @param statements statement cache belonging to target, or null for no caching
+     * @param onReturn   action run once when the handle is closed
+     * @return a Connection whose close() runs onReturn
+     */
+    static Connection wrap(Connection target, StatementCache statements, Runnable onReturn) {
+        return wrap(target, statements, null, onReturn);
+    }
+
+    /**
+     * Creates a borrowed handle whose prepared statements come from a cache and whose
+     * statements are timed by a slow query log.
+     *
+     * @param target      the underlying connection
+     * @param statements  statement cache belonging to target, or null for no caching
+     * @param slowQueries log of slow statements, or null to leave statements untimed
+     * @param onReturn    action run once when the handle is closed
+     * @return a Connection whose close() runs onReturn
+     */
+    static Connection wrap(Connection target, StatementCache statements, SlowQueryLog slowQueries,
+                           Runnable onReturn) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            new BorrowedConnection(target, statements, slowQueries, onReturn));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "close":
+                if (!returned) {
+                    returned = true;
+                    onReturn.run();
+                }
+                return null;
+            case "isClosed":
+                return returned || target.isClosed();
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "BorrowedConnection[" + target + "]";
+            default:
+                break;
+        }
+
+        if (returned) {
+            throw new SQLException("Connection has already been returned");
+        }
+
+        Object result;
+        if (statements != null && isCacheablePrepare(method)) {
+            int keys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+            result = statements.prepare((String) args[0], keys);
+        } else {
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                // Surface the real JDBC exception rather than the reflection wrapper
+                throw e.getCause();
+            }
+        }
+
+        if (slowQueries != null && result instanceof Statement statement) {
+            String sql = method.getName().equals("createStatement") ? null : (String) args[0];
+            return slowQueries.watch(statement, sql, target);
+        }
+        return result;
+    }
+
+    /**
+     * Matches prepareStatement(String) and prepareStatement(String, int autoGeneratedKeys),
+     * the two forms the DB classes use.
+     */
+    private static boolean isCacheablePrepare(Method method) {
+        Class<?>[] params = method.getParameterTypes();
+        return method.getName().equals("prepareStatement")
+            && (params.length == 1 || (params.length == 2 && params[1] == int.class));
+    }
+}
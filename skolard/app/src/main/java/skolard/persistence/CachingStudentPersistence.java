@@ -0,0 +1,183 @@
+package skolard.persistence;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import skolard.objects.Student;
+
+/**
+ * Read-through cache in front of another StudentPersistence.
+ * Profile lookups by email are answered from a bounded LRU cache with a time-to-live,
+ * and every write through this class invalidates the student it touches.
+ *
+ * The cache keeps its own copy of each student and hands out a fresh copy per lookup,
+ * so callers changing their student never change the cache.
+ * Authentication always goes to the underlying persistence.
+ * A row read while a write to it is in flight is not cached, so a lookup never brings
+ * back a profile older than the last write for the rest of its time-to-live.
+ */
+public class CachingStudentPersistence implements StudentPersistence, ProfileCacheMBean {
+
+    private final StudentPersistence delegate;
+    private final LruCache<Student> cache;
+
+    /**
+     * @param delegate   the persistence to read through to
+     * @param capacity   maximum number of cached students; 0 disables caching
+     * @param ttlMs      how long a cached student is served; 0 or less keeps it until evicted
+     */
+    public CachingStudentPersistence(StudentPersistence delegate, int capacity, long ttlMs) {
+        this(delegate, new LruCache<>(capacity, ttlMs));
+    }
+
+    CachingStudentPersistence(StudentPersistence delegate, LruCache<Student> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public List<Student> getAllStudents() {
+        long stamp = cache.stamp();
+        List<Student> students = delegate.getAllStudents();
+        students.forEach(loaded -> remember(loaded, stamp));
+        return students;
+    }
+
+    @Override
+    public Student getStudentByEmail(String email) {
+        Student shared = UnitOfWork.get(Student.class, email);
+        if (shared != null) {
+            return shared;
+        }
+
+        Student cached = cache.get(email);
+        if (cached != null) {
+            return UnitOfWork.register(Student.class, email, copy(cached));
+        }
+
+        long stamp = cache.stamp();
+        Student loaded = delegate.getStudentByEmail(email);
+        if (loaded != null) {
+            remember(loaded, stamp);
+        }
+        return loaded;
+    }
+
+    @Override
+    public List<Student> getStudentsByEmails(Collection<String> emails) {
+        List<Student> students = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+
+        for (String email : new LinkedHashSet<>(emails)) {
+            Student shared = UnitOfWork.get(Student.class, email);
+            Student cached = shared == null ? cache.get(email) : null;
+            if (shared != null) {
+                students.add(shared);
+            } else if (cached != null) {
+                students.add(UnitOfWork.register(Student.class, email, copy(cached)));
+            } else {
+                missing.add(email);
+            }
+        }
+
+        // Only the misses go to the underlying persistence, in one batch
+        if (!missing.isEmpty()) {
+            long stamp = cache.stamp();
+            for (Student loaded : delegate.getStudentsByEmails(missing)) {
+                remember(loaded, stamp);
+                students.add(loaded);
+            }
+        }
+        return students;
+    }
+
+    @Override
+    public Student addStudent(Student newStudent) {
+        try {
+            return delegate.addStudent(newStudent);
+        } finally {
+            invalidate(newStudent.getEmail());
+        }
+    }
+
+    @Override
+    public void deleteStudentByEmail(String email) {
+        try {
+            delegate.deleteStudentByEmail(email);
+        } finally {
+            invalidate(email);
+        }
+    }
+
+    @Override
+    public void updateStudent(Student updatedStudent) {
+        try {
+            delegate.updateStudent(updatedStudent);
+        } finally {
+            invalidate(updatedStudent.getEmail());
+        }
+    }
+
+    @Override
+    public Student authenticate(String email, String hashedPassword) {
+        return delegate.authenticate(email, hashedPassword);
+    }
+
+    @Override
+    public int getSize() {
+        return cache.size();
+    }
+
+    @Override
+    public int getCapacity() {
+        return cache.capacity();
+    }
+
+    @Override
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    @Override
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    @Override
+    public long getEvictions() {
+        return cache.getEvictions();
+    }
+
+    @Override
+    public double getHitRatio() {
+        return cache.getHitRatio();
+    }
+
+    @Override
+    public String toString() {
+        return "CachingStudentPersistence[" + cache.describe() + "]";
+    }
+
+    // Rows read inside a transaction may still be rolled back, so they are not cached.
+    // The stamp, taken before the read, drops rows a concurrent write has invalidated since.
+    private void remember(Student student, long stamp) {
+        if (!Transaction.isActive()) {
+            cache.put(student.getEmail(), copy(student), stamp);
+        }
+    }
+
+    // Inside a transaction, readers still see the old committed row until it commits and
+    // may cache it meanwhile, so the entry is dropped again after the commit
+    private void invalidate(String email) {
+        cache.invalidate(email);
+        if (Transaction.isActive()) {
+            Transaction.afterCommit(() -> cache.invalidate(email));
+        }
+    }
+
+    private static Student copy(Student student) {
+        return new Student(student.getName(), student.getEmail(), student.getHashedPassword());
+    }
+}
@@ -0,0 +1,203 @@
+package skolard.persistence;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import skolard.objects.Tutor;
+
+/**
+ * Read-through cache in front of another TutorPersistence.
+ * Profile lookups by email are answered from a bounded LRU cache with a time-to-live,
+ * and every write through this class invalidates the tutor it touches.
+ *
+ * Tutor objects are mutable, so the cache keeps its own copy of each tutor and hands
+ * out a fresh copy per lookup; a caller changing its tutor never changes the cache.
+ * Inside a {@link UnitOfWork} the copy is shared like any other loaded tutor.
+ * Authentication always goes to the underlying persistence.
+ * A row read while a write to it is in flight is not cached, so a lookup never brings
+ * back a profile older than the last write for the rest of its time-to-live.
+ */
+public class CachingTutorPersistence implements TutorPersistence, ProfileCacheMBean {
+
+    private final TutorPersistence delegate;
+    private final LruCache<Tutor> cache;
+
+    /**
+     * @param delegate   the persistence to read through to
+     * @param capacity   maximum number of cached tutors; 0 disables caching
+     * @param ttlMs      how long a cached tutor is served; 0 or less keeps it until evicted
+     */
+    public CachingTutorPersistence(TutorPersistence delegate, int capacity, long ttlMs) {
+        this(delegate, new LruCache<>(capacity, ttlMs));
+    }
+
+    CachingTutorPersistence(TutorPersistence delegate, LruCache<Tutor> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public List<Tutor> getAllTutors() {
+        long stamp = cache.stamp();
+        List<Tutor> tutors = delegate.getAllTutors();
+        tutors.forEach(loaded -> remember(loaded, stamp));
+        return tutors;
+    }
+
+    @Override
+    public Tutor getTutorByEmail(String email) {
+        Tutor shared = UnitOfWork.get(Tutor.class, email);
+        if (shared != null) {
+            return shared;
+        }
+
+        Tutor cached = cache.get(email);
+        if (cached != null) {
+            return UnitOfWork.register(Tutor.class, email, copy(cached));
+        }
+
+        long stamp = cache.stamp();
+        Tutor loaded = delegate.getTutorByEmail(email);
+        if (loaded != null) {
+            remember(loaded, stamp);
+        }
+        return loaded;
+    }
+
+    @Override
+    public List<Tutor> getTutorsByEmails(Collection<String> emails) {
+        List<Tutor> tutors = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+
+        for (String email : new LinkedHashSet<>(emails)) {
+            Tutor shared = UnitOfWork.get(Tutor.class, email);
+            Tutor cached = shared == null ? cache.get(email) : null;
+            if (shared != null) {
+                tutors.add(shared);
+            } else if (cached != null) {
+                tutors.add(UnitOfWork.register(Tutor.class, email, copy(cached)));
+            } else {
+                missing.add(email);
+            }
+        }
+
+        // Only the misses go to the underlying persistence, in one batch
+        if (!missing.isEmpty()) {
+            long stamp = cache.stamp();
+            for (Tutor loaded : delegate.getTutorsByEmails(missing)) {
+                remember(loaded, stamp);
+                tutors.add(loaded);
+            }
+        }
+        return tutors;
+    }
+
+    @Override
+    public Tutor addTutor(Tutor newTutor) {
+        try {
+            return delegate.addTutor(newTutor);
+        } finally {
+            invalidate(newTutor.getEmail());
+        }
+    }
+
+    @Override
+    public void deleteTutorByEmail(String email) {
+        try {
+            delegate.deleteTutorByEmail(email);
+        } finally {
+            invalidate(email);
+        }
+    }
+
+    @Override
+    public void updateTutor(Tutor updatedTutor) {
+        try {
+            delegate.updateTutor(updatedTutor);
+        } finally {
+            invalidate(updatedTutor.getEmail());
+        }
+    }
+
+    @Override
+    public void addCourseToTutor(Tutor tutor, String course, Double grade) {
+        try {
+            delegate.addCourseToTutor(tutor, course, grade);
+        } finally {
+            invalidate(tutor.getEmail());
+        }
+    }
+
+    @Override
+    public void removeCourseFromTutor(Tutor tutor, String course) {
+        try {
+            delegate.removeCourseFromTutor(tutor, course);
+        } finally {
+            invalidate(tutor.getEmail());
+        }
+    }
+
+    @Override
+    public Tutor authenticate(String email, String hashedPassword) {
+        return delegate.authenticate(email, hashedPassword);
+    }
+
+    @Override
+    public int getSize() {
+        return cache.size();
+    }
+
+    @Override
+    public int getCapacity() {
+        return cache.capacity();
+    }
+
+    @Override
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    @Override
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    @Override
+    public long getEvictions() {
+        return cache.getEvictions();
+    }
+
+    @Override
+    public double getHitRatio() {
+        return cache.getHitRatio();
+    }
+
+    @Override
+    public String toString() {
+        return "CachingTutorPersistence[" + cache.describe() + "]";
+    }
+
+    // Rows read inside a transaction may still be rolled back, so they are not cached.
+    // The stamp, taken before the read, drops rows a concurrent write has invalidated since.
+    private void remember(Tutor tutor, long stamp) {
+        if (!Transaction.isActive()) {
+            cache.put(tutor.getEmail(), copy(tutor), stamp);
+        }
+    }
+
+    // Inside a transaction, readers still see the old committed row until it commits and
+    // may cache it meanwhile, so the entry is dropped again after the commit
+    private void invalidate(String email) {
+        cache.invalidate(email);
+        if (Transaction.isActive()) {
+            Transaction.afterCommit(() -> cache.invalidate(email));
+        }
+    }
+
+    private static Tutor copy(Tutor tutor) {
+        return new Tutor(tutor.getName(), tutor.getEmail(), tutor.getHashedPassword(), tutor.getBio(),
+            tutor.getCoursesWithGrades());
+    }
+}
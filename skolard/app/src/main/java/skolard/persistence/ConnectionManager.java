@@ -1,50 +1,101 @@
 package skolard.persistence;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import skolard.Config.Config;
 
 /**
- * Manages a single shared connection to the SQLite database.
- * Ensures that only one connection is established and reused across the application.
+ * Manages the shared connection pool for the SQLite database.
+ * Ensures that only one pool is open at a time and that it is reused across the application.
  */
 public class ConnectionManager {
-    // Static reference to the database connection (singleton-style)
-    private static Connection connection;
+    // Static reference to the active pool (singleton-style)
+    private static ConnectionPool pool;
+
+    // Resources that must finish their writes before the pool closes (e.g. write-behind queues)
+    private static final List<AutoCloseable> dependents = new ArrayList<>();
 
     /**
-     * Initializes the database connection using the given file path.
-     * Loads the SQLite JDBC driver and creates a connection if not already initialized.
+     * Initializes the connection pool using the given file path and the default reader pool size.
      *
      * @param dbPath the path to the SQLite database file (e.g., "skolard.db")
      * @throws Exception if the JDBC driver cannot be loaded or connection fails
      */
     public static void initialize(String dbPath) throws Exception {
-        // Avoid reinitializing if a connection already exists
-        if (connection != null) return;
+        initialize(dbPath, Config.DB_READER_POOL_SIZE);
+    }
+
+    /**
+     * Initializes the connection pool using the given file path.
+     * Loads the SQLite JDBC driver and opens the pool if one is not already open.
+     * A pool whose writer connection has been closed is replaced with a fresh one.
+     *
+     * @param dbPath         the path to the SQLite database file
+     * @param readerPoolSize maximum number of read-only connections
+     * @throws Exception if the JDBC driver cannot be loaded or connection fails
+     */
+    public static synchronized void initialize(String dbPath, int readerPoolSize) throws Exception {
+        // Avoid reinitializing if a live pool already exists
+        if (pool != null && !pool.isClosed()) return;
+
+        if (pool != null) pool.close();
 
         // Load the SQLite JDBC driver class into memory
         Class.forName("org.sqlite.JDBC");
 
-        // Establish a connection to the specified SQLite database
-        connection = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
+        // Open the writer connection for the specified SQLite database
+        pool = new ConnectionPool(dbPath, readerPoolSize, Config.DB_BUSY_TIMEOUT_MS,
+            Config.DB_STATEMENT_CACHE_SIZE);
+        PersistenceMetrics.register(pool);
     }
 
     /**
-     * Returns the active database connection.
+     * Returns the raw writer connection.
+     * Intended for startup work (schema creation, seeding) that runs before the
+     * persistence layer is shared between threads.
      *
-     * @return the shared SQLite connection instance
+     * @return the writer connection, or null if the manager was never initialized
      */
     public static Connection get() {
-        return connection;
+        return pool == null ? null : pool.getWriterConnection();
+    }
+
+    /**
+     * Returns the pool that persistence classes borrow connections from.
+     *
+     * @return the active connection source, or null if the manager was never initialized
+     */
+    public static ConnectionSource getSource() {
+        return pool;
+    }
+
+    /**
+     * Registers a resource to close before the pool, such as a queue of pending writes.
+     * Resources are closed in registration order by {@link #close()}.
+     *
+     * @param resource the resource that still needs the pool while closing
+     */
+    public static synchronized void closeBeforePool(AutoCloseable resource) {
+        dependents.add(resource);
     }
 
     /**
-     * Closes the database connection if it has been initialized.
+     * Closes every registered dependent resource, flushing their pending writes,
+     * then every pooled connection if the pool has been initialized.
      * Silently ignores any exceptions during close.
      */
-    public static void close() {
+    public static synchronized void close() {
+        for (AutoCloseable resource : dependents) {
+            try {
+                resource.close();
+            } catch (Exception ignored) {}
+        }
+        dependents.clear();
+
         try {
-            if (connection != null) connection.close();
+            if (pool != null) pool.close();
         } catch (Exception ignored) {}
     }
 }
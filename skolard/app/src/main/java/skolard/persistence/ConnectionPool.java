@@ -0,0 +1,351 @@
+package skolard.persistence;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.sqlite.SQLiteConfig;
+
+import skolard.Config.Config;
+
+/**
+ * Pool of SQLite connections for a single database file.
+ * The database runs in WAL mode so readers never block on the writer:
+ * reads are spread over a bounded set of read-only connections, while all
+ * writes go through one dedicated writer connection guarded by a lock.
+ *
+ * A thread that borrows again while already holding a connection gets the same
+ * connection back, so nested lookups (e.g. a session row resolving its tutor)
+ * never wait on the pool. A thread holding the writer also reads through it,
+ * which lets it see its own uncommitted changes.
+ *
+ * Each connection keeps a {@link StatementCache}, so prepareStatement(sql) on a
+ * borrowed connection reuses a statement prepared earlier on the same connection.
+ * The caches' hit and miss counts are published over JMX through {@link ConnectionPoolMBean}
+ * and printed by {@link PersistenceMetrics#dump}.
+ */
+public class ConnectionPool implements ConnectionSource, ConnectionPoolMBean {
+
+    private final String url;
+    private final int readerPoolSize;
+    private final int busyTimeoutMs;
+    private final int statementCacheSize;
+
+    // Dedicated writer connection and the lock that serializes access to it
+    private final Connection writer;
+    private final ReentrantLock writeLock = new ReentrantLock(true);
+
+    // Idle read-only connections and the permits bounding how many exist
+    private final BlockingQueue<Connection> idleReaders;
+    private final Semaphore readerPermits;
+    private final List<Connection> openReaders = new CopyOnWriteArrayList<>();
+
+    // Times the statements of borrowed connections; null unless slow queries are logged
+    private final SlowQueryLog slowQueries = SlowQueryLog.fromConfig();
+
+    // Statement cache of every open connection, closed and dropped together with it
+    private final Map<Connection, StatementCache> statementCaches = new ConcurrentHashMap<>();
+
+    // Counts of the caches of connections closed so far, so totals cover the pool's whole life
+    private final AtomicLong closedCacheHits = new AtomicLong();
+    private final AtomicLong closedCacheMisses = new AtomicLong();
+    private final AtomicLong closedCacheEvictions = new AtomicLong();
+
+    // Reader last borrowed by each thread; stale once its depth reaches 0, which may happen on another thread
+    private final ThreadLocal<HeldReader> heldReader = new ThreadLocal<>();
+
+    private volatile boolean closed;
+
+    /**
+     * Opens the writer connection and switches the database to WAL mode.
+     * Reader connections are opened lazily as they are first needed.
+     *
+     * @param dbPath         path to the SQLite file, or ":memory:"
+     * @param readerPoolSize maximum number of read-only connections;
+     *                       0 routes all reads through the writer
+     * @param busyTimeoutMs  how long a connection waits on a locked database
+     * @throws SQLException if the writer connection cannot be opened
+     */
+    public ConnectionPool(String dbPath, int readerPoolSize, int busyTimeoutMs) throws SQLException {
+        this(dbPath, readerPoolSize, busyTimeoutMs, Config.DB_STATEMENT_CACHE_SIZE);
+    }
+
+    /**
+     * Opens the writer connection and switches the database to WAL mode.
+     *
+     * @param dbPath             path to the SQLite file, or ":memory:"
+     * @param readerPoolSize     maximum number of read-only connections;
+     *                           0 routes all reads through the writer
+     * @param busyTimeoutMs      how long a connection waits on a locked database
+     * @param statementCacheSize prepared statements kept per connection; 0 disables caching
+     * @throws SQLException if the writer connection cannot be opened
+     */
+    public ConnectionPool(String dbPath, int readerPoolSize, int busyTimeoutMs, int statementCacheSize)
+            throws SQLException {
+        this.url = "jdbc:sqlite:" + dbPath;
+        // Every connection to an in-memory database gets its own private database,
+        // so readers there would never see the writer's data
+        this.readerPoolSize = isInMemory(dbPath) ? 0 : Math.max(0, readerPoolSize);
+        this.busyTimeoutMs = busyTimeoutMs;
+        this.statementCacheSize = Math.max(0, statementCacheSize);
+        this.idleReaders = new ArrayBlockingQueue<>(Math.max(1, this.readerPoolSize));
+        this.readerPermits = new Semaphore(this.readerPoolSize, true);
+        this.writer = openWriter();
+    }
+
+    /**
+     * Borrows a read connection. Blocks while every reader is in use by another thread.
+     */
+    @Override
+    public Connection reader() throws SQLException {
+        ensureOpen();
+
+        // Reads inside a write (or with no readers configured) share the writer
+        if (writeLock.isHeldByCurrentThread() || readerPoolSize == 0) {
+            return writer();
+        }
+
+        HeldReader held = heldReader.get();
+        if (held != null && held.retain()) {
+            return BorrowedConnection.wrap(held.connection, statementCache(held.connection), slowQueries,
+                () -> releaseReader(held));
+        }
+
+        try {
+            readerPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a read connection", e);
+        }
+
+        Connection connection = idleReaders.poll();
+        try {
+            if (connection == null || connection.isClosed()) {
+                connection = openReader();
+            }
+        } catch (SQLException e) {
+            readerPermits.release();
+            throw e;
+        }
+
+        HeldReader fresh = new HeldReader(connection);
+        heldReader.set(fresh);
+        return BorrowedConnection.wrap(connection, statementCache(connection), slowQueries,
+            () -> releaseReader(fresh));
+    }
+
+    /**
+     * Borrows the writer connection. Blocks while another thread holds it.
+     */
+    @Override
+    public Connection writer() throws SQLException {
+        ensureOpen();
+        writeLock.lock();
+        return BorrowedConnection.wrap(writer, statementCache(writer), slowQueries, writeLock::unlock);
+    }
+
+    /**
+     * Returns the raw writer connection without taking the write lock.
+     * Only meant for single-threaded startup work such as schema setup and seeding.
+     *
+     * @return the underlying writer connection
+     */
+    public Connection getWriterConnection() {
+        return writer;
+    }
+
+    /**
+     * @return the configured maximum number of read-only connections
+     */
+    @Override
+    public int getReaderPoolSize() {
+        return readerPoolSize;
+    }
+
+    /**
+     * @return prepareStatement calls served from a statement cache, across all connections
+     *         the pool has opened
+     */
+    @Override
+    public long getStatementCacheHits() {
+        return closedCacheHits.get() + statementCaches.values().stream().mapToLong(StatementCache::getHits).sum();
+    }
+
+    /**
+     * @return prepareStatement calls that had to prepare a new statement, across all connections
+     *         the pool has opened
+     */
+    @Override
+    public long getStatementCacheMisses() {
+        return closedCacheMisses.get() + statementCaches.values().stream().mapToLong(StatementCache::getMisses).sum();
+    }
+
+    /**
+     * @return idle statements closed to keep a cache within its capacity, across all connections
+     *         the pool has opened
+     */
+    @Override
+    public long getStatementCacheEvictions() {
+        return closedCacheEvictions.get()
+            + statementCaches.values().stream().mapToLong(StatementCache::getEvictions).sum();
+    }
+
+    /**
+     * @return hits as a fraction of all prepareStatement calls, or 0 before the first call
+     */
+    @Override
+    public double getStatementCacheHitRatio() {
+        long hits = getStatementCacheHits();
+        long calls = hits + getStatementCacheMisses();
+        return calls == 0 ? 0 : (double) hits / calls;
+    }
+
+    /**
+     * @return number of open connections that have a statement cache
+     */
+    int getStatementCacheCount() {
+        return statementCaches.size();
+    }
+
+    /**
+     * @return true once the pool has been closed or its writer connection was closed directly
+     */
+    @Override
+    public boolean isClosed() {
+        try {
+            return closed || writer.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Closes every reader and the writer connection.
+     * Silently ignores any exceptions during close.
+     */
+    public void close() {
+        closed = true;
+        for (Connection reader : openReaders) {
+            closeStatements(reader);
+            try {
+                reader.close();
+            } catch (SQLException ignored) {}
+        }
+        openReaders.clear();
+        idleReaders.clear();
+        closeStatements(writer);
+        try {
+            writer.close();
+        } catch (SQLException ignored) {}
+    }
+
+    /**
+     * Hands a reader back to the idle queue once its outermost borrow is closed.
+     * The borrow may be closed on a thread other than the one that took it, so only the
+     * releasing thread's own entry is cleared, and only if it is this reader; the borrowing
+     * thread's entry is left stale and skipped by its next {@link #reader()} call.
+     */
+    private void releaseReader(HeldReader held) {
+        if (held.depth.decrementAndGet() > 0) {
+            return;
+        }
+        if (heldReader.get() == held) {
+            heldReader.remove();
+        }
+        if (closed || !idleReaders.offer(held.connection)) {
+            closeQuietly(held.connection);
+        }
+        readerPermits.release();
+    }
+
+    private Connection openWriter() throws SQLException {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        // NORMAL is durable across application crashes in WAL mode and avoids an fsync per commit
+        config.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL);
+        config.setBusyTimeout(busyTimeoutMs);
+        return config.createConnection(url);
+    }
+
+    private Connection openReader() throws SQLException {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setReadOnly(true);
+        config.setBusyTimeout(busyTimeoutMs);
+        Connection connection = config.createConnection(url);
+        openReaders.add(connection);
+        return connection;
+    }
+
+    private StatementCache statementCache(Connection connection) {
+        return statementCaches.computeIfAbsent(connection, c -> new StatementCache(c, statementCacheSize));
+    }
+
+    /**
+     * Closes a connection's cached statements and drops its cache, keeping its counts in the totals.
+     */
+    private void closeStatements(Connection connection) {
+        StatementCache cache = statementCaches.remove(connection);
+        if (cache != null) {
+            cache.close();
+            closedCacheHits.addAndGet(cache.getHits());
+            closedCacheMisses.addAndGet(cache.getMisses());
+            closedCacheEvictions.addAndGet(cache.getEvictions());
+        }
+    }
+
+    private void ensureOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool has been closed");
+        }
+    }
+
+    private void closeQuietly(Connection connection) {
+        openReaders.remove(connection);
+        closeStatements(connection);
+        try {
+            connection.close();
+        } catch (SQLException ignored) {}
+    }
+
+    private static boolean isInMemory(String dbPath) {
+        return dbPath.equals(":memory:") || dbPath.contains("mode=memory");
+    }
+
+    /**
+     * A reader borrowed by one thread, counted so nested borrows share it.
+     * The count is atomic because the last borrow may be closed on another thread.
+     */
+    private static final class HeldReader {
+        private final Connection connection;
+        private final AtomicInteger depth = new AtomicInteger(1);
+
+        private HeldReader(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Adds a nested borrow, unless the reader has already been handed back.
+         *
+         * @return true if the reader is still held and may be shared
+         */
+        private boolean retain() {
+            int current;
+            do {
+                current = depth.get();
+                if (current == 0) {
+                    return false;
+                }
+            } while (!depth.compareAndSet(current, current + 1));
+            return true;
+        }
+    }
+}
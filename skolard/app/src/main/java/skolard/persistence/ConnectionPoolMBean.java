@@ -0,0 +1,27 @@
+package skolard.persistence;
+
+/**
+ * JMX view of the active {@link ConnectionPool} and its prepared statement caches,
+ * for sizing the caches: a low hit ratio or many evictions call for a larger
+ * skolard.db.statementCacheSize.
+ */
+public interface ConnectionPoolMBean {
+
+    /** @return the configured maximum number of read-only connections */
+    int getReaderPoolSize();
+
+    /** @return prepareStatement calls served from a statement cache since the pool opened */
+    long getStatementCacheHits();
+
+    /** @return prepareStatement calls that had to prepare a new statement since the pool opened */
+    long getStatementCacheMisses();
+
+    /** @return idle statements closed to keep a cache within its capacity */
+    long getStatementCacheEvictions();
+
+    /** @return hits as a fraction of all prepareStatement calls, or 0 before the first call */
+    double getStatementCacheHitRatio();
+
+    /** @return true once the pool has been closed */
+    boolean isClosed();
+}
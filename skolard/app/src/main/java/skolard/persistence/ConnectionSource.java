@@ -0,0 +1,73 @@
+package skolard.persistence;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+/**
+ * Hands out database connections to the persistence classes.
+ * A connection is borrowed for a single operation and handed back by closing it,
+ * so callers should always borrow inside a try-with-resources block.
+ */
+public interface ConnectionSource {
+
+    /**
+     * Borrows a connection for queries that only read data.
+     *
+     * @return a borrowed connection; closing it returns it to the source
+     * @throws SQLException if no connection can be obtained
+     */
+    Connection reader() throws SQLException;
+
+    /**
+     * Borrows the connection used for inserts, updates and deletes.
+     * Writers are serialized, so only one thread holds it at a time.
+     *
+     * @return a borrowed connection; closing it returns it to the source
+     * @throws SQLException if no connection can be obtained
+     */
+    Connection writer() throws SQLException;
+
+    /**
+     * Runs work as one transaction on this source's writer, so every write made through
+     * this source during the work commits together with a single commit, or not at all.
+     * Joins the transaction already open on this thread, if any.
+     *
+     * @param work the work to run
+     * @return the work's result
+     * @throws RuntimeException if the transaction cannot be committed; the work's own
+     *                          exceptions are rethrown after rolling back
+     */
+    default <T> T inTransaction(Supplier<T> work) {
+        return Transaction.call(this, work);
+    }
+
+    /**
+     * @return true if a transaction opened with {@link #inTransaction(Supplier)} is running on this thread
+     */
+    default boolean isInTransaction() {
+        return Transaction.isActive();
+    }
+
+    /**
+     * Wraps a single existing connection as a source.
+     * Every borrow hands out the same connection and closing a borrowed handle leaves it open.
+     * Useful for tests and tools that manage their own connection.
+     *
+     * @param connection the connection to share
+     * @return a source backed by the given connection
+     */
+    static ConnectionSource of(Connection connection) {
+        return new ConnectionSource() {
+            @Override
+            public Connection reader() {
+                return BorrowedConnection.wrap(connection, () -> {});
+            }
+
+            @Override
+            public Connection writer() {
+                return BorrowedConnection.wrap(connection, () -> {});
+            }
+        };
+    }
+}
@@ -1,64 +1,209 @@
 package skolard.persistence;
 
-import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utility class responsible for executing SQL seed scripts from resource files.
  * This is typically used to populate the database with initial test or demo data.
+ *
+ * Each file is applied in one transaction with its statements sent as a single batch,
+ * and is recorded in the {@code seed_history} table with a checksum of its contents.
+ * A file whose checksum is already recorded is skipped, so seeding an existing
+ * database at every launch costs one lookup per file. Editing a seed file changes
+ * its checksum, and it is applied again on the next launch.
  */
 public class DatabaseSeeder {
 
+    private static final String FIND_CHECKSUM_SQL = "SELECT checksum FROM seed_history WHERE resource = ?";
+    private static final String RECORD_SQL =
+        "INSERT OR REPLACE INTO seed_history (resource, checksum, appliedAt) VALUES (?, ?, ?)";
+
+    /**
+     * Outcome of seeding one file.
+     */
+    public static class SeedResult {
+        private final String resourcePath;
+        private final boolean applied;
+        private final int statements;
+        private final long elapsedNanos;
+
+        SeedResult(String resourcePath, boolean applied, int statements, long elapsedNanos) {
+            this.resourcePath = resourcePath;
+            this.applied = applied;
+            this.statements = statements;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /** @return the classpath resource path of the seed file */
+        public String getResourcePath() {
+            return resourcePath;
+        }
+
+        /** @return true if the file was executed, false if it had already been applied */
+        public boolean isApplied() {
+            return applied;
+        }
+
+        /** @return number of statements executed, 0 when skipped */
+        public int getStatements() {
+            return statements;
+        }
+
+        /** @return time spent on the file, including the checksum lookup */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            String outcome = applied ? statements + " statements" : "already applied";
+            return resourcePath + ": " + outcome + " in " + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms";
+        }
+    }
+
     /**
      * Iterates over a list of SQL resource file paths and executes each one
-     * using the provided database connection.
+     * that has not been applied yet, using the provided database connection.
      *
      * @param connection     the active database connection
      * @param resourcePaths  a list of classpath resource paths to SQL files
+     * @return what happened to each file, in the given order
      */
-    public static void seed(Connection connection, List<String> resourcePaths) {
+    public static List<SeedResult> seed(Connection connection, List<String> resourcePaths) {
+        long start = System.nanoTime();
+        List<SeedResult> results = new ArrayList<>(resourcePaths.size());
         for (String path : resourcePaths) {
-            executeSqlFromResource(path, connection);
+            SeedResult result = executeSqlFromResource(path, connection);
+            System.out.println("Seed " + result);
+            results.add(result);
         }
+        System.out.println("Seeding finished in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        return results;
     }
 
     /**
-     * Loads a single SQL file from the classpath, splits its contents by semicolons,
-     * and executes each individual SQL statement.
+     * Loads a single SQL file from the classpath and, unless the same contents were applied
+     * before, executes its statements as one batch in one transaction that also records the file.
      *
      * @param resourcePath the path to the SQL resource file (e.g., "/seed_students.sql")
      * @param connection   the active database connection
+     * @return what happened to the file
      */
-    private static void executeSqlFromResource(String resourcePath, Connection connection) {
-        // Attempt to load the SQL file from the classpath
-        InputStream input = DatabaseSeeder.class.getResourceAsStream(resourcePath);
-        if (input == null) {
-            throw new RuntimeException("Seed file not found: " + resourcePath);
-        }
+    private static SeedResult executeSqlFromResource(String resourcePath, Connection connection) {
+        long start = System.nanoTime();
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input))) {
-            // Join the file's lines into a single SQL string
-            String sql = reader.lines().collect(Collectors.joining("\n"));
+        byte[] contents = readResource(resourcePath);
+        String checksum = checksum(contents);
 
-            // Split the SQL string into individual statements based on semicolon delimiters
-            for (String statement : sql.split(";")) {
-                String trimmed = statement.trim();
+        try {
+            if (checksum.equals(findChecksum(connection, resourcePath))) {
+                return new SeedResult(resourcePath, false, 0, System.nanoTime() - start);
+            }
 
-                // Ignore any empty statements
-                if (!trimmed.isEmpty()) {
-                    try (Statement stmt = connection.createStatement()) {
-                        stmt.execute(trimmed); // Execute each SQL statement individually
-                    }
+            List<String> statements = splitStatements(new String(contents, StandardCharsets.UTF_8));
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Statement stmt = connection.createStatement();
+                 PreparedStatement record = connection.prepareStatement(RECORD_SQL)) {
+                for (String statement : statements) {
+                    stmt.addBatch(statement);
                 }
+                stmt.executeBatch();
+
+                record.setString(1, resourcePath);
+                record.setString(2, checksum);
+                record.setLong(3, System.currentTimeMillis());
+                record.executeUpdate();
+
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
             }
-        } catch (Exception e) {
+            return new SeedResult(resourcePath, true, statements.size(), System.nanoTime() - start);
+        } catch (SQLException e) {
             // Wrap and rethrow any exception encountered while executing seed logic
             throw new RuntimeException("Failed to execute seed file: " + resourcePath, e);
         }
     }
+
+    /**
+     * Splits a seed file on semicolons, dropping empty statements and the file's own
+     * transaction control, since the seeder wraps each file in a transaction itself.
+     */
+    static List<String> splitStatements(String sql) {
+        List<String> statements = new ArrayList<>();
+        for (String statement : sql.split(";")) {
+            String trimmed = stripLeadingComments(statement);
+            if (trimmed.isEmpty() || isTransactionControl(trimmed)) {
+                continue;
+            }
+            statements.add(trimmed);
+        }
+        return statements;
+    }
+
+    /**
+     * Drops "--" comments before a statement; a comment that ends a line of the seed file
+     * lands at the start of the next statement once the file is split.
+     */
+    private static String stripLeadingComments(String statement) {
+        String trimmed = statement.trim();
+        while (trimmed.startsWith("--")) {
+            int lineEnd = trimmed.indexOf('\n');
+            trimmed = lineEnd < 0 ? "" : trimmed.substring(lineEnd + 1).trim();
+        }
+        return trimmed;
+    }
+
+    private static boolean isTransactionControl(String statement) {
+        String upper = statement.toUpperCase();
+        return upper.equals("BEGIN") || upper.startsWith("BEGIN TRANSACTION")
+            || upper.equals("COMMIT") || upper.equals("END") || upper.equals("END TRANSACTION");
+    }
+
+    private static String findChecksum(Connection connection, String resourcePath) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(FIND_CHECKSUM_SQL)) {
+            stmt.setString(1, resourcePath);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    private static byte[] readResource(String resourcePath) {
+        // Attempt to load the SQL file from the classpath
+        try (InputStream input = DatabaseSeeder.class.getResourceAsStream(resourcePath)) {
+            if (input == null) {
+                throw new RuntimeException("Seed file not found: " + resourcePath);
+            }
+            return input.readAllBytes();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read seed file: " + resourcePath, e);
+        }
+    }
+
+    private static String checksum(byte[] contents) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(contents));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -80,6 +80,8 @@ public class EnvironmentInitializer {
                 "DELETE FROM session;",
                 "DELETE FROM student;",
                 "DELETE FROM tutor;",
+                // Forget applied seed files so the seeder fills the emptied tables again
+                "DELETE FROM seed_history;",
                 // Reset AUTOINCREMENT counters for some tables
                 "DELETE FROM sqlite_sequence WHERE name='ratings';",
                 "DELETE FROM sqlite_sequence WHERE name='ratingRequests';",
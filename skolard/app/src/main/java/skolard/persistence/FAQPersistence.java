@@ -6,6 +6,7 @@ import java.util.List;
 /**
  * Interface for FAQ persistence operations.
  * Defines methods to retrieve, add, delete, and search FAQs.
+ * Searches follow the term and ranking rules of {@link FAQSearch}.
  */
 public interface FAQPersistence {
     
@@ -31,10 +32,20 @@ public interface FAQPersistence {
     void deleteFAQByQuestion(String question);
 
     /**
-     * Searches FAQs containing the given keyword in their question or answer.
+     * Searches FAQs whose question or answer contains every term of the query,
+     * each term matching as a word prefix (see {@link FAQSearch}).
      * 
-     * @param keyword the search term to look for
-     * @return a list of matching FAQs
+     * @param keyword the search terms to look for
+     * @return the matching FAQs, most relevant first; empty if the query has no terms
      */
     List<FAQ> searchFAQs(String keyword);
+
+    /**
+     * Searches FAQs like {@link #searchFAQs} and returns the best matches with their BM25 scores.
+     *
+     * @param query the search terms to look for
+     * @param limit the most results to return
+     * @return up to limit matching FAQs, most relevant first; empty if the query has no terms
+     */
+    List<RankedFAQ> rankFAQs(String query, int limit);
 }
@@ -0,0 +1,85 @@
+package skolard.persistence;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Search semantics shared by every {@link FAQPersistence}, so the SQLite full-text index
+ * and the stub's inverted index find and rank the same FAQs.
+ *
+ * Text is split into terms the way SQLite's unicode61 tokenizer does with diacritics removed:
+ * runs of letters and digits, lower-cased, with accents dropped. A query matches an FAQ when
+ * every one of its terms is a prefix of some term in the question or answer, and matches
+ * are ranked by BM25 with question terms weighted above answer terms.
+ */
+public final class FAQSearch {
+
+    /** BM25 weight of a term found in the question. */
+    public static final double QUESTION_WEIGHT = 2.0;
+
+    /** BM25 weight of a term found in the answer. */
+    public static final double ANSWER_WEIGHT = 1.0;
+
+    // BM25 parameters, the fixed values SQLite's bm25() uses
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+
+    private FAQSearch() {}
+
+    /**
+     * Splits text into search terms.
+     *
+     * @param text the text to split; may be null
+     * @return the terms in order, possibly empty
+     */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+            .replaceAll("\\p{M}+", "")
+            .toLowerCase(Locale.ROOT);
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                term.append(c);
+            } else if (term.length() > 0) {
+                terms.add(term.toString());
+                term.setLength(0);
+            }
+        }
+        if (term.length() > 0) {
+            terms.add(term.toString());
+        }
+        return terms;
+    }
+
+    /**
+     * BM25 inverse document frequency of a term, floored just above zero like SQLite's,
+     * so a term found in most FAQs still counts for a little.
+     *
+     * @param faqs     number of FAQs searched
+     * @param matching number of them containing the term
+     */
+    public static double idf(int faqs, int matching) {
+        double idf = Math.log((faqs - matching + 0.5) / (matching + 0.5));
+        return idf <= 0 ? 1e-6 : idf;
+    }
+
+    /**
+     * One term's contribution to an FAQ's BM25 score.
+     *
+     * @param idf       the term's {@link #idf}
+     * @param frequency weighted occurrences of the term in the FAQ
+     * @param length    terms in the FAQ's question and answer together
+     * @param avgLength average of that length over all FAQs
+     */
+    public static double termScore(double idf, double frequency, int length, double avgLength) {
+        return idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / avgLength));
+    }
+}
@@ -0,0 +1,110 @@
+package skolard.persistence;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds, bucketed like an HDR histogram:
+ * every power of two is split into 32 linear sub-buckets, so any recorded value is
+ * reported within about 3% while the whole range up to minutes fits in a fixed array.
+ * Recording never blocks; percentiles read while others record may be off by the
+ * values recorded meanwhile.
+ */
+class LatencyHistogram {
+
+    // Sub-buckets per power of two; 2^5 = 32 keeps the relative error near 1/32
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    // Largest value told apart from bigger ones, about 18 minutes; slower calls count as this
+    static final long MAX_TRACKABLE_NANOS = (1L << 40) - 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(indexOf(MAX_TRACKABLE_NANOS) + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param nanos the latency to record; negative values count as 0
+     */
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(indexOf(Math.min(value, MAX_TRACKABLE_NANOS)));
+        count.increment();
+        total.add(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /** @return number of recorded values */
+    long getCount() {
+        return count.sum();
+    }
+
+    /** @return mean of the recorded values, or 0 if there are none */
+    double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) total.sum() / n;
+    }
+
+    /** @return largest recorded value, exactly */
+    long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the value below which the given fraction of recorded values fall,
+     * as the top of the bucket holding it (never above the recorded maximum).
+     *
+     * @param quantile fraction between 0 and 1, e.g. 0.99 for the p99
+     * @return the latency in nanoseconds, or 0 if nothing has been recorded
+     */
+    long getValueAtQuantile(double quantile) {
+        long n = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            n += buckets.get(i);
+        }
+        if (n == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * n));
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueIn(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Clears every recorded value. Values recorded while resetting may be partly kept.
+     */
+    void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        max.set(0);
+    }
+
+    /**
+     * Values below 64 get a bucket each; above that, the top six bits pick the bucket.
+     */
+    static int indexOf(long value) {
+        int shift = Math.max(0, (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS);
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /**
+     * @return the largest value that falls in the bucket at the given index
+     */
+    static long highestValueIn(int index) {
+        int shift = Math.max(0, index / SUB_BUCKETS - 1);
+        long subBucket = index - (long) shift * SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,168 @@
+package skolard.persistence;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, thread-safe cache keyed by string with least-recently-used eviction
+ * and an optional time-to-live. Counts hits and misses so it can be sized.
+ *
+ * A value read from the database while another thread writes it may already be stale
+ * when it arrives. Readers take a {@link #stamp()} before reading and store with
+ * {@link #put(String, Object, long)}, which drops the value if any entry was
+ * invalidated in between.
+ *
+ * @param <V> type of the cached values
+ */
+class LruCache<V> {
+
+    private final int capacity;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    // Entries in least-recently-used order
+    private final LinkedHashMap<String, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    // Invalidations so far; a store stamped before the latest one is dropped
+    private long invalidations;
+
+    /**
+     * @param capacity maximum number of entries; 0 caches nothing
+     * @param ttlMs    how long an entry stays valid; 0 or less never expires entries
+     */
+    LruCache(int capacity, long ttlMs) {
+        this(capacity, ttlMs, System::nanoTime);
+    }
+
+    /**
+     * @param capacity maximum number of entries; 0 caches nothing
+     * @param ttlMs    how long an entry stays valid; 0 or less never expires entries
+     * @param clock    source of nanosecond timestamps (replaced in tests)
+     */
+    LruCache(int capacity, long ttlMs, LongSupplier clock) {
+        this.capacity = Math.max(0, capacity);
+        this.ttlNanos = ttlMs > 0 ? TimeUnit.MILLISECONDS.toNanos(ttlMs) : 0;
+        this.clock = clock;
+    }
+
+    /**
+     * @param key the key to look up
+     * @return the cached value, or null if absent or expired
+     */
+    synchronized V get(String key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && ttlNanos > 0 && clock.getAsLong() - entry.storedAt >= ttlNanos) {
+            entries.remove(key);
+            entry = null;
+        }
+
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * Stores a value, evicting the least recently used entries beyond capacity.
+     */
+    synchronized void put(String key, V value) {
+        if (capacity == 0 || key == null || value == null) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, clock.getAsLong()));
+        while (entries.size() > capacity) {
+            Map.Entry<String, Entry<V>> eldest = entries.entrySet().iterator().next();
+            entries.remove(eldest.getKey());
+            evictions++;
+        }
+    }
+
+    /**
+     * Stores a value read after the given stamp was taken, unless an entry has been
+     * invalidated since, in which case the value may predate that write.
+     *
+     * @param stamp the {@link #stamp()} taken before the value was read
+     */
+    synchronized void put(String key, V value, long stamp) {
+        if (stamp == invalidations) {
+            put(key, value);
+        }
+    }
+
+    /**
+     * @return a stamp to take before reading a value to cache, for {@link #put(String, Object, long)}
+     */
+    synchronized long stamp() {
+        return invalidations;
+    }
+
+    /**
+     * Drops the entry for a key, if any.
+     */
+    synchronized void invalidate(String key) {
+        invalidations++;
+        entries.remove(key);
+    }
+
+    /**
+     * Drops every entry.
+     */
+    synchronized void clear() {
+        invalidations++;
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    synchronized long getHits() {
+        return hits;
+    }
+
+    synchronized long getMisses() {
+        return misses;
+    }
+
+    synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return hits divided by lookups, or 0 before the first lookup
+     */
+    synchronized double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    /**
+     * @return one-line summary of the counters, for logs
+     */
+    synchronized String describe() {
+        return String.format("size=%d/%d hits=%d misses=%d evictions=%d hitRatio=%.2f",
+            entries.size(), capacity, hits, misses, evictions, getHitRatio());
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long storedAt;
+
+        private Entry(V value, long storedAt) {
+            this.value = value;
+            this.storedAt = storedAt;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package skolard.persistence;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import skolard.objects.Message;
 
@@ -16,6 +19,36 @@ public interface MessagePersistence {
      * @return a list of messages exchanged between the student and tutor
      */
     List<Message> getMessageHistory(String studentEmail, String tutorEmail);
+
+    /**
+     * Streams the message history between a student and a tutor, oldest first,
+     * fetching messages lazily. The stream holds a database cursor until it is
+     * closed or fully consumed, so open it in a try-with-resources block.
+     * It may be handed to another thread, which may then consume and close it,
+     * but only one thread may use it at a time.
+     *
+     * @param studentEmail the student's email
+     * @param tutorEmail the tutor's email
+     * @param fetchSize number of rows to fetch per round trip; 0 uses the driver default
+     * @return a stream of the messages exchanged between the student and tutor
+     */
+    Stream<Message> streamMessageHistory(String studentEmail, String tutorEmail, int fetchSize);
+
+    /**
+     * Passes each message between a student and a tutor to an action, oldest first,
+     * closing the cursor afterwards.
+     *
+     * @param studentEmail the student's email
+     * @param tutorEmail the tutor's email
+     * @param fetchSize number of rows to fetch per round trip; 0 uses the driver default
+     * @param action the action to run for each message
+     */
+    default void forEachMessage(String studentEmail, String tutorEmail, int fetchSize,
+                                Consumer<? super Message> action) {
+        try (Stream<Message> messages = streamMessageHistory(studentEmail, tutorEmail, fetchSize)) {
+            messages.forEach(action);
+        }
+    }
     
     /**
      * Retrieves a list of tutor emails that a student has messaged.
@@ -37,6 +70,20 @@ public interface MessagePersistence {
      * @return the added message, potentially with an assigned ID
      */
     Message addMessage(Message message);
+
+    /**
+     * Adds a new message without waiting for it to be stored, where the implementation supports it.
+     * By default the message is added before this returns.
+     * @param message the message object to add
+     * @return completes with the added message (with its assigned ID), or exceptionally if adding failed
+     */
+    default CompletableFuture<Message> addMessageAsync(Message message) {
+        try {
+            return CompletableFuture.completedFuture(addMessage(message));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
     
     /**
      * Deletes a message by its unique identifier.
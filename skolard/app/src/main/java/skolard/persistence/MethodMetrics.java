@@ -0,0 +1,86 @@
+package skolard.persistence;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call count, error count and latency histogram of one persistence method,
+ * e.g. SessionPersistence.getAllSessions. Filled in by the proxies of {@link PersistenceMetrics}.
+ */
+public class MethodMetrics implements MethodMetricsMBean {
+
+    private final String name;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    MethodMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records one call.
+     *
+     * @param nanos  how long the call took
+     * @param failed whether it threw
+     */
+    void record(long nanos, boolean failed) {
+        latencies.record(nanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    /** @return the interface and method, e.g. "SessionPersistence.getAllSessions" */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCalls() {
+        return latencies.getCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return latencies.getMean() / 1_000_000.0;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return quantileMillis(0.50);
+    }
+
+    @Override
+    public double getP90Millis() {
+        return quantileMillis(0.90);
+    }
+
+    @Override
+    public double getP99Millis() {
+        return quantileMillis(0.99);
+    }
+
+    @Override
+    public double getP999Millis() {
+        return quantileMillis(0.999);
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return latencies.getMax() / 1_000_000.0;
+    }
+
+    @Override
+    public void reset() {
+        latencies.reset();
+        errors.reset();
+    }
+
+    private double quantileMillis(double quantile) {
+        return latencies.getValueAtQuantile(quantile) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,29 @@
+package skolard.persistence;
+
+/**
+ * JMX view of one persistence method's {@link MethodMetrics}.
+ * Latencies are in milliseconds.
+ */
+public interface MethodMetricsMBean {
+
+    /** @return calls made since start or the last reset */
+    long getCalls();
+
+    /** @return calls that threw */
+    long getErrors();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP90Millis();
+
+    double getP99Millis();
+
+    double getP999Millis();
+
+    double getMaxMillis();
+
+    /** Clears the counts and latencies. */
+    void reset();
+}
@@ -1,7 +1,5 @@
 package skolard.persistence;
 
-import java.sql.Connection;
-
 /**
  * Factory class to initialize the persistence layer based on the given persistence type.
  * Supports initializing either stub implementations or SQLite database connection.
@@ -24,8 +22,8 @@ public class PersistenceFactory {
             }
 
             // Otherwise, setup the database environment and initialize SQLite persistence
-            Connection conn = EnvironmentInitializer.setupEnvironment(type, seed);
-            PersistenceProvider.initializeSqlite(conn);
+            EnvironmentInitializer.setupEnvironment(type, seed);
+            PersistenceProvider.initializeSqlite(ConnectionManager.getSource());
 
         } catch (Exception e) {
             // If any exception occurs, fallback to stub implementations
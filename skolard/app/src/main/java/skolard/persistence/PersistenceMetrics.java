@@ -0,0 +1,302 @@
+package skolard.persistence;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * Per-method latency metrics for the persistence interfaces.
+ * {@link #instrument} wraps a persistence object in a proxy that times every call to its
+ * interface and records it in that method's {@link MethodMetrics}. The metrics are shared by
+ * every proxy of the same interface, so they survive the persistence layer being re-initialized.
+ *
+ * Each method's metrics are registered as an MBean named
+ * {@code skolard:type=PersistenceMetrics,interface=...,method=...}, and {@link #dump} prints
+ * all of them as a table, which {@link #startPeriodicDump} does at a fixed interval.
+ * The active {@link ConnectionPool} is registered as {@code skolard:type=ConnectionPool}
+ * and the profile caches as {@code skolard:type=ProfileCache,profile=...}; the dump ends
+ * with the counts of the prepared statement cache and of each profile cache.
+ */
+public final class PersistenceMetrics {
+
+    private static final String JMX_DOMAIN = "skolard";
+
+    // Metrics of every instrumented method, keyed by "Interface.method"
+    private static final Map<String, MethodMetrics> metrics = new ConcurrentHashMap<>();
+
+    // Profile caches of the current persistence layer, keyed and ordered by profile type
+    private static final Map<String, ProfileCacheMBean> profileCaches = new ConcurrentSkipListMap<>();
+
+    private static ScheduledExecutorService dumper;
+
+    private PersistenceMetrics() {}
+
+    /**
+     * Wraps a persistence object so every call through the given interface is timed.
+     * Calls pass straight through: results and exceptions are the target's own.
+     *
+     * @param type   the persistence interface to time, e.g. SessionPersistence.class
+     * @param target the implementation to delegate to
+     * @return a proxy implementing the interface, or null if the target is null
+     */
+    public static <T> T instrument(Class<T> type, T target) {
+        if (target == null) {
+            return null;
+        }
+
+        Map<Method, MethodMetrics> byMethod = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            byMethod.put(method, metricsFor(type, method));
+        }
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+            new TimingHandler(target, byMethod)));
+    }
+
+    /**
+     * @param name the interface and method, e.g. "SessionPersistence.getAllSessions"
+     * @return the method's metrics, or null if no instrumented interface has that method
+     */
+    public static MethodMetrics get(String name) {
+        return metrics.get(name);
+    }
+
+    /**
+     * @return the metrics of every instrumented method, ordered by name
+     */
+    public static List<MethodMetrics> getAll() {
+        List<MethodMetrics> all = new ArrayList<>(metrics.values());
+        all.sort(Comparator.comparing(MethodMetrics::getName));
+        return all;
+    }
+
+    /**
+     * Clears the counts and latencies of every method.
+     */
+    public static void reset() {
+        metrics.values().forEach(MethodMetrics::reset);
+    }
+
+    /**
+     * Registers the pool's statement cache counts with the platform MBean server,
+     * replacing the pool registered before it.
+     *
+     * @param pool the pool {@link ConnectionManager} now hands out
+     */
+    static void register(ConnectionPool pool) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=ConnectionPool");
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(pool, objectName);
+        } catch (JMException e) {
+            System.err.println("Could not register connection pool metrics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Registers a profile cache's counts with the platform MBean server and the dump,
+     * replacing the cache registered before it for the same profile type.
+     *
+     * @param profile the profiles it caches, e.g. "tutor"
+     * @param cache   the cache {@link PersistenceProvider} now hands out
+     */
+    static void register(String profile, ProfileCacheMBean cache) {
+        profileCaches.put(profile, cache);
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=ProfileCache,profile=" + profile);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(new StandardMBean(cache, ProfileCacheMBean.class), objectName);
+        } catch (JMException e) {
+            System.err.println("Could not register " + profile + " profile cache metrics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Prints one line per method that has been called: calls, errors and latency
+     * percentiles in milliseconds, slowest p99 first. Then prints the cache counts
+     * as {@link #dumpCaches} does.
+     *
+     * @param out where to print
+     */
+    public static void dump(PrintStream out) {
+        List<MethodMetrics> called = new ArrayList<>();
+        for (MethodMetrics m : metrics.values()) {
+            if (m.getCalls() > 0) {
+                called.add(m);
+            }
+        }
+        called.sort(Comparator.comparingDouble(MethodMetrics::getP99Millis).reversed());
+
+        out.printf("%-60s %9s %7s %9s %9s %9s %9s %9s%n",
+            "persistence method", "calls", "errors", "mean ms", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (MethodMetrics m : called) {
+            out.printf("%-60s %9d %7d %9.3f %9.3f %9.3f %9.3f %9.3f%n", m.getName(), m.getCalls(),
+                m.getErrors(), m.getMeanMillis(), m.getP50Millis(), m.getP99Millis(), m.getP999Millis(),
+                m.getMaxMillis());
+        }
+
+        dumpCaches(out);
+    }
+
+    /**
+     * Prints the prepared statement cache counts of {@link ConnectionManager}'s pool,
+     * if it has one, then the counts of each registered profile cache.
+     * A closed pool still reports the counts it reached.
+     *
+     * @param out where to print
+     */
+    public static void dumpCaches(PrintStream out) {
+        if (ConnectionManager.getSource() instanceof ConnectionPool) {
+            ConnectionPool pool = (ConnectionPool) ConnectionManager.getSource();
+            out.printf("statement cache: %d hits, %d misses (%.1f%% hit ratio), %d evictions%n",
+                pool.getStatementCacheHits(), pool.getStatementCacheMisses(),
+                pool.getStatementCacheHitRatio() * 100, pool.getStatementCacheEvictions());
+        }
+        profileCaches.forEach((profile, cache) ->
+            out.printf("%s profile cache: %d/%d cached, %d hits, %d misses (%.1f%% hit ratio), %d evictions%n",
+                profile, cache.getSize(), cache.getCapacity(), cache.getHits(), cache.getMisses(),
+                cache.getHitRatio() * 100, cache.getEvictions()));
+    }
+
+    /**
+     * Dumps the metrics at a fixed interval on a background daemon thread.
+     * Does nothing if a periodic dump is already running.
+     *
+     * @param intervalSeconds seconds between dumps
+     * @param out             where to print
+     */
+    public static synchronized void startPeriodicDump(long intervalSeconds, PrintStream out) {
+        if (dumper != null) {
+            return;
+        }
+        dumper = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "skolard-metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleAtFixedRate(() -> dump(out), intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the periodic dump, if one is running.
+     */
+    public static synchronized void stopPeriodicDump() {
+        if (dumper != null) {
+            dumper.shutdownNow();
+            dumper = null;
+        }
+    }
+
+    private static MethodMetrics metricsFor(Class<?> type, Method method) {
+        String methodName = method.getName();
+        // Overloads share a name, so they are told apart by their parameter types
+        long overloads = Arrays.stream(type.getMethods()).filter(m -> m.getName().equals(method.getName())).count();
+        if (overloads > 1) {
+            StringBuilder signature = new StringBuilder(methodName).append('(');
+            Class<?>[] parameters = method.getParameterTypes();
+            for (int i = 0; i < parameters.length; i++) {
+                signature.append(i > 0 ? "," : "").append(parameters[i].getSimpleName());
+            }
+            methodName = signature.append(')').toString();
+        }
+
+        String name = type.getSimpleName() + "." + methodName;
+        String jmxMethod = methodName;
+        return metrics.computeIfAbsent(name, n -> {
+            MethodMetrics created = new MethodMetrics(n);
+            register(created, type.getSimpleName(), jmxMethod);
+            return created;
+        });
+    }
+
+    /**
+     * Registers a method's metrics with the platform MBean server.
+     * Metrics stay usable through {@link #dump} if registration fails.
+     */
+    private static void register(MethodMetrics methodMetrics, String interfaceName, String methodName) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=PersistenceMetrics,interface="
+                + interfaceName + ",method=" + (methodName.contains(",") ? ObjectName.quote(methodName) : methodName));
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(methodMetrics, objectName);
+            }
+        } catch (JMException e) {
+            System.err.println("Could not register metrics for " + methodMetrics.getName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Times each call and hands it to the target. Object's own methods are not timed.
+     */
+    private static final class TimingHandler implements InvocationHandler {
+
+        private final Object target;
+        private final Map<Method, MethodMetrics> byMethod;
+
+        TimingHandler(Object target, Map<Method, MethodMetrics> byMethod) {
+            this.target = target;
+            this.byMethod = byMethod;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            MethodMetrics methodMetrics = byMethod.get(method);
+            if (methodMetrics == null) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Instrumented[" + target + "]";
+                    default:
+                        return invokeTarget(method, args);
+                }
+            }
+
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = invokeTarget(method, args);
+                failed = false;
+                return result;
+            } finally {
+                methodMetrics.record(System.nanoTime() - start, failed);
+            }
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                // Surface the target's own exception rather than the reflection wrapper
+                throw e.getCause();
+            }
+        }
+    }
+}
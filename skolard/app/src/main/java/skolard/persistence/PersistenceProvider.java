@@ -2,6 +2,8 @@ package skolard.persistence;
 
 import java.sql.Connection;
 
+import skolard.Config.Config;
+
 import skolard.persistence.sqlite.CardDB;
 import skolard.persistence.sqlite.FAQDB;
 import skolard.persistence.sqlite.LoginDB;
@@ -21,30 +23,69 @@ import skolard.persistence.stub.StubFactory;
 public class PersistenceProvider {
 
     /**
-     * Initializes all persistence components backed by SQLite database.
+     * Initializes all persistence components backed by a single SQLite connection.
      * Sets the components in the PersistenceRegistry for global access.
      *
      * @param conn the active database connection
      */
     public static void initializeSqlite(Connection conn) {
+        initializeSqlite(ConnectionSource.of(conn));
+    }
+
+    /**
+     * Initializes all persistence components backed by SQLite database.
+     * Each component borrows connections from the given source per operation.
+     * Sets the components in the PersistenceRegistry for global access.
+     *
+     * @param conn the source of database connections (normally the pool from ConnectionManager)
+     */
+    public static void initializeSqlite(ConnectionSource conn) {
         // Create SQLite persistence objects with required dependencies
-        StudentPersistence studentPersistence = new StudentDB(conn);
-        TutorPersistence tutorPersistence = new TutorDB(conn);
-        SessionPersistence sessionPersistence = new SessionDB(conn, studentPersistence, tutorPersistence);
+        // Profiles are read far more often than they change, so they are cached in front of the DB
+        CachingStudentPersistence studentPersistence = new CachingStudentPersistence(new StudentDB(conn),
+            Config.PROFILE_CACHE_SIZE, Config.PROFILE_CACHE_TTL_MS);
+        CachingTutorPersistence tutorPersistence = new CachingTutorPersistence(new TutorDB(conn),
+            Config.PROFILE_CACHE_SIZE, Config.PROFILE_CACHE_TTL_MS);
+        PersistenceMetrics.register("student", studentPersistence);
+        PersistenceMetrics.register("tutor", tutorPersistence);
+        SessionPersistence sessionPersistence = new SessionDB(conn);
         SupportPersistence supportPersistence = new SupportDB(conn, studentPersistence, tutorPersistence);
         RatingRequestPersistence ratingRequestPersistence = new RatingRequestDB(conn, studentPersistence, sessionPersistence);
 
         // Register persistence instances globally for use across the app
-        PersistenceRegistry.setStudentPersistence(studentPersistence);
-        PersistenceRegistry.setTutorPersistence(tutorPersistence);
-        PersistenceRegistry.setSessionPersistence(sessionPersistence);
-        PersistenceRegistry.setMessagePersistence(new MessageDB(conn));
-        PersistenceRegistry.setLoginPersistence(new LoginDB(conn));
-        PersistenceRegistry.setCardPersistence(new CardDB(conn));
-        PersistenceRegistry.setSupportPersistence(supportPersistence);
-        PersistenceRegistry.setRatingRequestPersistence(ratingRequestPersistence);
-        PersistenceRegistry.setRatingPersistence(new RatingDB(conn));
-        PersistenceRegistry.setFAQPersistence(new FAQDB(conn));
+        PersistenceRegistry.setConnectionSource(conn);
+        PersistenceRegistry.setStudentPersistence(timed(StudentPersistence.class, studentPersistence));
+        PersistenceRegistry.setTutorPersistence(timed(TutorPersistence.class, tutorPersistence));
+        PersistenceRegistry.setSessionPersistence(timed(SessionPersistence.class, sessionPersistence));
+        PersistenceRegistry.setMessagePersistence(timed(MessagePersistence.class, createMessageDB(conn)));
+        PersistenceRegistry.setLoginPersistence(timed(LoginPersistence.class, new LoginDB(conn)));
+        PersistenceRegistry.setCardPersistence(timed(CardPersistence.class, new CardDB(conn)));
+        PersistenceRegistry.setSupportPersistence(timed(SupportPersistence.class, supportPersistence));
+        PersistenceRegistry.setRatingRequestPersistence(timed(RatingRequestPersistence.class, ratingRequestPersistence));
+        PersistenceRegistry.setRatingPersistence(timed(RatingPersistence.class, new RatingDB(conn)));
+        PersistenceRegistry.setFAQPersistence(timed(FAQPersistence.class, new FAQDB(conn)));
+    }
+
+    /**
+     * Wraps a persistence so its calls are timed per method, when persistence metrics are enabled.
+     * Only the registered instances are timed; calls they make to each other are not counted twice.
+     */
+    private static <T> T timed(Class<T> type, T persistence) {
+        return Config.PERSISTENCE_METRICS ? PersistenceMetrics.instrument(type, persistence) : persistence;
+    }
+
+    /**
+     * Creates the message persistence, queueing inserts behind a background writer when
+     * write-behind is enabled. The queue is flushed when ConnectionManager closes the pool.
+     */
+    private static MessageDB createMessageDB(ConnectionSource conn) {
+        if (!Config.MESSAGE_WRITE_BEHIND) {
+            return new MessageDB(conn);
+        }
+        MessageDB messageDB = new MessageDB(conn, Config.MESSAGE_BATCH_SIZE,
+            Config.MESSAGE_FLUSH_INTERVAL_MS, Config.MESSAGE_QUEUE_CAPACITY);
+        ConnectionManager.closeBeforePool(messageDB);
+        return messageDB;
     }
 
     /**
@@ -58,16 +99,17 @@ public class PersistenceProvider {
         LoginPersistence loginPersistence = StubFactory.createLoginPersistence(studentPersistence, tutorPersistence);
 
         // Register stub instances globally for use across the app
-        PersistenceRegistry.setStudentPersistence(studentPersistence);
-        PersistenceRegistry.setTutorPersistence(tutorPersistence);
-        PersistenceRegistry.setLoginPersistence(loginPersistence);
-        PersistenceRegistry.setSessionPersistence(StubFactory.createSessionPersistence());
-        PersistenceRegistry.setMessagePersistence(StubFactory.createMessagePersistence());
-        PersistenceRegistry.setCardPersistence(StubFactory.createCardPersistence());
-        PersistenceRegistry.setSupportPersistence(StubFactory.createSupportPersistence()); 
-        PersistenceRegistry.setRatingRequestPersistence(StubFactory.createRatingRequestStub());
-        PersistenceRegistry.setRatingPersistence(StubFactory.createRatingStub());
-        PersistenceRegistry.setFAQPersistence(StubFactory.createFAQPersistence());
+        PersistenceRegistry.setConnectionSource(null);
+        PersistenceRegistry.setStudentPersistence(timed(StudentPersistence.class, studentPersistence));
+        PersistenceRegistry.setTutorPersistence(timed(TutorPersistence.class, tutorPersistence));
+        PersistenceRegistry.setLoginPersistence(timed(LoginPersistence.class, loginPersistence));
+        PersistenceRegistry.setSessionPersistence(timed(SessionPersistence.class, StubFactory.createSessionPersistence()));
+        PersistenceRegistry.setMessagePersistence(timed(MessagePersistence.class, StubFactory.createMessagePersistence()));
+        PersistenceRegistry.setCardPersistence(timed(CardPersistence.class, StubFactory.createCardPersistence()));
+        PersistenceRegistry.setSupportPersistence(timed(SupportPersistence.class, StubFactory.createSupportPersistence()));
+        PersistenceRegistry.setRatingRequestPersistence(timed(RatingRequestPersistence.class, StubFactory.createRatingRequestStub()));
+        PersistenceRegistry.setRatingPersistence(timed(RatingPersistence.class, StubFactory.createRatingStub()));
+        PersistenceRegistry.setFAQPersistence(timed(FAQPersistence.class, StubFactory.createFAQPersistence()));
     }
 }
 
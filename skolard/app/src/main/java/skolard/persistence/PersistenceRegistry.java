@@ -1,5 +1,7 @@
 package skolard.persistence;
 
+import java.util.function.Supplier;
+
 /**
  * Registry class holding static references to all persistence interfaces.
  * Acts as a centralized access point for all persistence implementations
@@ -17,6 +19,8 @@ public class PersistenceRegistry {
     private static RatingRequestPersistence ratingRequestPersistence;
     private static RatingPersistence ratingPersistence;
     private static FAQPersistence faqPersistence; // ✅ NEW
+    // Source shared by the SQLite persistence classes; null when running on stubs
+    private static ConnectionSource connectionSource;
 
     // Getter and setter for StudentPersistence
     public static StudentPersistence getStudentPersistence() {
@@ -97,4 +101,49 @@ public class PersistenceRegistry {
     public static void setFAQPersistence(FAQPersistence fp) {
         faqPersistence = fp;
     }
-}
\ No newline at end of file
+
+    // Getter and setter for the ConnectionSource
+    public static ConnectionSource getConnectionSource() {
+        return connectionSource;
+    }
+    public static void setConnectionSource(ConnectionSource cs) {
+        connectionSource = cs;
+    }
+
+    /**
+     * Runs work as one database transaction: the writes of every persistence call
+     * made during it commit together, or are all rolled back if the work throws.
+     * Joins the transaction already open on this thread, if any.
+     * With stub persistence there is no database, so the work simply runs.
+     *
+     * @param work the work to run
+     * @return the work's result
+     */
+    public static <T> T inTransaction(Supplier<T> work) {
+        ConnectionSource source = connectionSource;
+        return source == null ? work.get() : source.inTransaction(work);
+    }
+
+    /**
+     * Runs work as one database transaction, as {@link #inTransaction(Supplier)}.
+     *
+     * @param work the work to run
+     */
+    public static void inTransaction(Runnable work) {
+        inTransaction(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs work as one unit of work: every Tutor and Student the persistence layer
+     * loads during it is shared per email, and dropped once the work returns.
+     *
+     * @param work the work to run
+     * @return the work's result
+     */
+    public static <T> T inUnitOfWork(Supplier<T> work) {
+        return UnitOfWork.call(work);
+    }
+}
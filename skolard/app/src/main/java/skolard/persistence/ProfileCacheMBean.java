@@ -0,0 +1,27 @@
+package skolard.persistence;
+
+/**
+ * JMX view of a profile cache in front of the student or tutor persistence,
+ * for sizing it: a low hit ratio or many evictions call for a larger
+ * skolard.cache.profiles.
+ */
+public interface ProfileCacheMBean {
+
+    /** @return profiles held in the cache now */
+    int getSize();
+
+    /** @return the most profiles the cache holds */
+    int getCapacity();
+
+    /** @return lookups answered from the cache */
+    long getHits();
+
+    /** @return lookups that went to the underlying persistence */
+    long getMisses();
+
+    /** @return least recently used profiles dropped to keep the cache within its capacity */
+    long getEvictions();
+
+    /** @return hits as a fraction of all lookups, or 0 before the first lookup */
+    double getHitRatio();
+}
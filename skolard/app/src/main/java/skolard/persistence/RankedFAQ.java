@@ -0,0 +1,41 @@
+package skolard.persistence;
+
+import skolard.objects.FAQ;
+
+/**
+ * An FAQ found by {@link FAQPersistence#rankFAQs}, with its BM25 relevance to the query.
+ */
+public final class RankedFAQ {
+
+    private final FAQ faq;
+    private final double score;
+
+    /**
+     * @param faq   the matching FAQ
+     * @param score its relevance; higher is better
+     */
+    public RankedFAQ(FAQ faq, double score) {
+        this.faq = faq;
+        this.score = score;
+    }
+
+    /**
+     * @return the matching FAQ
+     */
+    public FAQ getFAQ() {
+        return faq;
+    }
+
+    /**
+     * @return the BM25 relevance to the query; higher is better, and only comparable
+     *         with other results of the same search
+     */
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.3f %s", score, faq.getQuestion());
+    }
+}
@@ -1,6 +1,8 @@
 package skolard.persistence;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import skolard.objects.RatingRequest;
 
@@ -31,6 +33,29 @@ public interface RatingRequestPersistence {
      */
     List<RatingRequest> getAllRequests();
 
+    /**
+     * Streams all rating requests, fetching them lazily instead of loading them all.
+     * The stream holds a database cursor until it is closed or fully consumed,
+     * so open it in a try-with-resources block. Any single thread may consume and close it,
+     * not only the one that opened it, as long as no two threads use it at once.
+     * 
+     * @param fetchSize number of rows to fetch per round trip; 0 uses the driver default
+     * @return a stream of every RatingRequest object
+     */
+    Stream<RatingRequest> streamAllRequests(int fetchSize);
+
+    /**
+     * Passes every rating request to an action, one at a time, closing the cursor afterwards.
+     * 
+     * @param fetchSize number of rows to fetch per round trip; 0 uses the driver default
+     * @param action the action to run for each RatingRequest
+     */
+    default void forEachRequest(int fetchSize, Consumer<? super RatingRequest> action) {
+        try (Stream<RatingRequest> requests = streamAllRequests(fetchSize)) {
+            requests.forEach(action);
+        }
+    }
+
     /**
      * Retrieves all pending rating requests for a specific student.
      * 
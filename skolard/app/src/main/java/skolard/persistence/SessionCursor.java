@@ -0,0 +1,93 @@
+package skolard.persistence;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+import skolard.objects.Session;
+
+/**
+ * Position in a list of sessions ordered by (start time, session ID).
+ * A page query returns the sessions strictly after the cursor, so the database can seek
+ * straight to them through an index instead of skipping every earlier row.
+ * The token form is opaque to callers; they only hand back what a {@link SessionPage} gave them.
+ */
+public final class SessionCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime startTime;
+    private final int sessionId;
+
+    /**
+     * @param startTime start time of the last session already seen
+     * @param sessionId ID of the last session already seen
+     */
+    public SessionCursor(LocalDateTime startTime, int sessionId) {
+        if (startTime == null) {
+            throw new IllegalArgumentException("Cursor start time cannot be null.");
+        }
+        this.startTime = startTime;
+        this.sessionId = sessionId;
+    }
+
+    /**
+     * @param session the last session of a page
+     * @return a cursor positioned just after that session
+     */
+    public static SessionCursor after(Session session) {
+        return new SessionCursor(session.getStartDateTime(), session.getSessionId());
+    }
+
+    /**
+     * Reads a cursor back from its token.
+     *
+     * @param token a token from {@link #toToken()}, or null for the first page
+     * @return the cursor, or null if the token is null or empty
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static SessionCursor parse(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        int split = token.lastIndexOf(SEPARATOR);
+        if (split <= 0) {
+            throw new IllegalArgumentException("Invalid session cursor: " + token);
+        }
+        try {
+            return new SessionCursor(LocalDateTime.parse(token.substring(0, split)),
+                Integer.parseInt(token.substring(split + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid session cursor: " + token, e);
+        }
+    }
+
+    /**
+     * @return the token form of this cursor
+     */
+    public String toToken() {
+        return startTime.toString() + SEPARATOR + sessionId;
+    }
+
+    /**
+     * @param session a session with a start time
+     * @return true if the session comes after this cursor in (start time, ID) order
+     */
+    public boolean precedes(Session session) {
+        int byStart = session.getStartDateTime().compareTo(startTime);
+        return byStart > 0 || (byStart == 0 && session.getSessionId() > sessionId);
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public int getSessionId() {
+        return sessionId;
+    }
+
+    @Override
+    public String toString() {
+        return toToken();
+    }
+}
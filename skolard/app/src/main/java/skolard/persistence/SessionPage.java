@@ -0,0 +1,63 @@
+package skolard.persistence;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import skolard.objects.Session;
+
+/**
+ * One page of sessions ordered by (start time, session ID), or by tutor rank for
+ * {@link SessionPersistence#findRankedSessionsPage}, with the cursor token that fetches the page after it.
+ */
+public final class SessionPage {
+
+    private final List<Session> sessions;
+    private final String nextCursor;
+
+    /**
+     * @param sessions   the sessions on this page
+     * @param nextCursor token for the next page, or null if this is the last page
+     */
+    public SessionPage(List<Session> sessions, String nextCursor) {
+        this.sessions = Collections.unmodifiableList(new ArrayList<>(sessions));
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Builds a page from the rows of a query that asked for one row more than the page size.
+     * The extra row is dropped; its presence only tells that another page exists.
+     *
+     * @param rows     up to pageSize + 1 sessions in (start time, ID) order
+     * @param pageSize sessions per page; 0 or less means the rows are everything
+     * @return the page
+     */
+    public static SessionPage of(List<Session> rows, int pageSize) {
+        if (pageSize <= 0 || rows.size() <= pageSize) {
+            return new SessionPage(rows, null);
+        }
+        List<Session> page = rows.subList(0, pageSize);
+        return new SessionPage(page, SessionCursor.after(page.get(pageSize - 1)).toToken());
+    }
+
+    /**
+     * @return the sessions on this page, read-only
+     */
+    public List<Session> getSessions() {
+        return sessions;
+    }
+
+    /**
+     * @return token for the next page, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * @return true if another page follows this one
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -1,6 +1,10 @@
 package skolard.persistence;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import skolard.objects.Session;
 import skolard.objects.Student;
@@ -26,12 +30,41 @@ public interface SessionPersistence {
      */
     Session getSessionById(int sessionId);
 
+    /**
+     * Retrieves the sessions with any of the given IDs in one batch lookup.
+     * IDs with no matching session are skipped.
+     * @param sessionIds the IDs of the sessions
+     * @return the sessions found, in no particular order
+     */
+    List<Session> getSessionsByIds(Collection<Integer> sessionIds);
+
     /**
      * Retrieves all sessions.
      * @return a list of all Session objects
      */
     List<Session> getAllSessions();
 
+    /**
+     * Streams all sessions, fetching them lazily instead of loading the whole table.
+     * The stream holds a database cursor until it is closed or fully consumed,
+     * so open it in a try-with-resources block. The thread that closes it need not be
+     * the one that opened it, but the stream must not be used by two threads at once.
+     * @param fetchSize number of rows to fetch per round trip; 0 uses the driver default
+     * @return a stream of every Session object
+     */
+    Stream<Session> streamAllSessions(int fetchSize);
+
+    /**
+     * Passes every session to an action, one at a time, closing the cursor afterwards.
+     * @param fetchSize number of rows to fetch per round trip; 0 uses the driver default
+     * @param action the action to run for each Session
+     */
+    default void forEachSession(int fetchSize, Consumer<? super Session> action) {
+        try (Stream<Session> sessions = streamAllSessions(fetchSize)) {
+            sessions.forEach(action);
+        }
+    }
+
     /**
      * Retrieves all sessions associated with a specific tutor's email.
      * @param tutorEmail the email of the tutor
@@ -46,6 +79,76 @@ public interface SessionPersistence {
      */
     List<Session> getSessionsByStudentEmail(String studentEmail);
 
+    /**
+     * Retrieves the unbooked sessions of a course that a student can book.
+     * Filtering, ordering and the limit are applied by the persistence layer,
+     * so only the matching sessions are ever loaded.
+     *
+     * @param courseName         the course to search, matched case-insensitively
+     * @param from               earliest allowed start time (inclusive), or null for no lower bound
+     * @param to                 latest allowed end time (inclusive), or null for no upper bound
+     * @param excludedTutorEmail tutor whose sessions are left out (case-insensitive), or null
+     * @param sort               the order of the returned sessions
+     * @param limit              maximum number of sessions to return; 0 or less for no limit
+     * @return the matching sessions in the requested order
+     */
+    List<Session> findAvailableSessions(String courseName, LocalDateTime from, LocalDateTime to,
+                                        String excludedTutorEmail, SessionSort sort, int limit);
+
+    /**
+     * Retrieves one page of the bookable sessions of a course, ordered by (start time, ID).
+     * The page starts just after the cursor, so fetching a deep page costs the same as the first.
+     *
+     * @param courseName         the course to search, matched case-insensitively
+     * @param from               earliest allowed start time (inclusive), or null for no lower bound
+     * @param to                 latest allowed end time (inclusive), or null for no upper bound
+     * @param excludedTutorEmail tutor whose sessions are left out (case-insensitive), or null
+     * @param cursor             {@link SessionPage#getNextCursor()} of the previous page, or null for the first
+     * @param pageSize           maximum number of sessions on the page; 0 or less for no limit
+     * @return the page and the cursor of the next one
+     */
+    SessionPage findAvailableSessionsPage(String courseName, LocalDateTime from, LocalDateTime to,
+                                          String excludedTutorEmail, String cursor, int pageSize);
+
+    /**
+     * Retrieves one page of the bookable sessions of a course, best-ranked tutor first and then by ID.
+     * The page starts just after the cursor, which carries the rank and ID of the last session seen.
+     *
+     * @param courseName         the course to search, matched case-insensitively
+     * @param from               earliest allowed start time (inclusive), or null for no lower bound
+     * @param excludedTutorEmail tutor whose sessions are left out (case-insensitive), or null
+     * @param sort               {@link SessionSort#COURSE_GRADE} or {@link SessionSort#TUTOR_AVERAGE}
+     * @param cursor             {@link SessionPage#getNextCursor()} of the previous page, or null for the first
+     * @param pageSize           maximum number of sessions on the page; 0 or less for no limit
+     * @return the page and the cursor of the next one
+     * @throws IllegalArgumentException if the sort is not a ranking, or the cursor is malformed
+     *                                  or was made for the other ranking
+     */
+    SessionPage findRankedSessionsPage(String courseName, LocalDateTime from, String excludedTutorEmail,
+                                       SessionSort sort, String cursor, int pageSize);
+
+    /**
+     * Retrieves one page of a tutor's past or upcoming sessions, ordered by (start time, ID).
+     *
+     * @param tutorEmail the email of the tutor
+     * @param timeframe  whether to return sessions that have ended or not
+     * @param cursor     {@link SessionPage#getNextCursor()} of the previous page, or null for the first
+     * @param pageSize   maximum number of sessions on the page; 0 or less for no limit
+     * @return the page and the cursor of the next one
+     */
+    SessionPage getTutorSessionsPage(String tutorEmail, SessionTimeframe timeframe, String cursor, int pageSize);
+
+    /**
+     * Retrieves one page of a student's past or upcoming sessions, ordered by (start time, ID).
+     *
+     * @param studentEmail the email of the student
+     * @param timeframe    whether to return sessions that have ended or not
+     * @param cursor       {@link SessionPage#getNextCursor()} of the previous page, or null for the first
+     * @param pageSize     maximum number of sessions on the page; 0 or less for no limit
+     * @return the page and the cursor of the next one
+     */
+    SessionPage getStudentSessionsPage(String studentEmail, SessionTimeframe timeframe, String cursor, int pageSize);
+
     /**
      * Removes a session by its unique ID.
      * @param sessionId the ID of the session to remove
@@ -58,6 +161,25 @@ public interface SessionPersistence {
      */
     void updateSession(Session updatedSession);
 
+    /**
+     * Books a session for a student only if nobody has booked it yet.
+     * The check and the write happen in one conditional update, so of several students
+     * booking the same session at once exactly one wins.
+     * @param sessionId the ID of the session to book
+     * @param student the student booking it
+     * @return true if this call booked the session, false if it was already booked or does not exist
+     */
+    boolean bookSession(int sessionId, Student student);
+
+    /**
+     * Unbooks a session only if it is currently booked by the given student,
+     * checking and writing in one conditional update.
+     * @param sessionId the ID of the session to unbook
+     * @param studentEmail the email of the student who booked it
+     * @return true if this call unbooked the session, false if it was not booked by that student
+     */
+    boolean unbookSession(int sessionId, String studentEmail);
+
     /**
      * Loads (hydrates) the tutor's session lists (e.g., upcoming, past) from persistence.
      * This allows the Tutor object to have its session data populated.
@@ -0,0 +1,102 @@
+package skolard.persistence;
+
+/**
+ * Position in a list of sessions ordered by a tutor ranking, highest rank first, then session ID.
+ * A ranked page query returns the sessions strictly after the cursor, so deep pages seek past
+ * the rows already seen instead of re-reading them.
+ * The cursor remembers the ordering it was made for; handing it to a search with another
+ * ordering is an error. The token form is opaque to callers.
+ */
+public final class SessionRankCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final SessionSort sort;
+    private final double rank;
+    private final int sessionId;
+
+    /**
+     * @param sort      the ranking the cursor belongs to, {@link SessionSort#COURSE_GRADE} or
+     *                  {@link SessionSort#TUTOR_AVERAGE}
+     * @param rank      rank of the last session already seen
+     * @param sessionId ID of the last session already seen
+     */
+    public SessionRankCursor(SessionSort sort, double rank, int sessionId) {
+        requireRanked(sort);
+        this.sort = sort;
+        this.rank = rank;
+        this.sessionId = sessionId;
+    }
+
+    /**
+     * @param sort an ordering
+     * @throws IllegalArgumentException if the ordering is not a tutor ranking
+     */
+    public static void requireRanked(SessionSort sort) {
+        if (sort != SessionSort.COURSE_GRADE && sort != SessionSort.TUTOR_AVERAGE) {
+            throw new IllegalArgumentException("Not a ranked session order: " + sort);
+        }
+    }
+
+    /**
+     * Reads a cursor back from its token.
+     *
+     * @param sort  the ranking of the search the token is handed to
+     * @param token a token from {@link #toToken()}, or null for the first page
+     * @return the cursor, or null if the token is null or empty
+     * @throws IllegalArgumentException if the token is malformed or belongs to another ordering
+     */
+    public static SessionRankCursor parse(SessionSort sort, String token) {
+        requireRanked(sort);
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        String[] parts = token.split("\\" + SEPARATOR, -1);
+        if (parts.length != 3 || !parts[0].equals(sort.name())) {
+            throw new IllegalArgumentException("Invalid session cursor: " + token);
+        }
+        try {
+            double rank = Double.parseDouble(parts[1]);
+            if (Double.isNaN(rank) || Double.isInfinite(rank)) {
+                throw new IllegalArgumentException("Invalid session cursor: " + token);
+            }
+            return new SessionRankCursor(sort, rank, Integer.parseInt(parts[2]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid session cursor: " + token, e);
+        }
+    }
+
+    /**
+     * @return the token form of this cursor; the rank is written so it reads back exactly
+     */
+    public String toToken() {
+        return sort.name() + SEPARATOR + rank + SEPARATOR + sessionId;
+    }
+
+    /**
+     * @param rank      a session's rank under this cursor's ordering
+     * @param sessionId that session's ID
+     * @return true if the session comes after this cursor in (rank descending, ID) order
+     */
+    public boolean precedes(double rank, int sessionId) {
+        return rank < this.rank || (rank == this.rank && sessionId > this.sessionId);
+    }
+
+    public SessionSort getSort() {
+        return sort;
+    }
+
+    public double getRank() {
+        return rank;
+    }
+
+    public int getSessionId() {
+        return sessionId;
+    }
+
+    @Override
+    public String toString() {
+        return toToken();
+    }
+}
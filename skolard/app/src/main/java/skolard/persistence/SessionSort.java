@@ -0,0 +1,30 @@
+package skolard.persistence;
+
+/**
+ * Orderings supported by {@link SessionPersistence#findAvailableSessions}.
+ * Every ordering breaks ties by session ID, so results are stable between calls.
+ */
+public enum SessionSort {
+
+    /**
+     * Session ID order only.
+     */
+    NONE,
+
+    /**
+     * Earliest start time first.
+     */
+    START_TIME,
+
+    /**
+     * Highest tutor grade for the searched course first.
+     * Tutors with no grade for the course count as 1.0, matching {@code Tutor.getGradeForCourse}.
+     */
+    COURSE_GRADE,
+
+    /**
+     * Highest tutor average grade across all of their courses first.
+     * Tutors with no graded courses count as 0.0, matching {@code Tutor.getAverageRating}.
+     */
+    TUTOR_AVERAGE
+}
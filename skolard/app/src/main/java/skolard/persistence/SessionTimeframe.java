@@ -0,0 +1,18 @@
+package skolard.persistence;
+
+/**
+ * Which of a user's sessions a paged lookup returns.
+ * A session is past once its end time has gone by.
+ */
+public enum SessionTimeframe {
+
+    /**
+     * Sessions that have already ended.
+     */
+    PAST,
+
+    /**
+     * Sessions that have not ended yet, including one in progress.
+     */
+    UPCOMING
+}
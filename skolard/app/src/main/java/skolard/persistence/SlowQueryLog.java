@@ -0,0 +1,316 @@
+package skolard.persistence;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import skolard.Config.Config;
+
+/**
+ * Opt-in log of slow SQL statements, enabled with {@link Config#DB_SLOW_QUERY_MS}.
+ * Statements handed out by a {@link ConnectionPool} are timed from execution until their
+ * results are closed, so a query is charged for reading its rows too. A statement over the
+ * threshold is logged with its SQL, its bound parameters, the rows it read or changed, and
+ * SQLite's EXPLAIN QUERY PLAN for it, which shows any full table scan behind the time.
+ *
+ * Parameters bound to password columns, and those of statements on the card table other
+ * than the account email, are logged as *** instead of their value.
+ */
+final class SlowQueryLog {
+
+    private static final String REDACTED = "***";
+
+    // Column compared with or assigned the parameter that follows, e.g. "email = ?"
+    private static final Pattern COMPARED_COLUMN =
+        Pattern.compile("(\\w+)\\s*(?:=|<>|!=|<=|>=|<|>|\\bLIKE|\\bIS)\\s*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern INSERT_COLUMNS =
+        Pattern.compile("^\\s*INSERT\\s+(?:OR\\s+\\w+\\s+)?INTO\\s+\\w+\\s*\\(([^)]*)\\)\\s*VALUES\\s*\\(",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern CARD_TABLE = Pattern.compile("\\bcard\\b", Pattern.CASE_INSENSITIVE);
+
+    private final long thresholdNanos;
+    private final Consumer<String> sink;
+
+    /**
+     * @param thresholdMs statements taking at least this long are logged
+     * @param sink        where each log entry goes
+     */
+    SlowQueryLog(long thresholdMs, Consumer<String> sink) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.sink = sink;
+    }
+
+    /**
+     * @return the log configured by {@link Config#DB_SLOW_QUERY_MS}, writing to standard error,
+     *         or null when slow queries are not logged
+     */
+    static SlowQueryLog fromConfig() {
+        return Config.DB_SLOW_QUERY_MS > 0 ? new SlowQueryLog(Config.DB_SLOW_QUERY_MS, System.err::println) : null;
+    }
+
+    /**
+     * Wraps a statement so its executions are timed.
+     *
+     * @param statement  the statement to watch
+     * @param sql        its SQL for a prepared statement; null for a plain statement,
+     *                   whose SQL comes with each execute call
+     * @param connection the physical connection, used to explain slow statements
+     * @return a statement of the same kind that logs its slow executions
+     */
+    Statement watch(Statement statement, String sql, Connection connection) {
+        Class<?> type = statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] { type },
+            new WatchedStatement(statement, sql, connection));
+    }
+
+    /**
+     * Times one execution and logs it when it is over the threshold.
+     */
+    private final class Execution {
+        private final String sql;
+        private final Map<Integer, Object> parameters;
+        private final Connection connection;
+        private final long start = System.nanoTime();
+        private long rows;
+        private boolean finished;
+
+        Execution(String sql, Map<Integer, Object> parameters, Connection connection) {
+            this.sql = sql;
+            this.parameters = new TreeMap<>(parameters);
+            this.connection = connection;
+        }
+
+        void finish() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= thresholdNanos) {
+                sink.accept(describe(elapsed));
+            }
+        }
+
+        private String describe(long elapsedNanos) {
+            StringBuilder entry = new StringBuilder();
+            entry.append(String.format("Slow query: %.1f ms, %d rows: %s", elapsedNanos / 1_000_000.0, rows,
+                sql.trim()));
+            if (!parameters.isEmpty()) {
+                entry.append(System.lineSeparator()).append("  parameters: ").append(redact(sql, parameters));
+            }
+            entry.append(System.lineSeparator()).append("  plan:");
+            for (String step : explain(connection, sql, parameters)) {
+                entry.append(System.lineSeparator()).append("    ").append(step);
+            }
+            return entry.toString();
+        }
+    }
+
+    /**
+     * Runs EXPLAIN QUERY PLAN for the SQL with the same parameters bound.
+     *
+     * @return the plan's steps, indented by depth, or a note saying why there is none
+     */
+    static List<String> explain(Connection connection, String sql, Map<Integer, Object> parameters) {
+        List<String> steps = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+            for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+                stmt.setObject(parameter.getKey(), parameter.getValue());
+            }
+            Map<Integer, Integer> depths = new HashMap<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int depth = depths.getOrDefault(rs.getInt("parent"), -1) + 1;
+                    depths.put(rs.getInt("id"), depth);
+                    steps.add("  ".repeat(depth) + rs.getString("detail"));
+                }
+            }
+        } catch (SQLException e) {
+            steps.add("(unavailable: " + e.getMessage() + ")");
+        }
+        if (steps.isEmpty()) {
+            steps.add("(no plan)");
+        }
+        return steps;
+    }
+
+    /**
+     * Lists the bound parameters by position, with sensitive values replaced by ***.
+     */
+    static String redact(String sql, Map<Integer, Object> parameters) {
+        List<String> columns = parameterColumns(sql);
+        boolean cardTable = CARD_TABLE.matcher(sql).find();
+
+        StringBuilder listed = new StringBuilder("[");
+        for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+            int index = parameter.getKey();
+            String column = index <= columns.size() ? columns.get(index - 1) : null;
+            boolean sensitive = column == null
+                ? cardTable || sql.toLowerCase().contains("password")
+                : column.toLowerCase().contains("password") || (cardTable && !column.equalsIgnoreCase("accountEmail"));
+
+            if (listed.length() > 1) {
+                listed.append(", ");
+            }
+            listed.append(index).append('=').append(sensitive ? REDACTED : parameter.getValue());
+        }
+        return listed.append(']').toString();
+    }
+
+    /**
+     * Works out the column each ? in the SQL belongs to: by position in an INSERT's column list,
+     * or as the column it is compared with or assigned to. Unknown columns are null.
+     */
+    static List<String> parameterColumns(String sql) {
+        List<String> columns = new ArrayList<>();
+        Matcher insert = INSERT_COLUMNS.matcher(sql);
+        String[] inserted = insert.find() ? insert.group(1).split(",") : new String[0];
+
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) != '?') {
+                continue;
+            }
+            if (columns.size() < inserted.length) {
+                columns.add(inserted[columns.size()].trim());
+                continue;
+            }
+            Matcher compared = COMPARED_COLUMN.matcher(sql.substring(0, i));
+            columns.add(compared.find() ? compared.group(1) : null);
+        }
+        return columns;
+    }
+
+    /**
+     * Handle for a watched statement. Records the parameters bound to it and starts an
+     * {@link Execution} per execute call; a query's execution ends when its result set or
+     * the statement is closed, or the statement runs again.
+     */
+    private final class WatchedStatement implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private final Connection connection;
+        private final Map<Integer, Object> parameters = new HashMap<>();
+        private Execution running;
+
+        WatchedStatement(Statement target, String preparedSql, Connection connection) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "WatchedStatement[" + target + "]";
+                case "close":
+                    finishRunning();
+                    break;
+                case "clearParameters":
+                    parameters.clear();
+                    break;
+                default:
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                        parameters.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+                    }
+                    break;
+            }
+
+            if (!name.startsWith("execute")) {
+                return invokeTarget(method, args);
+            }
+
+            finishRunning();
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+            Execution execution = new Execution(sql, preparedSql == null ? Map.of() : parameters, connection);
+            Object result;
+            try {
+                result = invokeTarget(method, args);
+            } catch (Throwable e) {
+                execution.finish();
+                throw e;
+            }
+
+            if (result instanceof ResultSet) {
+                running = execution;
+                return watch((ResultSet) result, execution);
+            }
+            if (result instanceof Integer || result instanceof Long) {
+                execution.rows = ((Number) result).longValue();
+            } else if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    execution.rows += Math.max(0, count);
+                }
+            }
+            execution.finish();
+            return result;
+        }
+
+        private void finishRunning() {
+            if (running != null) {
+                running.finish();
+                running = null;
+            }
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                // Surface the real JDBC exception rather than the reflection wrapper
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Wraps a query's result set to count the rows read and end the execution when closed.
+     */
+    private static ResultSet watch(ResultSet results, Execution execution) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "close":
+                        execution.finish();
+                        break;
+                    default:
+                        break;
+                }
+                Object result;
+                try {
+                    result = method.invoke(results, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                    execution.rows++;
+                }
+                return result;
+            });
+    }
+}
@@ -0,0 +1,230 @@
+package skolard.persistence;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of prepared statements for one physical connection.
+ * Statements are keyed by their SQL text (and whether they return generated keys),
+ * so the persistence classes can keep calling prepareStatement(sql) per operation
+ * while SQLite parses and plans each query only once per connection.
+ *
+ * A statement handed out by the cache is in use until its close() is called, which
+ * closes its result sets, clears its parameters and returns it to the cache. Idle
+ * statements beyond the capacity are closed, least recently used first.
+ */
+class StatementCache {
+
+    private final Connection connection;
+    private final int capacity;
+
+    // Idle statements in least-recently-used order
+    private final LinkedHashMap<String, PreparedStatement> idle = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private boolean closed;
+
+    /**
+     * @param connection the physical connection the statements belong to
+     * @param capacity   maximum number of idle statements kept open
+     */
+    StatementCache(Connection connection, int capacity) {
+        this.connection = connection;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns a prepared statement for the SQL, reusing an idle one when possible.
+     *
+     * @param sql               the SQL text
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS
+     * @return a statement whose close() hands it back to this cache
+     * @throws SQLException if a new statement cannot be prepared
+     */
+    PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "keys:" + sql : sql;
+
+        PreparedStatement statement;
+        synchronized (this) {
+            // A statement already checked out (e.g. by a nested lookup) is not in the idle map
+            statement = closed ? null : idle.remove(key);
+        }
+
+        if (statement != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            statement = connection.prepareStatement(sql, autoGeneratedKeys);
+        }
+        return CachedStatement.wrap(this, key, statement);
+    }
+
+    /**
+     * Takes a statement back once its user has closed it.
+     */
+    private void release(String key, PreparedStatement statement) {
+        List<PreparedStatement> toClose = new ArrayList<>();
+        synchronized (this) {
+            if (closed || capacity <= 0 || idle.containsKey(key)) {
+                // Another copy of this SQL is already idle, or caching is off
+                toClose.add(statement);
+            } else {
+                idle.put(key, statement);
+                Iterator<PreparedStatement> eldest = idle.values().iterator();
+                while (idle.size() > capacity) {
+                    toClose.add(eldest.next());
+                    eldest.remove();
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+        toClose.forEach(StatementCache::closeQuietly);
+    }
+
+    /**
+     * Closes every idle statement. Statements still in use are closed when they are returned.
+     * Called before the physical connection itself is closed.
+     */
+    void close() {
+        List<PreparedStatement> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayList<>(idle.values());
+            idle.clear();
+        }
+        toClose.forEach(StatementCache::closeQuietly);
+    }
+
+    /**
+     * @return number of prepareStatement calls served by an idle statement
+     */
+    long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of prepareStatement calls that had to prepare a new statement
+     */
+    long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of idle statements closed to stay within capacity
+     */
+    long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * @return number of statements currently idle in the cache
+     */
+    synchronized int size() {
+        return idle.size();
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {}
+    }
+
+    /**
+     * Handle for a statement checked out of the cache.
+     * Tracks the result sets it produces so they can be closed when the statement is
+     * returned; an open result set would otherwise keep the SQLite statement active.
+     */
+    private static final class CachedStatement implements InvocationHandler {
+
+        private final StatementCache cache;
+        private final String key;
+        private final PreparedStatement target;
+        private final List<ResultSet> results = new ArrayList<>();
+        private boolean returned;
+
+        private CachedStatement(StatementCache cache, String key, PreparedStatement target) {
+            this.cache = cache;
+            this.key = key;
+            this.target = target;
+        }
+
+        static PreparedStatement wrap(StatementCache cache, String key, PreparedStatement target) {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                new CachedStatement(cache, key, target));
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        reset();
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || target.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + target + "]";
+                default:
+                    break;
+            }
+
+            if (returned) {
+                throw new SQLException("Statement has already been closed");
+            }
+
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                // Surface the real JDBC exception rather than the reflection wrapper
+                throw e.getCause();
+            }
+            if (result instanceof ResultSet) {
+                results.add((ResultSet) result);
+            }
+            return result;
+        }
+
+        /**
+         * Closes the statement's result sets and clears its parameters, then hands it back.
+         * A statement that cannot be reset is closed instead of being reused.
+         */
+        private void reset() {
+            try {
+                for (ResultSet rs : results) {
+                    rs.close();
+                }
+                target.clearParameters();
+            } catch (SQLException e) {
+                closeQuietly(target);
+                return;
+            } finally {
+                results.clear();
+            }
+            cache.release(key, target);
+        }
+    }
+}
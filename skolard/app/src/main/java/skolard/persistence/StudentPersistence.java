@@ -1,5 +1,6 @@
 package skolard.persistence;
 
+import java.util.Collection;
 import java.util.List;
 import skolard.objects.Student;
 
@@ -18,6 +19,15 @@ public interface StudentPersistence {
 
     Student getStudentByEmail(String email);
 
+    /**
+     * Get the students with any of the given emails in one batch lookup.
+     * Emails with no matching student are skipped.
+     *
+     * @param emails emails of the students
+     * @return the students found, in no particular order
+     */
+    List<Student> getStudentsByEmails(Collection<String> emails);
+
     /**
      * Add a new student to the system.
      *
@@ -0,0 +1,97 @@
+package skolard.persistence;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Groups the writes of several persistence calls into one database transaction.
+ * The transaction holds the source's writer for its whole duration; every writer()
+ * and reader() borrow the persistence classes make on the same thread inside it gets
+ * that connection back, so they all see each other's changes and commit together.
+ *
+ * Transactions nest by joining: work started inside a transaction runs as part of it.
+ * Work registered with {@link #afterCommit} runs once the outermost transaction commits.
+ */
+final class Transaction {
+
+    // Set while a transaction is open on the thread: the work to run once it commits
+    private static final ThreadLocal<List<Runnable>> active = new ThreadLocal<>();
+
+    private Transaction() {}
+
+    /**
+     * Runs work in a transaction on the given source, joining the current one if already open.
+     * Commits when the work returns; rolls back and rethrows if it throws.
+     *
+     * @param connections source whose writer runs the transaction
+     * @param work        the work to run
+     * @return the work's result
+     */
+    static <T> T call(ConnectionSource connections, Supplier<T> work) {
+        if (isActive()) {
+            return work.get();
+        }
+
+        List<Runnable> afterCommit = new ArrayList<>();
+        boolean committed = false;
+        try (Connection connection = connections.writer()) {
+            connection.setAutoCommit(false);
+            active.set(afterCommit);
+            try {
+                T result = work.get();
+                connection.commit();
+                committed = true;
+                return result;
+            } catch (RuntimeException | Error e) {
+                rollback(connection, e);
+                throw e;
+            } catch (SQLException e) {
+                rollback(connection, e);
+                throw e;
+            } finally {
+                active.remove();
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error committing transaction", e);
+        } finally {
+            // After the writer is released, so the work never waits on the write lock
+            if (committed) {
+                afterCommit.forEach(Runnable::run);
+            }
+        }
+    }
+
+    /**
+     * Runs work once the transaction open on this thread commits, or right away if none is open.
+     * Nothing runs if the transaction rolls back.
+     *
+     * @param work the work to run after the commit
+     */
+    static void afterCommit(Runnable work) {
+        List<Runnable> pending = active.get();
+        if (pending == null) {
+            work.run();
+        } else {
+            pending.add(work);
+        }
+    }
+
+    /**
+     * @return true if a transaction is open on this thread
+     */
+    static boolean isActive() {
+        return active.get() != null;
+    }
+
+    private static void rollback(Connection connection, Throwable cause) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package skolard.persistence;
 
+import java.util.Collection;
 import java.util.List;
 
 import skolard.objects.Tutor;
@@ -25,6 +26,15 @@ public interface TutorPersistence {
      */
     Tutor getTutorByEmail(String email);
 
+    /**
+     * Get the tutors with any of the given emails in one batch lookup.
+     * Emails with no matching tutor are skipped.
+     *
+     * @param emails emails of the tutors
+     * @return the tutors found, in no particular order
+     */
+    List<Tutor> getTutorsByEmails(Collection<String> emails);
+
     /**
      * Add a new tutor to the system.
      *
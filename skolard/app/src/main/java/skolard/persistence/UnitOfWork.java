@@ -0,0 +1,125 @@
+package skolard.persistence;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Identity map scoped to a unit of work on the current thread.
+ * While a unit of work is open, the DB classes hand out one shared Tutor or Student
+ * instance per email instead of building a new object for every row that mentions it,
+ * and later lookups of the same email are answered from memory without a query.
+ * Every entry is dropped when the outermost unit of work ends, so nothing outlives it.
+ *
+ * Units of work nest: opening one inside another joins the outer one.
+ * Outside a unit of work every lookup misses and nothing is remembered.
+ */
+public final class UnitOfWork {
+
+    // Unit of work currently open on each thread
+    private static final ThreadLocal<UnitOfWork> current = new ThreadLocal<>();
+
+    // Entities by type, then by key (email)
+    private final Map<Class<?>, Map<String, Object>> entities = new HashMap<>();
+
+    private UnitOfWork() {}
+
+    /**
+     * Runs work inside a unit of work, joining the current one if already open.
+     *
+     * @param work the work to run
+     * @return the work's result
+     */
+    public static <T> T call(Supplier<T> work) {
+        if (current.get() != null) {
+            return work.get();
+        }
+
+        current.set(new UnitOfWork());
+        try {
+            return work.get();
+        } finally {
+            // Evict everything the work loaded
+            current.remove();
+        }
+    }
+
+    /**
+     * Runs work inside a unit of work, joining the current one if already open.
+     *
+     * @param work the work to run
+     */
+    public static void run(Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * @return true if a unit of work is open on this thread
+     */
+    public static boolean isActive() {
+        return current.get() != null;
+    }
+
+    /**
+     * Looks up an entity loaded earlier in the current unit of work.
+     *
+     * @param type the entity type
+     * @param key  the entity's key
+     * @return the shared instance, or null if none is mapped or no unit of work is open
+     */
+    public static <T> T get(Class<T> type, String key) {
+        UnitOfWork work = current.get();
+        if (work == null || key == null) {
+            return null;
+        }
+        Map<String, Object> byKey = work.entities.get(type);
+        return byKey == null ? null : type.cast(byKey.get(key));
+    }
+
+    /**
+     * Maps a freshly loaded entity, unless one is already mapped for the key.
+     * Callers should use the returned instance in place of the one they loaded.
+     *
+     * @param type   the entity type
+     * @param key    the entity's key
+     * @param entity the instance that was just loaded
+     * @return the shared instance for the key (entity itself if no unit of work is open)
+     */
+    public static <T> T register(Class<T> type, String key, T entity) {
+        UnitOfWork work = current.get();
+        if (work == null || key == null || entity == null) {
+            return entity;
+        }
+        Object shared = work.entities.computeIfAbsent(type, t -> new HashMap<>()).putIfAbsent(key, entity);
+        return shared == null ? entity : type.cast(shared);
+    }
+
+    /**
+     * Forgets an entity so the next lookup reloads it.
+     * Called when the entity is written, so the unit of work never hands out stale state.
+     *
+     * @param type the entity type
+     * @param key  the entity's key
+     */
+    public static void evict(Class<?> type, String key) {
+        UnitOfWork work = current.get();
+        if (work == null) {
+            return;
+        }
+        Map<String, Object> byKey = work.entities.get(type);
+        if (byKey != null) {
+            byKey.remove(key);
+        }
+    }
+
+    /**
+     * @return number of entities mapped in the current unit of work, 0 if none is open
+     */
+    static int size() {
+        UnitOfWork work = current.get();
+        return work == null ? 0 : work.entities.values().stream().mapToInt(Map::size).sum();
+    }
+}
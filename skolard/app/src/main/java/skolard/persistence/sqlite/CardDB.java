@@ -6,17 +6,18 @@ import java.util.List;
 
 import skolard.objects.Card;
 import skolard.persistence.CardPersistence;
+import skolard.persistence.ConnectionSource;
 
 public class CardDB implements CardPersistence{
-     private final Connection connection;
+     private final ConnectionSource connections;
 
     /**
-     * Constructor that accepts a database connection.
+     * Constructor that accepts a connection source.
      * 
-     * @param connection an open SQLite connection
+     * @param connections the source to borrow SQLite connections from
      */
-    public CardDB(Connection connection) {
-        this.connection = connection;
+    public CardDB(ConnectionSource connections) {
+        this.connections = connections;
     }
 
     /**
@@ -31,7 +32,8 @@ public class CardDB implements CardPersistence{
     public Card addAccountCard(String accountEmail, Card card) {
         String sql = "INSERT INTO card (accountEmail, name, cardNumber, expiry) VALUES (?, ?, ?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, accountEmail);
             stmt.setString(2, card.getName());
             stmt.setString(3, card.getCardNumber());
@@ -56,7 +58,8 @@ public class CardDB implements CardPersistence{
         List<Card> cards = new ArrayList<>();
         String sql = "SELECT name, cardNumber, expiry FROM card WHERE accountEmail = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.reader();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, accountEmail);
             ResultSet rs = stmt.executeQuery();
             // Iterate over result set and build Card objects
@@ -86,7 +89,8 @@ public class CardDB implements CardPersistence{
     public void deleteCard(String accountEmail, Card card) {
         String sql = "DELETE FROM card WHERE accountEmail = ? AND name = ? AND cardNumber = ? AND expiry = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, accountEmail);
             stmt.setString(2, card.getName());
             stmt.setString(3, card.getCardNumber());
@@ -0,0 +1,642 @@
+package skolard.persistence.sqlite;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import skolard.utils.PasswordUtil;
+
+/**
+ * Fills an empty SQLite database with synthetic data shaped like production, for benchmarks
+ * and load tests: students, tutors, tutorCourse grades, sessions, messages, ratings,
+ * rating requests and support tickets.
+ *
+ * Popularity is Zipf-skewed: a few tutors host most sessions, a few courses are taught by
+ * most tutors, and a few students book and message the most. Output is deterministic for a
+ * given seed, sizes and anchor date, so two runs produce the same database.
+ *
+ * Rows go through batched prepared statements with a commit every {@link #COMMIT_EVERY} rows.
+ * Generated accounts all use the password "password".
+ *
+ * Run from Gradle, with any of the size settings as key=value arguments:
+ * {@code gradle generateDataset --args="build/large.db tutors=100000 sessions=1000000 messages=10000000"}
+ */
+public class DatasetGenerator {
+
+    static final String EMAIL_DOMAIN = "@gen.skolard.ca";
+    static final int COMMIT_EVERY = 50_000;
+
+    private static final String[] SUBJECTS = {
+        "COMP", "MATH", "PHYS", "CHEM", "BIOL", "STAT", "ECON", "PSYC", "HIST", "ENGL", "PHIL", "GEOG"
+    };
+    private static final String[] FIRST_NAMES = {
+        "Alice", "Amrit", "Bob", "Chen", "Divya", "Emma", "Farah", "Gurpreet", "Hiro", "Isla",
+        "Jas", "Kofi", "Lena", "Manpreet", "Noah", "Olu", "Priya", "Raj", "Simran", "Tomas"
+    };
+    private static final String[] LAST_NAMES = {
+        "Brar", "Chen", "Dhillon", "Gill", "Khan", "Kim", "Lee", "Nguyen", "Okafor", "Patel",
+        "Sandhu", "Singh", "Smith", "Tremblay", "Wong"
+    };
+    private static final String[] TICKET_TITLES = {
+        "Cannot book session", "Payment failed", "Tutor did not show up", "Refund request",
+        "Profile update issue", "Message not delivered", "Rating not saved", "Login problem"
+    };
+
+    // Mostly good ratings, as on most tutoring platforms: 5 stars most often, 1 star least
+    private static final ZipfSampler RATING_SKEW = new ZipfSampler(5, 1.5);
+
+    private final long seed;
+    private int students = 10_000;
+    private int tutors = 1_000;
+    private int courses = 200;
+    private int maxCoursesPerTutor = 5;
+    private int sessions = 100_000;
+    private double bookedFraction = 0.6;
+    private int conversations = 20_000;
+    private int messages = 500_000;
+    private int ratings = 30_000;
+    private int ratingRequests = 40_000;
+    private int supportTickets = 5_000;
+    private double skew = 1.0;
+    private LocalDate anchor = LocalDate.now();
+
+    /**
+     * @param seed seed for every random choice; the same seed gives the same data
+     */
+    public DatasetGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /** @param students number of students */
+    public DatasetGenerator students(int students) {
+        this.students = atLeast(1, students, "students");
+        return this;
+    }
+
+    /** @param tutors number of tutors */
+    public DatasetGenerator tutors(int tutors) {
+        this.tutors = atLeast(1, tutors, "tutors");
+        return this;
+    }
+
+    /** @param courses number of distinct course codes in the catalog */
+    public DatasetGenerator courses(int courses) {
+        this.courses = atLeast(1, courses, "courses");
+        return this;
+    }
+
+    /** @param maxCoursesPerTutor most courses a tutor teaches; each teaches at least one */
+    public DatasetGenerator maxCoursesPerTutor(int maxCoursesPerTutor) {
+        this.maxCoursesPerTutor = atLeast(1, maxCoursesPerTutor, "maxCoursesPerTutor");
+        return this;
+    }
+
+    /** @param sessions number of sessions */
+    public DatasetGenerator sessions(int sessions) {
+        this.sessions = atLeast(0, sessions, "sessions");
+        return this;
+    }
+
+    /** @param bookedFraction share of sessions booked by a student, 0 to 1 */
+    public DatasetGenerator bookedFraction(double bookedFraction) {
+        if (bookedFraction < 0 || bookedFraction > 1) {
+            throw new IllegalArgumentException("bookedFraction must be between 0 and 1");
+        }
+        this.bookedFraction = bookedFraction;
+        return this;
+    }
+
+    /** @param conversations number of distinct student-tutor chats the messages spread over */
+    public DatasetGenerator conversations(int conversations) {
+        this.conversations = atLeast(1, conversations, "conversations");
+        return this;
+    }
+
+    /** @param messages number of chat messages */
+    public DatasetGenerator messages(int messages) {
+        this.messages = atLeast(0, messages, "messages");
+        return this;
+    }
+
+    /** @param ratings number of ratings, each for a past booked session */
+    public DatasetGenerator ratings(int ratings) {
+        this.ratings = atLeast(0, ratings, "ratings");
+        return this;
+    }
+
+    /** @param ratingRequests number of rating requests, each for a past booked session */
+    public DatasetGenerator ratingRequests(int ratingRequests) {
+        this.ratingRequests = atLeast(0, ratingRequests, "ratingRequests");
+        return this;
+    }
+
+    /** @param supportTickets number of support tickets */
+    public DatasetGenerator supportTickets(int supportTickets) {
+        this.supportTickets = atLeast(0, supportTickets, "supportTickets");
+        return this;
+    }
+
+    /** @param skew Zipf exponent for every popularity choice; 0 is uniform */
+    public DatasetGenerator skew(double skew) {
+        if (skew < 0) {
+            throw new IllegalArgumentException("skew must not be negative");
+        }
+        this.skew = skew;
+        return this;
+    }
+
+    /** @param anchor day sessions are spread around, half before and half after; defaults to today */
+    public DatasetGenerator anchor(LocalDate anchor) {
+        this.anchor = anchor;
+        return this;
+    }
+
+    /**
+     * Creates the schema in a new database file and fills it.
+     *
+     * @param dbPath path of the SQLite file to write
+     * @return rows written per table, in insertion order
+     */
+    public Map<String, Integer> generate(String dbPath) {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + dbPath)) {
+            SchemaInitializer.initializeSchema(connection);
+            try (Statement stmt = connection.createStatement()) {
+                // Nothing here is worth a rollback journal or an fsync per commit; a crash
+                // means generating again. Neither setting outlives this connection.
+                stmt.execute("PRAGMA journal_mode = OFF");
+                stmt.execute("PRAGMA synchronous = OFF");
+                stmt.execute("PRAGMA temp_store = MEMORY");
+                // Room for the indexes being built, in KiB
+                stmt.execute("PRAGMA cache_size = -262144");
+            }
+            return generate(connection);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error generating dataset in " + dbPath, e);
+        }
+    }
+
+    /**
+     * Fills a database that already has the current schema and no students, tutors or sessions.
+     * Rows are committed as they are written, so a failed run leaves a partial dataset behind;
+     * generate into a fresh file again.
+     *
+     * @param connection connection to the database; its auto-commit setting is restored afterwards
+     * @return rows written per table, in insertion order
+     */
+    public Map<String, Integer> generate(Connection connection) {
+        Map<String, Integer> written = new LinkedHashMap<>();
+        long start = System.nanoTime();
+        try {
+            requireEmpty(connection);
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                String password = PasswordUtil.hash("password");
+                String[] catalog = courseCatalog();
+                int[][] tutorCourses = new int[tutors][];
+                SessionInfo sessionInfo = new SessionInfo(sessions);
+
+                written.put("student", timed("student", () -> insertStudents(connection, password)));
+                written.put("tutor", timed("tutor", () -> insertTutors(connection, password)));
+                written.put("tutorCourse", timed("tutorCourse",
+                    () -> insertTutorCourses(connection, catalog, tutorCourses)));
+                written.put("session", timed("session",
+                    () -> insertSessions(connection, catalog, tutorCourses, sessionInfo)));
+                written.put("messages", timed("messages", () -> insertMessages(connection)));
+                written.put("ratings", timed("ratings", () -> insertRatings(connection, catalog, sessionInfo)));
+                written.put("ratingRequests", timed("ratingRequests",
+                    () -> insertRatingRequests(connection, sessionInfo)));
+                written.put("support_ticket", timed("support_ticket", () -> insertSupportTickets(connection)));
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error generating dataset", e);
+        }
+        System.out.println("Generated dataset in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        return written;
+    }
+
+    /**
+     * Command-line entry point: {@code DatasetGenerator <dbPath> [setting=value ...]}.
+     * Settings are seed, students, tutors, courses, maxCoursesPerTutor, sessions, bookedFraction,
+     * conversations, messages, ratings, ratingRequests, supportTickets, skew and anchor (yyyy-mm-dd).
+     *
+     * @param args the database path followed by settings
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: DatasetGenerator <dbPath> [setting=value ...]");
+            System.exit(1);
+        }
+
+        Map<String, String> settings = new LinkedHashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            String[] pair = args[i].split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected setting=value but got: " + args[i]);
+            }
+            settings.put(pair[0], pair[1]);
+        }
+
+        DatasetGenerator generator = new DatasetGenerator(Long.parseLong(settings.getOrDefault("seed", "42")));
+        settings.forEach(generator::apply);
+        generator.generate(args[0]).forEach((table, rows) -> System.out.println(table + ": " + rows + " rows"));
+    }
+
+    private void apply(String key, String value) {
+        switch (key) {
+            case "seed" -> { }
+            case "students" -> students(Integer.parseInt(value));
+            case "tutors" -> tutors(Integer.parseInt(value));
+            case "courses" -> courses(Integer.parseInt(value));
+            case "maxCoursesPerTutor" -> maxCoursesPerTutor(Integer.parseInt(value));
+            case "sessions" -> sessions(Integer.parseInt(value));
+            case "bookedFraction" -> bookedFraction(Double.parseDouble(value));
+            case "conversations" -> conversations(Integer.parseInt(value));
+            case "messages" -> messages(Integer.parseInt(value));
+            case "ratings" -> ratings(Integer.parseInt(value));
+            case "ratingRequests" -> ratingRequests(Integer.parseInt(value));
+            case "supportTickets" -> supportTickets(Integer.parseInt(value));
+            case "skew" -> skew(Double.parseDouble(value));
+            case "anchor" -> anchor(LocalDate.parse(value));
+            default -> throw new IllegalArgumentException("Unknown setting: " + key);
+        }
+    }
+
+    /**
+     * @param index the student's number, 0 for the most active student
+     * @return the generated student's email
+     */
+    public static String studentEmail(int index) {
+        return "student" + index + EMAIL_DOMAIN;
+    }
+
+    /**
+     * @param index the tutor's number, 0 for the tutor hosting the most sessions
+     * @return the generated tutor's email
+     */
+    public static String tutorEmail(int index) {
+        return "tutor" + index + EMAIL_DOMAIN;
+    }
+
+    /**
+     * Course codes in the four-letters-four-digits form CourseUtil accepts, e.g. COMP1000.
+     *
+     * @param index the course's position in the catalog, 0 for the most taught course
+     * @return the generated course code
+     */
+    public static String courseCode(int index) {
+        return SUBJECTS[index % SUBJECTS.length] + (1000 + (index / SUBJECTS.length) * 10);
+    }
+
+    private int insertStudents(Connection connection, String password) throws SQLException {
+        SplittableRandom random = random(1);
+        try (BatchWriter batch = new BatchWriter(connection,
+                "INSERT INTO student (email, name, password) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < students; i++) {
+                batch.stmt.setString(1, studentEmail(i));
+                batch.stmt.setString(2, name(random));
+                batch.stmt.setString(3, password);
+                batch.add();
+            }
+            return batch.finish();
+        }
+    }
+
+    private int insertTutors(Connection connection, String password) throws SQLException {
+        SplittableRandom random = random(2);
+        try (BatchWriter batch = new BatchWriter(connection,
+                "INSERT INTO tutor (email, name, bio, password) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < tutors; i++) {
+                batch.stmt.setString(1, tutorEmail(i));
+                batch.stmt.setString(2, name(random));
+                batch.stmt.setString(3, "Tutoring for " + (1 + random.nextInt(15)) + " years.");
+                batch.stmt.setString(4, password);
+                batch.add();
+            }
+            return batch.finish();
+        }
+    }
+
+    /**
+     * Gives every tutor between 1 and maxCoursesPerTutor distinct courses, popular courses
+     * first, and records them in tutorCourses for the sessions to draw from.
+     */
+    private int insertTutorCourses(Connection connection, String[] catalog, int[][] tutorCourses)
+            throws SQLException {
+        SplittableRandom random = random(3);
+        ZipfSampler coursePopularity = new ZipfSampler(catalog.length, skew);
+        int perTutor = Math.min(maxCoursesPerTutor, catalog.length);
+
+        try (BatchWriter batch = new BatchWriter(connection,
+                "INSERT INTO tutorCourse (tutorEmail, courseID, grade) VALUES (?, ?, ?)")) {
+            for (int t = 0; t < tutors; t++) {
+                int[] chosen = coursePopularity.distinct(random, 1 + random.nextInt(perTutor));
+                tutorCourses[t] = chosen;
+
+                for (int course : chosen) {
+                    batch.stmt.setString(1, tutorEmail(t));
+                    batch.stmt.setString(2, catalog[course]);
+                    // Grades from 2.0 to 4.5 in half steps, as GradeUtil expects
+                    batch.stmt.setDouble(3, 2.0 + 0.5 * random.nextInt(6));
+                    batch.add();
+                }
+            }
+            return batch.finish();
+        }
+    }
+
+    /**
+     * Hour-long sessions spread over half a year either side of the anchor, hosted mostly by
+     * popular tutors and booked mostly by active students.
+     */
+    private int insertSessions(Connection connection, String[] catalog, int[][] tutorCourses, SessionInfo info)
+            throws SQLException {
+        SplittableRandom random = random(4);
+        ZipfSampler tutorPopularity = new ZipfSampler(tutors, skew);
+        ZipfSampler studentActivity = new ZipfSampler(students, skew);
+        long anchorHour = EpochTime.toNanos(anchor.atStartOfDay());
+        long hour = TimeUnit.HOURS.toNanos(1);
+        int hoursEachWay = 182 * 24;
+
+        try (BatchWriter batch = new BatchWriter(connection,
+                "INSERT INTO session (id, tutorEmail, studentEmail, startTime, endTime, courseID) " +
+                "VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < sessions; i++) {
+                int tutor = tutorPopularity.next(random);
+                int[] taught = tutorCourses[tutor];
+                int course = taught[random.nextInt(taught.length)];
+                long startTime = anchorHour + (random.nextInt(2 * hoursEachWay) - hoursEachWay) * hour;
+                int student = random.nextDouble() < bookedFraction ? studentActivity.next(random) : -1;
+
+                info.tutor[i] = tutor;
+                info.student[i] = student;
+                info.course[i] = course;
+                info.past[i] = startTime < anchorHour;
+
+                batch.stmt.setInt(1, i + 1);
+                batch.stmt.setString(2, tutorEmail(tutor));
+                batch.stmt.setString(3, student < 0 ? null : studentEmail(student));
+                batch.stmt.setLong(4, startTime);
+                batch.stmt.setLong(5, startTime + hour);
+                batch.stmt.setString(6, catalog[course]);
+                batch.add();
+            }
+            return batch.finish();
+        }
+    }
+
+    /**
+     * Messages spread over a fixed set of conversations, a few of which are very busy.
+     * Each conversation's messages are a few minutes apart, counting back from the anchor.
+     */
+    private int insertMessages(Connection connection) throws SQLException {
+        if (messages == 0) {
+            return 0;
+        }
+        SplittableRandom random = random(5);
+        ZipfSampler studentActivity = new ZipfSampler(students, skew);
+        ZipfSampler tutorPopularity = new ZipfSampler(tutors, skew);
+        ZipfSampler conversationActivity = new ZipfSampler(conversations, skew);
+
+        int[] convStudent = new int[conversations];
+        int[] convTutor = new int[conversations];
+        long[] convTime = new long[conversations];
+        long start = EpochTime.toNanos(anchor.atStartOfDay().minusDays(365));
+        for (int c = 0; c < conversations; c++) {
+            convStudent[c] = studentActivity.next(random);
+            convTutor[c] = tutorPopularity.next(random);
+            convTime[c] = start + TimeUnit.MINUTES.toNanos(random.nextInt(60 * 24 * 180));
+        }
+
+        try (BatchWriter batch = new BatchWriter(connection,
+                "INSERT INTO messages (timeSent, studentEmail, tutorEmail, senderEmail, message) " +
+                "VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < messages; i++) {
+                int c = conversationActivity.next(random);
+                convTime[c] += TimeUnit.SECONDS.toNanos(30 + random.nextInt(600));
+                String student = studentEmail(convStudent[c]);
+                String tutor = tutorEmail(convTutor[c]);
+
+                batch.stmt.setLong(1, convTime[c]);
+                batch.stmt.setString(2, student);
+                batch.stmt.setString(3, tutor);
+                batch.stmt.setString(4, random.nextBoolean() ? student : tutor);
+                batch.stmt.setString(5, "Message " + i + " about session availability");
+                batch.add();
+            }
+            return batch.finish();
+        }
+    }
+
+    private int insertRatings(Connection connection, String[] catalog, SessionInfo info) throws SQLException {
+        int[] rated = info.pastBooked();
+        if (rated.length == 0 || ratings == 0) {
+            return 0;
+        }
+        SplittableRandom random = random(6);
+        try (BatchWriter batch = new BatchWriter(connection,
+                "INSERT INTO ratings (tutorEmail, sessionId, studentEmail, courseName, rating) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ratings; i++) {
+                int s = rated[random.nextInt(rated.length)];
+                batch.stmt.setString(1, tutorEmail(info.tutor[s]));
+                batch.stmt.setInt(2, s + 1);
+                batch.stmt.setString(3, studentEmail(info.student[s]));
+                batch.stmt.setString(4, catalog[info.course[s]]);
+                batch.stmt.setInt(5, 5 - RATING_SKEW.next(random));
+                batch.add();
+            }
+            return batch.finish();
+        }
+    }
+
+    private int insertRatingRequests(Connection connection, SessionInfo info) throws SQLException {
+        int[] requested = info.pastBooked();
+        if (requested.length == 0 || ratingRequests == 0) {
+            return 0;
+        }
+        SplittableRandom random = random(7);
+        long hour = TimeUnit.HOURS.toNanos(1);
+        long anchorTime = EpochTime.toNanos(anchor.atStartOfDay());
+        try (BatchWriter batch = new BatchWriter(connection,
+                "INSERT INTO ratingRequests (sessionId, studentEmail, completed, skipped, createdAt) " +
+                "VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ratingRequests; i++) {
+                int s = requested[random.nextInt(requested.length)];
+                // Half completed, a fifth skipped, the rest still pending
+                double outcome = random.nextDouble();
+                batch.stmt.setInt(1, s + 1);
+                batch.stmt.setString(2, studentEmail(info.student[s]));
+                batch.stmt.setInt(3, outcome < 0.5 ? 1 : 0);
+                batch.stmt.setInt(4, outcome >= 0.5 && outcome < 0.7 ? 1 : 0);
+                batch.stmt.setLong(5, anchorTime - random.nextInt(182 * 24) * hour);
+                batch.add();
+            }
+            return batch.finish();
+        }
+    }
+
+    private int insertSupportTickets(Connection connection) throws SQLException {
+        SplittableRandom random = random(8);
+        ZipfSampler studentActivity = new ZipfSampler(students, skew);
+        LocalDateTime anchorTime = anchor.atStartOfDay();
+        try (BatchWriter batch = new BatchWriter(connection,
+                "INSERT INTO support_ticket (requester_email, requester_role, title, description, " +
+                "created_at, closed_at, is_handled) VALUES (?, 'student', ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < supportTickets; i++) {
+                String title = TICKET_TITLES[random.nextInt(TICKET_TITLES.length)];
+                LocalDateTime created = anchorTime.minusMinutes(random.nextInt(60 * 24 * 365));
+                boolean handled = random.nextDouble() < 0.8;
+
+                batch.stmt.setString(1, studentEmail(studentActivity.next(random)));
+                batch.stmt.setString(2, title);
+                batch.stmt.setString(3, title + " (generated ticket " + i + ")");
+                EpochTime.set(batch.stmt, 4, created);
+                EpochTime.set(batch.stmt, 5, handled ? created.plusHours(1 + random.nextInt(72)) : null);
+                batch.stmt.setInt(6, handled ? 1 : 0);
+                batch.add();
+            }
+            return batch.finish();
+        }
+    }
+
+    private String[] courseCatalog() {
+        String[] catalog = new String[courses];
+        for (int i = 0; i < courses; i++) {
+            catalog[i] = courseCode(i);
+        }
+        return catalog;
+    }
+
+    private void requireEmpty(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT (SELECT COUNT(*) FROM student) + (SELECT COUNT(*) FROM tutor) + (SELECT COUNT(*) FROM session)")) {
+            if (rs.next() && rs.getLong(1) > 0) {
+                throw new IllegalStateException("Dataset generator needs a database without students, tutors or sessions");
+            }
+        }
+    }
+
+    private SplittableRandom random(int table) {
+        // One stream per table, so changing one table's size leaves the others unchanged
+        return new SplittableRandom(seed * 31 + table);
+    }
+
+    private static String name(SplittableRandom random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    private static int atLeast(int min, int value, String name) {
+        if (value < min) {
+            throw new IllegalArgumentException(name + " must be at least " + min);
+        }
+        return value;
+    }
+
+    private static int timed(String table, TableWriter writer) throws SQLException {
+        long start = System.nanoTime();
+        int rows = writer.write();
+        System.out.println("Generated " + rows + " " + table + " rows in " +
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        return rows;
+    }
+
+    @FunctionalInterface
+    private interface TableWriter {
+        int write() throws SQLException;
+    }
+
+    /**
+     * What later tables need to know about each generated session, by session index.
+     */
+    private static final class SessionInfo {
+        private final int[] tutor;
+        private final int[] student;
+        private final int[] course;
+        private final boolean[] past;
+
+        private SessionInfo(int sessions) {
+            tutor = new int[sessions];
+            student = new int[sessions];
+            course = new int[sessions];
+            past = new boolean[sessions];
+        }
+
+        /**
+         * @return indexes of sessions that are over and were booked, the ones that can be rated
+         */
+        private int[] pastBooked() {
+            int count = 0;
+            for (int i = 0; i < past.length; i++) {
+                if (past[i] && student[i] >= 0) {
+                    count++;
+                }
+            }
+            int[] result = new int[count];
+            int next = 0;
+            for (int i = 0; i < past.length; i++) {
+                if (past[i] && student[i] >= 0) {
+                    result[next++] = i;
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A prepared statement that executes every {@link #COMMIT_EVERY} rows and commits,
+     * so the transaction journal stays small on large tables.
+     */
+    private static final class BatchWriter implements AutoCloseable {
+        private final Connection connection;
+        private final PreparedStatement stmt;
+        private int pending;
+        private int written;
+
+        private BatchWriter(Connection connection, String sql) throws SQLException {
+            this.connection = connection;
+            this.stmt = connection.prepareStatement(sql);
+        }
+
+        private void add() throws SQLException {
+            stmt.addBatch();
+            if (++pending == COMMIT_EVERY) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (pending > 0) {
+                stmt.executeBatch();
+                connection.commit();
+                written += pending;
+                pending = 0;
+            }
+        }
+
+        private int finish() throws SQLException {
+            flush();
+            return written;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            stmt.close();
+        }
+    }
+}
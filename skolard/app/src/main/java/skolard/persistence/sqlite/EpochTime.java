@@ -0,0 +1,76 @@
+package skolard.persistence.sqlite;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Converts between LocalDateTime values and the INTEGER timestamp columns in the database.
+ * Timestamps are stored as nanoseconds since the epoch, reading the wall-clock time as UTC.
+ * The app never attaches a time zone to these values, so UTC is only an encoding: the same
+ * LocalDateTime always comes back out, and integer order matches chronological order.
+ * Nanoseconds keep the full precision of LocalDateTime.now(); a long holds them until 2262.
+ */
+final class EpochTime {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private EpochTime() {}
+
+    /**
+     * SQL expression that converts an ISO-8601 text column to epoch nanoseconds.
+     * Used when migrating columns that used to store LocalDateTime.toString(),
+     * which is "yyyy-MM-ddTHH:mm", optionally followed by ":ss" and 3, 6 or 9 fraction digits.
+     *
+     * @param column the column holding ISO text
+     * @return an expression evaluating to the same value as {@link #toNanos}
+     */
+    static String fromIsoText(String column) {
+        // Whole seconds come from the text without its fraction, so SQLite never rounds them;
+        // the fraction (from position 21, after the '.') is right-padded to nine digits
+        return "(CAST(strftime('%s', substr(" + column + ", 1, 19)) AS INTEGER) * " + NANOS_PER_SECOND + " + " +
+            "CASE WHEN length(" + column + ") > 20 " +
+            "THEN CAST(substr(substr(" + column + ", 21) || '000000000', 1, 9) AS INTEGER) ELSE 0 END)";
+    }
+
+    /**
+     * @param time the time to encode
+     * @return the stored representation of the time
+     */
+    static long toNanos(LocalDateTime time) {
+        return Math.addExact(Math.multiplyExact(time.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND), time.getNano());
+    }
+
+    /**
+     * @param nanos a stored timestamp
+     * @return the time it represents
+     */
+    static LocalDateTime fromNanos(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND),
+            (int) Math.floorMod(nanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    /**
+     * Binds a possibly-null time to a statement parameter.
+     */
+    static void set(PreparedStatement stmt, int index, LocalDateTime time) throws SQLException {
+        if (time == null) {
+            stmt.setNull(index, Types.INTEGER);
+        } else {
+            stmt.setLong(index, toNanos(time));
+        }
+    }
+
+    /**
+     * Reads a possibly-null time from the current row.
+     *
+     * @return the stored time, or null if the column is NULL
+     */
+    static LocalDateTime get(ResultSet rs, String column) throws SQLException {
+        long nanos = rs.getLong(column);
+        return rs.wasNull() ? null : fromNanos(nanos);
+    }
+}
@@ -1,7 +1,10 @@
 package skolard.persistence.sqlite;
 
 import skolard.objects.FAQ;
+import skolard.persistence.ConnectionSource;
 import skolard.persistence.FAQPersistence;
+import skolard.persistence.FAQSearch;
+import skolard.persistence.RankedFAQ;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -9,15 +12,15 @@ import java.util.List;
 
 public class FAQDB implements FAQPersistence {
 
-    private final Connection connection;
+    private final ConnectionSource connections;
 
     /**
-     * Constructor that accepts a database connection.
+     * Constructor that accepts a connection source.
      * 
-     * @param connection an open SQLite connection
+     * @param connections the source to borrow SQLite connections from
      */
-    public FAQDB(Connection connection) {
-        this.connection = connection;
+    public FAQDB(ConnectionSource connections) {
+        this.connections = connections;
     }
 
     /**
@@ -31,7 +34,8 @@ public class FAQDB implements FAQPersistence {
         List<FAQ> faqs = new ArrayList<>();
         String query = "SELECT question, answer FROM faq ORDER BY id ASC";
 
-        try (Statement stmt = connection.createStatement();
+        try (Connection connection = connections.reader();
+             Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(query)) {
             while (rs.next()) {
                 faqs.add(new FAQ(rs.getString("question"), rs.getString("answer")));
@@ -54,7 +58,8 @@ public class FAQDB implements FAQPersistence {
     public void addFAQ(FAQ faq) {
         String query = "INSERT OR IGNORE INTO faq (question, answer) VALUES (?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, faq.getQuestion());
             stmt.setString(2, faq.getAnswer());
             stmt.executeUpdate();
@@ -73,7 +78,8 @@ public class FAQDB implements FAQPersistence {
     public void deleteFAQByQuestion(String question) {
         String query = "DELETE FROM faq WHERE question = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, question);
             stmt.executeUpdate();
         } catch (SQLException e) {
@@ -82,31 +88,80 @@ public class FAQDB implements FAQPersistence {
     }
 
     /**
-     * Searches FAQs by matching the keyword in either question or answer fields.
+     * Searches FAQs through the faq_fts full-text index, most relevant first.
      * 
-     * @param keyword the search keyword to look for
-     * @return a list of FAQs matching the keyword
+     * @param keyword the search terms to look for
+     * @return a list of FAQs matching every term
      * @throws RuntimeException if a database access error occurs
      */
     @Override
     public List<FAQ> searchFAQs(String keyword) {
         List<FAQ> faqs = new ArrayList<>();
-        String query = "SELECT question, answer FROM faq WHERE question LIKE ? OR answer LIKE ?";
+        for (RankedFAQ ranked : rankFAQs(keyword, Integer.MAX_VALUE)) {
+            faqs.add(ranked.getFAQ());
+        }
+        return faqs;
+    }
+
+    /**
+     * Ranks FAQs with SQLite's bm25() over the faq_fts full-text index.
+     * Ties keep FAQ ID order, so results are stable between calls.
+     * 
+     * @param query the search terms to look for
+     * @param limit the most results to return
+     * @return up to limit FAQs matching every term, most relevant first
+     * @throws RuntimeException if a database access error occurs
+     */
+    @Override
+    public List<RankedFAQ> rankFAQs(String query, int limit) {
+        List<RankedFAQ> ranked = new ArrayList<>();
+        String match = matchExpression(query);
+        if (match == null || limit <= 0) {
+            return ranked;
+        }
 
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
-            String kw = "%" + keyword + "%";
-            stmt.setString(1, kw);
-            stmt.setString(2, kw);
+        // bm25() is negative, lower meaning more relevant
+        String sql = "SELECT question, answer, bm25(faq_fts, " + FAQSearch.QUESTION_WEIGHT + ", " +
+            FAQSearch.ANSWER_WEIGHT + ") AS score FROM faq_fts WHERE faq_fts MATCH ? " +
+            "ORDER BY score, rowid LIMIT ?";
+
+        try (Connection connection = connections.reader();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, match);
+            stmt.setInt(2, limit);
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    faqs.add(new FAQ(rs.getString("question"), rs.getString("answer")));
+                    ranked.add(new RankedFAQ(new FAQ(rs.getString("question"), rs.getString("answer")),
+                        -rs.getDouble("score")));
                 }
             }
         } catch (SQLException e) {
             throw new RuntimeException("Failed to search FAQs", e);
         }
 
-        return faqs;
+        return ranked;
+    }
+
+    /**
+     * Builds an FTS5 query requiring every term as a prefix, e.g. "book" "sess" becomes
+     * {@code "book"* "sess"*}. Terms hold only letters and digits, so quoting them is enough
+     * to keep FTS5 operators typed by the user from taking effect.
+     *
+     * @return the MATCH expression, or null if the query has no terms
+     */
+    static String matchExpression(String query) {
+        List<String> terms = FAQSearch.terms(query);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        StringBuilder match = new StringBuilder();
+        for (String term : terms) {
+            if (match.length() > 0) {
+                match.append(' ');
+            }
+            match.append('"').append(term).append("\"*");
+        }
+        return match.toString();
     }
 }
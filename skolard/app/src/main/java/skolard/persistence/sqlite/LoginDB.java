@@ -4,19 +4,20 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 
+import skolard.persistence.ConnectionSource;
 import skolard.persistence.LoginPersistence;
 import skolard.utils.PasswordUtil;
 
 public class LoginDB implements LoginPersistence {
-    private final Connection connection;
+    private final ConnectionSource connections;
 
     /**
-     * Constructor that accepts a database connection.
+     * Constructor that accepts a connection source.
      * 
-     * @param connection an open SQLite connection
+     * @param connections the source to borrow SQLite connections from
      */
-    public LoginDB(Connection connection) {
-        this.connection = connection;
+    public LoginDB(ConnectionSource connections) {
+        this.connections = connections;
     }
 
     /**
@@ -68,7 +69,8 @@ public class LoginDB implements LoginPersistence {
      * @return true if passwords match, false otherwise
      */
     private boolean checkPassword(String email, String plainPassword, String sql) {
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.reader();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, email);
             ResultSet rs = stmt.executeQuery();
 
@@ -1,41 +1,84 @@
 package skolard.persistence.sqlite;
 
 import skolard.objects.Message;
+import skolard.persistence.ConnectionSource;
 import skolard.persistence.MessagePersistence;
 
 import java.sql.*;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
 
 /**
  * SQLite-based implementation of MessagePersistence for storing and managing messages
  * between students and tutors in the SkolarD application.
+ *
+ * Optionally runs in write-behind mode, where new messages are queued and inserted
+ * in batches by a background writer instead of one auto-committed insert each.
  */
-public class MessageDB implements MessagePersistence {
+public class MessageDB implements MessagePersistence, AutoCloseable {
 
-    private final Connection connection;
+    static final String INSERT_SQL = "INSERT INTO messages " +
+            "(timeSent, studentEmail, tutorEmail, senderEmail, message) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String HISTORY_SELECT = "SELECT * FROM messages WHERE " +
+            "studentEmail = ? AND tutorEmail = ? " +
+            "ORDER BY timeSent ASC";
+
+    private final ConnectionSource connections;
+
+    // Background writer for new messages; null when inserting directly
+    private final MessageWriteBehind writeBehind;
+
+    /**
+     * Constructor that accepts a SQLite connection source.
+     * @param connections source to borrow database connections from
+     */
+    public MessageDB(ConnectionSource connections) {
+        this.connections = connections;
+        this.writeBehind = null;
+    }
 
     /**
-     * Constructor that accepts a SQLite database connection.
-     * @param connection active database connection
+     * Constructor for write-behind mode: new messages are queued and committed in batches.
+     * Call {@link #close()} before closing the connection source so queued messages are written.
+     *
+     * @param connections     source to borrow database connections from
+     * @param batchSize       most messages committed in one transaction
+     * @param flushIntervalMs longest a queued message waits for its batch to fill
+     * @param queueCapacity   most messages queued before senders block
      */
-    public MessageDB(Connection connection) {
-        this.connection = connection;
+    public MessageDB(ConnectionSource connections, int batchSize, long flushIntervalMs, int queueCapacity) {
+        this.connections = connections;
+        this.writeBehind = new MessageWriteBehind(connections, batchSize, flushIntervalMs, queueCapacity);
     }
 
     /**
      * Inserts a new message into the messages table.
      * Uses auto-increment to generate a new ID and returns the full message object.
+     * In write-behind mode this waits until the batch holding the message commits.
      * 
      * @param message the message to insert
      * @return the message with the generated ID included
      */
     @Override
     public Message addMessage(Message message) {
-        String sql = "INSERT INTO messages (timeSent, studentEmail, tutorEmail, senderEmail, message) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setString(1, message.getTimeSent().toString());
+        if (queueing()) {
+            try {
+                return writeBehind.submit(message).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new RuntimeException("Error adding message", e.getCause());
+            }
+        }
+
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            EpochTime.set(stmt, 1, message.getTimeSent());
             stmt.setString(2, message.getStudentEmail());
             stmt.setString(3, message.getTutorEmail());
             stmt.setString(4, message.getSenderEmail());
@@ -57,6 +100,36 @@ public class MessageDB implements MessagePersistence {
         }
     }
 
+    /**
+     * Queues a message in write-behind mode; otherwise inserts it before returning.
+     */
+    @Override
+    public CompletableFuture<Message> addMessageAsync(Message message) {
+        if (!queueing()) {
+            return MessagePersistence.super.addMessageAsync(message);
+        }
+        return writeBehind.submit(message);
+    }
+
+    /**
+     * Inside a transaction the insert must join it, and the caller holds the writer
+     * the background writer would need, so messages are then inserted directly.
+     */
+    private boolean queueing() {
+        return writeBehind != null && !connections.isInTransaction();
+    }
+
+    /**
+     * Writes every queued message and stops the background writer.
+     * Does nothing when not in write-behind mode.
+     */
+    @Override
+    public void close() {
+        if (writeBehind != null) {
+            writeBehind.close();
+        }
+    }
+
     /**
      * Retrieves the entire message history between a student and tutor.
      * Messages are ordered chronologically by time sent.
@@ -67,26 +140,17 @@ public class MessageDB implements MessagePersistence {
      */
     @Override
     public List<Message> getMessageHistory(String studentEmail, String tutorEmail) {
-        String sql = "SELECT * FROM messages WHERE " +
-                "studentEmail = ? AND tutorEmail = ? " +
-                "ORDER BY timeSent ASC";
-
+        String sql = HISTORY_SELECT;
         List<Message> messages = new ArrayList<>();
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.reader();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, studentEmail);
             stmt.setString(2, tutorEmail);
 
             // Execute query and construct message list from result set
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
-                messages.add(new Message(
-                        rs.getInt("id"),
-                        LocalDateTime.parse(rs.getString("timeSent")),
-                        rs.getString("studentEmail"),
-                        rs.getString("tutorEmail"),
-                        rs.getString("senderEmail"),
-                        rs.getString("message")
-                ));
+                messages.add(fromResultSet(rs));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Error retrieving message history", e);
@@ -95,13 +159,40 @@ public class MessageDB implements MessagePersistence {
         return messages;
     }
 
+    /**
+     * Streams the conversation between a student and tutor, oldest first.
+     * Messages are read from the cursor as the stream is consumed.
+     */
+    @Override
+    public Stream<Message> streamMessageHistory(String studentEmail, String tutorEmail, int fetchSize) {
+        return ResultSetStream.open(connections, HISTORY_SELECT, stmt -> {
+            stmt.setString(1, studentEmail);
+            stmt.setString(2, tutorEmail);
+        }, fetchSize, this::fromResultSet, "Error retrieving message history");
+    }
+
+    /**
+     * Builds a Message from the current row of a ResultSet.
+     */
+    private Message fromResultSet(ResultSet rs) throws SQLException {
+        return new Message(
+                rs.getInt("id"),
+                EpochTime.get(rs, "timeSent"),
+                rs.getString("studentEmail"),
+                rs.getString("tutorEmail"),
+                rs.getString("senderEmail"),
+                rs.getString("message")
+        );
+    }
+
     @Override
     public List<String> getTutorsMessaged(String studentEmail) {
         String sql = "SELECT DISTINCT tutorEmail FROM messages " +
                 "WHERE studentEmail = ?";
 
         List<String> tutors = new ArrayList<>();
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.reader();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, studentEmail);
 
             // Execute query and construct list of tutor emails from result set
@@ -122,7 +213,8 @@ public class MessageDB implements MessagePersistence {
                 "WHERE tutorEmail = ?";
 
         List<String> students = new ArrayList<>();
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.reader();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, tutorEmail);
 
             // Execute query and construct list of student emails from result set
@@ -145,7 +237,8 @@ public class MessageDB implements MessagePersistence {
     @Override
     public void deleteMessageById(int id) {
         String sql = "DELETE FROM messages WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, id);
             stmt.executeUpdate();
         } catch (SQLException e) {
@@ -161,7 +254,8 @@ public class MessageDB implements MessagePersistence {
     @Override
     public void updateMessage(Message updatedMessage) {
         String sql = "UPDATE messages SET message = ? WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, updatedMessage.getMessage());
             stmt.setInt(2, updatedMessage.getMessageId());
             stmt.executeUpdate();
@@ -181,7 +275,8 @@ public class MessageDB implements MessagePersistence {
     public void deleteMessageHistory(String studentEmail, String tutorEmail) {
         String sql = "DELETE FROM messages WHERE " +
                 "studentEmail = ? AND tutorEmail = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, studentEmail);
             stmt.setString(2, tutorEmail);
             stmt.executeUpdate();
@@ -0,0 +1,215 @@
+package skolard.persistence.sqlite;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import skolard.objects.Message;
+import skolard.persistence.ConnectionSource;
+
+/**
+ * Queue of messages waiting to be inserted, drained by one background writer thread.
+ * The writer groups whatever has queued up into a single transaction, so a burst of
+ * chat messages costs one commit instead of one per message. A batch is written once
+ * it holds batchSize messages or its first message has waited flushIntervalMs.
+ *
+ * The queue is bounded: when it is full, callers block until the writer catches up.
+ */
+final class MessageWriteBehind implements AutoCloseable {
+
+    private final ConnectionSource connections;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<Pending> queue;
+    private final Thread writer;
+
+    // Serializes batches written by the writer thread and by close()
+    private final Object flushLock = new Object();
+
+    private volatile boolean closed;
+
+    /**
+     * Starts the writer thread.
+     *
+     * @param connections     source of the writer connection
+     * @param batchSize       most messages written in one transaction
+     * @param flushIntervalMs longest a queued message waits for its batch to fill
+     * @param queueCapacity   most messages queued before callers block
+     */
+    MessageWriteBehind(ConnectionSource connections, int batchSize, long flushIntervalMs, int queueCapacity) {
+        if (batchSize < 1 || queueCapacity < 1 || flushIntervalMs < 0) {
+            throw new IllegalArgumentException("Invalid write-behind settings");
+        }
+        this.connections = connections;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.writer = new Thread(this::drainLoop, "skolard-message-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues a message for insertion, blocking while the queue is full.
+     *
+     * @param message the message to insert
+     * @return completes with the stored message (including its generated ID) once committed
+     * @throws IllegalStateException if the queue has been closed
+     */
+    CompletableFuture<Message> submit(Message message) {
+        if (closed) {
+            throw new IllegalStateException("Message writer is closed");
+        }
+
+        Pending pending = new Pending(message);
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.future.completeExceptionally(e);
+            return pending.future;
+        }
+
+        // Closed while this caller was waiting for room: the writer may already be gone
+        if (closed) {
+            flushRemaining();
+        }
+        return pending.future;
+    }
+
+    /**
+     * @return number of messages waiting to be written
+     */
+    int pending() {
+        return queue.size();
+    }
+
+    /**
+     * Stops accepting messages, writes everything still queued and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        writer.interrupt();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushRemaining();
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (!closed) {
+            try {
+                Pending first = queue.take();
+                batch.add(first);
+
+                // Let the batch fill until it is full or its first message has waited long enough
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // close() wakes the writer; whatever was gathered is written below
+            }
+
+            if (!batch.isEmpty()) {
+                synchronized (flushLock) {
+                    write(batch);
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private void flushRemaining() {
+        synchronized (flushLock) {
+            List<Pending> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Inserts a batch in one transaction and completes its futures once it commits.
+     * If the batch fails, each message is retried on its own so one bad row
+     * does not fail the messages queued alongside it.
+     */
+    private void write(List<Pending> batch) {
+        List<Message> stored;
+        try {
+            stored = connections.inTransaction(() -> insertAll(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).future.completeExceptionally(e);
+                return;
+            }
+            for (Pending pending : batch) {
+                write(List.of(pending));
+            }
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).future.complete(stored.get(i));
+        }
+    }
+
+    private List<Message> insertAll(List<Pending> batch) {
+        List<Message> stored = new ArrayList<>(batch.size());
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(MessageDB.INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (Pending pending : batch) {
+                Message message = pending.message;
+                EpochTime.set(stmt, 1, message.getTimeSent());
+                stmt.setString(2, message.getStudentEmail());
+                stmt.setString(3, message.getTutorEmail());
+                stmt.setString(4, message.getSenderEmail());
+                stmt.setString(5, message.getMessage());
+                stmt.executeUpdate();
+
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    if (!keys.next()) {
+                        throw new RuntimeException("Failed to retrieve generated message ID.");
+                    }
+                    stored.add(new Message(keys.getInt(1), message.getTimeSent(), message.getStudentEmail(),
+                        message.getTutorEmail(), message.getSenderEmail(), message.getMessage()));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error adding message", e);
+        }
+        return stored;
+    }
+
+    private static final class Pending {
+        private final Message message;
+        private final CompletableFuture<Message> future = new CompletableFuture<>();
+
+        private Pending(Message message) {
+            this.message = message;
+        }
+    }
+}
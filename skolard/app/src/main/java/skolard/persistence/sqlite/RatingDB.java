@@ -8,18 +8,19 @@ import java.util.ArrayList;
 import java.util.List;
 
 import skolard.objects.Feedback;
+import skolard.persistence.ConnectionSource;
 import skolard.persistence.RatingPersistence;
 
 public class RatingDB implements RatingPersistence {
-    private final Connection conn;
+    private final ConnectionSource connections;
 
     /**
-     * Constructor accepting a database connection.
+     * Constructor accepting a connection source.
      *
-     * @param conn an open SQLite connection
+     * @param connections the source to borrow SQLite connections from
      */
-    public RatingDB(Connection conn) {
-        this.conn = conn;
+    public RatingDB(ConnectionSource connections) {
+        this.connections = connections;
     }
 
     /**
@@ -33,7 +34,8 @@ public class RatingDB implements RatingPersistence {
      */
     @Override
     public void saveRating(String tutorEmail, int sessionId, String studentEmail, String courseName, int rating) {
-        try (PreparedStatement ps = conn.prepareStatement(
+        try (Connection connection = connections.writer();
+             PreparedStatement ps = connection.prepareStatement(
                 "INSERT INTO ratings (tutorEmail, sessionId, studentEmail, courseName, rating) VALUES (?, ?, ?, ?, ?)")) {
             ps.setString(1, tutorEmail); // tutorEmail
             ps.setInt(2, sessionId); // sessionId as int
@@ -55,7 +57,8 @@ public class RatingDB implements RatingPersistence {
     @Override
     public List<Feedback> getAllFeedbackForTutor(String tutorId) {
         List<Feedback> feedbacks = new ArrayList<>();
-        try (PreparedStatement ps = conn.prepareStatement(
+        try (Connection connection = connections.reader();
+             PreparedStatement ps = connection.prepareStatement(
                 "SELECT * FROM ratings WHERE tutorEmail = ?")) {
             ps.setString(1, tutorId);
             ResultSet rs = ps.executeQuery();
@@ -7,29 +7,36 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import skolard.objects.RatingRequest;
 import skolard.objects.Session;
 import skolard.objects.Student;
+import skolard.persistence.ConnectionSource;
 import skolard.persistence.RatingRequestPersistence;
 import skolard.persistence.SessionPersistence;
 import skolard.persistence.StudentPersistence;
+import skolard.persistence.UnitOfWork;
 
 public class RatingRequestDB implements RatingRequestPersistence {
-    private final Connection connection;
+    private final ConnectionSource connections;
     private final StudentPersistence studentPersistence;
     private final SessionPersistence sessionPersistence;
 
     /**
-     * Constructor injecting the DB connection and dependencies for fetching related objects.
+     * Constructor injecting the DB connection source and dependencies for fetching related objects.
      * 
-     * @param conn SQLite connection
+     * @param connections source of SQLite connections
      * @param studentPersistence persistence layer to fetch Student objects
      * @param sessionPersistence persistence layer to fetch Session objects
      */
-    public RatingRequestDB(Connection conn, StudentPersistence studentPersistence, SessionPersistence sessionPersistence) {
-        this.connection = conn;
+    public RatingRequestDB(ConnectionSource connections, StudentPersistence studentPersistence, SessionPersistence sessionPersistence) {
+        this.connections = connections;
         this.studentPersistence = studentPersistence;
         this.sessionPersistence = sessionPersistence;
     }
@@ -44,12 +51,13 @@ public class RatingRequestDB implements RatingRequestPersistence {
     public RatingRequest addRequest(RatingRequest request) {
         String sql = "INSERT INTO ratingRequests (sessionId, studentEmail, completed, skipped, createdAt)" +
                      " VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setInt(1, request.getSession().getSessionId());
             stmt.setString(2, request.getStudent().getEmail());
             stmt.setInt(3, request.isCompleted() ? 1 : 0);
             stmt.setInt(4, request.isSkipped() ? 1 : 0);
-            stmt.setString(5, request.getCreatedAt().toString());
+            EpochTime.set(stmt, 5, request.getCreatedAt());
             stmt.executeUpdate();
 
             // Get the auto-generated ID from the database after insert
@@ -77,7 +85,8 @@ public class RatingRequestDB implements RatingRequestPersistence {
     public void updateRequest(RatingRequest request) {
         String sql = "UPDATE ratingRequests SET completed = ?, skipped = ? WHERE id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, request.isCompleted() ? 1 : 0);
             stmt.setInt(2, request.isSkipped() ? 1 : 0);
             stmt.setInt(3, request.getId());
@@ -94,21 +103,34 @@ public class RatingRequestDB implements RatingRequestPersistence {
      */
     @Override
     public List<RatingRequest> getAllRequests() {
-        List<RatingRequest> ratingRequests = new ArrayList<>();
-        String sql = "SELECT * FROM ratingRequests";
+        return UnitOfWork.call(() -> {
+            List<RequestRow> rows = new ArrayList<>();
+            String sql = "SELECT * FROM ratingRequests";
 
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+            try (Connection connection = connections.reader();
+                 Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
 
-            while (rs.next()) {
-                ratingRequests.add(fromResultSet(rs));
+                while (rs.next()) {
+                    rows.add(readRow(rs));
+                }
+
+            } catch (SQLException e) {
+                throw new RuntimeException("Error retrieving all rating requests", e);
             }
 
-        } catch (SQLException e) {
-            throw new RuntimeException("Error retrieving all rating requests", e);
-        }
+            return resolve(rows);
+        });
+    }
 
-        return ratingRequests;
+    /**
+     * Streams all rating requests in the database.
+     * Requests are read and hydrated one row at a time as the stream is consumed.
+     */
+    @Override
+    public Stream<RatingRequest> streamAllRequests(int fetchSize) {
+        return ResultSetStream.open(connections, "SELECT * FROM ratingRequests", stmt -> {}, fetchSize,
+            this::fromResultSet, "Error retrieving all rating requests");
     }
 
     /**
@@ -119,21 +141,24 @@ public class RatingRequestDB implements RatingRequestPersistence {
      */
     @Override
     public List<RatingRequest> getPendingRequestsForStudent(String studentEmail) {
-        List<RatingRequest> ratingRequests = new ArrayList<>();
-        String sql = "SELECT * FROM ratingRequests WHERE completed = 0 AND skipped = 0 AND studentEmail = ?";
-
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, studentEmail);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                ratingRequests.add(fromResultSet(rs));
-            }
+        return UnitOfWork.call(() -> {
+            List<RequestRow> rows = new ArrayList<>();
+            String sql = "SELECT * FROM ratingRequests WHERE completed = 0 AND skipped = 0 AND studentEmail = ?";
 
-        } catch (SQLException e) {
-            throw new RuntimeException("Error retrieving rating requests", e);
-        }
+            try (Connection connection = connections.reader();
+                 PreparedStatement stmt = connection.prepareStatement(sql)) {
+                stmt.setString(1, studentEmail);
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    rows.add(readRow(rs));
+                }
 
-        return ratingRequests;
+            } catch (SQLException e) {
+                throw new RuntimeException("Error retrieving rating requests", e);
+            }
+
+            return resolve(rows);
+        });
     }
 
     /**
@@ -143,42 +168,100 @@ public class RatingRequestDB implements RatingRequestPersistence {
      * @return List of pending RatingRequest objects for the session
      */
     public List<RatingRequest> getPendingSessionRequest(int sessionId) {
-        List<RatingRequest> ratingRequests = new ArrayList<>();
-        String sql = "SELECT * FROM ratingRequests WHERE completed = 0 AND skipped = 0 AND sessionId = ?";
-
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setInt(1, sessionId);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                ratingRequests.add(fromResultSet(rs));
-            }
+        return UnitOfWork.call(() -> {
+            List<RequestRow> rows = new ArrayList<>();
+            String sql = "SELECT * FROM ratingRequests WHERE completed = 0 AND skipped = 0 AND sessionId = ?";
 
-        } catch (SQLException e) {
-            throw new RuntimeException("Error retrieving rating requests", e);
-        }
+            try (Connection connection = connections.reader();
+                 PreparedStatement stmt = connection.prepareStatement(sql)) {
+                stmt.setInt(1, sessionId);
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    rows.add(readRow(rs));
+                }
+
+            } catch (SQLException e) {
+                throw new RuntimeException("Error retrieving rating requests", e);
+            }
 
-        return ratingRequests;
+            return resolve(rows);
+        });
     }
 
     /**
-     * Helper method to build a RatingRequest object from the current row of a ResultSet.
-     * Fetches the associated Session and Student objects using the persistence layers.
+     * Builds a RatingRequest from the current row of a ResultSet, fetching its Session and
+     * Student on their own. Used by the stream, which hydrates one row at a time; lists of
+     * requests go through {@link #resolve} instead.
      * 
      * @param rs ResultSet positioned at a row
      * @return RatingRequest object populated with all fields
      * @throws SQLException on SQL access errors
      */
     private RatingRequest fromResultSet(ResultSet rs) throws SQLException {
-        int id = rs.getInt("id");
-        int sessionId = rs.getInt("sessionId");
-        String studentEmail = rs.getString("studentEmail");
-        LocalDateTime time = LocalDateTime.parse(rs.getString("createdAt"));
-        boolean completed = rs.getInt("completed") == 1;
-        boolean skipped = rs.getInt("skipped") == 1;
+        RequestRow row = readRow(rs);
+        return row.toRequest(sessionPersistence.getSessionById(row.sessionId),
+            studentPersistence.getStudentByEmail(row.studentEmail));
+    }
+
+    /**
+     * Reads the columns of the current row, leaving the session and student to be resolved.
+     */
+    private RequestRow readRow(ResultSet rs) throws SQLException {
+        return new RequestRow(rs.getInt("id"), rs.getInt("sessionId"), rs.getString("studentEmail"),
+            EpochTime.get(rs, "createdAt"), rs.getInt("completed") == 1, rs.getInt("skipped") == 1);
+    }
 
-        Session session = sessionPersistence.getSessionById(sessionId);
-        Student student = studentPersistence.getStudentByEmail(studentEmail);
+    /**
+     * Builds the requests of the given rows, fetching all of their sessions in one batch
+     * lookup and all of their students in another, rather than two lookups per row.
+     * Callers load rows inside a {@link UnitOfWork}, so a student or tutor that appears
+     * on many requests is shared.
+     */
+    private List<RatingRequest> resolve(List<RequestRow> rows) {
+        Set<Integer> sessionIds = new HashSet<>();
+        Set<String> studentEmails = new HashSet<>();
+        for (RequestRow row : rows) {
+            sessionIds.add(row.sessionId);
+            studentEmails.add(row.studentEmail);
+        }
+
+        Map<Integer, Session> sessions = new HashMap<>();
+        Map<String, Student> students = new HashMap<>();
+        if (!rows.isEmpty()) {
+            sessionPersistence.getSessionsByIds(sessionIds).forEach(s -> sessions.put(s.getSessionId(), s));
+            studentPersistence.getStudentsByEmails(studentEmails).forEach(s -> students.put(s.getEmail(), s));
+        }
 
-        return new RatingRequest(id, session, student, time, completed, skipped);
+        List<RatingRequest> requests = new ArrayList<>();
+        for (RequestRow row : rows) {
+            requests.add(row.toRequest(sessions.get(row.sessionId), students.get(row.studentEmail)));
+        }
+        return requests;
+    }
+
+    /**
+     * The columns of one ratingRequests row, before its session and student are looked up.
+     */
+    private static final class RequestRow {
+        private final int id;
+        private final int sessionId;
+        private final String studentEmail;
+        private final LocalDateTime createdAt;
+        private final boolean completed;
+        private final boolean skipped;
+
+        private RequestRow(int id, int sessionId, String studentEmail, LocalDateTime createdAt,
+                           boolean completed, boolean skipped) {
+            this.id = id;
+            this.sessionId = sessionId;
+            this.studentEmail = studentEmail;
+            this.createdAt = createdAt;
+            this.completed = completed;
+            this.skipped = skipped;
+        }
+
+        private RatingRequest toRequest(Session session, Student student) {
+            return new RatingRequest(id, session, student, createdAt, completed, skipped);
+        }
     }
 }
@@ -0,0 +1,144 @@
+package skolard.persistence.sqlite;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import skolard.persistence.ConnectionSource;
+
+/**
+ * Lazily fetched stream over the rows of a query.
+ * Rows are mapped one at a time as the stream is consumed, so memory use does not grow
+ * with the size of the result. The stream holds a borrowed connection, its statement and
+ * its result set until it is closed; it also releases them as soon as the last row is read.
+ * <p>
+ * The stream is not thread-safe: one thread at a time may consume or close it. That thread
+ * need not be the one that opened it; a connection released from another thread goes back
+ * to the pool without disturbing the opening thread's later borrows.
+ */
+final class ResultSetStream {
+
+    private ResultSetStream() {}
+
+    /**
+     * Binds parameters to the query before it runs.
+     */
+    @FunctionalInterface
+    interface Binder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+
+    /**
+     * Converts the current row into an object.
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Runs a query on a borrowed read connection and streams its rows.
+     * Callers must close the stream (try-with-resources) if they may stop before the end.
+     *
+     * @param connections  source of the read connection
+     * @param sql          the query
+     * @param binder       binds the query's parameters
+     * @param fetchSize    JDBC fetch size hint; 0 leaves the driver default
+     * @param mapper       converts each row
+     * @param errorMessage message of the RuntimeException thrown on database errors
+     * @return a sequential, ordered stream of mapped rows
+     */
+    static <T> Stream<T> open(ConnectionSource connections, String sql, Binder binder, int fetchSize,
+                              RowMapper<T> mapper, String errorMessage) {
+        if (fetchSize < 0) {
+            throw new IllegalArgumentException("Fetch size must not be negative");
+        }
+
+        Connection connection = null;
+        PreparedStatement stmt = null;
+        try {
+            connection = connections.reader();
+            stmt = connection.prepareStatement(sql);
+            stmt.setFetchSize(fetchSize);
+            binder.bind(stmt);
+            ResultSet rs = stmt.executeQuery();
+
+            Cursor<T> cursor = new Cursor<>(connection, stmt, rs, mapper, errorMessage);
+            return StreamSupport.stream(cursor, false).onClose(cursor::close);
+        } catch (SQLException e) {
+            closeQuietly(stmt);
+            closeQuietly(connection);
+            throw new RuntimeException(errorMessage, e);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        if (resource == null) {
+            return;
+        }
+        try {
+            resource.close();
+        } catch (Exception ignored) {}
+    }
+
+    /**
+     * Walks the result set one row per advance and owns the JDBC resources behind it.
+     */
+    private static final class Cursor<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final Connection connection;
+        private final PreparedStatement stmt;
+        private final ResultSet rs;
+        private final RowMapper<T> mapper;
+        private final String errorMessage;
+        private boolean closed;
+
+        private Cursor(Connection connection, PreparedStatement stmt, ResultSet rs,
+                       RowMapper<T> mapper, String errorMessage) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.connection = connection;
+            this.stmt = stmt;
+            this.rs = rs;
+            this.mapper = mapper;
+            this.errorMessage = errorMessage;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed) {
+                return false;
+            }
+
+            T row;
+            try {
+                if (!rs.next()) {
+                    // Exhausted: give the connection back without waiting for close()
+                    close();
+                    return false;
+                }
+                row = mapper.map(rs);
+            } catch (SQLException e) {
+                close();
+                throw new RuntimeException(errorMessage, e);
+            }
+            action.accept(row);
+            return true;
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            closeQuietly(rs);
+            closeQuietly(stmt);
+            closeQuietly(connection);
+        }
+    }
+}
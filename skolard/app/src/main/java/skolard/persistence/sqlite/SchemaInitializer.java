@@ -6,16 +6,34 @@ import java.sql.Statement;
 
 /**
  * This class is responsible for initializing the SQLite database schema
- * for the SkolarD application. It creates all required tables if they do not exist.
+ * for the SkolarD application. It creates all required tables if they do not exist,
+ * then hands over to {@link SchemaMigrations} for indexes and later schema changes.
+ *
+ * The tables below are the version 0 schema. Migrations change some of them afterwards
+ * (timestamps, for example, become INTEGER epoch nanoseconds), so schema changes belong
+ * in a new migration rather than in these definitions.
  */
 public class SchemaInitializer {
 
     /**
-     * Creates the necessary tables for the application schema if they don't already exist.
+     * Creates the necessary tables for the application schema if they don't already exist,
+     * then migrates them to the latest schema version.
      *
      * @param connection active database connection to execute schema creation
      */
     public static void initializeSchema(Connection connection) {
+        createTables(connection);
+
+        // Apply indexes and later schema changes the database has not seen yet
+        SchemaMigrations.migrate(connection);
+    }
+
+    /**
+     * Creates the version 0 tables if they don't already exist.
+     *
+     * @param connection active database connection to execute schema creation
+     */
+    static void createTables(Connection connection) {
 
         // Table for storing tutor profiles, with unique email as primary key
         String createTutorTable = "CREATE TABLE IF NOT EXISTS tutor (" +
@@ -0,0 +1,307 @@
+package skolard.persistence.sqlite;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Applies versioned schema changes on top of the base tables created by {@link SchemaInitializer}.
+ * The database records the last applied version in {@code PRAGMA user_version}, so each
+ * migration runs exactly once per database file and existing databases pick up new
+ * changes at startup without being rebuilt.
+ *
+ * To change the schema, append a new {@link Migration} with the next version number.
+ * Never edit or reorder a migration that has already shipped.
+ */
+public class SchemaMigrations {
+
+    /**
+     * Every migration in version order.
+     */
+    static final List<Migration> MIGRATIONS = List.of(
+        new Migration(1, "Indexes for the lookups issued by the DB classes",
+            // SessionDB.getSessionsByTutorEmail and the tutorCourse hydration subquery
+            "CREATE INDEX IF NOT EXISTS idx_session_tutor ON session(tutorEmail)",
+            // SessionDB.getSessionsByStudentEmail
+            "CREATE INDEX IF NOT EXISTS idx_session_student ON session(studentEmail)",
+            // SessionDB.findAvailableSessions: only unbooked rows, searched by course and start time
+            "CREATE INDEX IF NOT EXISTS idx_session_open_course ON session(courseID COLLATE NOCASE, startTime) " +
+                "WHERE studentEmail IS NULL",
+            // Grade lookups for session ordering read only the index
+            "CREATE INDEX IF NOT EXISTS idx_tutorCourse_grade ON tutorCourse(tutorEmail, courseID, grade)",
+            // MessageDB history (ordered by timeSent), delete and getTutorsMessaged
+            "CREATE INDEX IF NOT EXISTS idx_messages_conversation ON messages(studentEmail, tutorEmail, timeSent)",
+            // MessageDB.getStudentsMessaged
+            "CREATE INDEX IF NOT EXISTS idx_messages_tutor ON messages(tutorEmail, studentEmail)",
+            // RatingDB.getRatingsForTutor
+            "CREATE INDEX IF NOT EXISTS idx_ratings_tutor ON ratings(tutorEmail)",
+            // RatingRequestDB pending requests by student and by session
+            "CREATE INDEX IF NOT EXISTS idx_ratingRequests_student ON ratingRequests(studentEmail, completed, skipped)",
+            "CREATE INDEX IF NOT EXISTS idx_ratingRequests_session ON ratingRequests(sessionId, completed, skipped)"),
+
+        new Migration(2, "Store timestamps as INTEGER epoch nanoseconds", SchemaMigrations::convertTimestampsToEpoch),
+
+        new Migration(3, "Indexes for paging a user's sessions by start time",
+            // SessionDB.getTutorSessionsPage and getStudentSessionsPage seek on (startTime, id);
+            // the row ID is the implicit last column of every index
+            "CREATE INDEX IF NOT EXISTS idx_session_tutor_start ON session(tutorEmail, startTime)",
+            "CREATE INDEX IF NOT EXISTS idx_session_student_start ON session(studentEmail, startTime)"),
+
+        new Migration(4, "Record which seed files have been applied",
+            // DatabaseSeeder skips a seed file whose recorded checksum still matches;
+            // appliedAt is epoch milliseconds, for reading by hand
+            "CREATE TABLE IF NOT EXISTS seed_history (" +
+                "resource TEXT PRIMARY KEY," +
+                "checksum TEXT NOT NULL," +
+                "appliedAt INTEGER NOT NULL" +
+                ")"),
+
+        new Migration(5, "Full-text index for FAQ search",
+            // FAQDB.searchFAQs and rankFAQs; an external-content table stores only the index
+            // and reads question and answer back from faq
+            "CREATE VIRTUAL TABLE IF NOT EXISTS faq_fts USING fts5(question, answer, " +
+                "content='faq', content_rowid='id', tokenize='unicode61 remove_diacritics 2')",
+            // Triggers keep the index in step with every write to faq
+            "CREATE TRIGGER IF NOT EXISTS faq_fts_insert AFTER INSERT ON faq BEGIN " +
+                "INSERT INTO faq_fts(rowid, question, answer) VALUES (new.id, new.question, new.answer); END",
+            "CREATE TRIGGER IF NOT EXISTS faq_fts_delete AFTER DELETE ON faq BEGIN " +
+                "INSERT INTO faq_fts(faq_fts, rowid, question, answer) " +
+                "VALUES ('delete', old.id, old.question, old.answer); END",
+            "CREATE TRIGGER IF NOT EXISTS faq_fts_update AFTER UPDATE ON faq BEGIN " +
+                "INSERT INTO faq_fts(faq_fts, rowid, question, answer) " +
+                "VALUES ('delete', old.id, old.question, old.answer); " +
+                "INSERT INTO faq_fts(rowid, question, answer) VALUES (new.id, new.question, new.answer); END",
+            // Index the FAQs already in the database
+            "INSERT INTO faq_fts(faq_fts) VALUES ('rebuild')")
+    );
+
+    /**
+     * Brings the database up to the latest schema version.
+     * Each pending migration runs in its own transaction together with the version bump,
+     * so a failure leaves the database at the last fully applied version.
+     *
+     * @param connection active database connection
+     */
+    public static void migrate(Connection connection) {
+        migrate(connection, MIGRATIONS);
+    }
+
+    /**
+     * Applies the given migrations whose version is above the database's current version.
+     *
+     * @param connection active database connection
+     * @param migrations migrations in ascending version order
+     */
+    static void migrate(Connection connection, List<Migration> migrations) {
+        int current = getVersion(connection);
+        if (current >= migrations.get(migrations.size() - 1).version) {
+            return;
+        }
+
+        // Rebuilding a table drops the old copy, which must not cascade into the rows that
+        // reference it. The setting cannot change inside a transaction, so it wraps them all.
+        boolean foreignKeys = getForeignKeys(connection);
+        setForeignKeys(connection, false);
+        try {
+            for (Migration migration : migrations) {
+                if (migration.version <= current) {
+                    continue;
+                }
+                apply(connection, migration);
+                current = migration.version;
+            }
+        } finally {
+            setForeignKeys(connection, foreignKeys);
+        }
+    }
+
+    /**
+     * Reads the schema version stored in the database header.
+     *
+     * @param connection active database connection
+     * @return the last applied migration version, 0 for a database that was never migrated
+     */
+    public static int getVersion(Connection connection) {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read schema version", e);
+        }
+    }
+
+    /**
+     * @return the version the database will be at once every migration has run
+     */
+    public static int getLatestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version;
+    }
+
+    private static void apply(Connection connection, Migration migration) {
+        try {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Statement stmt = connection.createStatement()) {
+                migration.step.apply(connection);
+                // PRAGMA does not accept bind parameters; the version is an int we own
+                stmt.execute("PRAGMA user_version = " + migration.version);
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            System.err.println("SQL Error: " + e.getMessage());
+            throw new RuntimeException("Failed to apply schema migration " + migration.version +
+                " (" + migration.description + ")", e);
+        }
+    }
+
+    /**
+     * Migration 2: rebuilds every table with timestamp columns so those columns are
+     * INTEGER epoch nanoseconds (see {@link EpochTime}) instead of ISO-8601 text.
+     * Integers decode without parsing, and time ranges become index range scans.
+     * SQLite cannot change a column's type in place, so each table is copied into a
+     * new table with the converted values, then swapped in under the old name.
+     */
+    private static void convertTimestampsToEpoch(Connection connection) throws SQLException {
+        rebuildTable(connection, "session",
+            "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "tutorEmail TEXT NOT NULL," +
+            "studentEmail TEXT," +
+            "startTime INTEGER NOT NULL," +
+            "endTime INTEGER NOT NULL," +
+            "courseID TEXT NOT NULL," +
+            "FOREIGN KEY(tutorEmail) REFERENCES tutor(email) ON DELETE CASCADE," +
+            "FOREIGN KEY(studentEmail) REFERENCES student(email) ON DELETE SET NULL",
+            "id, tutorEmail, studentEmail, " + EpochTime.fromIsoText("startTime") + ", " +
+                EpochTime.fromIsoText("endTime") + ", courseID");
+
+        rebuildTable(connection, "messages",
+            "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "timeSent INTEGER NOT NULL," +
+            "studentEmail TEXT NOT NULL," +
+            "tutorEmail TEXT NOT NULL," +
+            "senderEmail TEXT NOT NULL," +
+            "message TEXT NOT NULL," +
+            "FOREIGN KEY(studentEmail) REFERENCES student(email)," +
+            "FOREIGN KEY(tutorEmail) REFERENCES tutor(email)",
+            "id, " + EpochTime.fromIsoText("timeSent") + ", studentEmail, tutorEmail, senderEmail, message");
+
+        rebuildTable(connection, "support_ticket",
+            "ticket_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "requester_email TEXT NOT NULL," +
+            "requester_role TEXT NOT NULL," +
+            "title TEXT NOT NULL," +
+            "description TEXT NOT NULL," +
+            "created_at INTEGER NOT NULL," +
+            "closed_at INTEGER," +
+            "is_handled INTEGER NOT NULL," +
+            "FOREIGN KEY(requester_email) REFERENCES student(email) ON DELETE SET NULL",
+            "ticket_id, requester_email, requester_role, title, description, " +
+                EpochTime.fromIsoText("created_at") + ", " + EpochTime.fromIsoText("closed_at") + ", is_handled");
+
+        rebuildTable(connection, "ratingRequests",
+            "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "sessionId INTEGER NOT NULL," +
+            "studentEmail TEXT NOT NULL," +
+            "completed INTEGER NOT NULL," +
+            "skipped INTEGER NOT NULL," +
+            "createdAt INTEGER NOT NULL," +
+            "FOREIGN KEY(sessionId) REFERENCES session(id) ON DELETE CASCADE," +
+            "FOREIGN KEY(studentEmail) REFERENCES student(email) ON DELETE CASCADE",
+            "id, sessionId, studentEmail, completed, skipped, " + EpochTime.fromIsoText("createdAt"));
+
+        // Dropping the old tables dropped their indexes; session lookups now also cover endTime
+        // so SessionDB.hydrate*Sessions can split past and upcoming sessions with range scans
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE INDEX idx_session_tutor ON session(tutorEmail, endTime)");
+            stmt.execute("CREATE INDEX idx_session_student ON session(studentEmail, endTime)");
+            stmt.execute("CREATE INDEX idx_session_open_course ON session(courseID COLLATE NOCASE, startTime) " +
+                "WHERE studentEmail IS NULL");
+            stmt.execute("CREATE INDEX idx_messages_conversation ON messages(studentEmail, tutorEmail, timeSent)");
+            stmt.execute("CREATE INDEX idx_messages_tutor ON messages(tutorEmail, studentEmail)");
+            stmt.execute("CREATE INDEX idx_ratingRequests_student ON ratingRequests(studentEmail, completed, skipped)");
+            stmt.execute("CREATE INDEX idx_ratingRequests_session ON ratingRequests(sessionId, completed, skipped)");
+        }
+    }
+
+    /**
+     * Replaces a table with a new definition, copying every row through the given column list.
+     * The AUTOINCREMENT counter is carried over so deleted IDs are never reused.
+     *
+     * @param connection active database connection, inside the migration's transaction
+     * @param table      the table to rebuild
+     * @param columns    the new column and constraint definitions
+     * @param select     expressions producing the new columns from the old row, in order
+     */
+    private static void rebuildTable(Connection connection, String table, String columns, String select)
+            throws SQLException {
+        String rebuilt = table + "_rebuild";
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE " + rebuilt + " (" + columns + ")");
+            stmt.execute("INSERT INTO " + rebuilt + " SELECT " + select + " FROM " + table);
+
+            // Keep the highest ID ever issued, not just the highest ID still present
+            stmt.execute("DELETE FROM sqlite_sequence WHERE name = '" + rebuilt + "'");
+            stmt.execute("UPDATE sqlite_sequence SET name = '" + rebuilt + "' WHERE name = '" + table + "'");
+
+            stmt.execute("DROP TABLE " + table);
+            stmt.execute("ALTER TABLE " + rebuilt + " RENAME TO " + table);
+        }
+    }
+
+    private static boolean getForeignKeys(Connection connection) {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA foreign_keys")) {
+            return rs.next() && rs.getInt(1) == 1;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read foreign key setting", e);
+        }
+    }
+
+    private static void setForeignKeys(Connection connection, boolean enabled) {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA foreign_keys = " + (enabled ? "ON" : "OFF"));
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to change foreign key setting", e);
+        }
+    }
+
+    /**
+     * Work that moves the schema from one version to the next.
+     */
+    @FunctionalInterface
+    interface MigrationStep {
+        void apply(Connection connection) throws SQLException;
+    }
+
+    /**
+     * One schema change: a version number and the step that moves the schema to it.
+     */
+    static final class Migration {
+        private final int version;
+        private final String description;
+        private final MigrationStep step;
+
+        Migration(int version, String description, MigrationStep step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+
+        Migration(int version, String description, String... statements) {
+            this(version, description, connection -> {
+                try (Statement stmt = connection.createStatement()) {
+                    for (String sql : statements) {
+                        stmt.execute(sql);
+                    }
+                }
+            });
+        }
+    }
+}
@@ -7,14 +7,25 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import skolard.objects.Session;
 import skolard.objects.Student;
 import skolard.objects.Tutor;
+import skolard.persistence.ConnectionSource;
+import skolard.persistence.SessionCursor;
+import skolard.persistence.SessionPage;
 import skolard.persistence.SessionPersistence;
-import skolard.persistence.StudentPersistence;
-import skolard.persistence.TutorPersistence;
+import skolard.persistence.SessionRankCursor;
+import skolard.persistence.SessionSort;
+import skolard.persistence.SessionTimeframe;
+import skolard.persistence.UnitOfWork;
 
 /**
  * SQLite-based implementation of SessionPersistence.
@@ -22,18 +33,39 @@ import skolard.persistence.TutorPersistence;
  */
 public class SessionDB implements SessionPersistence {
 
-    private final Connection connection;
-    private final StudentPersistence studentPersistence;
-    private final TutorPersistence tutorPersistence;
+    // Emails bound per IN list; well under SQLite's limit on host parameters
+    private static final int MAX_BATCH_SIZE = 500;
+
+    // Session columns joined with the tutor and student rows they reference
+    private static final String SESSION_COLUMNS =
+        "SELECT s.id, s.tutorEmail, s.studentEmail, s.startTime, s.endTime, s.courseID, " +
+        "t.name AS tutorName, t.bio AS tutorBio, st.name AS studentName";
+    private static final String SESSION_FROM =
+        " FROM session s " +
+        "LEFT JOIN tutor t ON t.email = s.tutorEmail " +
+        "LEFT JOIN student st ON st.email = s.studentEmail";
+    private static final String SESSION_SELECT = SESSION_COLUMNS + SESSION_FROM;
+
+    // Separators of the packed tutor courses column (ASCII unit and record separators)
+    private static final char COURSE_FIELD_SEPARATOR = (char) 31;
+    private static final char COURSE_RECORD_SEPARATOR = (char) 30;
+
+    // Streams every session with its tutor's courses packed into one column,
+    // so each row can be hydrated on its own without holding the whole result
+    private static final String SESSION_STREAM =
+        SESSION_COLUMNS + ", " +
+        "(SELECT group_concat(g.courseID || char(31) || g.grade, char(30)) " +
+        "FROM tutorCourse g WHERE g.tutorEmail = s.tutorEmail) AS tutorCourses" +
+        SESSION_FROM + " ORDER BY s.id";
+
+    private final ConnectionSource connections;
 
     /**
-     * Constructor that takes in a database connection and references to
-     * student and tutor persistence to resolve foreign key relations.
+     * Constructor that takes in a connection source.
+     * Tutor and student details are joined in SQL, so no other persistence is needed.
      */
-    public SessionDB(Connection connection, StudentPersistence studentPersistence, TutorPersistence tutorPersistence) {
-        this.connection = connection;
-        this.studentPersistence = studentPersistence;
-        this.tutorPersistence = tutorPersistence;
+    public SessionDB(ConnectionSource connections) {
+        this.connections = connections;
     }
 
     /**
@@ -45,14 +77,15 @@ public class SessionDB implements SessionPersistence {
     public Session addSession(Session session) {
         String sql = "INSERT INTO session (tutorEmail, studentEmail, startTime, endTime, courseID) VALUES (?, ?, ?, ?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             // Set tutor's email
             stmt.setString(1, session.getTutor().getEmail());
             // Set studentEmail to null for unbooked session
             stmt.setString(2, null);
-            // Store start and end time as strings
-            stmt.setString(3, session.getStartDateTime().toString());
-            stmt.setString(4, session.getEndDateTime().toString());
+            // Store start and end time as epoch nanoseconds
+            stmt.setLong(3, EpochTime.toNanos(session.getStartDateTime()));
+            stmt.setLong(4, EpochTime.toNanos(session.getEndDateTime()));
             // Set course ID/name
             stmt.setString(5, session.getCourseName());
             stmt.executeUpdate();
@@ -79,21 +112,25 @@ public class SessionDB implements SessionPersistence {
      */
     @Override
     public Session getSessionById(int sessionId) {
-        String sql = "SELECT * FROM session WHERE id = ?";
-
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setInt(1, sessionId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return fromResultSet(rs); // Convert database row into Session object
-            }
+        List<Session> sessions = loadSessions(" WHERE s.id = ?", sessionId);
+        return sessions.isEmpty() ? null : sessions.get(0); // null if session not found
+    }
 
-        } catch (SQLException e) {
-            throw new RuntimeException("Error retrieving session", e);
+    /**
+     * Finds the sessions with the given IDs.
+     * IDs are looked up in batches with one IN-list query each,
+     * so resolving many sessions costs one query per batch rather than one per session.
+     */
+    @Override
+    public List<Session> getSessionsByIds(Collection<Integer> sessionIds) {
+        List<Integer> distinct = new ArrayList<>(new LinkedHashSet<>(sessionIds));
+        List<Session> sessions = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += MAX_BATCH_SIZE) {
+            List<Integer> batch = distinct.subList(from, Math.min(from + MAX_BATCH_SIZE, distinct.size()));
+            sessions.addAll(loadSessions(" WHERE s.id IN (" +
+                String.join(", ", Collections.nCopies(batch.size(), "?")) + ")", batch.toArray()));
         }
-
-        return null; // Session not found
+        return sessions;
     }
 
     /**
@@ -102,70 +139,218 @@ public class SessionDB implements SessionPersistence {
      */
     @Override
     public List<Session> getAllSessions() {
-        List<Session> sessions = new ArrayList<>();
-        String sql = "SELECT * FROM session";
+        return loadSessions("");
+    }
+
+    /**
+     * Streams all sessions in the database, ordered by ID.
+     * Rows are fetched and hydrated as the stream is consumed, so memory use stays flat
+     * however many sessions there are. Unlike {@link #getAllSessions()}, sessions of the
+     * same tutor or student do not share one object unless a {@link UnitOfWork} is open.
+     */
+    @Override
+    public Stream<Session> streamAllSessions(int fetchSize) {
+        return ResultSetStream.open(connections, SESSION_STREAM, stmt -> {}, fetchSize,
+            this::fromStreamedRow, "Error streaming sessions");
+    }
 
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+    /**
+     * Retrieves all sessions associated with a specific tutor by their email.
+     * Returns a list of sessions hosted by the tutor.
+     */
+    @Override
+    public List<Session> getSessionsByTutorEmail(String tutorEmail) {
+        return loadSessions(" WHERE s.tutorEmail = ?", tutorEmail);
+    }
 
-            // Iterate over each row and convert to Session
-            while (rs.next()) {
-                sessions.add(fromResultSet(rs));
-            }
+    /**
+     * Retrieves all sessions booked by a specific student by their email.
+     * Returns a list of sessions booked by the student.
+     */
+    @Override
+    public List<Session> getSessionsByStudentEmail(String studentEmail) {
+        return loadSessions(" WHERE s.studentEmail = ?", studentEmail);
+    }
 
-        } catch (SQLException e) {
-            throw new RuntimeException("Error retrieving all sessions", e);
+    /**
+     * Retrieves the bookable sessions of a course with every predicate, the ordering
+     * and the limit evaluated by SQLite. Time bounds are range scans on the
+     * epoch-nanosecond time columns.
+     */
+    @Override
+    public List<Session> findAvailableSessions(String courseName, LocalDateTime from, LocalDateTime to,
+                                               String excludedTutorEmail, SessionSort sort, int limit) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder clauses = availableClauses(courseName, from, to, excludedTutorEmail, params);
+
+        // Grades are looked up per row so the sort never needs the tutor objects
+        switch (sort == null ? SessionSort.NONE : sort) {
+            case START_TIME:
+                clauses.append(" ORDER BY s.startTime, s.id");
+                break;
+            case COURSE_GRADE:
+            case TUTOR_AVERAGE:
+                clauses.append(" ORDER BY ").append(rank(sort, courseName, params)).append(" DESC, s.id");
+                break;
+            default:
+                clauses.append(" ORDER BY s.id");
+                break;
         }
 
-        return sessions;
+        if (limit > 0) {
+            clauses.append(" LIMIT ?");
+            params.add(limit);
+        }
+
+        return loadSessions(clauses.toString(), params.toArray());
     }
 
     /**
-     * Retrieves all sessions associated with a specific tutor by their email.
-     * Returns a list of sessions hosted by the tutor.
+     * Retrieves one page of bookable sessions by seeking past the cursor on the
+     * open-course index, which is ordered by start time and then row ID.
      */
     @Override
-    public List<Session> getSessionsByTutorEmail(String tutorEmail) {
-        List<Session> sessions = new ArrayList<>();
-        String sql = "SELECT * FROM session WHERE tutorEmail = ?";
+    public SessionPage findAvailableSessionsPage(String courseName, LocalDateTime from, LocalDateTime to,
+                                                 String excludedTutorEmail, String cursor, int pageSize) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder clauses = availableClauses(courseName, from, to, excludedTutorEmail, params);
+        return loadPage(clauses, params, cursor, pageSize);
+    }
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, tutorEmail);
-            ResultSet rs = stmt.executeQuery();
+    /**
+     * Retrieves one page of bookable sessions in ranking order. The keyset condition on
+     * (rank, ID) skips the sessions of earlier pages. The page query also selects each
+     * row's rank, so the cursor carries the exact value the last row was ordered by.
+     */
+    @Override
+    public SessionPage findRankedSessionsPage(String courseName, LocalDateTime from, String excludedTutorEmail,
+                                              SessionSort sort, String cursor, int pageSize) {
+        SessionRankCursor after = SessionRankCursor.parse(sort, cursor);
+        List<Object> params = new ArrayList<>();
+        String select = SESSION_COLUMNS + ", " + rank(sort, courseName, params) + " AS sortRank" + SESSION_FROM;
+        StringBuilder clauses = availableClauses(courseName, from, null, excludedTutorEmail, params);
+
+        if (after != null) {
+            clauses.append(" AND (").append(rank(sort, courseName, params)).append(" < ?");
+            params.add(after.getRank());
+            clauses.append(" OR (").append(rank(sort, courseName, params)).append(" = ? AND s.id > ?))");
+            params.add(after.getRank());
+            params.add(after.getSessionId());
+        }
 
-            while (rs.next()) {
-                sessions.add(fromResultSet(rs));
-            }
+        clauses.append(" ORDER BY sortRank DESC, s.id");
+        if (pageSize > 0) {
+            clauses.append(" LIMIT ?");
+            params.add(pageSize + 1);
+        }
 
-        } catch (SQLException e) {
-            throw new RuntimeException("Error retrieving sessions by tutor", e);
+        List<Double> ranks = new ArrayList<>();
+        List<Session> rows = loadSessions(select, clauses.toString(), ranks, params.toArray());
+        if (pageSize <= 0 || rows.size() <= pageSize) {
+            return new SessionPage(rows, null);
+        }
+        List<Session> page = rows.subList(0, pageSize);
+        SessionRankCursor next = new SessionRankCursor(sort, ranks.get(pageSize - 1),
+            page.get(pageSize - 1).getSessionId());
+        return new SessionPage(page, next.toToken());
+    }
+
+    /**
+     * Builds the SQL expression of a session's rank. Grades are looked up per row,
+     * so ranking never needs the tutor objects.
+     *
+     * @param params receives the values bound to the expression's placeholders
+     */
+    private String rank(SessionSort sort, String courseName, List<Object> params) {
+        if (sort == SessionSort.COURSE_GRADE) {
+            params.add(courseName);
+            return "COALESCE((SELECT g.grade FROM tutorCourse g " +
+                "WHERE g.tutorEmail = s.tutorEmail AND g.courseID = ?), 1.0)";
         }
+        return "COALESCE((SELECT AVG(g.grade) FROM tutorCourse g WHERE g.tutorEmail = s.tutorEmail), 0.0)";
+    }
 
-        return sessions;
+    /**
+     * Builds the WHERE clause shared by the available-session searches.
+     *
+     * @param params receives the values bound to the clause's placeholders
+     */
+    private StringBuilder availableClauses(String courseName, LocalDateTime from, LocalDateTime to,
+                                           String excludedTutorEmail, List<Object> params) {
+        StringBuilder clauses = new StringBuilder(" WHERE s.studentEmail IS NULL AND s.courseID = ? COLLATE NOCASE");
+        params.add(courseName);
+
+        if (from != null) {
+            clauses.append(" AND s.startTime >= ?");
+            params.add(EpochTime.toNanos(from));
+        }
+        if (to != null) {
+            clauses.append(" AND s.endTime <= ?");
+            params.add(EpochTime.toNanos(to));
+        }
+        if (excludedTutorEmail != null) {
+            clauses.append(" AND s.tutorEmail <> ? COLLATE NOCASE");
+            params.add(excludedTutorEmail);
+        }
+        return clauses;
     }
 
     /**
-     * Retrieves all sessions booked by a specific student by their email.
-     * Returns a list of sessions booked by the student.
+     * Retrieves one page of a tutor's past or upcoming sessions.
      */
     @Override
-    public List<Session> getSessionsByStudentEmail(String studentEmail) {
-        List<Session> sessions = new ArrayList<>();
-        String sql = "SELECT * FROM session WHERE studentEmail = ?";
+    public SessionPage getTutorSessionsPage(String tutorEmail, SessionTimeframe timeframe, String cursor, int pageSize) {
+        return loadUserPage("s.tutorEmail", tutorEmail, timeframe, cursor, pageSize);
+    }
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, studentEmail);
-            ResultSet rs = stmt.executeQuery();
+    /**
+     * Retrieves one page of a student's past or upcoming sessions.
+     */
+    @Override
+    public SessionPage getStudentSessionsPage(String studentEmail, SessionTimeframe timeframe, String cursor, int pageSize) {
+        return loadUserPage("s.studentEmail", studentEmail, timeframe, cursor, pageSize);
+    }
 
-            while (rs.next()) {
-                sessions.add(fromResultSet(rs));
-            }
+    /**
+     * Pages through the sessions of one user column, split at the current time like the hydrate methods.
+     */
+    private SessionPage loadUserPage(String column, String email, SessionTimeframe timeframe, String cursor,
+                                     int pageSize) {
+        StringBuilder clauses = new StringBuilder(" WHERE " + column + " = ?");
+        List<Object> params = new ArrayList<>();
+        params.add(email);
 
-        } catch (SQLException e) {
-            throw new RuntimeException("Error retrieving sessions by student", e);
+        clauses.append(timeframe == SessionTimeframe.PAST ? " AND s.endTime < ?" : " AND s.endTime >= ?");
+        params.add(EpochTime.toNanos(LocalDateTime.now()));
+
+        return loadPage(clauses, params, cursor, pageSize);
+    }
+
+    /**
+     * Adds the keyset condition, the (start time, ID) order and the page limit to a filter
+     * and loads the page. One row beyond the page size is read to learn whether a next page exists.
+     *
+     * @param clauses  WHERE clause on the session alias "s"; appended to
+     * @param params   values bound to the clause's placeholders; appended to
+     * @param cursor   token of the previous page, or null for the first page
+     * @param pageSize sessions per page; 0 or less for no limit
+     */
+    private SessionPage loadPage(StringBuilder clauses, List<Object> params, String cursor, int pageSize) {
+        SessionCursor after = SessionCursor.parse(cursor);
+        if (after != null) {
+            // Row-value comparison lets SQLite seek on the index instead of scanning earlier rows
+            clauses.append(" AND (s.startTime, s.id) > (?, ?)");
+            params.add(EpochTime.toNanos(after.getStartTime()));
+            params.add(after.getSessionId());
         }
 
-        return sessions;
+        clauses.append(" ORDER BY s.startTime, s.id");
+        if (pageSize > 0) {
+            clauses.append(" LIMIT ?");
+            params.add(pageSize + 1);
+        }
+
+        return SessionPage.of(loadSessions(clauses.toString(), params.toArray()), pageSize);
     }
 
     /**
@@ -175,7 +360,8 @@ public class SessionDB implements SessionPersistence {
     public void removeSession(int sessionId) {
         String sql = "DELETE FROM session WHERE id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, sessionId);
             stmt.executeUpdate();
 
@@ -193,7 +379,8 @@ public class SessionDB implements SessionPersistence {
         String sql = "UPDATE session SET tutorEmail = ?, studentEmail = ?, " +
             "startTime = ?, endTime = ?, courseID = ? WHERE id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             // Set tutor's email
             stmt.setString(1, updatedSession.getTutor().getEmail());
 
@@ -204,9 +391,9 @@ public class SessionDB implements SessionPersistence {
                 stmt.setNull(2, java.sql.Types.VARCHAR);
             }
 
-            // Set start and end time as strings
-            stmt.setString(3, updatedSession.getStartDateTime().toString());
-            stmt.setString(4, updatedSession.getEndDateTime().toString());
+            // Set start and end time as epoch nanoseconds
+            stmt.setLong(3, EpochTime.toNanos(updatedSession.getStartDateTime()));
+            stmt.setLong(4, EpochTime.toNanos(updatedSession.getEndDateTime()));
 
             // Set course ID/name
             stmt.setString(5, updatedSession.getCourseName());
@@ -221,27 +408,51 @@ public class SessionDB implements SessionPersistence {
     }
 
     /**
-     * Loads (hydrates) all sessions associated with a tutor into their upcoming and past session lists.
+     * Books a session with a single conditional UPDATE; the row only changes if it is still unbooked.
      */
     @Override
-    public void hydrateTutorSessions(Tutor tutor) {
-        List<Session> sessions = getSessionsByTutorEmail(tutor.getEmail());
+    public boolean bookSession(int sessionId, Student student) {
+        String sql = "UPDATE session SET studentEmail = ? WHERE id = ? AND studentEmail IS NULL";
+
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, student.getEmail());
+            stmt.setInt(2, sessionId);
+            return stmt.executeUpdate() == 1;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error booking session", e);
+        }
+    }
 
-        List<Session> upcoming = new ArrayList<>();
-        List<Session> past = new ArrayList<>();
+    /**
+     * Unbooks a session with a single conditional UPDATE; the row only changes if the student booked it.
+     */
+    @Override
+    public boolean unbookSession(int sessionId, String studentEmail) {
+        String sql = "UPDATE session SET studentEmail = NULL WHERE id = ? AND studentEmail = ?";
 
-        // Categorize sessions based on whether they have ended already
-        for (Session session : sessions) {
-            if (session.getEndDateTime().isBefore(LocalDateTime.now())) {
-                past.add(session);
-            } else {
-                upcoming.add(session);
-            }
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, sessionId);
+            stmt.setString(2, studentEmail);
+            return stmt.executeUpdate() == 1;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error unbooking session", e);
         }
+    }
 
-        // Set the tutor's past and upcoming session lists
-        tutor.setPastSessions(past);
-        tutor.setUpcomingSessions(upcoming);
+    /**
+     * Loads (hydrates) all sessions associated with a tutor into their upcoming and past session lists.
+     */
+    @Override
+    public void hydrateTutorSessions(Tutor tutor) {
+        // Sessions are past once they have ended; both halves are index range scans
+        long now = EpochTime.toNanos(LocalDateTime.now());
+        // One unit of work, so both halves share their student objects
+        UnitOfWork.run(() -> {
+            tutor.setPastSessions(loadSessions(" WHERE s.tutorEmail = ? AND s.endTime < ?", tutor.getEmail(), now));
+            tutor.setUpcomingSessions(loadSessions(" WHERE s.tutorEmail = ? AND s.endTime >= ?", tutor.getEmail(), now));
+        });
     }
 
     /**
@@ -249,44 +460,183 @@ public class SessionDB implements SessionPersistence {
      */
     @Override
     public void hydrateStudentSessions(Student student) {
-        List<Session> all = getSessionsByStudentEmail(student.getEmail());
+        // Sessions are past once they have ended; both halves are index range scans
+        long now = EpochTime.toNanos(LocalDateTime.now());
+        // One unit of work, so both halves share their tutor objects
+        UnitOfWork.run(() -> {
+            student.setPastSessions(loadSessions(" WHERE s.studentEmail = ? AND s.endTime < ?", student.getEmail(), now));
+            student.setUpcomingSessions(loadSessions(" WHERE s.studentEmail = ? AND s.endTime >= ?", student.getEmail(), now));
+        });
+    }
 
-        List<Session> past = new ArrayList<>();
-        List<Session> upcoming = new ArrayList<>();
+    /**
+     * Loads the sessions matching a filter together with their tutors, tutor courses and students.
+     * Uses set-based queries on one borrowed connection: one for session rows joined with
+     * tutor and student rows, then the course grades of the tutors in that result, looked up
+     * by email in batches. Both run in one read transaction, so they see the same snapshot.
+     * Each tutor and student appears once in memory and is shared by all of their sessions.
+     * Inside a {@link UnitOfWork}, tutors and students it already holds are reused, and the
+     * course query only runs for tutors that are new to it.
+     *
+     * @param clauses optional WHERE, ORDER BY and LIMIT clauses on the session alias "s";
+     *                they may only reference that alias
+     * @param params  values bound to the clauses' placeholders, in order
+     * @return the matching sessions, fully hydrated
+     */
+    private List<Session> loadSessions(String clauses, Object... params) {
+        return loadSessions(SESSION_SELECT, clauses, null, params);
+    }
 
-        // Categorize sessions as past or upcoming based on current time
-        for (Session s : all) {
-            if (s.getEndDateTime().isBefore(LocalDateTime.now())) {
-                past.add(s);
-            } else {
-                upcoming.add(s);
+    /**
+     * Loads sessions like {@link #loadSessions(String, Object...)} from a select that adds
+     * a sortRank column to the session columns, collecting each row's rank.
+     *
+     * @param select the session columns, any extra columns, and the joins
+     * @param ranks  receives the sortRank of each row in order, or null if the select has none
+     * @param params values bound to the select's and then the clauses' placeholders, in order
+     */
+    private List<Session> loadSessions(String select, String clauses, List<Double> ranks, Object... params) {
+        List<Session> sessions = new ArrayList<>();
+        Map<String, Tutor> tutors = new HashMap<>();
+        Map<String, Student> students = new HashMap<>();
+
+        try (Connection connection = connections.reader()) {
+            // Already inside a transaction (a single-connection source), which is its own snapshot
+            boolean snapshot = connection.getAutoCommit();
+            if (snapshot) {
+                connection.setAutoCommit(false);
+            }
+            try {
+                try (PreparedStatement stmt = connection.prepareStatement(select + clauses)) {
+                    bind(stmt, params);
+                    ResultSet rs = stmt.executeQuery();
+
+                    // Iterate over each row and convert to Session
+                    while (rs.next()) {
+                        sessions.add(fromResultSet(rs, tutors, students));
+                        if (ranks != null) {
+                            ranks.add(rs.getDouble("sortRank"));
+                        }
+                    }
+                }
+
+                // Tutors shared from the unit of work already have their courses
+                Map<String, Tutor> loaded = new HashMap<>();
+                tutors.forEach((email, tutor) -> {
+                    if (UnitOfWork.get(Tutor.class, email) != tutor) {
+                        loaded.put(email, tutor);
+                    }
+                });
+
+                loadCourses(connection, loaded);
+            } finally {
+                if (snapshot) {
+                    // Ends the read transaction; nothing was written
+                    connection.commit();
+                    connection.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error retrieving sessions", e);
+        }
+
+        return sessions;
+    }
+
+    /**
+     * Attaches their course grades to freshly loaded tutors, querying by email in batches,
+     * then registers them with the unit of work now that they are complete.
+     *
+     * @param connection the connection the sessions were read on
+     * @param loaded     the tutors to complete, by email
+     */
+    private void loadCourses(Connection connection, Map<String, Tutor> loaded) throws SQLException {
+        List<String> emails = new ArrayList<>(loaded.keySet());
+        for (int from = 0; from < emails.size(); from += MAX_BATCH_SIZE) {
+            List<String> batch = emails.subList(from, Math.min(from + MAX_BATCH_SIZE, emails.size()));
+            String sql = "SELECT tutorEmail, courseID, grade FROM tutorCourse WHERE tutorEmail IN (" +
+                String.join(", ", Collections.nCopies(batch.size(), "?")) + ")";
+
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                bind(stmt, batch.toArray());
+                ResultSet rs = stmt.executeQuery();
+
+                while (rs.next()) {
+                    loaded.get(rs.getString("tutorEmail")).addCourse(rs.getString("courseID"), rs.getDouble("grade"));
+                }
             }
         }
 
-        // Set the student's past and upcoming session lists
-        student.setPastSessions(past);
-        student.setUpcomingSessions(upcoming);
+        // Fully loaded now, so later lookups in the unit of work can share them
+        loaded.forEach((email, tutor) -> UnitOfWork.register(Tutor.class, email, tutor));
     }
 
     /**
-     * Converts a ResultSet row into a Session object.
-     * Uses tutorPersistence and studentPersistence to resolve tutor and student objects by email.
+     * Binds the given values to a statement's placeholders in order.
      */
-    private Session fromResultSet(ResultSet rs) throws SQLException {
+    private void bind(PreparedStatement stmt, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            stmt.setObject(i + 1, params[i]);
+        }
+    }
+
+    /**
+     * Converts a row of {@link #SESSION_STREAM} into a Session, attaching the tutor's
+     * courses from the packed column unless the tutor came from the unit of work.
+     */
+    private Session fromStreamedRow(ResultSet rs) throws SQLException {
+        Session session = fromResultSet(rs, new HashMap<>(), new HashMap<>());
+        Tutor tutor = session.getTutor();
+        if (tutor == null || UnitOfWork.get(Tutor.class, tutor.getEmail()) == tutor) {
+            return session;
+        }
+
+        String packed = rs.getString("tutorCourses");
+        if (packed != null) {
+            for (String course : packed.split(String.valueOf(COURSE_RECORD_SEPARATOR))) {
+                int split = course.lastIndexOf(COURSE_FIELD_SEPARATOR);
+                tutor.addCourse(course.substring(0, split), Double.parseDouble(course.substring(split + 1)));
+            }
+        }
+        UnitOfWork.register(Tutor.class, tutor.getEmail(), tutor);
+        return session;
+    }
+
+    /**
+     * Converts a joined ResultSet row into a Session object.
+     * Tutors and students are looked up in (or added to) the given maps so that
+     * rows sharing an email share one object. Courses are attached afterwards.
+     */
+    private Session fromResultSet(ResultSet rs, Map<String, Tutor> tutors, Map<String, Student> students)
+            throws SQLException {
         int id = rs.getInt("id");
         String tutorEmail = rs.getString("tutorEmail");
         String studentEmail = rs.getString("studentEmail");
-        String startTime = rs.getString("startTime");
-        String endTime = rs.getString("endTime");
         String courseId = rs.getString("courseID");
 
-        // Retrieve tutor object using tutor persistence
-        Tutor tutor = tutorPersistence.getTutorByEmail(tutorEmail);
+        // Build the tutor from the joined columns (null if the tutor row is missing)
+        Tutor tutor = tutors.get(tutorEmail);
+        String tutorName = rs.getString("tutorName");
+        if (tutor == null && tutorName != null) {
+            tutor = UnitOfWork.get(Tutor.class, tutorEmail);
+            if (tutor == null) {
+                tutor = new Tutor(tutorName, tutorEmail, null, rs.getString("tutorBio"), null);
+            }
+            tutors.put(tutorEmail, tutor);
+        }
 
-        // Retrieve student object if studentEmail is not null
+        // Build the student only if the session is booked and the student row exists
         Student student = null;
         if (studentEmail != null) {
-            student = studentPersistence.getStudentByEmail(studentEmail);
+            student = students.get(studentEmail);
+            String studentName = rs.getString("studentName");
+            if (student == null && studentName != null) {
+                student = UnitOfWork.get(Student.class, studentEmail);
+                if (student == null) {
+                    student = UnitOfWork.register(Student.class, studentEmail, new Student(studentName, studentEmail));
+                }
+                students.put(studentEmail, student);
+            }
         }
 
         // Create and return a new Session object populated with the retrieved data
@@ -294,9 +644,9 @@ public class SessionDB implements SessionPersistence {
             id,
             tutor,
             student,
-            LocalDateTime.parse(startTime),
-            LocalDateTime.parse(endTime),
+            EpochTime.get(rs, "startTime"),
+            EpochTime.get(rs, "endTime"),
             courseId
         );
     }
-}
\ No newline at end of file
+}
@@ -6,10 +6,15 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 import skolard.objects.Student;
+import skolard.persistence.ConnectionSource;
 import skolard.persistence.StudentPersistence;
+import skolard.persistence.UnitOfWork;
 
 /**
  * SQLite implementation of the StudentPersistence interface.
@@ -17,16 +22,19 @@ import skolard.persistence.StudentPersistence;
  */
 public class StudentDB implements StudentPersistence {
 
-    // Active database connection used for all queries
-    private final Connection connection;
+    // Emails bound per IN list; well under SQLite's limit on host parameters
+    private static final int MAX_BATCH_SIZE = 500;
+
+    // Source of database connections, borrowed per query
+    private final ConnectionSource connections;
 
     /**
-     * Constructor that accepts a database connection.
+     * Constructor that accepts a connection source.
      * 
-     * @param connection an open SQLite connection
+     * @param connections the source to borrow SQLite connections from
      */
-    public StudentDB(Connection connection) {
-        this.connection = connection;
+    public StudentDB(ConnectionSource connections) {
+        this.connections = connections;
     }
 
     /**
@@ -39,15 +47,13 @@ public class StudentDB implements StudentPersistence {
         List<Student> students = new ArrayList<>();
         String sql = "SELECT name, email FROM student";
 
-        try (Statement stmt = connection.createStatement();
+        try (Connection connection = connections.reader();
+             Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
             // Iterate over result set and build Student objects
             while (rs.next()) {
-                students.add(new Student(
-                    rs.getString("name"),
-                    rs.getString("email")
-                ));
+                students.add(toStudent(rs));
             }
 
         } catch (SQLException e) {
@@ -65,18 +71,22 @@ public class StudentDB implements StudentPersistence {
      */
     @Override
     public Student getStudentByEmail(String email) {
+        // Already loaded in this unit of work
+        Student mapped = UnitOfWork.get(Student.class, email);
+        if (mapped != null) {
+            return mapped;
+        }
+
         String sql = "SELECT name, email FROM student WHERE email = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.reader();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, email);
             ResultSet rs = stmt.executeQuery();
 
             // Return the student if found
             if (rs.next()) {
-                return new Student(
-                    rs.getString("name"),
-                    rs.getString("email")
-                );
+                return toStudent(rs);
             }
 
         } catch (SQLException e) {
@@ -86,6 +96,59 @@ public class StudentDB implements StudentPersistence {
         return null;
     }
 
+    /**
+     * Finds the students with the given emails.
+     * Emails are looked up in batches with one IN-list query each,
+     * so resolving many students costs one query per batch rather than one per student.
+     * 
+     * @param emails the emails of the students
+     * @return the matching Student objects, in no particular order
+     */
+    @Override
+    public List<Student> getStudentsByEmails(Collection<String> emails) {
+        List<String> distinct = new ArrayList<>();
+        List<Student> students = new ArrayList<>();
+
+        // Students already loaded in this unit of work need no query
+        for (String email : new LinkedHashSet<>(emails)) {
+            Student mapped = UnitOfWork.get(Student.class, email);
+            if (mapped != null) {
+                students.add(mapped);
+            } else {
+                distinct.add(email);
+            }
+        }
+
+        // Nothing to look up
+        if (distinct.isEmpty()) {
+            return students;
+        }
+
+        try (Connection connection = connections.reader()) {
+            for (int from = 0; from < distinct.size(); from += MAX_BATCH_SIZE) {
+                List<String> batch = distinct.subList(from, Math.min(from + MAX_BATCH_SIZE, distinct.size()));
+                String sql = "SELECT name, email FROM student WHERE email IN (" +
+                    String.join(", ", Collections.nCopies(batch.size(), "?")) + ")";
+
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < batch.size(); i++) {
+                        stmt.setString(i + 1, batch.get(i));
+                    }
+                    ResultSet rs = stmt.executeQuery();
+
+                    while (rs.next()) {
+                        students.add(toStudent(rs));
+                    }
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding students by email", e);
+        }
+
+        return students;
+    }
+
     /**
      * Inserts a new student into the database.
      * 
@@ -96,7 +159,8 @@ public class StudentDB implements StudentPersistence {
     public Student addStudent(Student newStudent) {
         String sql = "INSERT INTO student (name, email, password) VALUES (?, ?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, newStudent.getName());
             stmt.setString(2, newStudent.getEmail());
             stmt.setString(3, newStudent.getHashedPassword()); // Assuming hashed password is also stored
@@ -115,9 +179,11 @@ public class StudentDB implements StudentPersistence {
      */
     @Override
     public void deleteStudentByEmail(String email) {
+        UnitOfWork.evict(Student.class, email);
         String sql = "DELETE FROM student WHERE email = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, email);
             stmt.executeUpdate();
 
@@ -133,9 +199,11 @@ public class StudentDB implements StudentPersistence {
      */
     @Override
     public void updateStudent(Student updatedStudent) {
+        UnitOfWork.evict(Student.class, updatedStudent.getEmail());
         String sql = "UPDATE student SET name = ? WHERE email = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, updatedStudent.getName());
             stmt.setString(2, updatedStudent.getEmail());
             stmt.executeUpdate();
@@ -156,7 +224,8 @@ public class StudentDB implements StudentPersistence {
     public Student authenticate(String email, String hashedPassword) {
         String sql = "SELECT name, email, password FROM student WHERE email = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.reader();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, email);
             ResultSet rs = stmt.executeQuery();
 
@@ -173,4 +242,16 @@ public class StudentDB implements StudentPersistence {
         return null;
     }
 
+    /**
+     * Builds a Student (without password) from the current row.
+     * Inside a {@link UnitOfWork}, the student it already holds for the email is returned instead.
+     */
+    private Student toStudent(ResultSet rs) throws SQLException {
+        String email = rs.getString("email");
+        Student mapped = UnitOfWork.get(Student.class, email);
+        if (mapped != null) {
+            return mapped;
+        }
+        return UnitOfWork.register(Student.class, email, new Student(rs.getString("name"), email));
+    }
 }
@@ -2,25 +2,31 @@ package skolard.persistence.sqlite;
 
 import skolard.objects.SupportTicket;
 import skolard.objects.User;
+import skolard.persistence.ConnectionSource;
 import skolard.persistence.StudentPersistence;
 import skolard.persistence.SupportPersistence;
 import skolard.persistence.TutorPersistence;
+import skolard.persistence.UnitOfWork;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class SupportDB implements SupportPersistence {
-    private final Connection conn;                 // Database connection object
+    private final ConnectionSource connections;    // Source of database connections
     private final StudentPersistence studentDB;    // Persistence for student data
     private final TutorPersistence tutorDB;        // Persistence for tutor data
 
     /**
-     * Constructor to initialize SupportDB with connection and persistence dependencies.
+     * Constructor to initialize SupportDB with a connection source and persistence dependencies.
      */
-    public SupportDB(Connection conn, StudentPersistence studentDB, TutorPersistence tutorDB) {
-        this.conn = conn;
+    public SupportDB(ConnectionSource connections, StudentPersistence studentDB, TutorPersistence tutorDB) {
+        this.connections = connections;
         this.studentDB = studentDB;
         this.tutorDB = tutorDB;
     }
@@ -54,7 +60,8 @@ public class SupportDB implements SupportPersistence {
      */
     @Override
     public SupportTicket addTicket(SupportTicket ticket) {
-        try (PreparedStatement stmt = conn.prepareStatement("""
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement("""
             INSERT INTO support_ticket (requester_email, requester_role, title, description, created_at, closed_at, is_handled)
             VALUES (?, ?, ?, ?, ?, ?, ?)
         """)) {
@@ -63,8 +70,8 @@ public class SupportDB implements SupportPersistence {
             stmt.setString(2, ticket.getRequester().getClass().getSimpleName().toLowerCase());
             stmt.setString(3, ticket.getTitle());
             stmt.setString(4, ticket.getDescription());
-            stmt.setString(5, ticket.getCreatedAt().toString());
-            stmt.setString(6, ticket.getClosedAt() == null ? null : ticket.getClosedAt().toString());
+            EpochTime.set(stmt, 5, ticket.getCreatedAt());
+            EpochTime.set(stmt, 6, ticket.getClosedAt());
             stmt.setInt(7, ticket.isHandled() ? 1 : 0);
             stmt.executeUpdate();
         } catch (SQLException e) {
@@ -78,12 +85,13 @@ public class SupportDB implements SupportPersistence {
      */
     @Override
     public void updateTicket(SupportTicket ticket) {
-        try (PreparedStatement stmt = conn.prepareStatement("""
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement("""
             UPDATE support_ticket
             SET closed_at = ?, is_handled = ?
             WHERE ticket_id = ?
         """)) {
-            stmt.setString(1, ticket.getClosedAt() == null ? null : ticket.getClosedAt().toString());
+            EpochTime.set(stmt, 1, ticket.getClosedAt());
             stmt.setInt(2, ticket.isHandled() ? 1 : 0);
             stmt.setInt(3, ticket.getTicketId());
             stmt.executeUpdate();
@@ -97,7 +105,8 @@ public class SupportDB implements SupportPersistence {
      */
     @Override
     public void deleteTicketById(int ticketId) {
-        try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM support_ticket WHERE ticket_id = ?")) {
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement("DELETE FROM support_ticket WHERE ticket_id = ?")) {
             stmt.setInt(1, ticketId);
             stmt.executeUpdate();
         } catch (SQLException e) {
@@ -119,39 +128,93 @@ public class SupportDB implements SupportPersistence {
      * Resolves requester to Student or Tutor based on stored role.
      */
     private List<SupportTicket> getTicketsByQuery(String sql) {
-        List<SupportTicket> tickets = new ArrayList<>();
-        try (Statement stmt = conn.createStatement();
+        // Requesters with several tickets are looked up once and shared
+        return UnitOfWork.call(() -> loadTickets(sql));
+    }
+
+    /**
+     * Runs the query and builds the tickets; called inside a unit of work.
+     * The requesters of all rows are then fetched with one batch lookup for students
+     * and one for tutors, rather than one lookup per ticket.
+     */
+    private List<SupportTicket> loadTickets(String sql) {
+        List<TicketRow> rows = new ArrayList<>();
+        try (Connection connection = connections.reader();
+             Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
-                int ticketId = rs.getInt("ticket_id");
-                String email = rs.getString("requester_email");
-                String role = rs.getString("requester_role");
-                String title = rs.getString("title");
-                String desc = rs.getString("description");
-                LocalDateTime createdAt = LocalDateTime.parse(rs.getString("created_at"));
-                LocalDateTime closedAt = rs.getString("closed_at") != null ? LocalDateTime.parse(rs.getString("closed_at")) : null;
-                boolean isHandled = rs.getInt("is_handled") == 1;
-
-                // Determine requester User object based on role
-                User requester = switch (role) {
-                    case "student" -> studentDB.getStudentByEmail(email);
-                    case "tutor" -> tutorDB.getTutorByEmail(email);
-                    default -> null;
-                };
-
-                if (requester != null) {
-                    SupportTicket ticket = new SupportTicket(ticketId, requester, title, desc, createdAt, closedAt, isHandled);
-                    tickets.add(ticket);
-                } else {
-                    System.err.println("Warning: requester not found for ticket email: " + email);
-                }
+                rows.add(new TicketRow(rs.getInt("ticket_id"), rs.getString("requester_email"),
+                    rs.getString("requester_role"), rs.getString("title"), rs.getString("description"),
+                    EpochTime.get(rs, "created_at"), EpochTime.get(rs, "closed_at"), rs.getInt("is_handled") == 1));
             }
 
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
+        // Requesters of each role, by email
+        Set<String> studentEmails = new HashSet<>();
+        Set<String> tutorEmails = new HashSet<>();
+        for (TicketRow row : rows) {
+            if ("student".equals(row.role)) {
+                studentEmails.add(row.email);
+            } else if ("tutor".equals(row.role)) {
+                tutorEmails.add(row.email);
+            }
+        }
+        Map<String, User> students = new HashMap<>();
+        Map<String, User> tutors = new HashMap<>();
+        if (!studentEmails.isEmpty()) {
+            studentDB.getStudentsByEmails(studentEmails).forEach(s -> students.put(s.getEmail(), s));
+        }
+        if (!tutorEmails.isEmpty()) {
+            tutorDB.getTutorsByEmails(tutorEmails).forEach(t -> tutors.put(t.getEmail(), t));
+        }
+
+        List<SupportTicket> tickets = new ArrayList<>();
+        for (TicketRow row : rows) {
+            // Determine requester User object based on role
+            User requester = switch (row.role) {
+                case "student" -> students.get(row.email);
+                case "tutor" -> tutors.get(row.email);
+                default -> null;
+            };
+
+            if (requester != null) {
+                tickets.add(new SupportTicket(row.ticketId, requester, row.title, row.description,
+                    row.createdAt, row.closedAt, row.handled));
+            } else {
+                System.err.println("Warning: requester not found for ticket email: " + row.email);
+            }
+        }
+
         return tickets;
     }
-}
\ No newline at end of file
+
+    /**
+     * The columns of one support_ticket row, before its requester is looked up.
+     */
+    private static final class TicketRow {
+        private final int ticketId;
+        private final String email;
+        private final String role;
+        private final String title;
+        private final String description;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime closedAt;
+        private final boolean handled;
+
+        private TicketRow(int ticketId, String email, String role, String title, String description,
+                          LocalDateTime createdAt, LocalDateTime closedAt, boolean handled) {
+            this.ticketId = ticketId;
+            this.email = email;
+            this.role = role;
+            this.title = title;
+            this.description = description;
+            this.createdAt = createdAt;
+            this.closedAt = closedAt;
+            this.handled = handled;
+        }
+    }
+}
@@ -7,21 +7,23 @@ import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
 
+import skolard.persistence.ConnectionSource;
+
 /**
  * Handles database operations related to tutors' courses and their grades.
  * Supports adding, retrieving, and deleting course-grade records for tutors.
  */
 public class TutorCoursesDB {
 
-    private final Connection connection;
+    private final ConnectionSource connections;
 
     /**
-     * Constructs the TutorCoursesDB with a database connection.
+     * Constructs the TutorCoursesDB with a connection source.
      * 
-     * @param connection the SQLite database connection
+     * @param connections the source to borrow SQLite connections from
      */
-    public TutorCoursesDB(Connection connection) {
-        this.connection = connection;
+    public TutorCoursesDB(ConnectionSource connections) {
+        this.connections = connections;
     }
 
     /**
@@ -36,7 +38,8 @@ public class TutorCoursesDB {
     public Map<String, Double> addCourse(String email, String course, Double grade) {
         String sql = "INSERT INTO tutorCourse (tutorEmail, courseID, grade) VALUES (?, ?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, email);
             stmt.setString(2, course);
             stmt.setDouble(3, grade);
@@ -58,7 +61,8 @@ public class TutorCoursesDB {
         Map<String, Double> courses = new HashMap<>();
         String sql = "SELECT courseID, grade FROM tutorCourse WHERE tutorEmail = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.reader();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, email);
             ResultSet rs = stmt.executeQuery();
 
@@ -83,7 +87,8 @@ public class TutorCoursesDB {
     public void deleteTutorCourse(String email, String course) {
         String sql = "DELETE FROM tutorCourse WHERE tutorEmail = ? AND courseID = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, email);
             stmt.setString(2, course);
             stmt.executeUpdate();
@@ -101,7 +106,8 @@ public class TutorCoursesDB {
     public void deleteAllTutorCourses(String email) {
         String sql = "DELETE FROM tutorCourse WHERE tutorEmail = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, email);
             stmt.executeUpdate();
 
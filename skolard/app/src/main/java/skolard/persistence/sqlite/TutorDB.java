@@ -4,13 +4,18 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
 import skolard.objects.Tutor;
+import skolard.persistence.ConnectionSource;
 import skolard.persistence.TutorPersistence;
+import skolard.persistence.UnitOfWork;
 
 /**
  * SQLite implementation of the TutorPersistence interface.
@@ -18,18 +23,21 @@ import skolard.persistence.TutorPersistence;
  */
 public class TutorDB implements TutorPersistence {
 
-    // Active database connection
-    private final Connection connection;
+    // Emails bound per IN list; well under SQLite's limit on host parameters
+    private static final int MAX_BATCH_SIZE = 500;
+
+    // Source of database connections, borrowed per query
+    private final ConnectionSource connections;
     private final TutorCoursesDB tutorCoursesDB;
 
     /**
-     * Constructor that accepts a SQLite connection.
+     * Constructor that accepts a connection source.
      * 
-     * @param connection the active SQLite connection
+     * @param connections the source to borrow SQLite connections from
      */
-    public TutorDB(Connection connection) {
-        this.connection = connection;
-        this.tutorCoursesDB = new TutorCoursesDB(connection);
+    public TutorDB(ConnectionSource connections) {
+        this.connections = connections;
+        this.tutorCoursesDB = new TutorCoursesDB(connections);
     }
 
     /**
@@ -40,31 +48,7 @@ public class TutorDB implements TutorPersistence {
      */
     @Override
     public List<Tutor> getAllTutors() {
-        String email;
-        Map<String, Double> courses;
-        List<Tutor> tutors = new ArrayList<>();
-        String sql = "SELECT name, email, bio FROM tutor";
-
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                email = rs.getString("email");
-                courses = tutorCoursesDB.getTutorCourses(email);
-                tutors.add(new Tutor(
-                    rs.getString("name"),
-                    email,
-                    null,                // password excluded here
-                    rs.getString("bio"),
-                    courses
-                ));
-            }
-
-        } catch (SQLException e) {
-            throw new RuntimeException("Error retrieving tutors", e);
-        }
-
-        return tutors;
+        return loadTutors("");
     }
 
     /**
@@ -76,30 +60,115 @@ public class TutorDB implements TutorPersistence {
      */
     @Override
     public Tutor getTutorByEmail(String email) {
-        Map<String, Double> courses;
-        String sql = "SELECT name, email, bio FROM tutor WHERE email = ?";
+        // Already loaded in this unit of work
+        Tutor mapped = UnitOfWork.get(Tutor.class, email);
+        if (mapped != null) {
+            return mapped;
+        }
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, email);
-            ResultSet rs = stmt.executeQuery();
+        List<Tutor> tutors = loadTutors(" WHERE email = ?", email);
+        return tutors.isEmpty() ? null : tutors.get(0);
+    }
 
-            if (rs.next()) {
-                email = rs.getString("email");
-                courses = tutorCoursesDB.getTutorCourses(email);
-                return new Tutor(
-                    rs.getString("name"),
-                    rs.getString("email"),
-                    null,               // password excluded here
-                    rs.getString("bio"),
-                    courses
-                );
+    /**
+     * Retrieves the tutors with the given emails (for profile display only).
+     * Password hashes are excluded. Emails are looked up in batches with IN lists,
+     * so resolving many tutors costs two queries per batch rather than two per tutor.
+     * 
+     * @param emails tutor emails to look up
+     * @return the tutors found, in no particular order
+     */
+    @Override
+    public List<Tutor> getTutorsByEmails(Collection<String> emails) {
+        List<String> distinct = new ArrayList<>();
+        List<Tutor> tutors = new ArrayList<>();
+
+        // Tutors already loaded in this unit of work need no query
+        for (String email : new LinkedHashSet<>(emails)) {
+            Tutor mapped = UnitOfWork.get(Tutor.class, email);
+            if (mapped != null) {
+                tutors.add(mapped);
+            } else {
+                distinct.add(email);
+            }
+        }
+
+        for (int from = 0; from < distinct.size(); from += MAX_BATCH_SIZE) {
+            List<String> batch = distinct.subList(from, Math.min(from + MAX_BATCH_SIZE, distinct.size()));
+            String placeholders = String.join(", ", Collections.nCopies(batch.size(), "?"));
+            tutors.addAll(loadTutors(" WHERE email IN (" + placeholders + ")", batch.toArray()));
+        }
+
+        return tutors;
+    }
+
+    /**
+     * Loads the tutors matching a filter together with their course grades.
+     * Uses two set-based queries on one borrowed connection: one for the tutor rows
+     * and one for the tutorCourse rows of those tutors, grouped by email in memory.
+     * Inside a {@link UnitOfWork}, tutors it already holds are returned in place of the fresh copies.
+     * 
+     * @param where  optional WHERE clause on the tutor table
+     * @param params values bound to the clause's placeholders, in order
+     * @return the matching tutors, without password hashes
+     */
+    private List<Tutor> loadTutors(String where, Object... params) {
+        String tutorSql = "SELECT name, email, bio FROM tutor" + where;
+        // The same clause selects the courses of exactly the tutors loaded above
+        String courseSql = "SELECT tutorEmail, courseID, grade FROM tutorCourse " +
+            "WHERE tutorEmail IN (SELECT email FROM tutor" + where + ")";
+
+        Map<String, Tutor> tutors = new LinkedHashMap<>();
+
+        try (Connection connection = connections.reader()) {
+            try (PreparedStatement stmt = connection.prepareStatement(tutorSql)) {
+                bind(stmt, params);
+                ResultSet rs = stmt.executeQuery();
+
+                while (rs.next()) {
+                    String email = rs.getString("email");
+                    tutors.put(email, new Tutor(
+                        rs.getString("name"),
+                        email,
+                        null,                // password excluded here
+                        rs.getString("bio"),
+                        null                 // courses attached below
+                    ));
+                }
             }
 
+            // Nothing to attach courses to
+            if (tutors.isEmpty()) {
+                return new ArrayList<>();
+            }
+
+            try (PreparedStatement stmt = connection.prepareStatement(courseSql)) {
+                bind(stmt, params);
+                ResultSet rs = stmt.executeQuery();
+
+                while (rs.next()) {
+                    Tutor tutor = tutors.get(rs.getString("tutorEmail"));
+                    if (tutor != null) {
+                        tutor.addCourse(rs.getString("courseID"), rs.getDouble("grade"));
+                    }
+                }
+            }
         } catch (SQLException e) {
-            throw new RuntimeException("Error finding tutor by email", e);
+            throw new RuntimeException("Error retrieving tutors", e);
         }
 
-        return null;
+        List<Tutor> result = new ArrayList<>();
+        tutors.forEach((email, tutor) -> result.add(UnitOfWork.register(Tutor.class, email, tutor)));
+        return result;
+    }
+
+    /**
+     * Binds the given values to a statement's placeholders in order.
+     */
+    private void bind(PreparedStatement stmt, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            stmt.setObject(i + 1, params[i]);
+        }
     }
 
     /**
@@ -112,7 +181,8 @@ public class TutorDB implements TutorPersistence {
     public Tutor addTutor(Tutor newTutor) {
         String sql = "INSERT INTO tutor (name, email, password, bio) VALUES (?, ?, ?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, newTutor.getName());
             stmt.setString(2, newTutor.getEmail());
             stmt.setString(3, newTutor.getHashedPassword());
@@ -132,15 +202,21 @@ public class TutorDB implements TutorPersistence {
      */
     @Override
     public void deleteTutorByEmail(String email) {
-        // Delete all courses associated with this tutor first
-        tutorCoursesDB.deleteAllTutorCourses(email);
-        // Then delete the tutor record itself
-        try (PreparedStatement stmt = connection.prepareStatement("DELETE FROM tutor WHERE email = ?")) {
-            stmt.setString(1, email);
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("Error deleting tutor", e);
-        }
+        UnitOfWork.evict(Tutor.class, email);
+        // Both deletes commit together, so a tutor is never left without some of their courses
+        connections.inTransaction(() -> {
+            // Delete all courses associated with this tutor first
+            tutorCoursesDB.deleteAllTutorCourses(email);
+            // Then delete the tutor record itself
+            try (Connection connection = connections.writer();
+                 PreparedStatement stmt = connection.prepareStatement("DELETE FROM tutor WHERE email = ?")) {
+                stmt.setString(1, email);
+                stmt.executeUpdate();
+            } catch (SQLException e) {
+                throw new RuntimeException("Error deleting tutor", e);
+            }
+            return null;
+        });
     }
 
     /**
@@ -151,9 +227,11 @@ public class TutorDB implements TutorPersistence {
      */
     @Override
     public void updateTutor(Tutor updatedTutor) {
+        UnitOfWork.evict(Tutor.class, updatedTutor.getEmail());
         String sql = "UPDATE tutor SET name = ?, bio = ? WHERE email = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.writer();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, updatedTutor.getName());
             stmt.setString(2, updatedTutor.getBio());
             stmt.setString(3, updatedTutor.getEmail());
@@ -172,6 +250,7 @@ public class TutorDB implements TutorPersistence {
      */
     @Override
     public void addCourseToTutor(Tutor tutor, String course, Double grade) {
+        UnitOfWork.evict(Tutor.class, tutor.getEmail());
         tutorCoursesDB.addCourse(tutor.getEmail(), course, grade);
     }
 
@@ -183,6 +262,7 @@ public class TutorDB implements TutorPersistence {
      */
     @Override
     public void removeCourseFromTutor(Tutor tutor, String course) {
+        UnitOfWork.evict(Tutor.class, tutor.getEmail());
         tutorCoursesDB.deleteTutorCourse(tutor.getEmail(), course);
     }
 
@@ -199,7 +279,8 @@ public class TutorDB implements TutorPersistence {
     public Tutor authenticate(String email, String hashedPassword) {
         String sql = "SELECT name, email, bio, password FROM tutor WHERE email = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connections.reader();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, email);
             ResultSet rs = stmt.executeQuery();
 
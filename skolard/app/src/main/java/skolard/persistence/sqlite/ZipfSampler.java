@@ -0,0 +1,92 @@
+package skolard.persistence.sqlite;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks 0..n-1 with Zipf-distributed frequency: rank k is chosen with probability
+ * proportional to 1 / (k + 1)^skew. A skew of 0 is uniform; around 1 a few ranks take
+ * most of the draws, the way a few popular tutors and courses take most of the bookings.
+ *
+ * The cumulative distribution is computed once, so each draw is a binary search.
+ */
+final class ZipfSampler {
+
+    private final double[] cumulative;
+
+    /**
+     * @param n    number of ranks
+     * @param skew Zipf exponent, 0 or more
+     */
+    ZipfSampler(int n, double skew) {
+        if (n < 1 || skew < 0) {
+            throw new IllegalArgumentException("Invalid Zipf parameters: n=" + n + ", skew=" + skew);
+        }
+        cumulative = new double[n];
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            total += 1.0 / Math.pow(k + 1, skew);
+            cumulative[k] = total;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= total;
+        }
+    }
+
+    /**
+     * @param random source of randomness
+     * @return a rank in 0..n-1, low ranks the most likely
+     */
+    int next(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+
+    /**
+     * Draws distinct ranks without replacement: after each draw the chosen rank is taken out
+     * and the rest are renormalised, so high skews cannot stall on repeats of the top ranks.
+     *
+     * @param random source of randomness
+     * @param count  number of ranks to draw, at most {@link #size()}
+     * @return count distinct ranks in the order drawn
+     */
+    int[] distinct(SplittableRandom random, int count) {
+        if (count < 0 || count > cumulative.length) {
+            throw new IllegalArgumentException("Cannot draw " + count + " distinct ranks from " + cumulative.length);
+        }
+        int[] chosen = new int[count];
+        boolean[] taken = new boolean[cumulative.length];
+        double remaining = 1.0;
+        for (int i = 0; i < count; i++) {
+            double target = random.nextDouble() * remaining;
+            int rank = -1;
+            for (int k = 0; k < cumulative.length; k++) {
+                if (taken[k]) {
+                    continue;
+                }
+                // Ends on the last free rank if rounding leaves part of the target over
+                rank = k;
+                target -= weight(k);
+                if (target < 0) {
+                    break;
+                }
+            }
+            taken[rank] = true;
+            chosen[i] = rank;
+            remaining -= weight(rank);
+        }
+        return chosen;
+    }
+
+    /**
+     * @return number of ranks
+     */
+    int size() {
+        return cumulative.length;
+    }
+
+    private double weight(int rank) {
+        return rank == 0 ? cumulative[0] : cumulative[rank] - cumulative[rank - 1];
+    }
+}
@@ -1,44 +1,140 @@
 package skolard.persistence.stub;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.TreeMap;
 
 import skolard.objects.FAQ;
 import skolard.persistence.FAQPersistence;
+import skolard.persistence.FAQSearch;
+import skolard.persistence.RankedFAQ;
 
+/**
+ * Stub implementation of FAQPersistence that keeps FAQs in memory.
+ * Searches go through an in-memory inverted index with the prefix matching and
+ * BM25 ranking of the SQLite full-text index (see {@link FAQSearch}).
+ */
 public class FAQStub implements FAQPersistence {
-    private final List<FAQ> faqs;
+
+    // FAQs by ID, in the order they were added
+    private final Map<Integer, FAQ> faqs;
+
+    // Inverted index: term -> FAQ ID -> occurrences in {question, answer}; sorted for prefix lookups
+    private final TreeMap<String, Map<Integer, int[]>> index;
+
+    // Terms in each FAQ's question and answer together, for BM25 length normalization
+    private final Map<Integer, Integer> lengths;
+    private long totalLength;
+    private int nextId = 1;
 
     public FAQStub() {
-        this.faqs = new ArrayList<>();
+        this.faqs = new LinkedHashMap<>();
+        this.index = new TreeMap<>();
+        this.lengths = new HashMap<>();
         seedFAQs();
     }
 
     private void seedFAQs() {
-        faqs.add(new FAQ("How do I book a session?", "Go to the session view and choose an available time slot."));
-        faqs.add(new FAQ("How can I contact a tutor?", "Use the messaging view to send a direct message."));
+        addFAQ(new FAQ("How do I book a session?", "Go to the session view and choose an available time slot."));
+        addFAQ(new FAQ("How can I contact a tutor?", "Use the messaging view to send a direct message."));
     }
     @Override
     public List<FAQ> getAllFAQs() {
-        return new ArrayList<>(faqs);
+        return new ArrayList<>(faqs.values());
     }
 
     @Override
     public void addFAQ(FAQ faq) {
-        faqs.add(faq);
+        int id = nextId++;
+        faqs.put(id, faq);
+
+        List<String> questionTerms = FAQSearch.terms(faq.getQuestion());
+        List<String> answerTerms = FAQSearch.terms(faq.getAnswer());
+        for (String term : questionTerms) {
+            index.computeIfAbsent(term, t -> new HashMap<>()).computeIfAbsent(id, i -> new int[2])[0]++;
+        }
+        for (String term : answerTerms) {
+            index.computeIfAbsent(term, t -> new HashMap<>()).computeIfAbsent(id, i -> new int[2])[1]++;
+        }
+        lengths.put(id, questionTerms.size() + answerTerms.size());
+        totalLength += questionTerms.size() + answerTerms.size();
     }
 
     @Override
     public void deleteFAQByQuestion(String question) {
-        faqs.removeIf(f -> f.getQuestion().equalsIgnoreCase(question));
+        List<Integer> removed = new ArrayList<>();
+        faqs.forEach((id, f) -> {
+            if (f.getQuestion().equalsIgnoreCase(question)) {
+                removed.add(id);
+            }
+        });
+
+        for (Integer id : removed) {
+            faqs.remove(id);
+            totalLength -= lengths.remove(id);
+            index.values().forEach(postings -> postings.remove(id));
+        }
+        index.values().removeIf(Map::isEmpty);
     }
 
     @Override
     public List<FAQ> searchFAQs(String keyword) {
-        return faqs.stream()
-            .filter(f -> f.getQuestion().toLowerCase().contains(keyword.toLowerCase()) ||
-                         f.getAnswer().toLowerCase().contains(keyword.toLowerCase()))
-            .collect(Collectors.toList());
+        List<FAQ> results = new ArrayList<>();
+        for (RankedFAQ ranked : rankFAQs(keyword, Integer.MAX_VALUE)) {
+            results.add(ranked.getFAQ());
+        }
+        return results;
+    }
+
+    @Override
+    public List<RankedFAQ> rankFAQs(String query, int limit) {
+        List<String> terms = FAQSearch.terms(query);
+        if (terms.isEmpty() || limit <= 0 || faqs.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        double avgLength = (double) totalLength / faqs.size();
+        Map<Integer, Double> scores = null;
+        for (String term : terms) {
+            Map<Integer, Double> frequencies = prefixFrequencies(term);
+            double idf = FAQSearch.idf(faqs.size(), frequencies.size());
+
+            // Every term must match, so only FAQs matched by all terms so far stay in
+            Map<Integer, Double> next = new HashMap<>();
+            for (Map.Entry<Integer, Double> hit : frequencies.entrySet()) {
+                Integer id = hit.getKey();
+                if (scores == null || scores.containsKey(id)) {
+                    double previous = scores == null ? 0 : scores.get(id);
+                    next.put(id, previous + FAQSearch.termScore(idf, hit.getValue(), lengths.get(id), avgLength));
+                }
+            }
+            scores = next;
+        }
+
+        List<Map.Entry<Integer, Double>> ordered = new ArrayList<>(scores.entrySet());
+        ordered.sort(Map.Entry.<Integer, Double>comparingByValue().reversed()
+            .thenComparing(Map.Entry.comparingByKey(Comparator.naturalOrder())));
+
+        List<RankedFAQ> ranked = new ArrayList<>();
+        for (Map.Entry<Integer, Double> entry : ordered.subList(0, Math.min(limit, ordered.size()))) {
+            ranked.add(new RankedFAQ(faqs.get(entry.getKey()), entry.getValue()));
+        }
+        return ranked;
+    }
+
+    /**
+     * @return the weighted occurrences, per FAQ, of every indexed term starting with the prefix
+     */
+    private Map<Integer, Double> prefixFrequencies(String prefix) {
+        Map<Integer, Double> frequencies = new HashMap<>();
+        for (Map<Integer, int[]> postings : index.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+            postings.forEach((id, counts) -> frequencies.merge(id,
+                counts[0] * FAQSearch.QUESTION_WEIGHT + counts[1] * FAQSearch.ANSWER_WEIGHT, Double::sum));
+        }
+        return frequencies;
     }
 }
@@ -7,6 +7,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import skolard.objects.Message;
 import skolard.persistence.MessagePersistence;
@@ -57,6 +58,11 @@ public class MessageStub implements MessagePersistence{
         return messageList;
     }
 
+    @Override
+    public Stream<Message> streamMessageHistory(String studentEmail, String tutorEmail, int fetchSize) {
+        return getMessageHistory(studentEmail, tutorEmail).stream();
+    }
+
     @Override
     public List<String> getTutorsMessaged(String studentEmail) {
         List<String> tutors = new ArrayList<>();
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import skolard.objects.RatingRequest;
 import skolard.objects.Session;
@@ -44,6 +45,11 @@ public class RatingRequestStub implements RatingRequestPersistence{
         return new ArrayList<>(ratingRequests.values());
     }
 
+    @Override
+    public Stream<RatingRequest> streamAllRequests(int fetchSize) {
+        return getAllRequests().stream();
+    }
+
     @Override
     public List<RatingRequest> getPendingRequestsForStudent(String studentEmail) {
         List<RatingRequest> result = new ArrayList<>();
@@ -2,14 +2,26 @@ package skolard.persistence.stub;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
 
 import skolard.objects.Session;
 import skolard.objects.Student;
 import skolard.objects.Tutor;
+import skolard.persistence.SessionCursor;
+import skolard.persistence.SessionPage;
 import skolard.persistence.SessionPersistence;
+import skolard.persistence.SessionRankCursor;
+import skolard.persistence.SessionSort;
+import skolard.persistence.SessionTimeframe;
 import skolard.utils.PasswordUtil;
 
 /**
@@ -90,11 +102,25 @@ public class SessionStub implements SessionPersistence {
         return sessions.get(sessionId);
     }
 
+    @Override
+    public List<Session> getSessionsByIds(Collection<Integer> sessionIds) {
+        return new LinkedHashSet<>(sessionIds).stream()
+                .map(sessions::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     @Override
     public List<Session> getAllSessions() {
         return new ArrayList<>(sessions.values());
     }
 
+    @Override
+    public Stream<Session> streamAllSessions(int fetchSize) {
+        // Everything is already in memory; stream over a snapshot
+        return getAllSessions().stream();
+    }
+
     @Override
     public List<Session> getSessionsByTutorEmail(String tutorEmail) {
         return sessions.values().stream()
@@ -109,6 +135,103 @@ public class SessionStub implements SessionPersistence {
                 .toList();
     }
 
+    @Override
+    public List<Session> findAvailableSessions(String courseName, LocalDateTime from, LocalDateTime to,
+                                               String excludedTutorEmail, SessionSort sort, int limit) {
+        // Same predicates and ordering as the SQL query in SessionDB
+        Stream<Session> matches = sessions.values().stream()
+                .filter(s -> !s.isBooked() && courseName.equalsIgnoreCase(s.getCourseName()))
+                .filter(s -> s.getStartDateTime() != null && s.getEndDateTime() != null)
+                .filter(s -> from == null || !s.getStartDateTime().isBefore(from))
+                .filter(s -> to == null || !s.getEndDateTime().isAfter(to))
+                .filter(s -> excludedTutorEmail == null || s.getTutor() == null
+                        || !excludedTutorEmail.equalsIgnoreCase(s.getTutor().getEmail()))
+                .sorted(sortOrder(sort, courseName).thenComparingInt(Session::getSessionId));
+
+        if (limit > 0) {
+            matches = matches.limit(limit);
+        }
+        return matches.toList();
+    }
+
+    @Override
+    public SessionPage findAvailableSessionsPage(String courseName, LocalDateTime from, LocalDateTime to,
+                                                 String excludedTutorEmail, String cursor, int pageSize) {
+        return page(findAvailableSessions(courseName, from, to, excludedTutorEmail, SessionSort.START_TIME, 0).stream(),
+                cursor, pageSize);
+    }
+
+    @Override
+    public SessionPage findRankedSessionsPage(String courseName, LocalDateTime from, String excludedTutorEmail,
+                                              SessionSort sort, String cursor, int pageSize) {
+        // Same (rank, ID) keyset paging as SessionDB
+        SessionRankCursor after = SessionRankCursor.parse(sort, cursor);
+        ToDoubleFunction<Session> rank = rank(sort, courseName);
+        Stream<Session> matches = findAvailableSessions(courseName, from, null, excludedTutorEmail, sort, 0).stream()
+                .filter(s -> after == null || after.precedes(rank.applyAsDouble(s), s.getSessionId()));
+        if (pageSize > 0) {
+            matches = matches.limit(pageSize + 1L);
+        }
+
+        List<Session> rows = matches.toList();
+        if (pageSize <= 0 || rows.size() <= pageSize) {
+            return new SessionPage(rows, null);
+        }
+        Session last = rows.get(pageSize - 1);
+        return new SessionPage(rows.subList(0, pageSize),
+                new SessionRankCursor(sort, rank.applyAsDouble(last), last.getSessionId()).toToken());
+    }
+
+    @Override
+    public SessionPage getTutorSessionsPage(String tutorEmail, SessionTimeframe timeframe, String cursor, int pageSize) {
+        return page(getSessionsByTutorEmail(tutorEmail).stream().filter(inTimeframe(timeframe)), cursor, pageSize);
+    }
+
+    @Override
+    public SessionPage getStudentSessionsPage(String studentEmail, SessionTimeframe timeframe, String cursor, int pageSize) {
+        return page(getSessionsByStudentEmail(studentEmail).stream().filter(inTimeframe(timeframe)), cursor, pageSize);
+    }
+
+    // Sessions that have ended count as past, matching SessionDB
+    private Predicate<Session> inTimeframe(SessionTimeframe timeframe) {
+        LocalDateTime now = LocalDateTime.now();
+        return s -> s.getEndDateTime().isBefore(now) == (timeframe == SessionTimeframe.PAST);
+    }
+
+    // Same (start time, ID) keyset paging as SessionDB
+    private SessionPage page(Stream<Session> matches, String cursor, int pageSize) {
+        SessionCursor after = SessionCursor.parse(cursor);
+        matches = matches
+                .filter(s -> after == null || after.precedes(s))
+                .sorted(Comparator.comparing(Session::getStartDateTime).thenComparingInt(Session::getSessionId));
+        if (pageSize > 0) {
+            matches = matches.limit(pageSize + 1L);
+        }
+        return SessionPage.of(matches.toList(), pageSize);
+    }
+
+    // Primary ordering for a sort key
+    private Comparator<Session> sortOrder(SessionSort sort, String courseName) {
+        switch (sort == null ? SessionSort.NONE : sort) {
+            case START_TIME:
+                return Comparator.comparing(Session::getStartDateTime);
+            case COURSE_GRADE:
+            case TUTOR_AVERAGE:
+                return Comparator.comparingDouble(rank(sort, courseName)).reversed();
+            default:
+                return (a, b) -> 0;
+        }
+    }
+
+    // A session's rank under a ranking sort; tutors missing from a session rank like tutors without grades
+    private ToDoubleFunction<Session> rank(SessionSort sort, String courseName) {
+        SessionRankCursor.requireRanked(sort);
+        if (sort == SessionSort.COURSE_GRADE) {
+            return s -> s.getTutor() == null ? 1.0 : s.getTutor().getGradeForCourse(courseName);
+        }
+        return s -> s.getTutor() == null ? 0.0 : s.getTutor().getAverageRating();
+    }
+
     @Override
     public void removeSession(int sessionId) {
         if (!sessions.containsKey(sessionId)) {
@@ -124,6 +247,28 @@ public class SessionStub implements SessionPersistence {
         }
     }
 
+    @Override
+    public synchronized boolean bookSession(int sessionId, Student student) {
+        Session session = sessions.get(sessionId);
+        if (session == null || session.isBooked()) {
+            return false;
+        }
+        sessions.put(sessionId, new Session(sessionId, session.getTutor(), student,
+            session.getStartDateTime(), session.getEndDateTime(), session.getCourseName()));
+        return true;
+    }
+
+    @Override
+    public synchronized boolean unbookSession(int sessionId, String studentEmail) {
+        Session session = sessions.get(sessionId);
+        if (session == null || !session.isBooked() || !session.getStudent().getEmail().equals(studentEmail)) {
+            return false;
+        }
+        sessions.put(sessionId, new Session(sessionId, session.getTutor(), null,
+            session.getStartDateTime(), session.getEndDateTime(), session.getCourseName()));
+        return true;
+    }
+
     @Override
     public void hydrateTutorSessions(Tutor tutor) {
     List<Session> all = getSessionsByTutorEmail(tutor.getEmail());
@@ -1,9 +1,13 @@
 package skolard.persistence.stub;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 import skolard.objects.Student;
 import skolard.persistence.StudentPersistence;
@@ -67,6 +71,20 @@ public class StudentStub implements StudentPersistence {
         return students.get(email);
     }
 
+    /**
+     * Retrieves every student whose email is in the given collection.
+     *
+     * @param emails The students' emails
+     * @return Student objects found, skipping unknown emails
+     */
+    @Override
+    public List<Student> getStudentsByEmails(Collection<String> emails) {
+        return new LinkedHashSet<>(emails).stream()
+                .map(students::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Deletes a student record using their email.
      *
@@ -1,9 +1,13 @@
 package skolard.persistence.stub;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 import skolard.objects.Tutor;
 import skolard.persistence.TutorPersistence;
@@ -80,6 +84,20 @@ public class TutorStub implements TutorPersistence {
         return tutors.get(email);
     }
 
+    /**
+     * Retrieves every tutor whose email is in the given collection.
+     *
+     * @param emails The tutors' emails
+     * @return The Tutor objects found, skipping unknown emails
+     */
+    @Override
+    public List<Tutor> getTutorsByEmails(Collection<String> emails) {
+        return new LinkedHashSet<>(emails).stream()
+                .map(tutors::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Deletes a tutor from the map using their email.
      *
@@ -0,0 +1,176 @@
+package skolard.presentation;
+
+import java.awt.Component;
+import java.awt.Cursor;
+import java.awt.Window;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.swing.SwingUtilities;
+
+import skolard.logic.HandlerExecutor;
+
+/**
+ * Background work started from a view, with its result delivered back on the Swing event thread.
+ * Works like a small SwingWorker: while the work runs, the given components are disabled
+ * and their window shows a wait cursor; when it finishes they are restored and exactly one
+ * of the success or failure callbacks runs on the event thread.
+ *
+ * A task can be cancelled, e.g. when the user starts a newer load of the same data;
+ * its callbacks then never run, even if the work still finishes.
+ * Tasks must be started and cancelled on the event thread.
+ *
+ * @param <T> type of the work's result
+ */
+public final class UiTask<T> {
+
+    // Tasks running per window, so the wait cursor stays until the last one finishes
+    private static final Map<Window, Integer> runningPerWindow = new WeakHashMap<>();
+
+    private final Component[] busy;
+    private final boolean[] wasEnabled;
+    private final Window window;
+    private CompletableFuture<T> future;
+    private boolean finished;
+
+    private UiTask(Component[] busy) {
+        this.busy = busy;
+        this.wasEnabled = new boolean[busy.length];
+        this.window = busy.length == 0 ? null : SwingUtilities.getWindowAncestor(busy[0]);
+    }
+
+    /**
+     * Runs work on a background virtual thread and delivers its result on the event thread.
+     *
+     * @param work      the work to run, typically a handler call
+     * @param onSuccess receives the result on the event thread
+     * @param onFailure receives what the work threw on the event thread
+     * @param busy      components to disable while the work runs
+     * @return the running task
+     */
+    public static <T> UiTask<T> supply(Supplier<T> work, Consumer<? super T> onSuccess,
+                                       Consumer<? super Throwable> onFailure, Component... busy) {
+        return start(HandlerExecutor.supply(work), onSuccess, onFailure, busy);
+    }
+
+    /**
+     * Runs work that has no result on a background virtual thread.
+     *
+     * @param work      the work to run, typically a handler call
+     * @param onSuccess runs on the event thread once the work returns
+     * @param onFailure receives what the work threw on the event thread
+     * @param busy      components to disable while the work runs
+     * @return the running task
+     */
+    public static UiTask<Void> run(Runnable work, Runnable onSuccess,
+                                   Consumer<? super Throwable> onFailure, Component... busy) {
+        return start(HandlerExecutor.run(work), result -> onSuccess.run(), onFailure, busy);
+    }
+
+    /**
+     * Waits for already started work, such as a handler's async call, and delivers its result
+     * on the event thread.
+     *
+     * @param future    the work's result
+     * @param onSuccess receives the result on the event thread
+     * @param onFailure receives what the work threw on the event thread
+     * @param busy      components to disable until the future completes
+     * @return the running task
+     */
+    public static <T> UiTask<T> start(CompletableFuture<T> future, Consumer<? super T> onSuccess,
+                                      Consumer<? super Throwable> onFailure, Component... busy) {
+        UiTask<T> task = new UiTask<>(busy);
+        task.future = future;
+        task.showBusy();
+
+        future.whenComplete((result, error) -> onEventThread(() -> {
+            if (task.finished) {
+                return; // Cancelled
+            }
+            task.finish();
+            if (error == null) {
+                onSuccess.accept(result);
+            } else {
+                onFailure.accept(unwrap(error));
+            }
+        }));
+        return task;
+    }
+
+    /**
+     * Stops waiting for the work: the components are restored now and the callbacks never run.
+     * Work already running on its background thread is left to finish.
+     *
+     * @return true if the task was still running
+     */
+    public boolean cancel() {
+        if (finished) {
+            return false;
+        }
+        finish();
+        future.cancel(false);
+        return true;
+    }
+
+    /**
+     * @return true once the task has delivered its result or been cancelled
+     */
+    public boolean isDone() {
+        return finished;
+    }
+
+    /**
+     * Cancels a task if there is one, for views that keep the last task they started.
+     *
+     * @param task the task to cancel, or null
+     */
+    public static void cancel(UiTask<?> task) {
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    private void showBusy() {
+        for (int i = 0; i < busy.length; i++) {
+            wasEnabled[i] = busy[i].isEnabled();
+            busy[i].setEnabled(false);
+        }
+        if (window != null) {
+            runningPerWindow.merge(window, 1, Integer::sum);
+            window.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        }
+    }
+
+    private void finish() {
+        finished = true;
+        for (int i = 0; i < busy.length; i++) {
+            busy[i].setEnabled(wasEnabled[i]);
+        }
+        if (window != null && runningPerWindow.merge(window, -1, Integer::sum) <= 0) {
+            runningPerWindow.remove(window);
+            window.setCursor(Cursor.getDefaultCursor());
+        }
+    }
+
+    private static void onEventThread(Runnable action) {
+        // Work that completed inline is delivered right away, before start() returns
+        if (SwingUtilities.isEventDispatchThread()) {
+            action.run();
+        } else {
+            SwingUtilities.invokeLater(action);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+}
@@ -1,15 +1,19 @@
 package skolard.presentation.booking;
 
+import skolard.Config.Config;
 import skolard.logic.rating.RatingHandler;
 import skolard.logic.session.SessionHandler;
 import skolard.logic.booking.BookingHandler;
 import skolard.logic.payment.PaymentHandler;
 import skolard.objects.Session;
 import skolard.objects.Student;
+import skolard.persistence.PersistenceRegistry;
+import skolard.persistence.SessionPage;
+import skolard.presentation.UiTask;
 import skolard.presentation.payment.PaymentView;
 
 import javax.swing.*;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class BookingController {
     // Reference to the UI view for booking
@@ -25,6 +29,16 @@ public class BookingController {
     // The currently logged-in student using the booking system
     private final Student student;
 
+    // Inputs of the last search, reused to fetch its later pages
+    private String lastCourse;
+    private String lastFilter;
+    private String lastStart;
+    private String lastEnd;
+    // Token of the next page of the last search, or null if it has no more pages
+    private String nextCursor;
+    // Search or next page still loading, cancelled when a newer one starts
+    private UiTask<SessionPage> pendingSearch;
+
     // Constructor initializing all handlers, the view, and current student
     public BookingController(BookingView view, BookingHandler bookingHandler, SessionHandler sessionHandler,
                              RatingHandler ratingHandler, PaymentHandler paymentHandler, Student student) {
@@ -38,19 +52,53 @@ public class BookingController {
 
     // Handles search action with filters for course, filter type, and time range
     public void onSearch(String courseInput, String filter, String start, String end) {
+        // A newer search replaces any still loading
+        UiTask.cancel(pendingSearch);
+        try {
+            // Load the first page of filtered sessions in the background
+            CompletableFuture<SessionPage> page = BookingInputHandler.getSessionPageAsync(
+                    courseInput, filter, start, end, student, bookingHandler, null, Config.SESSION_PAGE_SIZE
+            );
+            view.showStatus("Searching...");
+            pendingSearch = UiTask.start(page, firstPage -> {
+                lastCourse = courseInput;
+                lastFilter = filter;
+                lastStart = start;
+                lastEnd = end;
+                nextCursor = firstPage.getNextCursor();
+                // Replace the view table with the first page of results
+                view.updateSessionTable(firstPage);
+            }, this::showSearchError, view.getSearchControls());
+        } catch (Exception e) {
+            // Show error status on the view if the search input is invalid
+            showSearchError(e);
+        }
+    }
+
+    // Handles request for the next page of the last search
+    public void onLoadMore() {
+        if (nextCursor == null) return; // Last page already shown
+
+        UiTask.cancel(pendingSearch);
         try {
-            // Get filtered sessions based on input criteria and student context
-            List<Session> results = BookingInputHandler.getFilteredSessions(
-                    courseInput, filter, start, end, student, bookingHandler
+            CompletableFuture<SessionPage> page = BookingInputHandler.getSessionPageAsync(
+                    lastCourse, lastFilter, lastStart, lastEnd, student, bookingHandler, nextCursor, Config.SESSION_PAGE_SIZE
             );
-            // Update the view table with search results
-            view.updateSessionTable(results);
+            pendingSearch = UiTask.start(page, nextPage -> {
+                nextCursor = nextPage.getNextCursor();
+                // Append the page below the rows already shown
+                view.appendSessionPage(nextPage);
+            }, this::showSearchError, view.getSearchControls());
         } catch (Exception e) {
-            // Show error status on the view if search fails
-            view.showStatus("Error: " + e.getMessage());
+            showSearchError(e);
         }
     }
 
+    // Shows a failed search on the view's status line
+    private void showSearchError(Throwable e) {
+        view.showStatus("Error: " + e.getMessage());
+    }
+
     // Handles booking action when user selects a session row
     public void onBook(int rowIndex) {
         // Retrieve the selected session from the view by index
@@ -68,13 +116,17 @@ public class BookingController {
             dialog.setVisible(true);
 
             if (dialog.wasPaid()) {
-                // If payment successful, book session and create rating request
-                sessionHandler.bookASession(student, session.getSessionId());
-                ratingHandler.createRatingRequest(session, student);
-                // Remove booked session from the view table
-                view.removeSessionFromTable(rowIndex);
-                // Inform user of successful booking
-                JOptionPane.showMessageDialog(view, "Booking successful!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                // If payment successful, book session and create rating request in one commit, off the event thread
+                UiTask.run(() -> PersistenceRegistry.inTransaction(() -> {
+                    sessionHandler.bookASession(student, session.getSessionId());
+                    ratingHandler.createRatingRequest(session, student);
+                }), () -> {
+                    // Remove booked session from the view table
+                    view.removeSession(session);
+                    // Inform user of successful booking
+                    JOptionPane.showMessageDialog(view, "Booking successful!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                }, e -> JOptionPane.showMessageDialog(view, "Booking failed: " + e.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE), view.getBookingControls());
             } else {
                 // Inform user if payment was not completed
                 JOptionPane.showMessageDialog(view, "Payment not completed.", "Cancelled", JOptionPane.WARNING_MESSAGE);
@@ -2,52 +2,84 @@ package skolard.presentation.booking;
 
 import skolard.logic.booking.BookingHandler;
 import skolard.logic.booking.BookingHandler.SessionFilter;
-import skolard.objects.Session;
 import skolard.objects.Student;
+import skolard.persistence.SessionPage;
 import skolard.utils.CourseUtil;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class BookingInputHandler {
     // Formatter for parsing date-time input strings in "yyyy-MM-dd HH:mm" format
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
     /**
-     * Returns a list of available sessions filtered and sorted based on given parameters.
+     * Starts loading one page of available sessions in the background, ordered by start time
+     * unless a rating sort is chosen. The inputs are validated before this returns;
+     * the query runs off the calling thread.
      *
      * @param rawCourse Raw course code input that will be normalized
      * @param filter    Sorting/filtering criteria ("Sort by Time", "Sort by Tutor Course Grade", etc.)
      * @param startStr  Start time string for time-based filtering (format: yyyy-MM-dd HH:mm)
      * @param endStr    End time string for time-based filtering (format: yyyy-MM-dd HH:mm)
-     * @param student   The student requesting the sessions (used for filtering out booked sessions)
+     * @param student   The student requesting the sessions (their own tutor sessions are left out)
      * @param handler   BookingHandler instance used to retrieve sessions
-     * @return List of filtered and sorted sessions
+     * @param cursor    Next-page token from the previous page, or null for the first page
+     * @param pageSize  Maximum number of sessions on the page
+     * @return Completes with the page of sessions and the token of the next one
      * @throws IllegalArgumentException if course is empty or parsing fails
      */
-    public static List<Session> getFilteredSessions(String rawCourse, String filter, String startStr, String endStr,
-                                                    Student student, BookingHandler handler) {
+    public static CompletableFuture<SessionPage> getSessionPageAsync(String rawCourse, String filter, String startStr,
+                                                                     String endStr, Student student, BookingHandler handler,
+                                                                     String cursor, int pageSize) {
+        Search search = parse(rawCourse, filter, startStr, endStr);
+        return handler.getAvailableSessionsPageAsync(search.filter, search.course, search.start, search.end,
+            student.getEmail(), cursor, pageSize);
+    }
+
+    /**
+     * Normalizes the course and maps the chosen sort onto a session filter,
+     * parsing the time range when sorting by time.
+     *
+     * @throws IllegalArgumentException if course is empty or parsing fails
+     */
+    private static Search parse(String rawCourse, String filter, String startStr, String endStr) {
         // Normalize course code input to a standard format
         String course = CourseUtil.normalizeCourseCode(rawCourse);
         if (course.isEmpty()) throw new IllegalArgumentException("Course is required");
 
-        // Apply different filters depending on the filter string
         if ("Sort by Time".equals(filter)) {
             // Parse start and end time strings to LocalDateTime objects
             LocalDateTime start = LocalDateTime.parse(startStr.trim(), formatter);
             LocalDateTime end = LocalDateTime.parse(endStr.trim(), formatter);
-            // Retrieve sessions filtered by time range
-            return handler.getAvailableSessions(SessionFilter.TIME, course, start, end, student.getEmail());
+            return new Search(SessionFilter.TIME, course, start, end);
         } else if ("Sort by Tutor Course Grade".equals(filter)) {
-            // Retrieve sessions sorted by tutor's course grade
-            return handler.getAvailableSessions(SessionFilter.RATE, course, null, null, student.getEmail());
+            // Sessions sorted by tutor's course grade
+            return new Search(SessionFilter.RATE, course, null, null);
         } else if ("Sort by Overall Tutor Rating".equals(filter)) {
-            // Retrieve sessions sorted by tutor's overall rating
-            return handler.getAvailableSessions(SessionFilter.TUTOR, course, null, null, student.getEmail());
+            // Sessions sorted by tutor's overall rating
+            return new Search(SessionFilter.TUTOR, course, null, null);
         } else {
-            // Default: retrieve sessions for the course without additional filters
-            return handler.getAvailableSessions(course, student.getEmail());
+            // Default: sessions for the course without additional filters
+            return new Search(null, course, null, null);
+        }
+    }
+
+    /**
+     * A validated search: the filter to apply, the normalized course and the optional time range.
+     */
+    private static final class Search {
+        private final SessionFilter filter;
+        private final String course;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        private Search(SessionFilter filter, String course, LocalDateTime start, LocalDateTime end) {
+            this.filter = filter;
+            this.course = course;
+            this.start = start;
+            this.end = end;
         }
     }
-}
\ No newline at end of file
+}
@@ -6,12 +6,16 @@ import skolard.logic.booking.BookingHandler;
 import skolard.logic.payment.PaymentHandler;
 import skolard.objects.Session;
 import skolard.objects.Student;
+import skolard.persistence.PersistenceRegistry;
+import skolard.persistence.SessionPage;
+import skolard.presentation.UiTask;
 import skolard.presentation.payment.PaymentView;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -29,6 +33,7 @@ public class BookingView extends JFrame {
     private final JButton searchBtn = new JButton("Find Sessions");
     private final JButton bookButton = new JButton("Book");
     private final JButton infoButton = new JButton("View Info");
+    private final JButton moreButton = new JButton("Load More");
     private final JButton backButton = new JButton("Back");
 
     // UI labels and panels
@@ -41,7 +46,7 @@ public class BookingView extends JFrame {
     private final DefaultTableModel tableModel;
 
     // Data state
-    private List<Session> currentResults;                              // Current sessions loaded into the table
+    private List<Session> currentResults = new ArrayList<>();          // Current sessions loaded into the table
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"); // Date/time format
 
     // Logic/handler references
@@ -144,7 +149,9 @@ public class BookingView extends JFrame {
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         bookButton.setEnabled(false);
         infoButton.setEnabled(false);
+        moreButton.setEnabled(false);
 
+        buttonPanel.add(moreButton);
         buttonPanel.add(backButton);
         buttonPanel.add(bookButton);
         buttonPanel.add(infoButton);
@@ -166,18 +173,22 @@ public class BookingView extends JFrame {
                     paymentDialog.setVisible(true); // blocks until closed
 
                     if (paymentDialog.wasPaid()) {
-                        sessionHandler.bookASession(student, session.getSessionId());
-                        ratingHandler.createRatingRequest(session, student);
-
-                        currentResults.remove(selectedRow);
-                        tableModel.removeRow(selectedRow);
-                        sessionTable.clearSelection();
-                        bookButton.setEnabled(false);
-                        infoButton.setEnabled(false);
-
-                        JOptionPane.showMessageDialog(this,
-                                "Session booked successfully! Payment will be finalized and rating survey will open after session ends at " + session.getEndDateTime(),
-                                "Booking Confirmed", JOptionPane.INFORMATION_MESSAGE);
+                        // The booking and its rating request commit together, off the event thread
+                        UiTask.run(() -> PersistenceRegistry.inTransaction(() -> {
+                            sessionHandler.bookASession(student, session.getSessionId());
+                            ratingHandler.createRatingRequest(session, student);
+                        }), () -> {
+                            removeSession(session);
+                            sessionTable.clearSelection();
+                            bookButton.setEnabled(false);
+                            infoButton.setEnabled(false);
+
+                            JOptionPane.showMessageDialog(this,
+                                    "Session booked successfully! Payment will be finalized and rating survey will open after session ends at " + session.getEndDateTime(),
+                                    "Booking Confirmed", JOptionPane.INFORMATION_MESSAGE);
+                        }, ex -> JOptionPane.showMessageDialog(this,
+                                "Booking failed: " + ex.getMessage(),
+                                "Error", JOptionPane.ERROR_MESSAGE), getBookingControls());
                     } else {
                         JOptionPane.showMessageDialog(this,
                                 "Payment was not completed. Session not booked.",
@@ -218,6 +229,9 @@ public class BookingView extends JFrame {
                 controller.onSearch(courseField.getText(), (String) filterDropdown.getSelectedItem(),
                         startTimeField.getText(), endTimeField.getText()));
 
+        // Load more button fetches the next page of the current search
+        moreButton.addActionListener(e -> controller.onLoadMore());
+
         // View info button triggers session detail display
         infoButton.addActionListener(e -> controller.onViewInfo(sessionTable.getSelectedRow()));
 
@@ -247,13 +261,20 @@ public class BookingView extends JFrame {
     }
 
     /**
-     * Updates the session table with new data.
+     * Replaces the session table with the first page of a search.
      */
-    public void updateSessionTable(List<Session> sessions) {
+    public void updateSessionTable(SessionPage page) {
         tableModel.setRowCount(0); // Clear current table rows
-        currentResults = sessions;
+        currentResults = new ArrayList<>();
+        appendSessionPage(page);
+    }
 
-        for (Session session : sessions) {
+    /**
+     * Adds a page of sessions below the rows already in the table.
+     */
+    public void appendSessionPage(SessionPage page) {
+        for (Session session : page.getSessions()) {
+            currentResults.add(session);
             Object[] row = {
                     session.getTutor().getName(),
                     session.getStartDateTime().format(formatter),
@@ -265,11 +286,14 @@ public class BookingView extends JFrame {
         sessionTable.clearSelection();
         bookButton.setEnabled(false);
         infoButton.setEnabled(false);
+        moreButton.setEnabled(page.hasNext());
 
-        if (sessions.isEmpty()) {
+        if (currentResults.isEmpty()) {
             showStatus("No sessions found for the specified criteria.");
+        } else if (page.hasNext()) {
+            showStatus("Showing " + currentResults.size() + " available session(s). Load more to see the rest.");
         } else {
-            showStatus("Found " + sessions.size() + " available session(s).");
+            showStatus("Found " + currentResults.size() + " available session(s).");
         }
     }
 
@@ -283,6 +307,27 @@ public class BookingView extends JFrame {
         }
     }
 
+    /**
+     * Removes a session's row from the table, wherever it is now.
+     */
+    public void removeSession(Session session) {
+        removeSessionFromTable(currentResults.indexOf(session));
+    }
+
+    /**
+     * Returns the controls disabled while a search page is loading.
+     */
+    public Component[] getSearchControls() {
+        return new Component[] {searchBtn, moreButton};
+    }
+
+    /**
+     * Returns the controls disabled while a booking is being saved.
+     */
+    public Component[] getBookingControls() {
+        return new Component[] {bookButton, infoButton, moreButton};
+    }
+
     /**
      * Returns the session corresponding to a selected table row.
      */
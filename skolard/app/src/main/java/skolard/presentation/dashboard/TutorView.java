@@ -3,6 +3,10 @@ package skolard.presentation.dashboard;
 import java.awt.BorderLayout;
 import java.awt.FlowLayout;
 import java.awt.GridLayout;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import javax.swing.DefaultListModel;
 import javax.swing.JButton;
@@ -22,6 +26,7 @@ import skolard.logic.session.SessionHandler;
 import skolard.objects.Session;
 import skolard.objects.Student;
 import skolard.objects.Tutor;
+import skolard.presentation.UiTask;
 
 public class TutorView extends JFrame {
 
@@ -174,52 +179,66 @@ public class TutorView extends JFrame {
             return;
         }
 
-        // Retrieve the student object.
-        selectedStudent = profileHandler.getStudent(email);
-        if (selectedStudent != null) {
-            displayArea.setText("Sessions with " + selectedStudent.getName() + " (" + email + "):\n\n");
-
-            // Fetch all sessions for this tutor and filter for the selected student.
-            var allSessions = sessionHandler.getSessionsByTutor(currentTutor);
-            var pastSessions = allSessions.stream()
-                    .filter(s -> s.getStudent() != null && s.getStudent().getEmail().equals(email))
-                    .filter(s -> s.getEndDateTime().isBefore(java.time.LocalDateTime.now()))
-                    .toList();
-
-            var upcomingSessions = allSessions.stream()
-                    .filter(s -> s.getStudent() != null && s.getStudent().getEmail().equals(email))
-                    .filter(s -> s.getStartDateTime().isAfter(java.time.LocalDateTime.now()))
-                    .toList();
-
-            // Display session summaries.
-            displayArea.append("Total sessions: " + (pastSessions.size() + upcomingSessions.size()) + "\n");
-            displayArea.append("Upcoming sessions: " + upcomingSessions.size() + "\n");
-            displayArea.append("Past sessions: " + pastSessions.size() + "\n\n");
-
-            // Append upcoming sessions if any.
-            if (!upcomingSessions.isEmpty()) {
-                displayArea.append("=== UPCOMING SESSIONS ===\n");
-                for (var session : upcomingSessions) {
-                    displayArea.append("• " + formatSession(session) + "\n");
-                }
-                displayArea.append("\n");
+        // Retrieve the student object, then the tutor's sessions, in the background.
+        UiTask.supply(() -> profileHandler.getStudent(email), student -> {
+            selectedStudent = student;
+            if (selectedStudent != null) {
+                UiTask.start(sessionHandler.getSessionsByTutorAsync(currentTutor),
+                        allSessions -> showSessionsWith(selectedStudent, email, allSessions),
+                        this::showError, viewSessionsBtn);
+            } else {
+                displayArea.setText("No student found with email: " + email);
             }
+        }, this::showError, viewSessionsBtn);
+    }
 
-            // Append past sessions if any.
-            if (!pastSessions.isEmpty()) {
-                displayArea.append("=== PAST SESSIONS ===\n");
-                for (var session : pastSessions) {
-                    displayArea.append("• " + formatSession(session) + "\n");
-                }
+    /**
+     * Displays the past and upcoming sessions the tutor has with a student.
+     *
+     * @param student The selected student.
+     * @param email The student's email.
+     * @param allSessions Every session of the current tutor.
+     * @return void
+     */
+    private void showSessionsWith(Student student, String email, List<Session> allSessions) {
+        displayArea.setText("Sessions with " + student.getName() + " (" + email + "):\n\n");
+
+        // Filter the tutor's sessions for the selected student.
+        var pastSessions = allSessions.stream()
+                .filter(s -> s.getStudent() != null && s.getStudent().getEmail().equals(email))
+                .filter(s -> s.getEndDateTime().isBefore(java.time.LocalDateTime.now()))
+                .toList();
+
+        var upcomingSessions = allSessions.stream()
+                .filter(s -> s.getStudent() != null && s.getStudent().getEmail().equals(email))
+                .filter(s -> s.getStartDateTime().isAfter(java.time.LocalDateTime.now()))
+                .toList();
+
+        // Display session summaries.
+        displayArea.append("Total sessions: " + (pastSessions.size() + upcomingSessions.size()) + "\n");
+        displayArea.append("Upcoming sessions: " + upcomingSessions.size() + "\n");
+        displayArea.append("Past sessions: " + pastSessions.size() + "\n\n");
+
+        // Append upcoming sessions if any.
+        if (!upcomingSessions.isEmpty()) {
+            displayArea.append("=== UPCOMING SESSIONS ===\n");
+            for (var session : upcomingSessions) {
+                displayArea.append("• " + formatSession(session) + "\n");
             }
+            displayArea.append("\n");
+        }
 
-            // Handle case where no sessions are found.
-            if (pastSessions.isEmpty() && upcomingSessions.isEmpty()) {
-                displayArea.append("No sessions found with this student.\n");
+        // Append past sessions if any.
+        if (!pastSessions.isEmpty()) {
+            displayArea.append("=== PAST SESSIONS ===\n");
+            for (var session : pastSessions) {
+                displayArea.append("• " + formatSession(session) + "\n");
             }
-        } else {
-            displayArea.setText("No student found with email: " + email);
-            selectedStudent = null;
+        }
+
+        // Handle case where no sessions are found.
+        if (pastSessions.isEmpty() && upcomingSessions.isEmpty()) {
+            displayArea.append("No sessions found with this student.\n");
         }
     }
 
@@ -236,8 +255,9 @@ public class TutorView extends JFrame {
         // Update bio if a valid new bio is provided.
         if (newBio != null && !newBio.trim().isEmpty()) {
             currentTutor.setBio(newBio.trim());
-            profileHandler.updateTutor(currentTutor);
-            JOptionPane.showMessageDialog(this, "Bio updated successfully!");
+            UiTask.run(() -> profileHandler.updateTutor(currentTutor),
+                    () -> JOptionPane.showMessageDialog(this, "Bio updated successfully!"),
+                    this::showError, updateBioBtn);
         }
     }
 
@@ -247,9 +267,11 @@ public class TutorView extends JFrame {
      * @return void
      */
     private void viewMyProfile() {
-        displayArea.setText("My Profile:\n\n");
         // Retrieve and display full profile details.
-        displayArea.append(profileHandler.viewFullProfile(currentTutor));
+        UiTask.supply(() -> profileHandler.viewFullProfile(currentTutor), profile -> {
+            displayArea.setText("My Profile:\n\n");
+            displayArea.append(profile);
+        }, this::showError, viewMyProfileBtn);
     }
 
     /**
@@ -259,8 +281,15 @@ public class TutorView extends JFrame {
      * @return void
      */
     private void loadMyStudents() {
-        studentListModel.clear();
+        UiTask.supply(this::fetchMyStudents, this::showMyStudents, this::showError, viewMyStudentsBtn);
+    }
 
+    /**
+     * Looks up the students the current tutor has had sessions with. Runs in the background.
+     *
+     * @return The students by email, sorted by email; a value is null if the student no longer exists.
+     */
+    private Map<String, Student> fetchMyStudents() {
         // Get all sessions for the tutor and extract unique student emails.
         var sessions = sessionHandler.getSessionsByTutor(currentTutor);
         var studentEmails = sessions.stream()
@@ -270,28 +299,58 @@ public class TutorView extends JFrame {
                 .sorted()
                 .toList();
 
-        // Add unique student emails to the list model.
+        // Resolve every student in one lookup rather than one query per email
+        Map<String, Student> students = profileHandler.getStudents(studentEmails).stream()
+                .collect(Collectors.toMap(Student::getEmail, s -> s, (a, b) -> a));
+        Map<String, Student> byEmail = new LinkedHashMap<>();
         for (String email : studentEmails) {
+            byEmail.put(email, students.get(email));
+        }
+        return byEmail;
+    }
+
+    /**
+     * Displays the students the current tutor has had sessions with.
+     * The student emails are populated in the {@code studentListModel}.
+     *
+     * @param students The students by email, as returned by {@link #fetchMyStudents()}.
+     * @return void
+     */
+    private void showMyStudents(Map<String, Student> students) {
+        studentListModel.clear();
+
+        // Add unique student emails to the list model.
+        for (String email : students.keySet()) {
             studentListModel.addElement(email);
         }
 
-        displayArea.setText("My Students (" + studentEmails.size() + " total):\n\n");
-        if (studentEmails.isEmpty()) {
+        displayArea.setText("My Students (" + students.size() + " total):\n\n");
+        if (students.isEmpty()) {
             displayArea.append("No students found. You haven't had any sessions yet.\n");
         } else {
             // Provide instructions and list students by name and email.
             displayArea.append("Click on a student email from the list on the right to select them,\n");
             displayArea.append("then click 'View Sessions' to see your session history.\n\n");
             displayArea.append("Students you've worked with:\n");
-            for (String email : studentEmails) {
-                Student student = profileHandler.getStudent(email);
+            for (Map.Entry<String, Student> entry : students.entrySet()) {
+                Student student = entry.getValue();
                 if (student != null) {
-                    displayArea.append("• " + student.getName() + " (" + email + ")\n");
+                    displayArea.append("• " + student.getName() + " (" + entry.getKey() + ")\n");
                 }
             }
         }
     }
 
+    /**
+     * Reports a failed background operation in a dialog.
+     *
+     * @param error What the operation threw.
+     * @return void
+     */
+    private void showError(Throwable error) {
+        JOptionPane.showMessageDialog(this, "Error: " + error.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+    }
+
     /**
      * Formats a {@link Session} object into a concise string representation for display.
      *
@@ -5,6 +5,7 @@ import java.awt.FlowLayout;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import javax.swing.DefaultListModel;
 import javax.swing.JButton;
@@ -22,6 +23,7 @@ import skolard.logic.message.MessageHandler;
 import skolard.objects.Message;
 import skolard.objects.Student;
 import skolard.objects.User;
+import skolard.presentation.UiTask;
 
 /**
  * Enhanced GUI for viewing and sending messages with conversation list.
@@ -52,6 +54,10 @@ public class MessageView extends JFrame {
     // Stores the email of the currently selected conversation partner.
     private String selectedConversationEmail = null;
 
+    // Loads still running, cancelled when a newer load of the same data starts.
+    private UiTask<List<String>> conversationsLoad;
+    private UiTask<List<Message>> historyLoad;
+
     // Date and time formatter for displaying message timestamps.
     private static final DateTimeFormatter MESSAGE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
 
@@ -172,16 +178,30 @@ public class MessageView extends JFrame {
      * @return void
      */
     private void loadConversations() {
-        conversationListModel.clear();
+        // Only the most recent load fills the list.
+        UiTask.cancel(conversationsLoad);
 
-        List<String> conversations;
+        CompletableFuture<List<String>> conversations;
         // Determine which type of users to retrieve conversations from based on the current user's role.
         if (currentUser instanceof Student) {
-            conversations = handler.getTutorsMessaged(currentUser.getEmail());
+            conversations = handler.getTutorsMessagedAsync(currentUser.getEmail());
         } else {
-            conversations = handler.getStudentsMessaged(currentUser.getEmail());
+            conversations = handler.getStudentsMessagedAsync(currentUser.getEmail());
         }
 
+        conversationsLoad = UiTask.start(conversations, this::showConversations,
+                e -> showError("Could not load conversations: ", e), refreshButton);
+    }
+
+    /**
+     * Replaces the conversation list with the given partners.
+     *
+     * @param conversations Emails of the users the current user has messaged.
+     * @return void
+     */
+    private void showConversations(List<String> conversations) {
+        conversationListModel.clear();
+
         // Add conversations to the list model, or a placeholder if none exist.
         if (conversations.isEmpty()) {
             conversationListModel.addElement("Click 'New Conversation' to start messaging");
@@ -219,9 +239,21 @@ public class MessageView extends JFrame {
      * @return void
      */
     private void loadMessagesForConversation(String otherUserEmail) {
-        // Retrieve message history from the handler.
-        List<Message> messages = handler.getMessageHistory(currentUser.getEmail(), otherUserEmail);
+        // Switching conversations drops the history of the previous one if it is still loading.
+        UiTask.cancel(historyLoad);
+
+        // Retrieve message history from the handler in the background.
+        historyLoad = UiTask.start(handler.getMessageHistoryAsync(currentUser.getEmail(), otherUserEmail),
+                this::showMessages, e -> showError("Could not load messages: ", e));
+    }
 
+    /**
+     * Displays a conversation's messages in the {@code chatArea}.
+     *
+     * @param messages The messages to display, oldest first.
+     * @return void
+     */
+    private void showMessages(List<Message> messages) {
         // Clear the chat area and append each message.
         chatArea.setText("");
         for (Message msg : messages) {
@@ -303,13 +335,30 @@ public class MessageView extends JFrame {
                 currentUser.getEmail(), selectedConversationEmail,
                 currentUser.getEmail(), messageText);
 
-        // Send the message using the handler.
-        handler.sendMessage(message);
-        // Clear the message input field.
-        messageField.setText("");
-        // Reload messages to show the newly sent message.
-        loadMessagesForConversation(selectedConversationEmail);
-        // Refresh the conversation list, in case the new message created a new conversation.
-        loadConversations();
+        // Send the message using the handler, keeping the input disabled until it is stored.
+        String conversationEmail = selectedConversationEmail;
+        try {
+            UiTask.start(handler.sendMessageAsync(message), sent -> {
+                // Clear the message input field.
+                messageField.setText("");
+                // Reload messages to show the newly sent message.
+                loadMessagesForConversation(conversationEmail);
+                // Refresh the conversation list, in case the new message created a new conversation.
+                loadConversations();
+            }, e -> showError("Could not send message: ", e), sendButton, messageField);
+        } catch (IllegalArgumentException e) {
+            showError("Could not send message: ", e);
+        }
+    }
+
+    /**
+     * Reports a failed background operation in a dialog.
+     *
+     * @param prefix Description of what failed.
+     * @param error What the operation threw.
+     * @return void
+     */
+    private void showError(String prefix, Throwable error) {
+        JOptionPane.showMessageDialog(this, prefix + error.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
     }
 }
\ No newline at end of file
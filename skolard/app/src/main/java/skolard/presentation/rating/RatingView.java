@@ -7,6 +7,7 @@ import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.swing.BorderFactory;
@@ -30,6 +31,7 @@ import skolard.logic.rating.RatingHandler;
 import skolard.objects.RatingRequest;
 import skolard.objects.Session;
 import skolard.objects.Student;
+import skolard.presentation.UiTask;
 
 /**
  * GUI window for rating management in SkolarD.
@@ -54,6 +56,10 @@ public class RatingView extends JFrame {
     private final JLabel statusLabel = new JLabel("Select a rating request to proceed");
     // Currently selected rating request.
     private RatingRequest selectedRequest = null;
+    // Pending requests in the order they are listed.
+    private List<RatingRequest> shownRequests = new ArrayList<>();
+    // Request list load still running, cancelled when the list is refreshed again.
+    private UiTask<List<RatingRequest>> requestsLoad;
 
     /**
      * Constructs a new RatingView window.
@@ -170,18 +176,10 @@ public class RatingView extends JFrame {
                 int selectedIndex = requestList.getSelectedIndex();
                 String selectedValue = requestList.getSelectedValue();
 
-                if (selectedIndex >= 0 && !"No pending rating requests".equals(selectedValue)) {
-                    List<RatingRequest> requests = ratingHandler.getAllRequests();
-                    int actualRequestIndex = 0;
-                    for (RatingRequest r : requests) {
-                        if (!r.isCompleted()) {
-                            if (actualRequestIndex == selectedIndex) {
-                                selectedRequest = r;
-                                break;
-                            }
-                            actualRequestIndex++;
-                        }
-                    }
+                if (selectedIndex >= 0 && selectedIndex < shownRequests.size()
+                        && !"No pending rating requests".equals(selectedValue)) {
+                    // The list rows are the loaded requests in order, so no query is needed here.
+                    selectedRequest = shownRequests.get(selectedIndex);
                     enableRatingForm(true);
                     updateStatusForSelectedRequest();
                 } else {
@@ -227,12 +225,26 @@ public class RatingView extends JFrame {
      * @return void
      */
     private void loadRatingRequests() {
+        UiTask.cancel(requestsLoad);
+        requestsLoad = UiTask.start(ratingHandler.getPendingRequestsForStudentAsync(currentStudent),
+                this::showRatingRequests, e -> showError("Error loading rating requests: " + e.getMessage()),
+                refreshBtn);
+    }
+
+    /**
+     * Displays the loaded rating requests that are still pending.
+     *
+     * @param requests The student's rating requests.
+     * @return void
+     */
+    private void showRatingRequests(List<RatingRequest> requests) {
         requestModel.clear();
-        List<RatingRequest> requests = ratingHandler.getPendingRequestsForStudent(currentStudent);
+        shownRequests = new ArrayList<>();
         int added = 0;
 
         for (RatingRequest request : requests) {
             if (!request.isCompleted()) {
+                shownRequests.add(request);
                 Session session = request.getSession();
                 Student student = request.getStudent();
                 String displayText = String.format("Session %d - %s (%s) - Student: %s",
@@ -275,18 +287,13 @@ public class RatingView extends JFrame {
             return;
         }
 
-        try {
-            int tutorRating = tutorRatingSlider.getValue();
-
-            ratingHandler.processRatingSubmission(selectedRequest, tutorRating);
+        int tutorRating = tutorRatingSlider.getValue();
 
+        UiTask.start(ratingHandler.processRatingSubmissionAsync(selectedRequest, tutorRating), done -> {
             showSuccess("Rating submitted successfully!");
             clearForm();
             loadRatingRequests(); // Refresh the list
-
-        } catch (Exception e) {
-            showError("Error submitting rating: " + e.getMessage());
-        }
+        }, e -> showError("Error submitting rating: " + e.getMessage()), submitRatingBtn, skipRatingBtn);
     }
 
     /**
@@ -301,15 +308,11 @@ public class RatingView extends JFrame {
             return;
         }
 
-        try {
-            ratingHandler.processRatingSkip(selectedRequest);
+        UiTask.start(ratingHandler.processRatingSkipAsync(selectedRequest), done -> {
             showSuccess("Rating request skipped");
             clearForm();
             loadRatingRequests(); // Refresh the list
-
-        } catch (Exception e) {
-            showError("Error skipping rating: " + e.getMessage());
-        }
+        }, e -> showError("Error skipping rating: " + e.getMessage()), submitRatingBtn, skipRatingBtn);
     }
 
     /**
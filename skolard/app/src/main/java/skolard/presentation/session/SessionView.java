@@ -11,8 +11,8 @@ import java.awt.Insets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -28,11 +28,15 @@ import javax.swing.SwingConstants;
 import javax.swing.event.ListSelectionListener;
 import javax.swing.table.DefaultTableModel;
 
+import skolard.Config.Config;
 import skolard.logic.session.SessionHandler;
 import skolard.objects.Session;
 import skolard.objects.Student;
 import skolard.objects.Tutor;
 import skolard.objects.User;
+import skolard.persistence.SessionPage;
+import skolard.persistence.SessionTimeframe;
+import skolard.presentation.UiTask;
 import skolard.utils.CourseUtil;
 
 /**
@@ -62,6 +66,14 @@ public class SessionView extends JFrame {
     private final JButton infoBtn = new JButton("Show Info");
     private final JButton unbookBtn = new JButton("Unbook Session");
     private final JButton backBtn = new JButton("Back");
+    private final JButton morePastBtn = new JButton("Load More");
+
+    // Token of the next page of past sessions, or null once every past session is shown.
+    private String pastCursor;
+
+    // Session loads still running, cancelled when the tables are refreshed again.
+    private UiTask<SessionPage> upcomingLoad;
+    private UiTask<SessionPage> pastLoad;
 
     // Label for displaying status messages.
     private final JLabel statusLabel = new JLabel("Session Management");
@@ -223,6 +235,8 @@ public class SessionView extends JFrame {
         JPanel pastPanel = new JPanel(new BorderLayout());
         pastPanel.setBorder(BorderFactory.createTitledBorder("Past Sessions"));
         pastPanel.add(new JScrollPane(pastTable), BorderLayout.CENTER);
+        morePastBtn.setEnabled(false); // Enabled while more past sessions remain.
+        pastPanel.add(morePastBtn, BorderLayout.SOUTH);
         tablesPanel.add(pastPanel);
 
         panel.add(tablesPanel, BorderLayout.CENTER);
@@ -270,6 +284,7 @@ public class SessionView extends JFrame {
         unbookBtn.addActionListener(e -> unbookSelectedSession());
         deleteBtn.addActionListener(e -> deleteSelectedSession());
         backBtn.addActionListener(e -> dispose()); // Closes the window.
+        morePastBtn.addActionListener(e -> loadPastSessions());
     }
 
     /**
@@ -321,11 +336,12 @@ public class SessionView extends JFrame {
                 return;
             }
 
-            // Call session handler to create the session (only for Tutors).
-            sessionHandler.createSession((Tutor) currentUser, startTime, endTime, courseName);
-            showSuccess("Session created successfully!");
-            clearCreateSessionFields(); // Clear input fields.
-            refreshSessionTables(); // Refresh session lists.
+            // Call session handler to create the session (only for Tutors) in the background.
+            UiTask.start(sessionHandler.createSessionAsync((Tutor) currentUser, startTime, endTime, courseName), done -> {
+                showSuccess("Session created successfully!");
+                clearCreateSessionFields(); // Clear input fields.
+                refreshSessionTables(); // Refresh session lists.
+            }, e -> showFailure("Error creating session: ", e), createSessionBtn);
         } catch (DateTimeParseException e) {
             showError("Invalid date/time format. Use: yyyy-MM-dd HH:mm");
         } catch (IllegalArgumentException e) {
@@ -350,52 +366,39 @@ public class SessionView extends JFrame {
      * Refreshes the upcoming and past session tables by clearing existing data
      * and repopulating them with the latest session information from the session handler.
      * The sessions displayed depend on the current user (Student or Tutor).
+     * All upcoming sessions are shown; past sessions are shown one page at a time.
      *
      * @return void
      */
     private void refreshSessionTables() {
+        // Results of an earlier refresh still loading would be stale.
+        UiTask.cancel(upcomingLoad);
+        UiTask.cancel(pastLoad);
+
         upcomingModel.setRowCount(0); // Clear upcoming table.
         pastModel.setRowCount(0);     // Clear past table.
-        List<Session> pastSessions = new ArrayList<>();
-        List<Session> upcomingSessions = new ArrayList<>();
 
-        // Populate session lists based on user type.
-        if (currentUser instanceof Student) {
-            sessionHandler.setStudentSessionLists((Student) currentUser);
-            pastSessions = ((Student) currentUser).getPastSessions();
-            upcomingSessions = ((Student) currentUser).getUpcomingSessions();
-        } else if (currentUser instanceof Tutor) {
-            sessionHandler.setTutorSessionLists((Tutor) currentUser);
-            pastSessions = ((Tutor) currentUser).getPastSessions();
-            upcomingSessions = ((Tutor) currentUser).getUpcomingSessions();
-        }
+        // Start the past table again from its first page.
+        pastCursor = null;
+        loadPastSessions();
 
-        // Add past sessions to the past table.
-        for (Session pastS : pastSessions) {
-            Object[] pastRow = {
-                    pastS.getSessionId(),
-                    pastS.getCourseName(),
-                    pastS.getStartDateTime(),
-                    pastS.getEndDateTime()
-            };
-            pastModel.addRow(pastRow);
-        }
+        // Add upcoming sessions to the upcoming table once they are loaded.
+        upcomingLoad = UiTask.start(fetchSessions(SessionTimeframe.UPCOMING, null, 0), page -> {
+            for (Session upcomingS : page.getSessions()) {
+                // Students only see sessions they have booked.
+                if (currentUser instanceof Student && upcomingS.getStudent() == null) {
+                    continue;
+                }
 
-        // Add upcoming sessions to the upcoming table.
-        for (Session upcomingS : upcomingSessions) {
-            // Students only see sessions they have booked.
-            if (currentUser instanceof Student && upcomingS.getStudent() == null) {
-                continue;
+                Object[] upcomingRow = {
+                        upcomingS.getSessionId(),
+                        upcomingS.getCourseName(),
+                        upcomingS.getStartDateTime(),
+                        upcomingS.getEndDateTime()
+                };
+                upcomingModel.addRow(upcomingRow);
             }
-
-            Object[] upcomingRow = {
-                    upcomingS.getSessionId(),
-                    upcomingS.getCourseName(),
-                    upcomingS.getStartDateTime(),
-                    upcomingS.getEndDateTime()
-            };
-            upcomingModel.addRow(upcomingRow);
-        }
+        }, e -> showFailure("Could not load sessions: ", e));
 
         // Clear table selections and disable action buttons after refresh.
         upcomingTable.clearSelection();
@@ -405,6 +408,45 @@ public class SessionView extends JFrame {
         deleteBtn.setEnabled(false); // Ensure delete button is also reset.
     }
 
+    /**
+     * Appends the next page of past sessions to the past table.
+     *
+     * @return void
+     */
+    private void loadPastSessions() {
+        pastLoad = UiTask.start(fetchSessions(SessionTimeframe.PAST, pastCursor, Config.SESSION_PAGE_SIZE), page -> {
+            for (Session pastS : page.getSessions()) {
+                Object[] pastRow = {
+                        pastS.getSessionId(),
+                        pastS.getCourseName(),
+                        pastS.getStartDateTime(),
+                        pastS.getEndDateTime()
+                };
+                pastModel.addRow(pastRow);
+            }
+
+            pastCursor = page.getNextCursor();
+            morePastBtn.setEnabled(page.hasNext());
+        }, e -> showFailure("Could not load sessions: ", e), morePastBtn);
+    }
+
+    /**
+     * Starts fetching a page of the current user's sessions, ordered by start time, in the background.
+     *
+     * @param timeframe Past or upcoming sessions.
+     * @param cursor Next-page token from the previous page, or {@code null} for the first page.
+     * @param pageSize Maximum number of sessions on the page; 0 for all of them.
+     * @return The pending {@link SessionPage}; empty if the user is neither a Student nor a Tutor.
+     */
+    private CompletableFuture<SessionPage> fetchSessions(SessionTimeframe timeframe, String cursor, int pageSize) {
+        if (currentUser instanceof Student) {
+            return sessionHandler.getStudentSessionsPageAsync((Student) currentUser, timeframe, cursor, pageSize);
+        } else if (currentUser instanceof Tutor) {
+            return sessionHandler.getTutorSessionsPageAsync((Tutor) currentUser, timeframe, cursor, pageSize);
+        }
+        return CompletableFuture.completedFuture(new SessionPage(List.of(), null));
+    }
+
     /**
      * Displays detailed information about the currently selected session in a pop-up dialog.
      * The information includes session ID, course, times, and details about the
@@ -413,12 +455,28 @@ public class SessionView extends JFrame {
      * @return void
      */
     private void showSelectedSessionInfo() {
-        Session selectedSession = getSelectedSession();
-        if (selectedSession == null) {
+        int sessionId = getSelectedSessionId();
+        if (sessionId == -1) {
             showError("No session selected");
             return;
         }
 
+        UiTask.start(sessionHandler.getSessionByIDAsync(sessionId), this::showSessionInfo,
+                e -> showFailure("Could not load session: ", e), infoBtn);
+    }
+
+    /**
+     * Shows the details of a loaded session in a pop-up dialog.
+     *
+     * @param selectedSession The session to describe.
+     * @return void
+     */
+    private void showSessionInfo(Session selectedSession) {
+        if (selectedSession == null) {
+            showError("Session no longer exists");
+            return;
+        }
+
         StringBuilder info = new StringBuilder();
         info.append("Session ID: ").append(selectedSession.getSessionId()).append("\n");
         info.append("Course: ").append(selectedSession.getCourseName()).append("\n");
@@ -443,23 +501,20 @@ public class SessionView extends JFrame {
     }
 
     /**
-     * Retrieves the currently selected {@link Session} object from either the
-     * upcoming or past sessions table.
+     * Retrieves the ID of the session selected in either the upcoming or past sessions table.
      *
-     * @return The selected {@link Session} object, or {@code null} if no session is selected.
+     * @return The selected session's ID, or -1 if no session is selected.
      */
-    private Session getSelectedSession() {
+    private int getSelectedSessionId() {
         int row = upcomingTable.getSelectedRow();
         if (row != -1) {
-            int sessionId = (int) upcomingModel.getValueAt(row, 0);
-            return sessionHandler.getSessionByID(sessionId);
+            return (int) upcomingModel.getValueAt(row, 0);
         }
         row = pastTable.getSelectedRow();
         if (row != -1) {
-            int sessionId = (int) pastModel.getValueAt(row, 0);
-            return sessionHandler.getSessionByID(sessionId);
+            return (int) pastModel.getValueAt(row, 0);
         }
-        return null;
+        return -1;
     }
 
     /**
@@ -481,16 +536,11 @@ public class SessionView extends JFrame {
         int confirm = JOptionPane.showConfirmDialog(this, "Are you sure you want to unbook this session?", "Confirm Unbook", JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            try {
-                // Call session handler to unbook the session (only for Students).
-                sessionHandler.unbookASession((Student) currentUser, sessionId);
+            // Call session handler to unbook the session (only for Students) in the background.
+            UiTask.start(sessionHandler.unbookASessionAsync((Student) currentUser, sessionId), done -> {
                 showSuccess("Session unbooked and refunded successfully! \n Refund will take a few days to process.");
                 refreshSessionTables(); // Refresh tables after unbooking.
-            } catch (IllegalArgumentException e) {
-                showError("Error unbooking session: " + e.getMessage());
-            } catch (Exception e) {
-                showError("Unexpected error: " + e.getMessage());
-            }
+            }, e -> showFailure("Error unbooking session: ", e), unbookBtn);
         }
     }
 
@@ -506,6 +556,23 @@ public class SessionView extends JFrame {
         statusLabel.setForeground(Color.RED);
     }
 
+    /**
+     * Displays a failed background operation in the status label. Rejected requests
+     * (an {@link IllegalArgumentException}) are shown with the given prefix,
+     * anything else as an unexpected error.
+     *
+     * @param prefix The message shown before a rejected request's reason.
+     * @param error What the operation threw.
+     * @return void
+     */
+    private void showFailure(String prefix, Throwable error) {
+        if (error instanceof IllegalArgumentException) {
+            showError(prefix + error.getMessage());
+        } else {
+            showError("Unexpected error: " + error.getMessage());
+        }
+    }
+
     /**
      * Displays a success message in the status label at the top of the window,
      * coloring the text green.
@@ -555,7 +622,21 @@ public class SessionView extends JFrame {
         }
 
         int sessionId = (int) upcomingModel.getValueAt(row, 0);
-        Session session = sessionHandler.getSessionByID(sessionId);
+        UiTask.start(sessionHandler.getSessionByIDAsync(sessionId), this::confirmDelete,
+                e -> showFailure("Failed to delete session: ", e), deleteBtn);
+    }
+
+    /**
+     * Asks the tutor to confirm deleting a loaded session, then deletes it in the background.
+     *
+     * @param session The session to delete.
+     * @return void
+     */
+    private void confirmDelete(Session session) {
+        if (session == null) {
+            showError("Session no longer exists");
+            return;
+        }
 
         // Determine the warning message based on whether the session has a student.
         String warningMsg = session.getStudent() != null
@@ -566,18 +647,15 @@ public class SessionView extends JFrame {
         int confirm = JOptionPane.showConfirmDialog(this, warningMsg, "Confirm Delete", JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            try {
-                // Call session handler to delete the session (only for Tutors).
-                sessionHandler.deleteSession((Tutor) currentUser, session);
+            // Call session handler to delete the session (only for Tutors) in the background.
+            UiTask.start(sessionHandler.deleteSessionAsync((Tutor) currentUser, session), done -> {
                 if (session.getStudent() != null) {
                     showSuccess("Session deleted. A refund will be processed for the student.");
                 } else {
                     showSuccess("Session deleted successfully.");
                 }
                 refreshSessionTables(); // Refresh tables after deletion.
-            } catch (Exception e) {
-                showError("Failed to delete session: " + e.getMessage());
-            }
+            }, e -> showError("Failed to delete session: " + e.getMessage()), deleteBtn);
         }
     }
 }
@@ -4,6 +4,7 @@ import java.awt.BorderLayout;
 import java.awt.FlowLayout;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Supplier;
 
 import javax.swing.BorderFactory;
 import javax.swing.DefaultListModel;
@@ -24,6 +25,7 @@ import skolard.objects.Message;
 import skolard.objects.SupportTicket;
 import skolard.objects.User;
 import skolard.persistence.PersistenceRegistry;
+import skolard.presentation.UiTask;
 
 /**
  * GUI window for managing support tickets in SkolarD.
@@ -48,6 +50,7 @@ public class SupportView extends JFrame {
     private final SupportHandler handler;
     private final User currentUser;
     private List<SupportTicket> currentTickets; // Stores the currently displayed list of tickets.
+    private UiTask<List<SupportTicket>> ticketsLoad; // Ticket list load still running, if any.
     private final MessageHandler messageHandler;
 
     /**
@@ -121,24 +124,21 @@ public class SupportView extends JFrame {
                 }
 
                 try {
-                    // Create and submit the support ticket.
+                    // Create the support ticket and submit it in the background.
                     SupportTicket ticket = new SupportTicket(currentUser, title, description);
-                    handler.submitTicket(ticket);
+                    UiTask.run(() -> handler.submitTicket(ticket), () -> {
+                        JOptionPane.showMessageDialog(this,
+                                "Support ticket submitted successfully!",
+                                "Success",
+                                JOptionPane.INFORMATION_MESSAGE);
 
-                    JOptionPane.showMessageDialog(this,
-                            "Support ticket submitted successfully!",
-                            "Success",
-                            JOptionPane.INFORMATION_MESSAGE);
-
-                    // Clear fields after successful submission.
-                    titleField.setText("");
-                    descriptionArea.setText("");
+                        // Clear fields after successful submission.
+                        titleField.setText("");
+                        descriptionArea.setText("");
+                    }, this::showSubmitError, submitTicketBtn);
 
                 } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(this,
-                            "Error submitting ticket: " + ex.getMessage(),
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
+                    showSubmitError(ex);
                 }
             });
         }
@@ -195,19 +195,17 @@ public class SupportView extends JFrame {
                     return;
                 }
 
-                try {
-                    handler.closeTicket(selectedTicket); // Close the selected ticket.
+                // Close the selected ticket in the background.
+                UiTask.run(() -> handler.closeTicket(selectedTicket), () -> {
                     JOptionPane.showMessageDialog(this,
                             "Ticket closed successfully",
                             "Success",
                             JOptionPane.INFORMATION_MESSAGE);
                     loadActiveTickets(); // Refresh to show updated active tickets.
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(this,
-                            "Error closing ticket: " + ex.getMessage(),
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
-                }
+                }, ex -> JOptionPane.showMessageDialog(this,
+                        "Error closing ticket: " + ex.getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE), closeTicketBtn);
             });
 
             // Message User button functionality.
@@ -257,24 +255,7 @@ public class SupportView extends JFrame {
      * @return void
      */
     private void loadActiveTickets() {
-        try {
-            currentTickets = handler.getActiveTickets(); // Fetch active tickets.
-            ticketListModel.clear(); // Clear existing items from the list model.
-
-            if (currentTickets.isEmpty()) {
-                ticketListModel.addElement("No active tickets found");
-            } else {
-                // Add each active ticket's string representation to the list model.
-                for (SupportTicket ticket : currentTickets) {
-                    ticketListModel.addElement(ticket.toString());
-                }
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                    "Error loading active tickets: " + e.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        loadTickets(handler::getActiveTickets, "No active tickets found", "Error loading active tickets: ");
     }
 
     /**
@@ -284,24 +265,49 @@ public class SupportView extends JFrame {
      * @return void
      */
     private void loadHandledTickets() {
-        try {
-            currentTickets = handler.getHandledTickets(); // Fetch handled tickets.
+        loadTickets(handler::getHandledTickets, "No handled tickets found", "Error loading handled tickets: ");
+    }
+
+    /**
+     * Fetches tickets in the background and displays them in the ticket list once loaded.
+     * Only the most recently requested list is shown.
+     *
+     * @param fetch The handler query returning the tickets to show.
+     * @param emptyText The placeholder shown when there are no tickets.
+     * @param errorPrefix The start of the message shown if loading fails.
+     * @return void
+     */
+    private void loadTickets(Supplier<List<SupportTicket>> fetch, String emptyText, String errorPrefix) {
+        UiTask.cancel(ticketsLoad);
+        ticketsLoad = UiTask.supply(fetch, tickets -> {
+            currentTickets = tickets;
             ticketListModel.clear(); // Clear existing items from the list model.
 
             if (currentTickets.isEmpty()) {
-                ticketListModel.addElement("No handled tickets found");
+                ticketListModel.addElement(emptyText);
             } else {
-                // Add each handled ticket's string representation to the list model.
+                // Add each ticket's string representation to the list model.
                 for (SupportTicket ticket : currentTickets) {
                     ticketListModel.addElement(ticket.toString());
                 }
             }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                    "Error loading handled tickets: " + e.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        }, e -> JOptionPane.showMessageDialog(this,
+                errorPrefix + e.getMessage(),
+                "Error",
+                JOptionPane.ERROR_MESSAGE), viewActiveBtn, viewHandledBtn);
+    }
+
+    /**
+     * Reports a ticket that could not be submitted.
+     *
+     * @param e What the submission threw.
+     * @return void
+     */
+    private void showSubmitError(Throwable e) {
+        JOptionPane.showMessageDialog(this,
+                "Error submitting ticket: " + e.getMessage(),
+                "Error",
+                JOptionPane.ERROR_MESSAGE);
     }
 
     /**
@@ -394,15 +400,18 @@ public class SupportView extends JFrame {
                         fullMessage // The composed message content.
                 );
 
-                // Send the message using the message handler.
-                messageHandler.sendMessage(supportMessage);
-
-                JOptionPane.showMessageDialog(messageFrame,
-                        "Message sent successfully to " + ticket.getRequester().getName(),
-                        "Message Sent",
-                        JOptionPane.INFORMATION_MESSAGE);
+                // Send the message using the message handler in the background.
+                UiTask.start(messageHandler.sendMessageAsync(supportMessage), sent -> {
+                    JOptionPane.showMessageDialog(messageFrame,
+                            "Message sent successfully to " + ticket.getRequester().getName(),
+                            "Message Sent",
+                            JOptionPane.INFORMATION_MESSAGE);
 
-                messageFrame.dispose(); // Close the message dialog.
+                    messageFrame.dispose(); // Close the message dialog.
+                }, ex -> JOptionPane.showMessageDialog(messageFrame,
+                        "Error sending message: " + ex.getMessage(),
+                        "Send Error",
+                        JOptionPane.ERROR_MESSAGE), sendBtn);
 
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(messageFrame,
@@ -0,0 +1,52 @@
+package skolard.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HandlerExecutorTest {
+
+    @Test
+    public void testAsyncWorkRunsOnVirtualThread() throws Exception {
+        Thread caller = Thread.currentThread();
+        Thread worker = HandlerExecutor.supplyAsync(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+        assertNotSame(caller, worker);
+        assertTrue(worker.isVirtual());
+        assertTrue(worker.getName().startsWith("skolard-handler-"));
+    }
+
+    @Test
+    public void testAsyncFailureCompletesExceptionally() {
+        CompletableFuture<String> future = HandlerExecutor.supplyAsync(() -> {
+            throw new IllegalArgumentException("bad input");
+        });
+
+        CompletionException thrown = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(IllegalArgumentException.class, thrown.getCause());
+        assertEquals("bad input", thrown.getCause().getMessage());
+    }
+
+    @Test
+    public void testInlineWorkRunsOnCallerThread() {
+        CompletableFuture<Thread> future = HandlerExecutor.supplyInline(Thread::currentThread);
+
+        assertTrue(future.isDone());
+        assertSame(Thread.currentThread(), future.join());
+    }
+
+    @Test
+    public void testInlineFailureCompletesExceptionally() {
+        CompletableFuture<String> future = HandlerExecutor.supplyInline(() -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertTrue(future.isCompletedExceptionally());
+        CompletionException thrown = assertThrows(CompletionException.class, future::join);
+        assertEquals("boom", thrown.getCause().getMessage());
+    }
+}
@@ -1,46 +1,60 @@
 package skolard.logic.booking;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import skolard.objects.Session;
 import skolard.objects.Student;
 import skolard.objects.Tutor;
+import skolard.persistence.SessionPage;
 import skolard.persistence.SessionPersistence;
+import skolard.persistence.SessionSort;
 
 public class BookingHandlerTest {
 
     private SessionPersistence mockSessionDB;
     private BookingHandler bookingHandler;
-    private Tutor tutor;
     private Student student;
-    private List<Session> mockSessions;
+    private List<Session> available;
 
     @BeforeEach
     public void setup() {
         mockSessionDB = mock(SessionPersistence.class);
         bookingHandler = new BookingHandler(mockSessionDB);
 
-        tutor = new Tutor("Tutor Name", "tutor@skolard.ca", "hashed", "Math Tutor", new HashMap<>());
+        Tutor tutor = new Tutor("Tutor Name", "tutor@skolard.ca", "hashed", "Math Tutor", new HashMap<>());
         tutor.addCourse("COMP1010", 96.0);
         tutor.addCourse("COMP2140", 84.0);
 
         student = new Student("Student Name", "student@skolard.ca", "password");
 
-        mockSessions = new ArrayList<>();
-
-        // Upcoming session (valid)
-        mockSessions.add(new Session(
+        // What the persistence layer reports as bookable
+        available = List.of(new Session(
                 1,
                 tutor,
                 null,
@@ -49,38 +63,7 @@ public class BookingHandlerTest {
                 "COMP1010"
         ));
 
-        // Past session (should be filtered)
-        mockSessions.add(new Session(
-                2,
-                tutor,
-                null,
-                LocalDateTime.now().minusDays(2),
-                LocalDateTime.now().minusDays(2).plusHours(1),
-                "COMP1010"
-        ));
-
-        // Null times (should be filtered)
-        mockSessions.add(new Session(
-                2,
-                tutor,
-                null,
-                null,
-                null,
-                "COMP1010"
-        ));
-
-        // Booked session (should be filtered)
-        Session bookedSession = new Session(
-                3,
-                tutor,
-                student,
-                LocalDateTime.now().plusDays(2),
-                LocalDateTime.now().plusDays(2).plusHours(1),
-                "COMP1010"
-        );
-        mockSessions.add(bookedSession);
-
-        when(mockSessionDB.getAllSessions()).thenReturn(mockSessions);
+        when(mockSessionDB.findAvailableSessions(any(), any(), any(), any(), any(), anyInt())).thenReturn(available);
     }
 
     @Test
@@ -93,13 +76,14 @@ public class BookingHandlerTest {
                 student.getEmail()
         );
 
-        assertEquals(1, result.size());
-        assertEquals(1, result.get(0).getSessionId());
+        assertSame(available, result);
+        verify(mockSessionDB).findAvailableSessions(eq("COMP1010"), any(LocalDateTime.class), isNull(),
+                eq(student.getEmail()), eq(SessionSort.COURSE_GRADE), eq(0));
     }
 
     @Test
     public void testGetAvailableSessions_FilterByTime() {
-        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
         LocalDateTime end = LocalDateTime.now().plusDays(2);
 
         List<Session> result = bookingHandler.getAvailableSessions(
@@ -110,8 +94,44 @@ public class BookingHandlerTest {
                 student.getEmail()
         );
 
-        assertEquals(1, result.size());
-        assertEquals(1, result.get(0).getSessionId());
+        assertSame(available, result);
+        verify(mockSessionDB).findAvailableSessions("COMP1010", start, end, student.getEmail(), SessionSort.START_TIME, 0);
+    }
+
+    @Test
+    public void testGetAvailableSessions_FilterByTime_PastStartClampedToNow() {
+        LocalDateTime before = LocalDateTime.now();
+        LocalDateTime start = before.minusDays(1);
+        LocalDateTime end = before.plusDays(2);
+
+        bookingHandler.getAvailableSessions(
+                BookingHandler.SessionFilter.TIME,
+                "COMP1010",
+                start,
+                end,
+                student.getEmail()
+        );
+
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(mockSessionDB).findAvailableSessions(eq("COMP1010"), from.capture(), eq(end),
+                eq(student.getEmail()), eq(SessionSort.START_TIME), eq(0));
+
+        // Sessions that already started must never be offered
+        assertFalse(from.getValue().isBefore(before));
+    }
+
+    @Test
+    public void testGetAvailableSessions_FilterByTime_MissingRangeIsUnfiltered() {
+        bookingHandler.getAvailableSessions(
+                BookingHandler.SessionFilter.TIME,
+                "COMP1010",
+                LocalDateTime.now(),
+                null,
+                student.getEmail()
+        );
+
+        verify(mockSessionDB).findAvailableSessions(eq("COMP1010"), any(LocalDateTime.class), isNull(),
+                eq(student.getEmail()), eq(SessionSort.NONE), eq(0));
     }
 
     @Test
@@ -124,12 +144,15 @@ public class BookingHandlerTest {
                 student.getEmail()
         );
 
-        assertEquals(1, result.size());
-        assertEquals(1, result.get(0).getSessionId());
+        assertSame(available, result);
+        verify(mockSessionDB).findAvailableSessions(eq("COMP1010"), any(LocalDateTime.class), isNull(),
+                eq(student.getEmail()), eq(SessionSort.TUTOR_AVERAGE), eq(0));
     }
 
     @Test
     public void testGetAvailableSessions_NoFilter() {
+        LocalDateTime before = LocalDateTime.now();
+
         List<Session> result = bookingHandler.getAvailableSessions(
                 "COMP1010",
                 student.getEmail()
@@ -137,6 +160,28 @@ public class BookingHandlerTest {
 
         assertEquals(1, result.size());
         assertEquals(1, result.get(0).getSessionId());
+
+        // Only upcoming sessions are requested
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(mockSessionDB).findAvailableSessions(eq("COMP1010"), from.capture(), isNull(),
+                eq(student.getEmail()), eq(SessionSort.NONE), eq(0));
+        assertFalse(from.getValue().isBefore(before));
+    }
+
+    @Test
+    public void testGetAvailableSessions_NullFilterSameAsNoFilter() {
+        bookingHandler.getAvailableSessions(null, "COMP1010", null, null, student.getEmail());
+
+        verify(mockSessionDB).findAvailableSessions(eq("COMP1010"), any(LocalDateTime.class), isNull(),
+                eq(student.getEmail()), eq(SessionSort.NONE), eq(0));
+    }
+
+    @Test
+    public void testGetAvailableSessions_NeverLoadsEverySession() {
+        bookingHandler.getAvailableSessions(BookingHandler.SessionFilter.RATE, "COMP1010", null, null, student.getEmail());
+        bookingHandler.getAvailableSessions("COMP1010", student.getEmail());
+
+        verify(mockSessionDB, never()).getAllSessions();
     }
 
     @Test
@@ -148,35 +193,17 @@ public class BookingHandlerTest {
         assertThrows(IllegalArgumentException.class, () -> {
             bookingHandler.getAvailableSessions("", student.getEmail());
         });
-    }
 
-    @Test
-    public void testGetAvailableSessions_TutorEqualsStudentEmail_FiltersOut() {
-        Session selfSession = new Session(
-                4,
-                new Tutor("Self", student.getEmail(), "hashed", "Self Bio", null),
-                null,
-                LocalDateTime.now().plusDays(3),
-                LocalDateTime.now().plusDays(3).plusHours(1),
-                "COMP1010"
-        );
-        mockSessions.add(selfSession);
-
-        List<Session> result = bookingHandler.getAvailableSessions("COMP1010", student.getEmail());
+        assertThrows(IllegalArgumentException.class, () -> {
+            bookingHandler.getAvailableSessions(BookingHandler.SessionFilter.RATE, "", null, null, student.getEmail());
+        });
 
-        // Should still be 1, not 2, since self-booking isn't allowed
-        assertEquals(1, result.size());
+        verifyNoInteractions(mockSessionDB);
     }
 
     @Test
-    public void testGetAvailableSessions_PastSessionOnly_ReturnsEmptyList() {
-        when(mockSessionDB.getAllSessions()).thenReturn(List.of(
-            new Session(5, tutor, null,
-                LocalDateTime.now().minusDays(1),
-                LocalDateTime.now().minusDays(1).plusHours(1),
-                "COMP1010"
-            )
-        ));
+    public void testGetAvailableSessions_NothingAvailable_ReturnsEmptyList() {
+        when(mockSessionDB.findAvailableSessions(any(), any(), any(), any(), any(), anyInt())).thenReturn(List.of());
 
         List<Session> result = bookingHandler.getAvailableSessions("COMP1010", student.getEmail());
 
@@ -184,64 +211,68 @@ public class BookingHandlerTest {
     }
 
     @Test
-    public void testGetAvailableSessions_BookingsForOtherCourses_Ignored() {
-        Session otherCourseSession = new Session(
-                6,
-                tutor,
-                null,
-                LocalDateTime.now().plusDays(1),
-                LocalDateTime.now().plusDays(1).plusHours(1),
-                "MATH1010"
-        );
-        mockSessions.add(otherCourseSession);
+    public void testGetAvailableSessionsPageUsesKeysetQuery() {
+        SessionPage page = new SessionPage(available, "next");
+        when(mockSessionDB.findAvailableSessionsPage(eq("COMP1010"), any(), isNull(), eq("student@skolard.ca"),
+                eq("cursor"), eq(10))).thenReturn(page);
 
-        List<Session> result = bookingHandler.getAvailableSessions("COMP1010", student.getEmail());
-
-        assertEquals(1, result.size()); // Should ignore MATH1010
+        assertSame(page, bookingHandler.getAvailableSessionsPage(null, "COMP1010", null, null,
+                "student@skolard.ca", "cursor", 10));
     }
 
     @Test
-    public void testGetAvailableSessions_FilterByTime_OutsideRange_ReturnsEmpty() {
-        LocalDateTime start = LocalDateTime.now().plusDays(10);
-        LocalDateTime end = LocalDateTime.now().plusDays(11);
-
-        List<Session> result = bookingHandler.getAvailableSessions(
-                BookingHandler.SessionFilter.TIME,
-                "COMP1010",
-                start,
-                end,
-                student.getEmail()
-        );
-
-        assertTrue(result.isEmpty());
+    public void testGetAvailableSessionsPageTimeFilterBoundsWindow() {
+        LocalDateTime start = LocalDateTime.now().plusDays(2);
+        LocalDateTime end = start.plusDays(1);
+        when(mockSessionDB.findAvailableSessionsPage(any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(new SessionPage(available, null));
+
+        bookingHandler.getAvailableSessionsPage(BookingHandler.SessionFilter.TIME, "COMP1010", start, end,
+                "student@skolard.ca", null, 10);
+        verify(mockSessionDB).findAvailableSessionsPage("COMP1010", start, end, "student@skolard.ca", null, 10);
     }
 
     @Test
-    public void testGetAvailableSessions_FilterByRate_NullGradeHandled() {
-        Tutor tutorWithNullGrade = new Tutor("No Grade", "nograde@skolard.ca", "hashed", "Tutor", new HashMap<>());
-
-        Session nullGradeSession = new Session(
-                7,
-                tutorWithNullGrade,
-                null,
-                LocalDateTime.now().plusDays(1),
-                LocalDateTime.now().plusDays(1).plusHours(1),
-                "COMP1010"
-        );
-
-        mockSessions.add(nullGradeSession);
-
-        List<Session> result = bookingHandler.getAvailableSessions(
-                BookingHandler.SessionFilter.RATE,
-                "COMP1010",
-                null,
-                null,
-                student.getEmail()
-        );
+    public void testGetAvailableSessionsPageRankedFiltersPageByRating() {
+        SessionPage page = new SessionPage(available, "next");
+        when(mockSessionDB.findRankedSessionsPage(eq("COMP1010"), any(), eq("student@skolard.ca"),
+                eq(SessionSort.COURSE_GRADE), eq("cursor"), eq(10))).thenReturn(page);
+        when(mockSessionDB.findRankedSessionsPage(eq("COMP1010"), any(), eq("student@skolard.ca"),
+                eq(SessionSort.TUTOR_AVERAGE), isNull(), eq(5))).thenReturn(page);
+
+        assertSame(page, bookingHandler.getAvailableSessionsPage(BookingHandler.SessionFilter.RATE, "COMP1010",
+                null, null, "student@skolard.ca", "cursor", 10));
+        assertSame(page, bookingHandler.getAvailableSessionsPage(BookingHandler.SessionFilter.TUTOR, "COMP1010",
+                null, null, "student@skolard.ca", null, 5));
+        verify(mockSessionDB, never()).findAvailableSessionsPage(any(), any(), any(), any(), any(), anyInt());
+    }
 
-        // getGradeForCourse() returned 1.0, so this is still a valid session
-        assertEquals(2, result.size());
+    @Test
+    public void testGetAvailableSessionsPageRequiresCourse() {
+        assertThrows(IllegalArgumentException.class, () ->
+                bookingHandler.getAvailableSessionsPage(null, "", null, null, "student@skolard.ca", null, 10));
     }
 
-    
+    @Test
+    public void testSearchRecordsFlightRecorderEvent() throws Exception {
+        Path file = Files.createTempFile("booking-search", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("skolard.SessionSearch");
+            recording.start();
+            bookingHandler.getAvailableSessions(BookingHandler.SessionFilter.RATE, "COMP1010", null, null,
+                    "student@skolard.ca");
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("COMP1010", event.getString("course"));
+        assertEquals("RATE", event.getString("filter"));
+        assertFalse(event.getBoolean("paged"));
+        assertEquals(1, event.getInt("results"));
+        assertTrue(event.getBoolean("succeeded"));
+    }
 }
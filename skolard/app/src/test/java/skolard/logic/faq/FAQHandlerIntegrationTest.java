@@ -8,13 +8,17 @@ import java.util.List;
 import org.junit.jupiter.api.AfterEach;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import skolard.objects.FAQ;
+import skolard.persistence.ConnectionSource;
 import skolard.persistence.FAQPersistence;
+import skolard.persistence.RankedFAQ;
 import skolard.persistence.sqlite.FAQDB;
+import skolard.persistence.sqlite.SchemaInitializer;
 
 public class FAQHandlerIntegrationTest {
 
@@ -25,10 +29,9 @@ public class FAQHandlerIntegrationTest {
     @BeforeEach
     public void setupDatabase() throws Exception {
         connection = DriverManager.getConnection("jdbc:sqlite::memory:");
-        try (Statement stmt = connection.createStatement()) {
-            stmt.executeUpdate("CREATE TABLE faq (id INTEGER PRIMARY KEY AUTOINCREMENT, question TEXT UNIQUE, answer TEXT)");
-        }
-        faqPersistence = new FAQDB(connection);
+        // The real schema, so searches have the faq_fts full-text index behind them
+        SchemaInitializer.initializeSchema(connection);
+        faqPersistence = new FAQDB(ConnectionSource.of(connection));
         faqHandler = new FAQHandler(faqPersistence);
     }
 
@@ -79,6 +82,25 @@ public class FAQHandlerIntegrationTest {
         assertTrue(results.isEmpty());
     }
 
+    @Test
+    public void testSearchRankedFAQsOrdersByRelevance() {
+        faqHandler.addFAQ("How do I pay?", "Add a card, then book a session to pay for it.");
+        faqHandler.addFAQ("How do I book a session?", "Pick a booking slot from the session list.");
+        faqHandler.addFAQ("What is the rating system?", "Rate tutors after sessions.");
+
+        List<RankedFAQ> results = faqHandler.searchRankedFAQs("book sess", 10);
+
+        assertEquals(2, results.size());
+        assertEquals("How do I book a session?", results.get(0).getFAQ().getQuestion());
+        assertTrue(results.get(0).getScore() > results.get(1).getScore());
+        assertEquals(1, faqHandler.searchRankedFAQs("book sess", 1).size());
+    }
+
+    @Test
+    public void testSearchRankedFAQsRejectsNonPositiveLimit() {
+        assertThrows(IllegalArgumentException.class, () -> faqHandler.searchRankedFAQs("book", 0));
+    }
+
     @AfterEach
     public void closeDatabase() throws Exception {
         connection.close();
@@ -5,10 +5,19 @@ import org.junit.jupiter.api.Test;
 import skolard.objects.Message;
 import skolard.persistence.MessagePersistence;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 public class MessageHandlerTest {
@@ -125,6 +134,47 @@ public class MessageHandlerTest {
         assertEquals("Hello", sent.getMessage());
     }
 
+    @Test
+    void testSendMessageAsync() {
+        Message valid = dummyMessage();
+        when(mockDb.addMessageAsync(valid)).thenReturn(CompletableFuture.completedFuture(valid));
+
+        assertEquals("Hello", handler.sendMessageAsync(valid).join().getMessage());
+        assertThrows(IllegalArgumentException.class, () -> handler.sendMessageAsync(null));
+    }
+
+    @Test
+    void testSendMessageAsyncRecordsEventOnceStored() throws Exception {
+        Message valid = dummyMessage();
+        CompletableFuture<Message> storing = new CompletableFuture<>();
+        when(mockDb.addMessageAsync(valid)).thenReturn(storing);
+        when(mockDb.addMessageAsync(argThat(m -> m != valid)))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Error adding message")));
+
+        Path file = Files.createTempFile("message-send", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("skolard.MessageSend");
+            recording.start();
+            CompletableFuture<Message> sent = handler.sendMessageAsync(valid);
+            CompletableFuture<Message> failed = handler.sendMessageAsync(
+                new Message(2, LocalDateTime.now(), studentEmail, tutorEmail, tutorEmail, "Hi there"));
+            assertThrows(CompletionException.class, failed::join);
+            storing.complete(valid);
+            sent.join();
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        assertEquals(2, events.size());
+        events.sort((a, b) -> Integer.compare(a.getInt("length"), b.getInt("length")));
+        assertTrue(events.get(0).getBoolean("succeeded"));
+        assertFalse(events.get(0).getBoolean("fromTutor"));
+        assertFalse(events.get(1).getBoolean("succeeded"));
+        assertTrue(events.get(1).getBoolean("fromTutor"));
+    }
+
     @Test
     void testUpdateMessage() {
         assertDoesNotThrow(() -> handler.updateMessage(dummyMessage()));
@@ -8,7 +8,10 @@ import skolard.objects.Tutor;
 import skolard.persistence.StudentPersistence;
 import skolard.persistence.TutorPersistence;
 
+import java.util.List;
+
 import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -88,4 +91,15 @@ public class ProfileHandlerTest {
         handler.viewFullProfile(t);
         verify(sessionHandler).setTutorSessionLists(t);
     }
+
+    @Test
+    void testGetStudentsNormalizesEmailsAndBatches() {
+        Student student = new Student("Sam", "sam@skolard.ca");
+        when(studentDB.getStudentsByEmails(List.of("sam@skolard.ca", "amy@skolard.ca"))).thenReturn(List.of(student));
+
+        List<Student> result = handler.getStudents(List.of(" Sam@skolard.ca", "AMY@skolard.ca "));
+
+        assertEquals(List.of(student), result);
+        verify(studentDB, never()).getStudentByEmail(any());
+    }
 }
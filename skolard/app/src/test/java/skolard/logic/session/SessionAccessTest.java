@@ -5,7 +5,9 @@ import org.junit.jupiter.api.Test;
 import skolard.objects.Session;
 import skolard.objects.Student;
 import skolard.objects.Tutor;
+import skolard.persistence.SessionPage;
 import skolard.persistence.SessionPersistence;
+import skolard.persistence.SessionTimeframe;
 
 import java.util.List;
 
@@ -60,4 +62,19 @@ public class SessionAccessTest {
         Session result = access.getSessionByID(5);
         assertSame(session, result);
     }
+
+    @Test
+    public void testGetSessionsPagesDelegateByEmail() {
+        Tutor tutor = mock(Tutor.class);
+        when(tutor.getEmail()).thenReturn("tutor@test.com");
+        Student student = mock(Student.class);
+        when(student.getEmail()).thenReturn("student@test.com");
+
+        SessionPage page = new SessionPage(List.of(), "cursor");
+        when(mockPersistence.getTutorSessionsPage("tutor@test.com", SessionTimeframe.PAST, null, 10)).thenReturn(page);
+        when(mockPersistence.getStudentSessionsPage("student@test.com", SessionTimeframe.UPCOMING, "c", 5)).thenReturn(page);
+
+        assertSame(page, access.getTutorSessionsPage(tutor, SessionTimeframe.PAST, null, 10));
+        assertSame(page, access.getStudentSessionsPage(student, SessionTimeframe.UPCOMING, "c", 5));
+    }
 }
@@ -7,6 +7,10 @@ import skolard.persistence.*;
 import java.sql.Connection;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -110,6 +114,45 @@ public class SessionBookingIntegrationTest {
         assertTrue(match, "Rating request should be skipped when session is unbooked.");
     }
 
+    @Test
+    void testConcurrentBookingHasExactlyOneWinner() throws Exception {
+        Tutor tutor = createTestTutor();
+        Session session = createTestSession(tutor);
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            students.add(createTestStudent());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(students.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        try {
+            for (Student student : students) {
+                attempts.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        sessionHandler.bookASession(student, session.getSessionId());
+                        return true;
+                    } catch (IllegalArgumentException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int winners = 0;
+            for (Future<Boolean> attempt : attempts) {
+                if (attempt.get()) {
+                    winners++;
+                }
+            }
+            assertEquals(1, winners);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertNotNull(sessionPersistence.getSessionById(session.getSessionId()).getStudent());
+    }
+
     @AfterAll
     void cleanup() throws Exception {
         if (conn != null && !conn.isClosed()) conn.close();
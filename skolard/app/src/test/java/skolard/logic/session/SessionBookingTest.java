@@ -5,12 +5,21 @@ import org.junit.jupiter.api.Test;
 import skolard.objects.RatingRequest;
 import skolard.objects.Session;
 import skolard.objects.Student;
+import skolard.objects.Tutor;
+import skolard.persistence.PersistenceRegistry;
 import skolard.persistence.RatingRequestPersistence;
 import skolard.persistence.SessionPersistence;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -24,6 +33,8 @@ public class SessionBookingTest {
     public void setup() {
         mockPersistence = mock(SessionPersistence.class);
         mockRequestPersistence = mock(RatingRequestPersistence.class);
+        // Mocked persistence: run transactions without a database
+        PersistenceRegistry.setConnectionSource(null);
         booking = new SessionBooking(mockPersistence, mockRequestPersistence);
     }
 
@@ -34,11 +45,43 @@ public class SessionBookingTest {
 
         when(session.isBooked()).thenReturn(false);
         when(mockPersistence.getSessionById(1)).thenReturn(session);
+        when(mockPersistence.bookSession(1, student)).thenReturn(true);
 
         booking.bookASession(student, 1);
 
+        // One conditional write, never a rewrite of the whole row; the winner updates the objects in memory
+        verify(mockPersistence).bookSession(1, student);
+        verify(mockPersistence, never()).updateSession(any());
         verify(session).bookSession(student);
-        verify(mockPersistence).updateSession(session);
+    }
+
+    @Test
+    public void testBookASession_LostRace() {
+        Student student = mock(Student.class);
+        Student winner = mock(Student.class);
+        Session seen = mock(Session.class);
+        Session current = mock(Session.class);
+
+        when(student.getEmail()).thenReturn("student@skolard.ca");
+        when(winner.getEmail()).thenReturn("winner@skolard.ca");
+        // Free when read, but another student's write lands first
+        when(seen.isBooked()).thenReturn(false);
+        when(current.isBooked()).thenReturn(true);
+        when(current.getStudent()).thenReturn(winner);
+        when(mockPersistence.getSessionById(1)).thenReturn(seen, current);
+        when(mockPersistence.bookSession(1, student)).thenReturn(false);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> booking.bookASession(student, 1));
+        assertEquals("Session is already booked by someone else", e.getMessage());
+        verify(seen, never()).bookSession(any());
+    }
+
+    @Test
+    public void testBookASession_Missing() {
+        Student student = mock(Student.class);
+
+        assertThrows(IllegalArgumentException.class, () -> booking.bookASession(student, 1));
     }
 
     @Test
@@ -51,6 +94,7 @@ public class SessionBookingTest {
         when(mockPersistence.getSessionById(1)).thenReturn(session);
 
         assertThrows(IllegalArgumentException.class, () -> booking.bookASession(student, 1));
+        verify(mockPersistence, never()).bookSession(anyInt(), any());
     }
 
     @Test
@@ -69,19 +113,18 @@ public class SessionBookingTest {
     @Test
     public void testUnbookASession_Success() {
         Student student = mock(Student.class);
-        Session session = mock(Session.class);
         RatingRequest request1 = mock(RatingRequest.class);
         RatingRequest request2 = mock(RatingRequest.class);
         List<RatingRequest> requests = Arrays.asList(request1, request2);
 
-        when(session.isBooked()).thenReturn(true);
-        when(mockPersistence.getSessionById(1)).thenReturn(session);
+        when(student.getEmail()).thenReturn("student@skolard.ca");
+        when(mockPersistence.unbookSession(1, "student@skolard.ca")).thenReturn(true);
         when(mockRequestPersistence.getPendingSessionRequest(1)).thenReturn(requests);
 
         booking.unbookASession(student, 1);
 
-        verify(session).unbookSession(student);
-        verify(mockPersistence).updateSession(session);
+        verify(mockPersistence).unbookSession(1, "student@skolard.ca");
+        verify(mockPersistence, never()).updateSession(any());
         verify(mockRequestPersistence).getPendingSessionRequest(1);
         verify(request1).skip();
         verify(request2).skip();
@@ -89,6 +132,24 @@ public class SessionBookingTest {
         verify(mockRequestPersistence).updateRequest(request2);
     }
 
+    @Test
+    public void testUnbookASession_LeavesStudentsUpcomingSessions() {
+        Student student = new Student("Test Student", "student@skolard.ca");
+        Session held = new Session(1, mock(Tutor.class), null, LocalDateTime.now().plusDays(1),
+            LocalDateTime.now().plusDays(1).plusHours(1), "COMP1010");
+        Session other = new Session(2, mock(Tutor.class), null, LocalDateTime.now().plusDays(2),
+            LocalDateTime.now().plusDays(2).plusHours(1), "COMP1010");
+        held.bookSession(student);
+        other.bookSession(student);
+
+        when(mockPersistence.unbookSession(1, "student@skolard.ca")).thenReturn(true);
+
+        booking.unbookASession(student, 1);
+
+        assertEquals(List.of(other), student.getUpcomingSessions());
+        assertFalse(held.isBooked());
+    }
+
     @Test
     public void testUnbookASession_NotBooked() {
         Student student = mock(Student.class);
@@ -99,5 +160,49 @@ public class SessionBookingTest {
 
         assertThrows(IllegalArgumentException.class, () -> booking.unbookASession(student, 1));
     }
-}
 
+    @Test
+    public void testUnbookASession_BookedBySomeoneElse() {
+        Student student = mock(Student.class);
+        Session session = mock(Session.class);
+
+        when(session.isBooked()).thenReturn(true);
+        when(mockPersistence.getSessionById(1)).thenReturn(session);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> booking.unbookASession(student, 1));
+        assertEquals("You can only unbook sessions you booked", e.getMessage());
+        verifyNoInteractions(mockRequestPersistence);
+    }
+
+    @Test
+    public void testBookingRecordsOutcomeForFlightRecorder() throws Exception {
+        Student student = mock(Student.class);
+        Session session = mock(Session.class);
+        Student other = mock(Student.class);
+        when(student.getEmail()).thenReturn("student@skolard.ca");
+        when(other.getEmail()).thenReturn("other@skolard.ca");
+        when(mockPersistence.getSessionById(1)).thenReturn(mock(Session.class));
+        when(mockPersistence.bookSession(1, student)).thenReturn(true);
+        when(session.isBooked()).thenReturn(true);
+        when(session.getStudent()).thenReturn(other);
+        when(mockPersistence.getSessionById(2)).thenReturn(session);
+
+        Path file = Files.createTempFile("session-booking", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("skolard.SessionBooking");
+            recording.start();
+            booking.bookASession(student, 1);
+            assertThrows(IllegalArgumentException.class, () -> booking.bookASession(student, 2));
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        assertEquals(2, events.size());
+        events.sort((a, b) -> Integer.compare(a.getInt("sessionId"), b.getInt("sessionId")));
+        assertEquals("BOOKED", events.get(0).getString("outcome"));
+        assertEquals("TAKEN", events.get(1).getString("outcome"));
+    }
+}
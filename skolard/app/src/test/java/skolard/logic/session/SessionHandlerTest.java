@@ -5,12 +5,15 @@ import org.junit.jupiter.api.Test;
 import skolard.objects.Session;
 import skolard.objects.Student;
 import skolard.objects.Tutor;
+import skolard.persistence.PersistenceRegistry;
 import skolard.persistence.RatingRequestPersistence;
 import skolard.persistence.SessionPersistence;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletionException;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -25,6 +28,8 @@ public class SessionHandlerTest {
     public void setup() {
         mockSessionPersistence = mock(SessionPersistence.class);
         mockRatingRequestPersistence = mock(RatingRequestPersistence.class);
+        // Mocked persistence: run transactions without a database
+        PersistenceRegistry.setConnectionSource(null);
         sessionHandler = new SessionHandler(mockSessionPersistence, mockRatingRequestPersistence);
     }
 
@@ -56,6 +61,23 @@ public class SessionHandlerTest {
         verify(mockSessionPersistence).removeSession(42);
     }
 
+    @Test
+    public void testAsyncVariantsReportFailuresThroughFuture() {
+        Tutor tutor = mock(Tutor.class);
+        Session session = mock(Session.class);
+        when(tutor.getEmail()).thenReturn("tutor@example.com");
+        when(mockSessionPersistence.getSessionsByTutorEmail("tutor@example.com"))
+            .thenReturn(List.of(session));
+
+        assertEquals(List.of(session), sessionHandler.getSessionsByTutorAsync(tutor).join());
+
+        // Persistence errors surface from the future rather than the call
+        when(mockSessionPersistence.getSessionById(7)).thenThrow(new RuntimeException("Error fetching session"));
+        CompletionException thrown = assertThrows(CompletionException.class,
+            () -> sessionHandler.getSessionByIDAsync(7).join());
+        assertEquals("Error fetching session", thrown.getCause().getMessage());
+    }
+
     @Test
     public void testDeleteSession_NotFound() {
         Tutor tutor = mock(Tutor.class);
@@ -74,15 +96,17 @@ public class SessionHandlerTest {
     public void testBookAndUnbookSession() {
         Student student = mock(Student.class);
         Session session = mock(Session.class);
+        when(student.getEmail()).thenReturn("student@example.com");
         when(mockSessionPersistence.getSessionById(1)).thenReturn(session);
-        when(session.isBooked()).thenReturn(false).thenReturn(true);
-        when(session.getStudent()).thenReturn(student);
+        when(mockSessionPersistence.bookSession(1, student)).thenReturn(true);
+        when(mockSessionPersistence.unbookSession(1, "student@example.com")).thenReturn(true);
 
         sessionHandler.bookASession(student, 1);
+        verify(mockSessionPersistence).bookSession(1, student);
         verify(session).bookSession(student);
 
         sessionHandler.unbookASession(student, 1);
-        verify(session).unbookSession(student);
+        verify(mockSessionPersistence).unbookSession(1, "student@example.com");
     }
 
     @Test
@@ -0,0 +1,56 @@
+package skolard.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import skolard.objects.Student;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CachingStudentPersistenceTest {
+
+    private StudentPersistence delegate;
+    private CachingStudentPersistence cached;
+    private Student student;
+
+    @BeforeEach
+    void setup() {
+        delegate = mock(StudentPersistence.class);
+        cached = new CachingStudentPersistence(delegate, 10, 0);
+        student = new Student("Sam", "sam@skolard.ca");
+        when(delegate.getStudentByEmail("sam@skolard.ca")).thenReturn(student);
+    }
+
+    @Test
+    void testRepeatedLookupsReadThroughOnce() {
+        cached.getStudentByEmail("sam@skolard.ca");
+        assertEquals("Sam", cached.getStudentByEmail("sam@skolard.ca").getName());
+
+        verify(delegate, times(1)).getStudentByEmail("sam@skolard.ca");
+        assertEquals(0.5, cached.getHitRatio());
+    }
+
+    @Test
+    void testWritesInvalidateStudent() {
+        cached.getStudentByEmail("sam@skolard.ca");
+        cached.updateStudent(student);
+        cached.getStudentByEmail("sam@skolard.ca");
+        cached.deleteStudentByEmail("sam@skolard.ca");
+        cached.getStudentByEmail("sam@skolard.ca");
+
+        verify(delegate, times(3)).getStudentByEmail("sam@skolard.ca");
+    }
+
+    @Test
+    void testBatchLookupOnlyLoadsMisses() {
+        Student amy = new Student("Amy", "amy@skolard.ca");
+        when(delegate.getStudentsByEmails(List.of("amy@skolard.ca"))).thenReturn(List.of(amy));
+        cached.getStudentByEmail("sam@skolard.ca");
+
+        assertEquals(2, cached.getStudentsByEmails(List.of("sam@skolard.ca", "amy@skolard.ca")).size());
+        verify(delegate).getStudentsByEmails(List.of("amy@skolard.ca"));
+    }
+}
@@ -0,0 +1,107 @@
+package skolard.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import skolard.objects.Tutor;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CachingTutorPersistenceTest {
+
+    private TutorPersistence delegate;
+    private CachingTutorPersistence cached;
+    private Tutor tutor;
+
+    @BeforeEach
+    void setup() {
+        delegate = mock(TutorPersistence.class);
+        cached = new CachingTutorPersistence(delegate, 10, 0);
+        tutor = new Tutor("Bob", "bob@skolard.ca", null, "Bio", Map.of("COMP1010", 4.0));
+        when(delegate.getTutorByEmail("bob@skolard.ca")).thenReturn(tutor);
+    }
+
+    @Test
+    void testRepeatedLookupsReadThroughOnce() {
+        Tutor first = cached.getTutorByEmail("bob@skolard.ca");
+        Tutor second = cached.getTutorByEmail("bob@skolard.ca");
+
+        verify(delegate, times(1)).getTutorByEmail("bob@skolard.ca");
+        assertEquals("Bio", second.getBio());
+        assertEquals(4.0, second.getGradeForCourse("COMP1010"));
+        assertEquals(1, cached.getHits());
+        assertEquals(1, cached.getMisses());
+        assertEquals(0.5, cached.getHitRatio());
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void testCallerChangesDoNotLeakIntoCache() {
+        cached.getTutorByEmail("bob@skolard.ca").setBio("Unsaved");
+        assertEquals("Bio", cached.getTutorByEmail("bob@skolard.ca").getBio());
+    }
+
+    @Test
+    void testWritesInvalidateTutor() {
+        cached.getTutorByEmail("bob@skolard.ca");
+        cached.updateTutor(tutor);
+        cached.getTutorByEmail("bob@skolard.ca");
+        cached.addCourseToTutor(tutor, "MATH1500", 3.0);
+        cached.getTutorByEmail("bob@skolard.ca");
+        cached.removeCourseFromTutor(tutor, "MATH1500");
+        cached.getTutorByEmail("bob@skolard.ca");
+        cached.deleteTutorByEmail("bob@skolard.ca");
+        cached.getTutorByEmail("bob@skolard.ca");
+
+        verify(delegate, times(5)).getTutorByEmail("bob@skolard.ca");
+        assertEquals(0, cached.getHits());
+    }
+
+    @Test
+    void testBatchLookupOnlyLoadsMisses() {
+        Tutor amy = new Tutor("Amy", "amy@skolard.ca", "Bio");
+        when(delegate.getTutorsByEmails(List.of("amy@skolard.ca"))).thenReturn(List.of(amy));
+        cached.getTutorByEmail("bob@skolard.ca");
+
+        List<Tutor> tutors = cached.getTutorsByEmails(List.of("bob@skolard.ca", "amy@skolard.ca"));
+
+        assertEquals(2, tutors.size());
+        verify(delegate).getTutorsByEmails(List.of("amy@skolard.ca"));
+        cached.getTutorByEmail("amy@skolard.ca");
+        verify(delegate, never()).getTutorByEmail("amy@skolard.ca");
+    }
+
+    @Test
+    void testUnitOfWorkSharesCachedTutor() {
+        cached.getTutorByEmail("bob@skolard.ca");
+
+        UnitOfWork.run(() -> assertSame(cached.getTutorByEmail("bob@skolard.ca"),
+            cached.getTutorByEmail("bob@skolard.ca")));
+    }
+
+    @Test
+    void testAuthenticateIsNotCached() {
+        cached.authenticate("bob@skolard.ca", "hash");
+        cached.authenticate("bob@skolard.ca", "hash");
+        verify(delegate, times(2)).authenticate("bob@skolard.ca", "hash");
+    }
+
+    @Test
+    void testRowReadDuringConcurrentWriteIsNotCached() {
+        // The write commits and invalidates while the old row is on its way back
+        when(delegate.getTutorByEmail("bob@skolard.ca")).thenAnswer(invocation -> {
+            cached.updateTutor(tutor);
+            return tutor;
+        }).thenReturn(tutor);
+
+        cached.getTutorByEmail("bob@skolard.ca");
+        cached.getTutorByEmail("bob@skolard.ca");
+        cached.getTutorByEmail("bob@skolard.ca");
+
+        verify(delegate, times(2)).getTutorByEmail("bob@skolard.ca");
+    }
+}
@@ -2,7 +2,13 @@ package skolard.persistence;
 
 import org.junit.jupiter.api.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import javax.management.ObjectName;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -30,4 +36,21 @@ public class ConnectionManagerTest {
         ConnectionManager.close();
         assertTrue(ConnectionManager.get().isClosed());
     }
+
+    @Test
+    public void testStatementCacheCountsArePublished() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            try (Connection conn = ConnectionManager.getSource().reader();
+                 PreparedStatement stmt = conn.prepareStatement("SELECT 1")) {
+                stmt.executeQuery().close();
+            }
+        }
+
+        ObjectName name = new ObjectName("skolard:type=ConnectionPool");
+        assertEquals(2L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "StatementCacheHits"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PersistenceMetrics.dump(new PrintStream(out, true));
+        assertTrue(out.toString().contains("statement cache: 2 hits, 1 misses"), out.toString());
+    }
 }
@@ -0,0 +1,195 @@
+package skolard.persistence;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionPoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        pool = new ConnectionPool(tempDir.resolve("pool.db").toString(), 2, 1000);
+        try (Connection conn = pool.writer();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE item (id INTEGER PRIMARY KEY, name TEXT)");
+            stmt.execute("INSERT INTO item (name) VALUES ('first')");
+        }
+    }
+
+    @AfterEach
+    public void cleanup() {
+        pool.close();
+    }
+
+    @Test
+    public void testWriterUsesWalJournal() throws Exception {
+        try (Connection conn = pool.writer();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA journal_mode")) {
+            assertTrue(rs.next());
+            assertEquals("wal", rs.getString(1).toLowerCase());
+        }
+    }
+
+    @Test
+    public void testReaderSeesCommittedWrites() throws Exception {
+        try (Connection conn = pool.reader();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM item")) {
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt(1));
+        }
+    }
+
+    @Test
+    public void testReaderIsReadOnly() throws Exception {
+        try (Connection conn = pool.reader();
+             Statement stmt = conn.createStatement()) {
+            assertThrows(SQLException.class, () -> stmt.execute("INSERT INTO item (name) VALUES ('nope')"));
+        }
+    }
+
+    @Test
+    public void testNestedReaderOnSameThreadSharesConnection() throws Exception {
+        try (Connection outer = pool.reader();
+             Connection inner = pool.reader()) {
+            assertEquals(outer.unwrap(Connection.class), inner.unwrap(Connection.class));
+        }
+    }
+
+    @Test
+    public void testReaderInsideWriterUsesWriter() throws Exception {
+        try (Connection writer = pool.writer();
+             Statement stmt = writer.createStatement()) {
+            stmt.execute("INSERT INTO item (name) VALUES ('second')");
+            try (Connection reader = pool.reader()) {
+                assertEquals(writer.unwrap(Connection.class), reader.unwrap(Connection.class));
+            }
+        }
+    }
+
+    @Test
+    public void testClosedHandleRejectsUse() throws Exception {
+        Connection conn = pool.reader();
+        conn.close();
+        assertTrue(conn.isClosed());
+        assertThrows(SQLException.class, conn::createStatement);
+    }
+
+    @Test
+    public void testReadersRunConcurrentlyWhileWriterHeld() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch bothReading = new CountDownLatch(2);
+        try (Connection writer = pool.writer()) {
+            Future<?> first = executor.submit(() -> readAndWait(bothReading));
+            Future<?> second = executor.submit(() -> readAndWait(bothReading));
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInMemoryPoolRoutesReadsThroughWriter() throws Exception {
+        ConnectionPool memory = new ConnectionPool(":memory:", 4, 1000);
+        try {
+            assertEquals(0, memory.getReaderPoolSize());
+            try (Connection writer = memory.writer();
+                 Statement stmt = writer.createStatement()) {
+                stmt.execute("CREATE TABLE t (x INTEGER)");
+            }
+            try (Connection reader = memory.reader();
+                 Statement stmt = reader.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM t")) {
+                assertTrue(rs.next());
+            }
+        } finally {
+            memory.close();
+        }
+    }
+
+    @Test
+    public void testReaderClosedOnAnotherThreadIsNotReusedByOpener() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Connection handedOff = pool.reader();
+            executor.submit(() -> {
+                handedOff.close();
+                return null;
+            }).get(5, TimeUnit.SECONDS);
+
+            // The opener's next borrow must take its own reader, not share the one now idle
+            try (Connection mine = pool.reader()) {
+                Connection other = executor.submit(() -> pool.reader()).get(5, TimeUnit.SECONDS);
+                try {
+                    assertNotEquals(mine.unwrap(Connection.class), other.unwrap(Connection.class));
+                } finally {
+                    other.close();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testNestedReaderStillHeldAfterOuterClosedOnAnotherThread() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Connection outer = pool.reader();
+            try (Connection inner = pool.reader()) {
+                executor.submit(() -> {
+                    outer.close();
+                    return null;
+                }).get(5, TimeUnit.SECONDS);
+
+                // The inner borrow keeps the reader, so another thread gets a different one
+                Connection other = executor.submit(() -> pool.reader()).get(5, TimeUnit.SECONDS);
+                try {
+                    assertNotEquals(inner.unwrap(Connection.class), other.unwrap(Connection.class));
+                } finally {
+                    other.close();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBorrowAfterCloseFails() {
+        pool.close();
+        assertTrue(pool.isClosed());
+        assertThrows(SQLException.class, pool::reader);
+    }
+
+    private Void readAndWait(CountDownLatch bothReading) throws Exception {
+        try (Connection conn = pool.reader();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT name FROM item")) {
+            assertTrue(rs.next());
+            bothReading.countDown();
+            // Both readers must be out of the pool at the same time for this to return
+            assertTrue(bothReading.await(5, TimeUnit.SECONDS));
+        }
+        return null;
+    }
+}
@@ -5,6 +5,8 @@ import skolard.persistence.sqlite.SchemaInitializer;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,4 +42,73 @@ public class DatabaseSeederTest {
         );
         assertTrue(ex.getMessage().contains("Seed file not found"));
     }
+
+    @Test
+    public void testSeedAppliesFileOnce() throws Exception {
+        List<DatabaseSeeder.SeedResult> first = DatabaseSeeder.seed(conn, List.of("/seed_students.sql", "/seed_faqs.sql"));
+        int students = count("student");
+        int faqs = count("faq");
+
+        assertTrue(first.get(0).isApplied());
+        assertTrue(first.get(1).isApplied());
+        assertTrue(students > 0);
+        assertTrue(faqs > 0);
+
+        // Rows added after seeding survive a second launch, because the seed does not run again
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM faq");
+        }
+        List<DatabaseSeeder.SeedResult> second = DatabaseSeeder.seed(conn, List.of("/seed_students.sql", "/seed_faqs.sql"));
+
+        assertFalse(second.get(0).isApplied());
+        assertFalse(second.get(1).isApplied());
+        assertEquals(0, second.get(1).getStatements());
+        assertEquals(students, count("student"));
+        assertEquals(0, count("faq"));
+        assertEquals(2, count("seed_history"));
+    }
+
+    @Test
+    public void testChangedChecksumAppliesFileAgain() throws Exception {
+        DatabaseSeeder.seed(conn, List.of("/seed_faqs.sql"));
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM faq");
+            stmt.execute("UPDATE seed_history SET checksum = 'outdated'");
+        }
+
+        List<DatabaseSeeder.SeedResult> results = DatabaseSeeder.seed(conn, List.of("/seed_faqs.sql"));
+
+        assertTrue(results.get(0).isApplied());
+        assertTrue(count("faq") > 0);
+    }
+
+    @Test
+    public void testSplitStatementsDropsTransactionControl() {
+        List<String> statements = DatabaseSeeder.splitStatements(
+            "BEGIN TRANSACTION;\nINSERT INTO faq VALUES (1, 'q', 'a'); -- first FAQ\n\nCOMMIT;\n");
+
+        assertEquals(List.of("INSERT INTO faq VALUES (1, 'q', 'a')"), statements);
+    }
+
+    @Test
+    public void testFailedSeedIsNotRecorded() throws Exception {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE tutorCourse");
+        }
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () ->
+            DatabaseSeeder.seed(conn, List.of("/seed_tutorCourse.sql")));
+
+        assertTrue(ex.getMessage().contains("Failed to execute seed file"));
+        assertEquals(0, count("seed_history"));
+        assertTrue(conn.getAutoCommit());
+    }
+
+    private int count(String table) throws Exception {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
 }
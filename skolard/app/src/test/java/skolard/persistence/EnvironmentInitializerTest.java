@@ -10,12 +10,7 @@ public class EnvironmentInitializerTest {
     @BeforeEach
     @AfterEach
     public void resetConnectionManager() throws Exception {
-        ConnectionManager.close(); // Close current connection if open
-
-        // Use reflection to clear the static connection field
-        var field = ConnectionManager.class.getDeclaredField("connection");
-        field.setAccessible(true);
-        field.set(null, null);
+        ConnectionManager.close(); // Close the current pool; the next initialize opens a fresh one
     }
 
     @Test
@@ -0,0 +1,33 @@
+package skolard.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FAQSearchTest {
+
+    @Test
+    public void testTermsSplitOnPunctuationAndLowerCase() {
+        assertEquals(List.of("how", "do", "i", "book", "a", "session"), FAQSearch.terms("How do I book a session?"));
+        assertEquals(List.of("it", "s", "cs2010"), FAQSearch.terms("It’s CS2010"));
+    }
+
+    @Test
+    public void testTermsDropDiacritics() {
+        assertEquals(List.of("cafe", "resume"), FAQSearch.terms("Café RÉSUMÉ"));
+    }
+
+    @Test
+    public void testTermsOfNothing() {
+        assertTrue(FAQSearch.terms(null).isEmpty());
+        assertTrue(FAQSearch.terms(" -?! ").isEmpty());
+    }
+
+    @Test
+    public void testIdfFloorsCommonTerms() {
+        assertTrue(FAQSearch.idf(10, 1) > FAQSearch.idf(10, 4));
+        assertEquals(1e-6, FAQSearch.idf(10, 9));
+    }
+}
@@ -0,0 +1,62 @@
+package skolard.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketBoundsContainTheirValues() {
+        long[] values = {0, 1, 63, 64, 65, 1_000, 123_456, 9_999_999, LatencyHistogram.MAX_TRACKABLE_NANOS};
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.highestValueIn(index) >= value, "bucket too low for " + value);
+            assertTrue(index == 0 || LatencyHistogram.highestValueIn(index - 1) < value, "bucket too high for " + value);
+        }
+    }
+
+    @Test
+    public void testQuantilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros * 1_000);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500_500, histogram.getMean(), 0.001);
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_000, histogram.getValueAtQuantile(0.50), 500_000 / 32.0);
+        assertEquals(990_000, histogram.getValueAtQuantile(0.99), 990_000 / 32.0);
+        assertEquals(1_000_000, histogram.getValueAtQuantile(1.0));
+    }
+
+    @Test
+    public void testQuantileNeverAboveMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000_001);
+
+        assertEquals(1_000_001, histogram.getValueAtQuantile(0.5));
+    }
+
+    @Test
+    public void testResetClearsEverything() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5_000);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtQuantile(0.99));
+    }
+
+    @Test
+    public void testSlowerThanTrackableCountsInTopBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+        assertEquals(LatencyHistogram.MAX_TRACKABLE_NANOS, histogram.getValueAtQuantile(0.5));
+    }
+}
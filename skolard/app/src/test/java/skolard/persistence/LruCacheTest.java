@@ -0,0 +1,82 @@
+package skolard.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LruCacheTest {
+
+    @Test
+    public void testEvictsLeastRecentlyUsedBeyondCapacity() {
+        LruCache<String> cache = new LruCache<>(2, 0);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.get("a");
+        cache.put("c", "C");
+
+        assertEquals("A", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("C", cache.get("c"));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    public void testEntriesExpireAfterTtl() {
+        AtomicLong now = new AtomicLong();
+        LruCache<String> cache = new LruCache<>(10, 1000, now::get);
+        cache.put("a", "A");
+
+        now.set(TimeUnit.MILLISECONDS.toNanos(999));
+        assertEquals("A", cache.get("a"));
+        now.set(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testCountsHitsAndMisses() {
+        LruCache<String> cache = new LruCache<>(10, 0);
+        assertEquals(0.0, cache.getHitRatio());
+
+        cache.put("a", "A");
+        cache.get("a");
+        cache.get("a");
+        cache.get("a");
+        cache.get("missing");
+
+        assertEquals(3, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.75, cache.getHitRatio());
+    }
+
+    @Test
+    public void testZeroCapacityCachesNothing() {
+        LruCache<String> cache = new LruCache<>(0, 0);
+        cache.put("a", "A");
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    public void testInvalidateDropsEntry() {
+        LruCache<String> cache = new LruCache<>(10, 0);
+        cache.put("a", "A");
+        cache.invalidate("a");
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    public void testStampedPutDroppedAfterInvalidation() {
+        LruCache<String> cache = new LruCache<>(10, 0);
+        long stale = cache.stamp();
+        cache.invalidate("a");
+        cache.put("a", "old", stale);
+        assertNull(cache.get("a"));
+
+        cache.put("a", "new", cache.stamp());
+        assertEquals("new", cache.get("a"));
+    }
+}
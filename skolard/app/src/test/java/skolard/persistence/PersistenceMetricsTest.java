@@ -0,0 +1,127 @@
+package skolard.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import skolard.objects.Tutor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class PersistenceMetricsTest {
+
+    // Stands in for a persistence interface, so no other test adds to its metrics
+    public interface ProbePersistence {
+        List<String> findAll();
+
+        String find(int id);
+
+        String find(String name);
+    }
+
+    private ProbePersistence delegate;
+    private ProbePersistence timed;
+
+    @BeforeEach
+    void setup() {
+        delegate = mock(ProbePersistence.class);
+        timed = PersistenceMetrics.instrument(ProbePersistence.class, delegate);
+        PersistenceMetrics.reset();
+    }
+
+    @Test
+    void testCallsPassThroughAndAreCounted() {
+        when(delegate.findAll()).thenReturn(List.of("a", "b"));
+
+        assertEquals(List.of("a", "b"), timed.findAll());
+        timed.findAll();
+
+        verify(delegate, times(2)).findAll();
+        MethodMetrics metrics = PersistenceMetrics.get("ProbePersistence.findAll");
+        assertEquals(2, metrics.getCalls());
+        assertEquals(0, metrics.getErrors());
+        assertTrue(metrics.getMaxMillis() >= metrics.getP50Millis());
+    }
+
+    @Test
+    void testFailuresAreCountedAndRethrownUnwrapped() {
+        when(delegate.findAll()).thenThrow(new RuntimeException("Error reading probes"));
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> timed.findAll());
+
+        assertEquals("Error reading probes", thrown.getMessage());
+        assertEquals(1, PersistenceMetrics.get("ProbePersistence.findAll").getCalls());
+        assertEquals(1, PersistenceMetrics.get("ProbePersistence.findAll").getErrors());
+    }
+
+    @Test
+    void testOverloadsAreTrackedSeparately() {
+        timed.find(1);
+        timed.find("one");
+        timed.find("two");
+
+        assertEquals(1, PersistenceMetrics.get("ProbePersistence.find(int)").getCalls());
+        assertEquals(2, PersistenceMetrics.get("ProbePersistence.find(String)").getCalls());
+    }
+
+    @Test
+    void testProxiesOfOneInterfaceShareMetrics() {
+        ProbePersistence other = PersistenceMetrics.instrument(ProbePersistence.class, mock(ProbePersistence.class));
+        timed.findAll();
+        other.findAll();
+
+        assertEquals(2, PersistenceMetrics.get("ProbePersistence.findAll").getCalls());
+    }
+
+    @Test
+    void testMetricsAreRegisteredWithJmx() throws Exception {
+        timed.findAll();
+
+        ObjectName name = new ObjectName("skolard:type=PersistenceMetrics,interface=ProbePersistence,method=findAll");
+        assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Calls"));
+    }
+
+    @Test
+    void testDumpListsCalledMethodsOnly() {
+        timed.findAll();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        PersistenceMetrics.dump(new PrintStream(out, true));
+
+        String text = out.toString();
+        assertTrue(text.contains("ProbePersistence.findAll"));
+        assertFalse(text.contains("ProbePersistence.find(int)"));
+    }
+
+    @Test
+    void testProfileCacheCountsArePublished() throws Exception {
+        TutorPersistence tutors = mock(TutorPersistence.class);
+        when(tutors.getTutorByEmail("bob@skolard.ca")).thenReturn(new Tutor("Bob", "bob@skolard.ca", "Bio"));
+        CachingTutorPersistence cache = new CachingTutorPersistence(tutors, 10, 0);
+        PersistenceMetrics.register("probe", cache);
+
+        cache.getTutorByEmail("bob@skolard.ca");
+        cache.getTutorByEmail("bob@skolard.ca");
+        cache.getTutorByEmail("bob@skolard.ca");
+
+        ObjectName name = new ObjectName("skolard:type=ProfileCache,profile=probe");
+        assertEquals(2L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Hits"));
+        assertEquals(1, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Size"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PersistenceMetrics.dump(new PrintStream(out, true));
+        assertTrue(out.toString().contains("probe profile cache: 1/10 cached, 2 hits, 1 misses"), out.toString());
+    }
+
+    @Test
+    void testNullTargetStaysNull() {
+        assertNull(PersistenceMetrics.instrument(ProbePersistence.class, null));
+    }
+}
@@ -0,0 +1,143 @@
+package skolard.persistence;
+
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlowQueryLogTest {
+
+    private Connection raw;
+    private List<String> logged;
+    private Connection borrowed;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        raw = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement stmt = raw.createStatement()) {
+            stmt.execute("CREATE TABLE student (email TEXT PRIMARY KEY, name TEXT, password TEXT)");
+            stmt.execute("CREATE TABLE card (accountEmail TEXT, name TEXT, cardNumber TEXT, expiry TEXT)");
+            stmt.execute("INSERT INTO student VALUES ('a@skolard.ca', 'Amy', 'secret-a'), " +
+                "('b@skolard.ca', 'Ben', 'secret-b')");
+        }
+        logged = new ArrayList<>();
+        // A zero threshold logs every statement
+        borrowed = BorrowedConnection.wrap(raw, null, new SlowQueryLog(0, logged::add), () -> {});
+    }
+
+    @AfterEach
+    public void cleanup() throws Exception {
+        raw.close();
+    }
+
+    @Test
+    public void testQueryLoggedWithRowsAndPlanWhenResultsClose() throws Exception {
+        try (Statement stmt = borrowed.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM student")) {
+            while (rs.next()) {
+                assertNotNull(rs.getString("email"));
+            }
+            assertTrue(logged.isEmpty(), "logged before the rows were read");
+        }
+
+        assertEquals(1, logged.size());
+        String entry = logged.get(0);
+        assertTrue(entry.startsWith("Slow query: "));
+        assertTrue(entry.contains("2 rows: SELECT * FROM student"));
+        assertTrue(entry.contains("SCAN"), entry);
+    }
+
+    @Test
+    public void testIndexedLookupPlanUsesIndex() throws Exception {
+        try (PreparedStatement stmt = borrowed.prepareStatement("SELECT name FROM student WHERE email = ?")) {
+            stmt.setString(1, "a@skolard.ca");
+            try (ResultSet rs = stmt.executeQuery()) {
+                assertTrue(rs.next());
+            }
+        }
+
+        String entry = logged.get(0);
+        assertTrue(entry.contains("1 rows"));
+        assertTrue(entry.contains("parameters: [1=a@skolard.ca]"));
+        assertTrue(entry.contains("USING INDEX"), entry);
+    }
+
+    @Test
+    public void testUpdateLoggedWithChangedRows() throws Exception {
+        try (PreparedStatement stmt = borrowed.prepareStatement("UPDATE student SET name = ? WHERE email LIKE ?")) {
+            stmt.setString(1, "Renamed");
+            stmt.setString(2, "%@skolard.ca");
+            assertEquals(2, stmt.executeUpdate());
+        }
+
+        assertTrue(logged.get(0).contains("2 rows: UPDATE student"));
+    }
+
+    @Test
+    public void testFastStatementsNotLogged() throws Exception {
+        Connection lenient = BorrowedConnection.wrap(raw, null, new SlowQueryLog(60_000, logged::add), () -> {});
+        try (Statement stmt = lenient.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM student")) {
+            rs.next();
+        }
+
+        assertTrue(logged.isEmpty());
+    }
+
+    @Test
+    public void testPasswordParametersRedacted() throws Exception {
+        try (PreparedStatement stmt = borrowed.prepareStatement(
+                "SELECT * FROM student WHERE email = ? AND password = ?")) {
+            stmt.setString(1, "a@skolard.ca");
+            stmt.setString(2, "secret-a");
+            try (ResultSet rs = stmt.executeQuery()) {
+                assertTrue(rs.next());
+            }
+        }
+
+        String entry = logged.get(0);
+        assertTrue(entry.contains("[1=a@skolard.ca, 2=***]"), entry);
+        assertFalse(entry.contains("secret-a"));
+    }
+
+    @Test
+    public void testCardParametersRedactedExceptAccount() throws Exception {
+        try (PreparedStatement stmt = borrowed.prepareStatement(
+                "INSERT INTO card (accountEmail, name, cardNumber, expiry) VALUES (?, ?, ?, ?)")) {
+            stmt.setString(1, "a@skolard.ca");
+            stmt.setString(2, "Amy");
+            stmt.setString(3, "4111111111111111");
+            stmt.setString(4, "12/30");
+            stmt.executeUpdate();
+        }
+
+        String entry = logged.get(0);
+        assertTrue(entry.contains("[1=a@skolard.ca, 2=***, 3=***, 4=***]"), entry);
+        assertFalse(entry.contains("4111111111111111"));
+    }
+
+    @Test
+    public void testParameterColumns() {
+        assertEquals(Arrays.asList("accountEmail", "cardNumber"),
+            SlowQueryLog.parameterColumns("INSERT INTO card (accountEmail, cardNumber) VALUES (?, ?)"));
+        assertEquals(Arrays.asList("password", "email"),
+            SlowQueryLog.parameterColumns("UPDATE student SET password = ? WHERE email = ?"));
+        assertEquals(Arrays.asList((String) null),
+            SlowQueryLog.parameterColumns("SELECT * FROM student LIMIT ?"));
+    }
+
+    @Test
+    public void testUnknownColumnRedactedOnSensitiveStatement() {
+        assertEquals("[1=***]", SlowQueryLog.redact("SELECT * FROM card LIMIT ?", Map.of(1, 5)));
+        assertEquals("[1=5]", SlowQueryLog.redact("SELECT * FROM student LIMIT ?", Map.of(1, 5)));
+    }
+}
@@ -0,0 +1,171 @@
+package skolard.persistence;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementCacheTest {
+
+    private static final String SELECT_NAME = "SELECT name FROM item WHERE id = ?";
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        pool = new ConnectionPool(tempDir.resolve("cache.db").toString(), 1, 1000, 2);
+        try (Connection conn = pool.writer();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE item (id INTEGER PRIMARY KEY, name TEXT)");
+            stmt.execute("INSERT INTO item (name) VALUES ('first')");
+        }
+    }
+
+    @AfterEach
+    public void cleanup() {
+        pool.close();
+    }
+
+    @Test
+    public void testRepeatedSqlReusesStatement() throws Exception {
+        assertEquals("first", readName(1));
+        assertEquals("first", readName(1));
+        assertEquals("first", readName(1));
+
+        assertEquals(1, pool.getStatementCacheMisses());
+        assertEquals(2, pool.getStatementCacheHits());
+    }
+
+    @Test
+    public void testClosedConnectionsDropCachesButKeepCounts() throws Exception {
+        readName(1);
+        readName(1);
+        assertEquals(2, pool.getStatementCacheCount());
+
+        pool.close();
+
+        assertEquals(0, pool.getStatementCacheCount());
+        assertEquals(1, pool.getStatementCacheHits());
+        assertEquals(1, pool.getStatementCacheMisses());
+        assertEquals(0.5, pool.getStatementCacheHitRatio(), 1e-9);
+    }
+
+    @Test
+    public void testReusedStatementSeesNewData() throws Exception {
+        assertNull(readName(2));
+        try (Connection conn = pool.writer();
+             PreparedStatement stmt = conn.prepareStatement("INSERT INTO item (name) VALUES (?)")) {
+            stmt.setString(1, "second");
+            stmt.executeUpdate();
+        }
+
+        assertEquals("second", readName(2));
+        assertEquals(1, pool.getStatementCacheHits());
+    }
+
+    @Test
+    public void testNestedUseOfSameSqlGetsSeparateStatements() throws Exception {
+        try (Connection conn = pool.reader();
+             PreparedStatement outer = conn.prepareStatement(SELECT_NAME);
+             PreparedStatement inner = conn.prepareStatement(SELECT_NAME)) {
+            outer.setInt(1, 1);
+            inner.setInt(1, 1);
+            try (ResultSet first = outer.executeQuery();
+                 ResultSet second = inner.executeQuery()) {
+                assertTrue(first.next());
+                assertTrue(second.next());
+            }
+        }
+        assertEquals(2, pool.getStatementCacheMisses());
+    }
+
+    @Test
+    public void testIdleStatementsAreBoundedAndEvictedLeastRecentlyUsed() throws Exception {
+        try (Connection conn = pool.writer()) {
+            StatementCache cache = new StatementCache(conn.unwrap(Connection.class), 2);
+            cache.prepare("SELECT 1", Statement.NO_GENERATED_KEYS).close();
+            cache.prepare("SELECT 2", Statement.NO_GENERATED_KEYS).close();
+            cache.prepare("SELECT 1", Statement.NO_GENERATED_KEYS).close();
+            cache.prepare("SELECT 3", Statement.NO_GENERATED_KEYS).close();
+
+            assertEquals(2, cache.size());
+            assertEquals(1, cache.getEvictions());
+
+            // "SELECT 2" was least recently used, so it is the one that was closed
+            cache.prepare("SELECT 1", Statement.NO_GENERATED_KEYS).close();
+            cache.prepare("SELECT 2", Statement.NO_GENERATED_KEYS).close();
+            assertEquals(2, cache.getHits());
+            assertEquals(4, cache.getMisses());
+            cache.close();
+        }
+    }
+
+    @Test
+    public void testGeneratedKeysAreCachedSeparately() throws Exception {
+        String insert = "INSERT INTO item (name) VALUES (?)";
+        try (Connection conn = pool.writer()) {
+            try (PreparedStatement stmt = conn.prepareStatement(insert)) {
+                stmt.setString(1, "plain");
+                stmt.executeUpdate();
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(insert, Statement.RETURN_GENERATED_KEYS)) {
+                stmt.setString(1, "keyed");
+                stmt.executeUpdate();
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    assertTrue(keys.next());
+                    assertEquals(3, keys.getInt(1));
+                }
+            }
+        }
+        assertEquals(0, pool.getStatementCacheHits());
+        assertEquals(2, pool.getStatementCacheMisses());
+    }
+
+    @Test
+    public void testClosedStatementRejectsUse() throws Exception {
+        try (Connection conn = pool.reader()) {
+            PreparedStatement stmt = conn.prepareStatement(SELECT_NAME);
+            stmt.close();
+            assertTrue(stmt.isClosed());
+            assertThrows(SQLException.class, () -> stmt.setInt(1, 1));
+        }
+    }
+
+    @Test
+    public void testZeroCapacityDisablesCaching() throws Exception {
+        ConnectionPool uncached = new ConnectionPool(tempDir.resolve("cache.db").toString(), 1, 1000, 0);
+        try {
+            for (int i = 0; i < 2; i++) {
+                try (Connection conn = uncached.reader();
+                     PreparedStatement stmt = conn.prepareStatement(SELECT_NAME)) {
+                    stmt.setInt(1, 1);
+                    stmt.executeQuery().close();
+                }
+            }
+            assertEquals(0, uncached.getStatementCacheHits());
+            assertEquals(2, uncached.getStatementCacheMisses());
+        } finally {
+            uncached.close();
+        }
+    }
+
+    private String readName(int id) throws SQLException {
+        try (Connection conn = pool.reader();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_NAME)) {
+            stmt.setInt(1, id);
+            // The result set is left open on purpose; returning the statement closes it
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() ? rs.getString("name") : null;
+        }
+    }
+}
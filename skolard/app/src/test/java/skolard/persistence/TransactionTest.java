@@ -0,0 +1,185 @@
+package skolard.persistence;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import skolard.objects.Tutor;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TransactionTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        pool = new ConnectionPool(tempDir.resolve("tx.db").toString(), 2, 1000);
+        try (Connection conn = pool.writer();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE item (id INTEGER PRIMARY KEY, name TEXT)");
+        }
+    }
+
+    @AfterEach
+    public void cleanup() {
+        pool.close();
+    }
+
+    @Test
+    public void testWorkCommitsTogether() throws Exception {
+        int result = pool.inTransaction(() -> {
+            insert("first");
+            insert("second");
+            return count();
+        });
+
+        assertEquals(2, result);
+        assertEquals(2, count());
+        assertFalse(Transaction.isActive());
+    }
+
+    @Test
+    public void testFailureRollsBackEveryWrite() throws Exception {
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () ->
+            pool.inTransaction(() -> {
+                insert("first");
+                insert("second");
+                throw new IllegalStateException("boom");
+            }));
+
+        assertEquals("boom", thrown.getMessage());
+        assertEquals(0, count());
+        assertFalse(Transaction.isActive());
+
+        // The writer is back in auto-commit mode for the next caller
+        insert("after");
+        assertEquals(1, count());
+    }
+
+    @Test
+    public void testNestedTransactionJoinsOuter() throws Exception {
+        assertThrows(IllegalStateException.class, () ->
+            pool.inTransaction(() -> {
+                pool.inTransaction(() -> {
+                    insert("inner");
+                    return null;
+                });
+                assertTrue(Transaction.isActive());
+                throw new IllegalStateException("outer fails");
+            }));
+
+        // The inner work did not commit on its own
+        assertEquals(0, count());
+    }
+
+    @Test
+    public void testReadsInsideTransactionSeeUncommittedWrites() throws Exception {
+        int seen = pool.inTransaction(() -> {
+            insert("pending");
+            return count();
+        });
+        assertEquals(1, seen);
+    }
+
+    @Test
+    public void testRegistryRunsWorkDirectlyWithoutDatabase() {
+        ConnectionSource previous = PersistenceRegistry.getConnectionSource();
+        try {
+            PersistenceRegistry.setConnectionSource(null);
+            assertEquals("done", PersistenceRegistry.inTransaction(() -> {
+                assertFalse(Transaction.isActive());
+                return "done";
+            }));
+        } finally {
+            PersistenceRegistry.setConnectionSource(previous);
+        }
+    }
+
+    @Test
+    public void testCacheSkipsRowsReadInsideTransaction() {
+        TutorPersistence delegate = mock(TutorPersistence.class);
+        CachingTutorPersistence cached = new CachingTutorPersistence(delegate, 10, 0);
+        Tutor tutor = new Tutor("Bob", "bob@skolard.ca", null, "Bio", Map.of());
+        when(delegate.getTutorByEmail("bob@skolard.ca")).thenReturn(tutor);
+
+        pool.inTransaction(() -> cached.getTutorByEmail("bob@skolard.ca"));
+        cached.getTutorByEmail("bob@skolard.ca");
+        cached.getTutorByEmail("bob@skolard.ca");
+
+        // Only the lookup made after the transaction was cached
+        verify(delegate, times(2)).getTutorByEmail("bob@skolard.ca");
+    }
+
+    private void insert(String name) {
+        try (Connection conn = pool.writer();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO item (name) VALUES ('" + name + "')");
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private int count() {
+        try (Connection conn = pool.reader();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM item")) {
+            rs.next();
+            return rs.getInt(1);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    public void testAfterCommitRunsOnlyOnceCommitted() {
+        List<String> ran = new ArrayList<>();
+        pool.inTransaction(() -> {
+            Transaction.afterCommit(() -> ran.add("committed"));
+            assertTrue(ran.isEmpty());
+            return null;
+        });
+        assertThrows(IllegalStateException.class, () -> pool.inTransaction(() -> {
+            Transaction.afterCommit(() -> ran.add("rolled back"));
+            throw new IllegalStateException("fail");
+        }));
+
+        assertEquals(List.of("committed"), ran);
+    }
+
+    @Test
+    public void testCacheDropsOldRowCachedBeforeCommit() throws Exception {
+        TutorPersistence delegate = mock(TutorPersistence.class);
+        CachingTutorPersistence cached = new CachingTutorPersistence(delegate, 10, 0);
+        Tutor tutor = new Tutor("Bob", "bob@skolard.ca", null, "Bio", Map.of());
+        when(delegate.getTutorByEmail("bob@skolard.ca")).thenReturn(tutor);
+
+        pool.inTransaction(() -> {
+            cached.updateTutor(tutor);
+            // Another thread still reads, and caches, the old committed row
+            Thread reader = new Thread(() -> cached.getTutorByEmail("bob@skolard.ca"));
+            reader.start();
+            try {
+                reader.join();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return null;
+        });
+        cached.getTutorByEmail("bob@skolard.ca");
+
+        verify(delegate, times(2)).getTutorByEmail("bob@skolard.ca");
+    }
+}
@@ -0,0 +1,68 @@
+package skolard.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import skolard.objects.Student;
+import skolard.objects.Tutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UnitOfWorkTest {
+
+    @Test
+    public void testRegisterKeepsFirstInstancePerKey() {
+        UnitOfWork.run(() -> {
+            Tutor first = new Tutor("A", "a@skolard.ca", "Bio");
+            Tutor second = new Tutor("A", "a@skolard.ca", "Bio");
+
+            assertSame(first, UnitOfWork.register(Tutor.class, "a@skolard.ca", first));
+            assertSame(first, UnitOfWork.register(Tutor.class, "a@skolard.ca", second));
+            assertSame(first, UnitOfWork.get(Tutor.class, "a@skolard.ca"));
+            // Types are mapped separately
+            assertNull(UnitOfWork.get(Student.class, "a@skolard.ca"));
+        });
+    }
+
+    @Test
+    public void testEntriesAreEvictedWhenOutermostWorkEnds() {
+        Tutor tutor = new Tutor("A", "a@skolard.ca", "Bio");
+
+        UnitOfWork.run(() -> {
+            UnitOfWork.register(Tutor.class, "a@skolard.ca", tutor);
+            // A nested unit of work joins the outer one
+            UnitOfWork.run(() -> assertSame(tutor, UnitOfWork.get(Tutor.class, "a@skolard.ca")));
+            assertEquals(1, UnitOfWork.size());
+        });
+
+        assertFalse(UnitOfWork.isActive());
+        assertEquals(0, UnitOfWork.size());
+        UnitOfWork.run(() -> assertNull(UnitOfWork.get(Tutor.class, "a@skolard.ca")));
+    }
+
+    @Test
+    public void testEvictForgetsEntry() {
+        UnitOfWork.run(() -> {
+            UnitOfWork.register(Student.class, "s@skolard.ca", new Student("S", "s@skolard.ca"));
+            UnitOfWork.evict(Student.class, "s@skolard.ca");
+            assertNull(UnitOfWork.get(Student.class, "s@skolard.ca"));
+        });
+    }
+
+    @Test
+    public void testNothingIsMappedOutsideUnitOfWork() {
+        Tutor tutor = new Tutor("A", "a@skolard.ca", "Bio");
+
+        assertSame(tutor, UnitOfWork.register(Tutor.class, "a@skolard.ca", tutor));
+        assertNull(UnitOfWork.get(Tutor.class, "a@skolard.ca"));
+    }
+
+    @Test
+    public void testEntriesAreEvictedWhenWorkThrows() {
+        assertThrows(IllegalStateException.class, () -> PersistenceRegistry.inUnitOfWork(() -> {
+            UnitOfWork.register(Tutor.class, "a@skolard.ca", new Tutor("A", "a@skolard.ca", "Bio"));
+            throw new IllegalStateException("boom");
+        }));
+
+        assertFalse(UnitOfWork.isActive());
+    }
+}
@@ -2,6 +2,7 @@ package skolard.persistence.sqlite;
 
 import org.junit.jupiter.api.*;
 import skolard.objects.Card;
+import skolard.persistence.ConnectionSource;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -26,7 +27,7 @@ public class CardDBTest {
         try (Statement stmt = connection.createStatement()) {
             stmt.execute("DELETE FROM card");
         }
-        cardDB = new CardDB(connection);
+        cardDB = new CardDB(ConnectionSource.of(connection));
     }
 
     @Test
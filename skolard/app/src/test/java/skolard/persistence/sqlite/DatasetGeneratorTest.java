@@ -0,0 +1,184 @@
+package skolard.persistence.sqlite;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatasetGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DatasetGenerator smallGenerator(long seed) {
+        return new DatasetGenerator(seed)
+            .students(200)
+            .tutors(50)
+            .courses(30)
+            .sessions(2_000)
+            .conversations(100)
+            .messages(3_000)
+            .ratings(300)
+            .ratingRequests(400)
+            .supportTickets(50)
+            .anchor(LocalDate.of(2025, 6, 1));
+    }
+
+    @Test
+    public void testGeneratesRequestedRowCounts() throws Exception {
+        String dbPath = tempDir.resolve("small.db").toString();
+        Map<String, Integer> written = smallGenerator(1).generate(dbPath);
+
+        assertEquals(200, written.get("student"));
+        assertEquals(50, written.get("tutor"));
+        assertEquals(2_000, written.get("session"));
+        assertEquals(3_000, written.get("messages"));
+        assertEquals(300, written.get("ratings"));
+        assertEquals(400, written.get("ratingRequests"));
+        assertEquals(50, written.get("support_ticket"));
+
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbPath)) {
+            assertEquals(2_000, query(conn, "SELECT COUNT(*) FROM session"));
+            assertEquals((long) written.get("tutorCourse"), query(conn, "SELECT COUNT(*) FROM tutorCourse"));
+            assertEquals(SchemaMigrations.getLatestVersion(), SchemaMigrations.getVersion(conn));
+        }
+    }
+
+    @Test
+    public void testRowsReferenceGeneratedRows() throws Exception {
+        String dbPath = tempDir.resolve("refs.db").toString();
+        smallGenerator(2).generate(dbPath);
+
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbPath)) {
+            assertEquals(0, query(conn,
+                "SELECT COUNT(*) FROM session s LEFT JOIN tutor t ON t.email = s.tutorEmail WHERE t.email IS NULL"));
+            // Every session's course is one its tutor teaches
+            assertEquals(0, query(conn,
+                "SELECT COUNT(*) FROM session s LEFT JOIN tutorCourse tc " +
+                "ON tc.tutorEmail = s.tutorEmail AND tc.courseID = s.courseID WHERE tc.tutorEmail IS NULL"));
+            // Ratings and rating requests are for booked sessions that are over, by the student who booked
+            assertEquals(0, query(conn,
+                "SELECT COUNT(*) FROM ratings r JOIN session s ON s.id = r.sessionId " +
+                "WHERE s.studentEmail IS NOT r.studentEmail OR s.tutorEmail <> r.tutorEmail"));
+            assertEquals(0, query(conn,
+                "SELECT COUNT(*) FROM ratingRequests r JOIN session s ON s.id = r.sessionId " +
+                "WHERE s.studentEmail IS NOT r.studentEmail OR s.endTime > " +
+                EpochTime.toNanos(LocalDate.of(2025, 6, 1).atStartOfDay().plusHours(1))));
+            assertEquals(0, query(conn,
+                "SELECT COUNT(*) FROM support_ticket t LEFT JOIN student s ON s.email = t.requester_email " +
+                "WHERE s.email IS NULL"));
+        }
+    }
+
+    @Test
+    public void testSameSeedGivesSameData() throws Exception {
+        String first = tempDir.resolve("first.db").toString();
+        String second = tempDir.resolve("second.db").toString();
+        smallGenerator(3).generate(first);
+        smallGenerator(3).generate(second);
+
+        String fingerprint = "SELECT SUM(id * startTime % 1000003), COUNT(DISTINCT studentEmail) FROM session";
+        try (Connection a = DriverManager.getConnection("jdbc:sqlite:" + first);
+             Connection b = DriverManager.getConnection("jdbc:sqlite:" + second)) {
+            assertEquals(query(a, fingerprint), query(b, fingerprint));
+            assertEquals(query(a, "SELECT SUM(LENGTH(senderEmail) * timeSent % 1000003) FROM messages"),
+                query(b, "SELECT SUM(LENGTH(senderEmail) * timeSent % 1000003) FROM messages"));
+        }
+    }
+
+    @Test
+    public void testPopularTutorsHostMostSessions() throws Exception {
+        String dbPath = tempDir.resolve("skew.db").toString();
+        smallGenerator(4).generate(dbPath);
+
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbPath)) {
+            long busiest = query(conn,
+                "SELECT COUNT(*) FROM session WHERE tutorEmail = '" + DatasetGenerator.tutorEmail(0) + "'");
+            long quietest = query(conn,
+                "SELECT COUNT(*) FROM session WHERE tutorEmail = '" + DatasetGenerator.tutorEmail(49) + "'");
+            assertTrue(busiest > 10 * Math.max(1, quietest), busiest + " vs " + quietest);
+        }
+    }
+
+    @Test
+    public void testRefusesPopulatedDatabase() {
+        String dbPath = tempDir.resolve("twice.db").toString();
+        smallGenerator(5).generate(dbPath);
+
+        RuntimeException ex = assertThrows(IllegalStateException.class, () -> smallGenerator(5).generate(dbPath));
+        assertTrue(ex.getMessage().contains("without students"));
+    }
+
+    @Test
+    public void testZipfSamplerSkew() {
+        ZipfSampler uniform = new ZipfSampler(10, 0);
+        ZipfSampler skewed = new ZipfSampler(10, 1.2);
+        SplittableRandom random = new SplittableRandom(9);
+        int[] uniformCounts = new int[10];
+        int[] skewedCounts = new int[10];
+        for (int i = 0; i < 20_000; i++) {
+            uniformCounts[uniform.next(random)]++;
+            skewedCounts[skewed.next(random)]++;
+        }
+
+        for (int count : uniformCounts) {
+            assertEquals(2_000, count, 300);
+        }
+        for (int k = 1; k < 10; k++) {
+            assertTrue(skewedCounts[k - 1] > skewedCounts[k]);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(0, 1));
+    }
+
+    @Test
+    public void testHighSkewStillGivesTutorsDistinctCourses() throws Exception {
+        String dbPath = tempDir.resolve("steep.db").toString();
+        // Every tutor may teach every course, which used to stall on repeats of the top courses
+        DatasetGenerator generator = smallGenerator(6).skew(3).maxCoursesPerTutor(30);
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> generator.generate(dbPath));
+
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbPath)) {
+            assertEquals(0, query(conn, "SELECT COUNT(*) FROM (SELECT tutorEmail, courseID FROM tutorCourse "
+                + "GROUP BY tutorEmail, courseID HAVING COUNT(*) > 1)"));
+        }
+    }
+
+    @Test
+    public void testZipfSamplerDrawsDistinctRanks() {
+        ZipfSampler steep = new ZipfSampler(40, 3);
+        SplittableRandom random = new SplittableRandom(11);
+
+        int[] all = steep.distinct(random, 40);
+        assertEquals(40, IntStream.of(all).distinct().count());
+        assertEquals(40, all.length);
+
+        // The top rank still comes first far more often than not
+        int topFirst = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (steep.distinct(random, 3)[0] == 0) {
+                topFirst++;
+            }
+        }
+        assertTrue(topFirst > 700, "top rank first " + topFirst + " times");
+        assertThrows(IllegalArgumentException.class, () -> steep.distinct(random, 41));
+    }
+
+    private long query(Connection conn, String sql) throws Exception {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
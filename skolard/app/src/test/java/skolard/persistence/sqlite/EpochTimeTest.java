@@ -0,0 +1,72 @@
+package skolard.persistence.sqlite;
+
+import org.junit.jupiter.api.*;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EpochTimeTest {
+
+    @Test
+    void testRoundTripKeepsFullPrecision() {
+        LocalDateTime time = LocalDateTime.of(2025, 6, 11, 9, 30, 15, 123_456_789);
+        assertEquals(time, EpochTime.fromNanos(EpochTime.toNanos(time)));
+    }
+
+    @Test
+    void testRoundTripBeforeEpoch() {
+        LocalDateTime time = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 500_000_000);
+        assertEquals(time, EpochTime.fromNanos(EpochTime.toNanos(time)));
+    }
+
+    @Test
+    void testOrderMatchesChronologicalOrder() {
+        LocalDateTime earlier = LocalDateTime.of(2025, 1, 9, 10, 0);
+        LocalDateTime later = LocalDateTime.of(2025, 1, 10, 9, 0);
+        assertTrue(EpochTime.toNanos(earlier) < EpochTime.toNanos(later));
+    }
+
+    @Test
+    void testSqlConversionMatchesJavaEncoding() throws SQLException {
+        LocalDateTime[] times = {
+            LocalDateTime.of(2025, 6, 11, 9, 0),
+            LocalDateTime.of(2024, 1, 15, 14, 30, 5),
+            LocalDateTime.of(2026, 10, 18, 23, 59, 59, 987_654_321),
+            LocalDateTime.of(2026, 10, 18, 23, 59, 59, 999_900_000),
+            LocalDateTime.of(2026, 10, 18, 8, 0, 0, 120_000_000)
+        };
+
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+             PreparedStatement stmt = connection.prepareStatement(
+                 "SELECT " + EpochTime.fromIsoText("iso") + " FROM (SELECT ? AS iso)")) {
+            for (LocalDateTime time : times) {
+                // Stored text was produced by LocalDateTime.toString()
+                stmt.setString(1, time.toString());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(EpochTime.toNanos(time), rs.getLong(1), time.toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testNullValuesRoundTrip() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("CREATE TABLE t (at INTEGER)");
+            }
+            try (PreparedStatement stmt = connection.prepareStatement("INSERT INTO t VALUES (?)")) {
+                EpochTime.set(stmt, 1, null);
+                stmt.executeUpdate();
+            }
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT at FROM t")) {
+                assertTrue(rs.next());
+                assertNull(EpochTime.get(rs, "at"));
+            }
+        }
+    }
+}
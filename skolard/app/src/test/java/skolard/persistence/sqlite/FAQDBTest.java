@@ -1,11 +1,15 @@
 package skolard.persistence.sqlite;
 
 import skolard.objects.FAQ;
+import skolard.persistence.ConnectionSource;
 import skolard.persistence.FAQPersistence;
+import skolard.persistence.RankedFAQ;
+import skolard.persistence.stub.FAQStub;
 import org.junit.jupiter.api.*;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.Statement;
 import java.util.List;
 
@@ -21,7 +25,7 @@ public class FAQDBTest {
     public void setupDatabase() throws Exception {
         connection = DriverManager.getConnection("jdbc:sqlite::memory:");
         SchemaInitializer.initializeSchema(connection);
-        faqDB = new FAQDB(connection);
+        faqDB = new FAQDB(ConnectionSource.of(connection));
     }
 
     @BeforeEach
@@ -71,6 +75,85 @@ public class FAQDBTest {
         assertEquals("Can I rebook a tutor?", results.get(0).getQuestion());
     }
 
+    @Test
+    public void testSearchFAQsMatchesPrefixesOfEveryTerm() {
+        faqDB.addFAQ(new FAQ("How do I book a session?", "Choose a time slot."));
+        faqDB.addFAQ(new FAQ("Can I cancel a booking?", "Message your tutor."));
+        faqDB.addFAQ(new FAQ("How do I rate a tutor?", "Go to the Ratings section."));
+
+        assertEquals(2, faqDB.searchFAQs("boo").size());
+        List<FAQ> results = faqDB.searchFAQs("Booking  CANCEL!");
+        assertEquals(1, results.size());
+        assertEquals("Can I cancel a booking?", results.get(0).getQuestion());
+        assertTrue(faqDB.searchFAQs("  ?! ").isEmpty());
+    }
+
+    @Test
+    public void testRankFAQsPrefersQuestionMatches() {
+        faqDB.addFAQ(new FAQ("Where are my messages?", "Tutor replies appear in the inbox."));
+        faqDB.addFAQ(new FAQ("How do I message a tutor?", "Open the messaging view."));
+
+        List<RankedFAQ> ranked = faqDB.rankFAQs("tutor", 10);
+
+        assertEquals(2, ranked.size());
+        assertEquals("How do I message a tutor?", ranked.get(0).getFAQ().getQuestion());
+        assertTrue(ranked.get(0).getScore() > ranked.get(1).getScore());
+    }
+
+    @Test
+    public void testSearchFollowsUpdatesAndDeletes() throws Exception {
+        faqDB.addFAQ(new FAQ("How do I reset my password?", "Use the login screen."));
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("UPDATE faq SET answer = 'Ask support.' WHERE question = 'How do I reset my password?'");
+        }
+
+        assertTrue(faqDB.searchFAQs("login").isEmpty());
+        assertEquals(1, faqDB.searchFAQs("support").size());
+
+        faqDB.deleteFAQByQuestion("How do I reset my password?");
+        assertTrue(faqDB.searchFAQs("support").isEmpty());
+    }
+
+    @Test
+    public void testSearchUsesFullTextIndex() throws Exception {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("EXPLAIN QUERY PLAN SELECT * FROM faq_fts WHERE faq_fts MATCH 'book*'")) {
+            assertTrue(rs.next());
+            assertTrue(rs.getString("detail").contains("VIRTUAL TABLE INDEX"), rs.getString("detail"));
+        }
+    }
+
+    @Test
+    public void testRankingMatchesStub() {
+        FAQStub stub = new FAQStub();
+        stub.getAllFAQs().forEach(f -> stub.deleteFAQByQuestion(f.getQuestion()));
+        for (FAQ faq : List.of(
+                new FAQ("How do I book a session?", "Choose a time slot in the booking view."),
+                new FAQ("Can I book two sessions at once?", "Yes, book each session separately."),
+                new FAQ("How do I pay for a session?", "Add a card before you book."),
+                new FAQ("How do I contact a tutor?", "Use the messaging view."))) {
+            faqDB.addFAQ(faq);
+            stub.addFAQ(faq);
+        }
+
+        for (String query : List.of("book", "session", "book sess", "view", "tutor")) {
+            List<RankedFAQ> expected = faqDB.rankFAQs(query, 10);
+            List<RankedFAQ> actual = stub.rankFAQs(query, 10);
+            assertEquals(expected.size(), actual.size(), query);
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getFAQ().getQuestion(), actual.get(i).getFAQ().getQuestion(), query);
+                assertEquals(expected.get(i).getScore(), actual.get(i).getScore(), 1e-9, query);
+            }
+        }
+    }
+
+    @Test
+    public void testMatchExpressionQuotesTerms() {
+        assertEquals("\"book\"* \"sess\"*", FAQDB.matchExpression("Book sess"));
+        assertEquals("\"or\"* \"near\"* \"x\"*", FAQDB.matchExpression("OR NEAR(\"x"));
+        assertNull(FAQDB.matchExpression(null));
+    }
+
     @Test
     public void testDuplicateFAQInsertionIgnored() {
         FAQ faq = new FAQ("What is SkolarD?", "It’s a tutor matching platform.");
@@ -1,6 +1,7 @@
 package skolard.persistence.sqlite;
 
 import org.junit.jupiter.api.*;
+import skolard.persistence.ConnectionSource;
 import skolard.utils.PasswordUtil;
 
 import java.sql.*;
@@ -23,7 +24,7 @@ public class LoginDBTest {
 
     @BeforeEach
     void init() {
-        loginDB = new LoginDB(connection);
+        loginDB = new LoginDB(ConnectionSource.of(connection));
     }
 
     private void insert(String table, String email, String plainPassword) throws Exception {
@@ -2,10 +2,14 @@ package skolard.persistence.sqlite;
 
 import org.junit.jupiter.api.*;
 import skolard.objects.Message;
+import skolard.persistence.ConnectionSource;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.ArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -19,7 +23,7 @@ public class MessageDBTest {
     void setup() throws Exception {
         connection = DriverManager.getConnection("jdbc:sqlite::memory:");
         SchemaInitializer.initializeSchema(connection);
-        messageDB = new MessageDB(connection);
+        messageDB = new MessageDB(ConnectionSource.of(connection));
     }
 
     @BeforeEach
@@ -117,4 +121,24 @@ public class MessageDBTest {
         fake.editMessage("phantom");
         assertDoesNotThrow(() -> messageDB.updateMessage(fake));
     }
+
+    @Test
+    void testStreamMessageHistoryMatchesList() {
+        messageDB.addMessage(createMessage("alice@skolard.ca", "bob@skolard.ca", "alice@skolard.ca", "Hello"));
+        messageDB.addMessage(createMessage("alice@skolard.ca", "bob@skolard.ca", "bob@skolard.ca", "Hi"));
+        messageDB.addMessage(createMessage("alice@skolard.ca", "carl@skolard.ca", "alice@skolard.ca", "Other"));
+
+        List<String> streamed;
+        try (Stream<Message> history = messageDB.streamMessageHistory("alice@skolard.ca", "bob@skolard.ca", 1)) {
+            streamed = history.map(Message::getMessage).collect(Collectors.toList());
+        }
+        assertEquals(List.of("Hello", "Hi"), streamed);
+    }
+
+    @Test
+    void testForEachMessageEmpty() {
+        List<Message> visited = new ArrayList<>();
+        messageDB.forEachMessage("ghost@skolard.ca", "none@skolard.ca", 0, visited::add);
+        assertTrue(visited.isEmpty());
+    }
 }
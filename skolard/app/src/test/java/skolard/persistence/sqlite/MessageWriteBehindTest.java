@@ -0,0 +1,129 @@
+package skolard.persistence.sqlite;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import skolard.objects.Message;
+import skolard.persistence.ConnectionPool;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MessageWriteBehindTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        pool = new ConnectionPool(tempDir.resolve("messages.db").toString(), 2, 1000);
+        try (Connection conn = pool.writer()) {
+            SchemaInitializer.initializeSchema(conn);
+        }
+    }
+
+    @AfterEach
+    public void cleanup() {
+        pool.close();
+    }
+
+    private Message message(String text) {
+        return new Message(0, LocalDateTime.now(), "student@skolard.ca", "tutor@skolard.ca",
+            "student@skolard.ca", text);
+    }
+
+    @Test
+    public void testQueuedMessagesGetGeneratedIds() throws Exception {
+        List<CompletableFuture<Message>> futures = new ArrayList<>();
+        try (MessageWriteBehind writeBehind = new MessageWriteBehind(pool, 8, 5, 100)) {
+            for (int i = 0; i < 20; i++) {
+                futures.add(writeBehind.submit(message("Hello " + i)));
+            }
+
+            Set<Integer> ids = new HashSet<>();
+            for (int i = 0; i < futures.size(); i++) {
+                Message stored = futures.get(i).get(5, TimeUnit.SECONDS);
+                assertEquals("Hello " + i, stored.getMessage());
+                ids.add(stored.getMessageId());
+            }
+            assertEquals(20, ids.size());
+        }
+        assertEquals(20, countMessages());
+    }
+
+    @Test
+    public void testCloseFlushesQueuedMessages() throws Exception {
+        List<CompletableFuture<Message>> futures = new ArrayList<>();
+        // A long flush interval keeps the messages queued until close
+        MessageWriteBehind writeBehind = new MessageWriteBehind(pool, 100, 60_000, 100);
+        for (int i = 0; i < 5; i++) {
+            futures.add(writeBehind.submit(message("Queued " + i)));
+        }
+
+        writeBehind.close();
+
+        for (CompletableFuture<Message> future : futures) {
+            assertTrue(future.isDone());
+            assertTrue(future.join().getMessageId() > 0);
+        }
+        assertEquals(5, countMessages());
+        assertEquals(0, writeBehind.pending());
+        assertThrows(IllegalStateException.class, () -> writeBehind.submit(message("Too late")));
+    }
+
+    @Test
+    public void testBadMessageDoesNotFailItsBatch() throws Exception {
+        CompletableFuture<Message> good;
+        CompletableFuture<Message> bad;
+        MessageWriteBehind writeBehind = new MessageWriteBehind(pool, 100, 60_000, 100);
+        good = writeBehind.submit(message("Fine"));
+        bad = writeBehind.submit(message(null));
+        writeBehind.close();
+
+        assertEquals("Fine", good.join().getMessage());
+        CompletionException thrown = assertThrows(CompletionException.class, bad::join);
+        assertEquals("Error adding message", thrown.getCause().getMessage());
+        assertEquals(1, countMessages());
+    }
+
+    @Test
+    public void testMessageDBWriteBehindMode() throws Exception {
+        MessageDB messageDB = new MessageDB(pool, 16, 5, 100);
+        try {
+            Message stored = messageDB.addMessage(message("Sync"));
+            assertTrue(stored.getMessageId() > 0);
+
+            Message queued = messageDB.addMessageAsync(message("Async")).get(5, TimeUnit.SECONDS);
+            assertTrue(queued.getMessageId() > stored.getMessageId());
+
+            // Inside a transaction the insert joins it instead of waiting on the queue
+            Message joined = pool.inTransaction(() -> messageDB.addMessage(message("In transaction")));
+            assertTrue(joined.getMessageId() > queued.getMessageId());
+        } finally {
+            messageDB.close();
+        }
+        assertEquals(3, messageDB.getMessageHistory("student@skolard.ca", "tutor@skolard.ca").size());
+    }
+
+    private int countMessages() throws Exception {
+        try (Connection conn = pool.reader();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM messages")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
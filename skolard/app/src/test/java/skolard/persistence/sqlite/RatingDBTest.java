@@ -3,6 +3,7 @@ package skolard.persistence.sqlite;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import skolard.objects.Feedback;
+import skolard.persistence.ConnectionSource;
 
 import java.sql.*;
 import java.util.List;
@@ -22,7 +23,7 @@ class RatingDBTest {
         mockConn = mock(Connection.class);
         mockStmt = mock(PreparedStatement.class);
         mockRs = mock(ResultSet.class);
-        ratingDB = new RatingDB(mockConn);
+        ratingDB = new RatingDB(ConnectionSource.of(mockConn));
     }
 
     @Test
@@ -3,12 +3,15 @@ package skolard.persistence.sqlite;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import skolard.objects.*;
+import skolard.persistence.ConnectionSource;
 import skolard.persistence.SessionPersistence;
 import skolard.persistence.StudentPersistence;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -36,7 +39,7 @@ class RatingRequestDBTest {
         mockStatement = mock(Statement.class);
         mockStudentPersistence = mock(StudentPersistence.class);
         mockSessionPersistence = mock(SessionPersistence.class);
-        ratingRequestDB = new RatingRequestDB(mockConn, mockStudentPersistence, mockSessionPersistence);
+        ratingRequestDB = new RatingRequestDB(ConnectionSource.of(mockConn), mockStudentPersistence, mockSessionPersistence);
 
         student = new Student("Alice", "alice@example.com", "hashed123");
         Tutor tutor = mock(Tutor.class); // you may replace with real Tutor if needed
@@ -86,18 +89,42 @@ class RatingRequestDBTest {
         when(mockRs.getInt("id")).thenReturn(1);
         when(mockRs.getInt("sessionId")).thenReturn(1);
         when(mockRs.getString("studentEmail")).thenReturn(student.getEmail());
-        when(mockRs.getString("createdAt")).thenReturn(LocalDateTime.now().toString());
+        when(mockRs.getLong("createdAt")).thenReturn(EpochTime.toNanos(LocalDateTime.now()));
         when(mockRs.getInt("completed")).thenReturn(1);
         when(mockRs.getInt("skipped")).thenReturn(0);
 
-        when(mockStudentPersistence.getStudentByEmail(any())).thenReturn(student);
-        when(mockSessionPersistence.getSessionById(anyInt())).thenReturn(session);
+        when(mockStudentPersistence.getStudentsByEmails(any())).thenReturn(List.of(student));
+        when(mockSessionPersistence.getSessionsByIds(any())).thenReturn(List.of(session));
 
         List<RatingRequest> requests = ratingRequestDB.getAllRequests();
         assertEquals(1, requests.size());
         assertEquals("Math", requests.get(0).getSession().getCourseName());
     }
 
+    @Test
+    void testGetAllRequests_resolvesRowsInOneBatch() throws Exception {
+        when(mockConn.createStatement()).thenReturn(mockStatement);
+        when(mockStatement.executeQuery(any())).thenReturn(mockRs);
+        when(mockRs.next()).thenReturn(true, true, false);
+
+        when(mockRs.getInt("id")).thenReturn(1, 2);
+        when(mockRs.getInt("sessionId")).thenReturn(1);
+        when(mockRs.getString("studentEmail")).thenReturn(student.getEmail());
+        when(mockRs.getLong("createdAt")).thenReturn(EpochTime.toNanos(LocalDateTime.now()));
+
+        when(mockStudentPersistence.getStudentsByEmails(Set.of(student.getEmail()))).thenReturn(List.of(student));
+        when(mockSessionPersistence.getSessionsByIds(Set.of(1))).thenReturn(List.of(session));
+
+        List<RatingRequest> requests = ratingRequestDB.getAllRequests();
+        assertEquals(2, requests.size());
+        assertSame(session, requests.get(1).getSession());
+        assertSame(student, requests.get(1).getStudent());
+        verify(mockSessionPersistence, times(1)).getSessionsByIds(any());
+        verify(mockStudentPersistence, times(1)).getStudentsByEmails(any());
+        verify(mockSessionPersistence, never()).getSessionById(anyInt());
+        verify(mockStudentPersistence, never()).getStudentByEmail(any());
+    }
+
     @Test
     void testGetPendingRequestsForStudent_success() throws Exception {
         when(mockConn.prepareStatement(any())).thenReturn(mockStmt);
@@ -107,12 +134,12 @@ class RatingRequestDBTest {
         when(mockRs.getInt("id")).thenReturn(1);
         when(mockRs.getInt("sessionId")).thenReturn(1);
         when(mockRs.getString("studentEmail")).thenReturn(student.getEmail());
-        when(mockRs.getString("createdAt")).thenReturn(LocalDateTime.now().toString());
+        when(mockRs.getLong("createdAt")).thenReturn(EpochTime.toNanos(LocalDateTime.now()));
         when(mockRs.getInt("completed")).thenReturn(0);
         when(mockRs.getInt("skipped")).thenReturn(0);
 
-        when(mockStudentPersistence.getStudentByEmail(any())).thenReturn(student);
-        when(mockSessionPersistence.getSessionById(anyInt())).thenReturn(session);
+        when(mockStudentPersistence.getStudentsByEmails(any())).thenReturn(List.of(student));
+        when(mockSessionPersistence.getSessionsByIds(any())).thenReturn(List.of(session));
 
         List<RatingRequest> result = ratingRequestDB.getPendingRequestsForStudent("alice@example.com");
         assertEquals(1, result.size());
@@ -128,16 +155,36 @@ class RatingRequestDBTest {
         when(mockRs.getInt("id")).thenReturn(1);
         when(mockRs.getInt("sessionId")).thenReturn(1);
         when(mockRs.getString("studentEmail")).thenReturn(student.getEmail());
-        when(mockRs.getString("createdAt")).thenReturn(LocalDateTime.now().toString());
+        when(mockRs.getLong("createdAt")).thenReturn(EpochTime.toNanos(LocalDateTime.now()));
         when(mockRs.getInt("completed")).thenReturn(0);
         when(mockRs.getInt("skipped")).thenReturn(0);
 
-        when(mockStudentPersistence.getStudentByEmail(any())).thenReturn(student);
-        when(mockSessionPersistence.getSessionById(anyInt())).thenReturn(session);
+        when(mockStudentPersistence.getStudentsByEmails(any())).thenReturn(List.of(student));
+        when(mockSessionPersistence.getSessionsByIds(any())).thenReturn(List.of(session));
 
         List<RatingRequest> result = ratingRequestDB.getPendingSessionRequest(1);
         assertEquals(1, result.size());
         assertEquals(1, result.get(0).getSession().getSessionId());
     }
 
+    @Test
+    void testStreamAllRequests_closesCursor() throws Exception {
+        when(mockConn.prepareStatement(any())).thenReturn(mockStmt);
+        when(mockStmt.executeQuery()).thenReturn(mockRs);
+        when(mockRs.next()).thenReturn(true, false);
+
+        when(mockRs.getInt("id")).thenReturn(1);
+        when(mockRs.getInt("sessionId")).thenReturn(1);
+        when(mockRs.getString("studentEmail")).thenReturn(student.getEmail());
+        when(mockRs.getLong("createdAt")).thenReturn(EpochTime.toNanos(LocalDateTime.now()));
+
+        when(mockStudentPersistence.getStudentByEmail(any())).thenReturn(student);
+        when(mockSessionPersistence.getSessionById(anyInt())).thenReturn(session);
+
+        List<RatingRequest> requests = ratingRequestDB.streamAllRequests(100).collect(Collectors.toList());
+        assertEquals(1, requests.size());
+        verify(mockStmt).setFetchSize(100);
+        verify(mockRs).close();
+        verify(mockStmt).close();
+    }
 }
@@ -0,0 +1,114 @@
+package skolard.persistence.sqlite;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import skolard.persistence.ConnectionSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ResultSetStreamTest {
+
+    private Connection mockConn;
+    private PreparedStatement mockStmt;
+    private ResultSet mockRs;
+    private ConnectionSource connections;
+
+    @BeforeEach
+    void setup() throws Exception {
+        mockConn = mock(Connection.class);
+        mockStmt = mock(PreparedStatement.class);
+        mockRs = mock(ResultSet.class);
+        // Hands out the mock itself so closing the borrowed connection is observable
+        connections = new ConnectionSource() {
+            @Override
+            public Connection reader() {
+                return mockConn;
+            }
+
+            @Override
+            public Connection writer() {
+                return mockConn;
+            }
+        };
+
+        when(mockConn.prepareStatement(any())).thenReturn(mockStmt);
+        when(mockStmt.executeQuery()).thenReturn(mockRs);
+        when(mockRs.next()).thenReturn(true, true, true, false);
+        when(mockRs.getString("name")).thenReturn("a", "b", "c");
+    }
+
+    private Stream<String> open(int fetchSize) {
+        return ResultSetStream.open(connections, "SELECT name FROM t WHERE x = ?",
+            stmt -> stmt.setInt(1, 7), fetchSize, rs -> rs.getString("name"), "Error streaming");
+    }
+
+    @Test
+    void testStreamsRowsLazilyInOrder() throws Exception {
+        Stream<String> rows = open(50);
+
+        // Nothing is read until the stream is consumed
+        verify(mockRs, never()).next();
+        assertEquals(List.of("a", "b", "c"), rows.collect(Collectors.toList()));
+        verify(mockStmt).setFetchSize(50);
+        verify(mockStmt).setInt(1, 7);
+    }
+
+    @Test
+    void testReleasesResourcesWhenExhausted() throws Exception {
+        open(0).forEach(row -> {});
+
+        verify(mockRs).close();
+        verify(mockStmt).close();
+        verify(mockConn).close();
+    }
+
+    @Test
+    void testReleasesResourcesOnceWhenClosedEarly() throws Exception {
+        Optional<String> first;
+        try (Stream<String> rows = open(0)) {
+            first = rows.findFirst();
+        }
+
+        assertEquals(Optional.of("a"), first);
+        verify(mockRs, times(1)).next();
+        verify(mockRs, times(1)).close();
+        verify(mockStmt, times(1)).close();
+        verify(mockConn, times(1)).close();
+    }
+
+    @Test
+    void testRowErrorClosesAndRethrows() throws Exception {
+        when(mockRs.getString("name")).thenThrow(new SQLException("boom"));
+
+        Stream<String> rows = open(0);
+        RuntimeException e = assertThrows(RuntimeException.class, () -> rows.forEach(row -> {}));
+        assertEquals("Error streaming", e.getMessage());
+        verify(mockConn).close();
+    }
+
+    @Test
+    void testQueryErrorClosesAndRethrows() throws Exception {
+        when(mockStmt.executeQuery()).thenThrow(new SQLException("boom"));
+
+        assertThrows(RuntimeException.class, () -> open(0));
+        verify(mockStmt).close();
+        verify(mockConn).close();
+    }
+
+    @Test
+    void testNegativeFetchSizeThrows() {
+        assertThrows(IllegalArgumentException.class, () -> open(-1));
+        verifyNoInteractions(mockConn);
+    }
+}
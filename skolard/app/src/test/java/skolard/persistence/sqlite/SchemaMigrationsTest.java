@@ -0,0 +1,215 @@
+package skolard.persistence.sqlite;
+
+import org.junit.jupiter.api.*;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchemaMigrationsTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    void setup() throws Exception {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+    }
+
+    @AfterEach
+    void cleanup() throws Exception {
+        connection.close();
+    }
+
+    @Test
+    void testInitializeSchemaMigratesToLatestVersion() {
+        assertEquals(0, SchemaMigrations.getVersion(connection));
+
+        SchemaInitializer.initializeSchema(connection);
+
+        assertEquals(SchemaMigrations.getLatestVersion(), SchemaMigrations.getVersion(connection));
+        assertTrue(indexExists("idx_session_tutor"));
+        assertTrue(indexExists("idx_messages_conversation"));
+        assertTrue(indexExists("idx_ratingRequests_student"));
+    }
+
+    @Test
+    void testInitializeSchemaTwiceIsNoOp() {
+        SchemaInitializer.initializeSchema(connection);
+        assertDoesNotThrow(() -> SchemaInitializer.initializeSchema(connection));
+        assertEquals(SchemaMigrations.getLatestVersion(), SchemaMigrations.getVersion(connection));
+    }
+
+    @Test
+    void testLookupsUseIndexes() throws SQLException {
+        SchemaInitializer.initializeSchema(connection);
+
+        assertTrue(queryPlan("SELECT * FROM session WHERE tutorEmail = 'a'").contains("idx_session_tutor"));
+        assertTrue(queryPlan("SELECT * FROM ratings WHERE tutorEmail = 'a'").contains("idx_ratings_tutor"));
+        assertTrue(queryPlan("SELECT * FROM messages WHERE studentEmail = 'a' AND tutorEmail = 'b' ORDER BY timeSent")
+            .contains("idx_messages_conversation"));
+        assertTrue(queryPlan("SELECT * FROM ratingRequests WHERE completed = 0 AND skipped = 0 AND studentEmail = 'a'")
+            .contains("idx_ratingRequests_student"));
+        assertTrue(queryPlan("SELECT * FROM session WHERE studentEmail IS NULL AND courseID = 'a' COLLATE NOCASE")
+            .contains("idx_session_open_course"));
+    }
+
+    @Test
+    void testTimestampMigrationConvertsExistingRows() throws SQLException {
+        // A database created before timestamps were stored as integers
+        SchemaInitializer.createTables(connection);
+        SchemaMigrations.migrate(connection, SchemaMigrations.MIGRATIONS.subList(0, 1));
+        LocalDateTime start = LocalDateTime.of(2025, 6, 11, 9, 0);
+        LocalDateTime sent = LocalDateTime.of(2024, 1, 15, 14, 30, 5, 250_000_000);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA foreign_keys = ON");
+            stmt.execute("INSERT INTO tutor VALUES ('t@skolard.ca', 'T', 'Bio', 'x')");
+            stmt.execute("INSERT INTO student VALUES ('s@skolard.ca', 'S', 'x')");
+            stmt.execute("INSERT INTO session (id, tutorEmail, studentEmail, startTime, endTime, courseID) VALUES " +
+                "(7, 't@skolard.ca', NULL, '" + start + "', '" + start.plusHours(1) + "', 'COMP1010')");
+            stmt.execute("INSERT INTO session (id, tutorEmail, studentEmail, startTime, endTime, courseID) VALUES " +
+                "(9, 't@skolard.ca', NULL, '" + start + "', '" + start.plusHours(1) + "', 'COMP1010')");
+            stmt.execute("DELETE FROM session WHERE id = 9");
+            stmt.execute("INSERT INTO messages (timeSent, studentEmail, tutorEmail, senderEmail, message) VALUES " +
+                "('" + sent + "', 's@skolard.ca', 't@skolard.ca', 's@skolard.ca', 'Hi')");
+            stmt.execute("INSERT INTO support_ticket (requester_email, requester_role, title, description, " +
+                "created_at, closed_at, is_handled) VALUES ('s@skolard.ca', 'student', 'T', 'D', '" + sent + "', NULL, 0)");
+            stmt.execute("INSERT INTO ratingRequests (sessionId, studentEmail, completed, skipped, createdAt) VALUES " +
+                "(7, 's@skolard.ca', 0, 0, '" + sent + "')");
+        }
+
+        SchemaMigrations.migrate(connection);
+
+        assertEquals(SchemaMigrations.getLatestVersion(), SchemaMigrations.getVersion(connection));
+        try (Statement stmt = connection.createStatement()) {
+            ResultSet rs = stmt.executeQuery("SELECT typeof(startTime), startTime, endTime FROM session");
+            assertTrue(rs.next());
+            assertEquals("integer", rs.getString(1));
+            assertEquals(EpochTime.toNanos(start), rs.getLong(2));
+            assertEquals(EpochTime.toNanos(start.plusHours(1)), rs.getLong(3));
+
+            rs = stmt.executeQuery("SELECT timeSent FROM messages");
+            assertTrue(rs.next());
+            assertEquals(sent, EpochTime.get(rs, "timeSent"));
+
+            rs = stmt.executeQuery("SELECT created_at, closed_at FROM support_ticket");
+            assertTrue(rs.next());
+            assertEquals(sent, EpochTime.get(rs, "created_at"));
+            assertNull(EpochTime.get(rs, "closed_at"));
+
+            // Dropping the old session table must not cascade into rating requests
+            rs = stmt.executeQuery("SELECT createdAt FROM ratingRequests WHERE sessionId = 7");
+            assertTrue(rs.next());
+            assertEquals(sent, EpochTime.get(rs, "createdAt"));
+
+            // IDs of deleted sessions are not handed out again
+            stmt.execute("INSERT INTO session (tutorEmail, startTime, endTime, courseID) VALUES ('t@skolard.ca', 0, 0, 'X')");
+            rs = stmt.executeQuery("SELECT MAX(id) FROM session");
+            assertTrue(rs.next());
+            assertEquals(10, rs.getInt(1));
+
+            // The setting the caller had is restored
+            rs = stmt.executeQuery("PRAGMA foreign_keys");
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt(1));
+        }
+        assertTrue(indexExists("idx_session_tutor"));
+        assertTrue(indexExists("idx_messages_conversation"));
+    }
+
+    @Test
+    void testSessionTimeRangesUseIndexes() throws SQLException {
+        SchemaInitializer.initializeSchema(connection);
+
+        assertTrue(queryPlan("SELECT * FROM session WHERE tutorEmail = 'a' AND endTime < 5")
+            .contains("idx_session_tutor (tutorEmail=? AND endTime<?)"));
+        assertTrue(queryPlan("SELECT * FROM session WHERE studentEmail IS NULL AND courseID = 'a' COLLATE NOCASE " +
+            "AND startTime >= 5").contains("idx_session_open_course (courseID=? AND startTime>?)"));
+    }
+
+    @Test
+    void testFullTextMigrationIndexesExistingFAQs() throws SQLException {
+        SchemaInitializer.createTables(connection);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("INSERT INTO faq (question, answer) VALUES ('How do I book?', 'Pick a slot.')");
+        }
+
+        SchemaMigrations.migrate(connection);
+
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT question FROM faq_fts WHERE faq_fts MATCH 'slot'")) {
+            assertTrue(rs.next());
+            assertEquals("How do I book?", rs.getString(1));
+        }
+    }
+
+    @Test
+    void testOnlyPendingMigrationsRun() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA user_version = 2");
+        }
+
+        // Version 2 would fail if it ran again
+        SchemaMigrations.migrate(connection, List.of(
+            new SchemaMigrations.Migration(2, "already applied", "NOT VALID SQL"),
+            new SchemaMigrations.Migration(3, "pending", "CREATE TABLE added (x INTEGER)")));
+
+        assertEquals(3, SchemaMigrations.getVersion(connection));
+        assertTrue(tableExists("added"));
+    }
+
+    @Test
+    void testFailedMigrationRollsBackAndKeepsVersion() {
+        List<SchemaMigrations.Migration> migrations = List.of(
+            new SchemaMigrations.Migration(1, "good", "CREATE TABLE first (x INTEGER)"),
+            new SchemaMigrations.Migration(2, "bad", "CREATE TABLE second (x INTEGER)", "NOT VALID SQL"));
+
+        assertThrows(RuntimeException.class, () -> SchemaMigrations.migrate(connection, migrations));
+
+        assertEquals(1, SchemaMigrations.getVersion(connection));
+        assertTrue(tableExists("first"));
+        assertFalse(tableExists("second"));
+    }
+
+    private boolean indexExists(String name) {
+        return objectExists("index", name);
+    }
+
+    private boolean tableExists(String name) {
+        return objectExists("table", name);
+    }
+
+    private boolean objectExists(String type, String name) {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT 1 FROM sqlite_master WHERE type = ? AND name = ?")) {
+            stmt.setString(1, type);
+            stmt.setString(2, name);
+            return stmt.executeQuery().next();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private String queryPlan(String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("EXPLAIN QUERY PLAN " + sql)) {
+            while (rs.next()) {
+                plan.append(rs.getString("detail")).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    @Test
+    void testSessionPagesSeekOnStartTimeIndexes() throws SQLException {
+        SchemaInitializer.initializeSchema(connection);
+
+        assertTrue(queryPlan("SELECT * FROM session s WHERE s.tutorEmail = 'a' AND (s.startTime, s.id) > (5, 1) " +
+            "ORDER BY s.startTime, s.id").contains("idx_session_tutor_start (tutorEmail=? AND startTime>?)"));
+        assertTrue(queryPlan("SELECT * FROM session s WHERE s.studentEmail IS NULL AND s.courseID = 'a' COLLATE NOCASE " +
+            "AND (s.startTime, s.id) > (5, 1) ORDER BY s.startTime, s.id")
+            .contains("idx_session_open_course (courseID=? AND startTime>?)"));
+    }
+}
@@ -4,12 +4,18 @@ import org.junit.jupiter.api.*;
 import skolard.objects.Session;
 import skolard.objects.Student;
 import skolard.objects.Tutor;
-import skolard.persistence.stub.StudentStub;
-import skolard.persistence.stub.TutorStub;
+import skolard.persistence.ConnectionSource;
+import skolard.persistence.SessionPage;
+import skolard.persistence.SessionSort;
+import skolard.persistence.SessionTimeframe;
+import skolard.persistence.UnitOfWork;
 
 import java.sql.*;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,13 +30,23 @@ public class SessionDBTest {
     static void setup() throws Exception {
         connection = DriverManager.getConnection("jdbc:sqlite::memory:");
         try (Statement stmt = connection.createStatement()) {
-            stmt.execute("CREATE TABLE session (id INTEGER PRIMARY KEY, tutorEmail TEXT, studentEmail TEXT, startTime TEXT, endTime TEXT, courseID TEXT);");
+            stmt.execute("CREATE TABLE session (id INTEGER PRIMARY KEY, tutorEmail TEXT, studentEmail TEXT, startTime INTEGER, endTime INTEGER, courseID TEXT);");
+            stmt.execute("CREATE TABLE tutor (email TEXT PRIMARY KEY, name TEXT, bio TEXT, password TEXT);");
+            stmt.execute("CREATE TABLE student (email TEXT PRIMARY KEY, name TEXT, password TEXT);");
+            stmt.execute("CREATE TABLE tutorCourse (tutorEmail TEXT, courseID TEXT, grade REAL, PRIMARY KEY(tutorEmail, courseID));");
+            stmt.execute("INSERT INTO tutor VALUES ('tutor@skolard.ca', 'Test Tutor', 'Bio', 'x');");
+            stmt.execute("INSERT INTO student VALUES ('student@skolard.ca', 'Test Student', 'x');");
+            stmt.execute("INSERT INTO tutorCourse VALUES ('tutor@skolard.ca', 'COMP1010', 4.5);");
+            stmt.execute("INSERT INTO tutorCourse VALUES ('tutor@skolard.ca', 'MATH2020', 3.5);");
+            stmt.execute("INSERT INTO tutor VALUES ('other@skolard.ca', 'Other Tutor', 'Bio', 'x');");
+            stmt.execute("INSERT INTO tutorCourse VALUES ('other@skolard.ca', 'COMP1010', 3.0);");
+            stmt.execute("INSERT INTO tutorCourse VALUES ('other@skolard.ca', 'PHYS1050', 5.5);");
         }
     }
 
     @BeforeEach
     void init() {
-        sessionDB = new SessionDB(connection, new StudentStub(), new TutorStub());
+        sessionDB = new SessionDB(ConnectionSource.of(connection));
         tutor = new Tutor("Test Tutor", "tutor@skolard.ca", "Bio");
         student = new Student("Test Student", "student@skolard.ca");
         try (Statement stmt = connection.createStatement()) {
@@ -50,6 +66,20 @@ public class SessionDBTest {
         assertEquals("COMP1010", result.getCourseName());
     }
 
+    @Test
+    void testGetSessionsByIdsSkipsUnknownIds() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Session first = sessionDB.addSession(new Session(-1, tutor, null, start, start.plusHours(1), "COMP1010"));
+        Session second = sessionDB.addSession(new Session(-1, tutor, student, start, start.plusHours(1), "MATH2020"));
+
+        List<Session> found = sessionDB.getSessionsByIds(List.of(second.getSessionId(), first.getSessionId(),
+            second.getSessionId(), 9999));
+
+        assertEquals(List.of(first.getSessionId(), second.getSessionId()),
+            found.stream().map(Session::getSessionId).sorted().toList());
+        assertTrue(sessionDB.getSessionsByIds(List.of()).isEmpty());
+    }
+
     @Test
     void testAddUnbookedSession() {
         Session session = new Session(-1, tutor, null, LocalDateTime.now(), LocalDateTime.now().plusHours(1), "COMP3010");
@@ -129,6 +159,135 @@ public class SessionDBTest {
         assertEquals(1, sessions.size());
     }
 
+    @Test
+    void testLoadedSessionsCarryTutorCoursesAndStudent() {
+        Session booked = sessionDB.addSession(new Session(-1, tutor, null, LocalDateTime.now(), LocalDateTime.now().plusHours(1), "COMP1010"));
+        booked.bookSession(student);
+        sessionDB.updateSession(booked);
+
+        Session fetched = sessionDB.getSessionById(booked.getSessionId());
+        assertEquals("Test Tutor", fetched.getTutor().getName());
+        assertEquals(4.5, fetched.getTutor().getGradeForCourse("COMP1010"));
+        assertEquals(3.5, fetched.getTutor().getGradeForCourse("MATH2020"));
+        assertEquals("Test Student", fetched.getStudent().getName());
+    }
+
+    @Test
+    void testSessionsOfSameTutorShareOneTutorObject() {
+        sessionDB.addSession(new Session(-1, tutor, null, LocalDateTime.now(), LocalDateTime.now().plusHours(1), "COMP1010"));
+        sessionDB.addSession(new Session(-1, tutor, null, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(1).plusHours(1), "MATH2020"));
+
+        List<Session> sessions = sessionDB.getSessionsByTutorEmail("tutor@skolard.ca");
+        assertEquals(2, sessions.size());
+        assertSame(sessions.get(0).getTutor(), sessions.get(1).getTutor());
+        assertEquals(2, sessions.get(0).getTutor().getCourses().size());
+    }
+
+    @Test
+    void testUnitOfWorkSharesTutorsAndStudentsAcrossQueries() {
+        sessionDB.addSession(new Session(-1, tutor, null, LocalDateTime.now(), LocalDateTime.now().plusHours(1), "COMP1010"));
+        Session booked = sessionDB.addSession(new Session(-1, tutor, null, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(1).plusHours(1), "MATH2020"));
+        booked.setStudent(student);
+        sessionDB.updateSession(booked);
+
+        UnitOfWork.run(() -> {
+            Session first = sessionDB.getSessionById(booked.getSessionId());
+            List<Session> byTutor = sessionDB.getSessionsByTutorEmail("tutor@skolard.ca");
+
+            assertSame(first.getTutor(), byTutor.get(0).getTutor());
+            assertSame(first.getStudent(), sessionDB.getSessionsByStudentEmail("student@skolard.ca").get(0).getStudent());
+            // The shared tutor still carries every course
+            assertEquals(2, byTutor.get(0).getTutor().getCourses().size());
+        });
+
+        // Outside the unit of work each query builds its own objects
+        assertNotSame(sessionDB.getSessionById(booked.getSessionId()).getTutor(),
+            sessionDB.getSessionById(booked.getSessionId()).getTutor());
+    }
+
+    @Test
+    void testSessionWithUnknownTutorHasNullTutor() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("INSERT INTO session (tutorEmail, studentEmail, startTime, endTime, courseID) " +
+                "VALUES ('ghost@skolard.ca', NULL, " +
+                EpochTime.toNanos(LocalDateTime.of(2030, 1, 1, 10, 0)) + ", " +
+                EpochTime.toNanos(LocalDateTime.of(2030, 1, 1, 11, 0)) + ", 'COMP1010')");
+        }
+
+        List<Session> sessions = sessionDB.getAllSessions();
+        assertEquals(1, sessions.size());
+        assertNull(sessions.get(0).getTutor());
+        assertNull(sessions.get(0).getStudent());
+    }
+
+    @Test
+    void testFindAvailableSessionsAppliesPredicates() {
+        LocalDateTime now = LocalDateTime.now();
+        Tutor other = new Tutor("Other Tutor", "other@skolard.ca", "Bio");
+
+        Session open = sessionDB.addSession(new Session(-1, tutor, null, now.plusDays(1), now.plusDays(1).plusHours(1), "COMP1010"));
+        Session lowerCase = sessionDB.addSession(new Session(-1, tutor, null, now.plusDays(2), now.plusDays(2).plusHours(1), "comp1010"));
+        sessionDB.addSession(new Session(-1, tutor, null, now.minusDays(1), now.minusDays(1).plusHours(1), "COMP1010"));
+        sessionDB.addSession(new Session(-1, tutor, null, now.plusDays(1), now.plusDays(1).plusHours(1), "MATH2020"));
+        sessionDB.addSession(new Session(-1, other, null, now.plusDays(1), now.plusDays(1).plusHours(1), "COMP1010"));
+        Session booked = sessionDB.addSession(new Session(-1, tutor, null, now.plusDays(3), now.plusDays(3).plusHours(1), "COMP1010"));
+        booked.bookSession(student);
+        sessionDB.updateSession(booked);
+
+        // The searching student is the other tutor, so their own session is left out
+        List<Session> result = sessionDB.findAvailableSessions("COMP1010", now, null, "OTHER@skolard.ca", SessionSort.NONE, 0);
+
+        assertEquals(List.of(open.getSessionId(), lowerCase.getSessionId()),
+            result.stream().map(Session::getSessionId).toList());
+        assertEquals(4.5, result.get(0).getTutor().getGradeForCourse("COMP1010"));
+    }
+
+    @Test
+    void testFindAvailableSessionsWithinTimeWindowByStartTime() {
+        LocalDateTime now = LocalDateTime.now();
+
+        Session later = sessionDB.addSession(new Session(-1, tutor, null, now.plusDays(2), now.plusDays(2).plusHours(1), "COMP1010"));
+        Session sooner = sessionDB.addSession(new Session(-1, tutor, null, now.plusDays(1), now.plusDays(1).plusHours(1), "COMP1010"));
+        sessionDB.addSession(new Session(-1, tutor, null, now.plusDays(5), now.plusDays(5).plusHours(1), "COMP1010"));
+
+        List<Session> result = sessionDB.findAvailableSessions("COMP1010", now, now.plusDays(3), null, SessionSort.START_TIME, 0);
+
+        assertEquals(List.of(sooner.getSessionId(), later.getSessionId()),
+            result.stream().map(Session::getSessionId).toList());
+    }
+
+    @Test
+    void testFindAvailableSessionsSortsByCourseGradeAndTutorAverage() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Tutor other = new Tutor("Other Tutor", "other@skolard.ca", "Bio");
+
+        Session byOther = sessionDB.addSession(new Session(-1, other, null, start, start.plusHours(1), "COMP1010"));
+        Session byTutor = sessionDB.addSession(new Session(-1, tutor, null, start, start.plusHours(1), "COMP1010"));
+
+        // tutor has the better COMP1010 grade (4.5 vs 3.0)...
+        List<Session> byGrade = sessionDB.findAvailableSessions("COMP1010", null, null, null, SessionSort.COURSE_GRADE, 0);
+        assertEquals(List.of(byTutor.getSessionId(), byOther.getSessionId()),
+            byGrade.stream().map(Session::getSessionId).toList());
+
+        // ...but other has the better average (4.25 vs 4.0)
+        List<Session> byAverage = sessionDB.findAvailableSessions("COMP1010", null, null, null, SessionSort.TUTOR_AVERAGE, 0);
+        assertEquals(List.of(byOther.getSessionId(), byTutor.getSessionId()),
+            byAverage.stream().map(Session::getSessionId).toList());
+    }
+
+    @Test
+    void testFindAvailableSessionsHonoursLimit() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= 5; i++) {
+            sessionDB.addSession(new Session(-1, tutor, null, now.plusDays(i), now.plusDays(i).plusHours(1), "COMP1010"));
+        }
+
+        List<Session> result = sessionDB.findAvailableSessions("COMP1010", now, null, null, SessionSort.START_TIME, 2);
+
+        assertEquals(2, result.size());
+        assertTrue(result.get(0).getStartDateTime().isBefore(result.get(1).getStartDateTime()));
+    }
+
     @Test
     void testGetSessionsByTutorEmailNoneFound() {
         List<Session> sessions = sessionDB.getSessionsByTutorEmail("notfound@skolard.ca");
@@ -183,4 +342,192 @@ public class SessionDBTest {
         Session session = new Session(-1, null, student, LocalDateTime.now(), LocalDateTime.now().plusHours(1), "COMP4040");
         assertThrows(RuntimeException.class, () -> sessionDB.addSession(session));
     }
+
+    @Test
+    void testStreamAllSessionsMatchesGetAllSessions() {
+        sessionDB.addSession(new Session(-1, tutor, null, LocalDateTime.now(), LocalDateTime.now().plusHours(1), "COMP1010"));
+        sessionDB.addSession(new Session(-1, new Tutor("Other Tutor", "other@skolard.ca", "Bio"), null,
+            LocalDateTime.now(), LocalDateTime.now().plusHours(1), "PHYS1050"));
+
+        List<Session> streamed;
+        try (Stream<Session> sessions = sessionDB.streamAllSessions(1)) {
+            streamed = sessions.collect(Collectors.toList());
+        }
+
+        List<Session> all = sessionDB.getAllSessions();
+        assertEquals(all.size(), streamed.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(all.get(i).getSessionId(), streamed.get(i).getSessionId());
+            assertEquals(all.get(i).getTutor().getCoursesWithGrades(), streamed.get(i).getTutor().getCoursesWithGrades());
+        }
+        assertEquals(4.5, streamed.get(0).getTutor().getGradeForCourse("COMP1010"));
+    }
+
+    @Test
+    void testForEachSessionVisitsEverySession() {
+        sessionDB.addSession(new Session(-1, tutor, null, LocalDateTime.now(), LocalDateTime.now().plusHours(1), "COMP1010"));
+        sessionDB.addSession(new Session(-1, tutor, null, LocalDateTime.now(), LocalDateTime.now().plusHours(1), "MATH2020"));
+
+        List<String> courses = new ArrayList<>();
+        sessionDB.forEachSession(0, session -> courses.add(session.getCourseName()));
+        assertEquals(List.of("COMP1010", "MATH2020"), courses);
+    }
+
+    @Test
+    void testFindAvailableSessionsPageWalksAllPagesInStartOrder() {
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        // Two sessions share a start time, so the ID breaks the tie
+        sessionDB.addSession(new Session(-1, tutor, null, base.plusHours(2), base.plusHours(3), "COMP1010"));
+        sessionDB.addSession(new Session(-1, tutor, null, base, base.plusHours(1), "COMP1010"));
+        sessionDB.addSession(new Session(-1, tutor, null, base, base.plusHours(1), "COMP1010"));
+        sessionDB.addSession(new Session(-1, tutor, null, base.plusHours(1), base.plusHours(2), "MATH2020"));
+
+        SessionPage first = sessionDB.findAvailableSessionsPage("comp1010", LocalDateTime.now(), null, null, null, 2);
+        assertEquals(2, first.getSessions().size());
+        assertTrue(first.hasNext());
+        assertTrue(first.getSessions().get(0).getSessionId() < first.getSessions().get(1).getSessionId());
+        assertEquals(4.5, first.getSessions().get(0).getTutor().getGradeForCourse("COMP1010"));
+
+        SessionPage second = sessionDB.findAvailableSessionsPage("comp1010", LocalDateTime.now(), null, null,
+            first.getNextCursor(), 2);
+        assertEquals(1, second.getSessions().size());
+        assertFalse(second.hasNext());
+        assertEquals(base.plusHours(2), second.getSessions().get(0).getStartDateTime());
+    }
+
+    @Test
+    void testFindRankedSessionsPageWalksRankingAcrossTies() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Tutor other = new Tutor("Other Tutor", "other@skolard.ca", "Bio");
+        for (int i = 0; i < 3; i++) {
+            sessionDB.addSession(new Session(-1, tutor, null, start.plusHours(i), start.plusHours(i + 1), "COMP1010"));
+            if (i < 2) {
+                sessionDB.addSession(new Session(-1, other, null, start.plusHours(i), start.plusHours(i + 1), "COMP1010"));
+            }
+        }
+
+        for (SessionSort sort : List.of(SessionSort.COURSE_GRADE, SessionSort.TUTOR_AVERAGE)) {
+            List<Integer> walked = new ArrayList<>();
+            int pages = 0;
+            String cursor = null;
+            do {
+                SessionPage page = sessionDB.findRankedSessionsPage("COMP1010", LocalDateTime.now(), null, sort, cursor, 2);
+                page.getSessions().forEach(s -> walked.add(s.getSessionId()));
+                cursor = page.getNextCursor();
+                pages++;
+            } while (cursor != null);
+
+            // Pages break inside a run of equal ranks, so the ID must carry the keyset there
+            assertEquals(3, pages);
+            assertEquals(sessionDB.findAvailableSessions("COMP1010", LocalDateTime.now(), null, null, sort, 0)
+                .stream().map(Session::getSessionId).toList(), walked);
+        }
+    }
+
+    @Test
+    void testFindRankedSessionsPageCursorOutlivesItsSession() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Tutor other = new Tutor("Other Tutor", "other@skolard.ca", "Bio");
+        Session first = sessionDB.addSession(new Session(-1, tutor, null, start, start.plusHours(1), "COMP1010"));
+        Session second = sessionDB.addSession(new Session(-1, other, null, start, start.plusHours(1), "COMP1010"));
+
+        SessionPage page = sessionDB.findRankedSessionsPage("COMP1010", null, null, SessionSort.COURSE_GRADE, null, 1);
+        assertEquals(List.of(first.getSessionId()), page.getSessions().stream().map(Session::getSessionId).toList());
+
+        // The cursor holds the rank itself, so it still works once its session is gone
+        sessionDB.removeSession(first.getSessionId());
+        SessionPage next = sessionDB.findRankedSessionsPage("COMP1010", null, null, SessionSort.COURSE_GRADE,
+            page.getNextCursor(), 1);
+        assertEquals(List.of(second.getSessionId()), next.getSessions().stream().map(Session::getSessionId).toList());
+        assertFalse(next.hasNext());
+    }
+
+    @Test
+    void testFindRankedSessionsPageRejectsCursorOfOtherRanking() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        sessionDB.addSession(new Session(-1, tutor, null, start, start.plusHours(1), "COMP1010"));
+        sessionDB.addSession(new Session(-1, tutor, null, start, start.plusHours(1), "COMP1010"));
+
+        String cursor = sessionDB.findRankedSessionsPage("COMP1010", null, null, SessionSort.COURSE_GRADE, null, 1)
+            .getNextCursor();
+        assertNotNull(cursor);
+        assertThrows(IllegalArgumentException.class, () ->
+            sessionDB.findRankedSessionsPage("COMP1010", null, null, SessionSort.TUTOR_AVERAGE, cursor, 1));
+        assertThrows(IllegalArgumentException.class, () ->
+            sessionDB.findRankedSessionsPage("COMP1010", null, null, SessionSort.START_TIME, null, 1));
+    }
+
+    @Test
+    void testUserSessionsPageSplitsPastAndUpcoming() {
+        LocalDateTime now = LocalDateTime.now();
+        sessionDB.addSession(new Session(-1, tutor, null, now.minusDays(3), now.minusDays(3).plusHours(1), "COMP1010"));
+        sessionDB.addSession(new Session(-1, tutor, null, now.minusDays(2), now.minusDays(2).plusHours(1), "COMP1010"));
+        sessionDB.addSession(new Session(-1, tutor, null, now.plusDays(1), now.plusDays(1).plusHours(1), "COMP1010"));
+
+        SessionPage past = sessionDB.getTutorSessionsPage("tutor@skolard.ca", SessionTimeframe.PAST, null, 1);
+        assertEquals(now.minusDays(3), past.getSessions().get(0).getStartDateTime());
+        SessionPage pastNext = sessionDB.getTutorSessionsPage("tutor@skolard.ca", SessionTimeframe.PAST,
+            past.getNextCursor(), 1);
+        assertEquals(now.minusDays(2), pastNext.getSessions().get(0).getStartDateTime());
+        assertFalse(pastNext.hasNext());
+
+        SessionPage upcoming = sessionDB.getTutorSessionsPage("tutor@skolard.ca", SessionTimeframe.UPCOMING, null, 0);
+        assertEquals(1, upcoming.getSessions().size());
+        assertTrue(sessionDB.getStudentSessionsPage("student@skolard.ca", SessionTimeframe.PAST, null, 10)
+            .getSessions().isEmpty());
+    }
+
+    @Test
+    void testSessionsPageRejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () ->
+            sessionDB.getTutorSessionsPage("tutor@skolard.ca", SessionTimeframe.PAST, "not-a-cursor", 5));
+    }
+
+    @Test
+    void testBookSessionOnlySucceedsWhileUnbooked() {
+        Session added = sessionDB.addSession(new Session(-1, tutor, null, LocalDateTime.now().plusDays(1),
+            LocalDateTime.now().plusDays(1).plusHours(1), "COMP1010"));
+        Student other = new Student("Other Student", "other@skolard.ca");
+
+        assertTrue(sessionDB.bookSession(added.getSessionId(), student));
+        assertFalse(sessionDB.bookSession(added.getSessionId(), other));
+        assertEquals("student@skolard.ca", sessionDB.getSessionById(added.getSessionId()).getStudent().getEmail());
+        assertFalse(sessionDB.bookSession(9999, student));
+    }
+
+    @Test
+    void testUnbookSessionOnlySucceedsForBookingStudent() {
+        Session added = sessionDB.addSession(new Session(-1, tutor, null, LocalDateTime.now().plusDays(1),
+            LocalDateTime.now().plusDays(1).plusHours(1), "COMP1010"));
+        sessionDB.bookSession(added.getSessionId(), student);
+
+        assertFalse(sessionDB.unbookSession(added.getSessionId(), "other@skolard.ca"));
+        assertTrue(sessionDB.unbookSession(added.getSessionId(), "student@skolard.ca"));
+        assertFalse(sessionDB.unbookSession(added.getSessionId(), "student@skolard.ca"));
+        assertNull(sessionDB.getSessionById(added.getSessionId()).getStudent());
+    }
+
+    @Test
+    void testCoursesLoadForTutorsBeyondOneBatch() throws SQLException {
+        // More tutors than one IN list binds
+        try (Connection many = DriverManager.getConnection("jdbc:sqlite::memory:");
+             Statement stmt = many.createStatement()) {
+            SchemaInitializer.initializeSchema(many);
+            for (int i = 0; i < 620; i++) {
+                stmt.execute("INSERT INTO tutor (email, name, bio, password) VALUES ('t" + i + "@skolard.ca', 'T', 'Bio', 'x')");
+                stmt.execute("INSERT INTO tutorCourse VALUES ('t" + i + "@skolard.ca', 'COMP1010', " + (i % 4 + 1) + ")");
+                stmt.execute("INSERT INTO session (tutorEmail, startTime, endTime, courseID) VALUES ('t" + i +
+                    "@skolard.ca', " + i + ", " + (i + 1) + ", 'COMP1010')");
+            }
+
+            List<Session> sessions = new SessionDB(ConnectionSource.of(many)).getAllSessions();
+
+            assertEquals(620, sessions.size());
+            for (Session session : sessions) {
+                Tutor loaded = session.getTutor();
+                int index = Integer.parseInt(loaded.getEmail().substring(1, loaded.getEmail().indexOf('@')));
+                assertEquals(index % 4 + 1, loaded.getGradeForCourse("COMP1010"), 1e-9, loaded.getEmail());
+            }
+        }
+    }
 }
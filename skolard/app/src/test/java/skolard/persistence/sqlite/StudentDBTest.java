@@ -4,16 +4,21 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import skolard.objects.Student;
+import skolard.persistence.ConnectionSource;
+import skolard.persistence.UnitOfWork;
 import skolard.utils.PasswordUtil;
 
 public class StudentDBTest {
@@ -34,7 +39,7 @@ public class StudentDBTest {
         try (Statement stmt = connection.createStatement()) {
             stmt.execute("DELETE FROM student");
         }
-        studentDB = new StudentDB(connection);
+        studentDB = new StudentDB(ConnectionSource.of(connection));
     }
 
     private void insert(String email, String name, String plainPassword) throws Exception {
@@ -92,4 +97,45 @@ public class StudentDBTest {
     void testAuthenticate_NotFound() {
         assertNull(studentDB.authenticate("ghost@student.ca", "anything"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testGetStudentsByEmails() throws Exception {
+        insert("a@student.ca", "Student A", "p1");
+        insert("b@student.ca", "Student B", "p2");
+        insert("c@student.ca", "Student C", "p3");
+
+        List<Student> students = studentDB.getStudentsByEmails(
+            List.of("a@student.ca", "c@student.ca", "a@student.ca", "ghost@student.ca"));
+
+        assertEquals(2, students.size());
+        assertEquals(List.of("a@student.ca", "c@student.ca"),
+            students.stream().map(Student::getEmail).sorted().toList());
+        assertTrue(studentDB.getStudentsByEmails(List.of()).isEmpty());
+    }
+
+    @Test
+    void testGetStudentsByEmailsSpansBatches() throws Exception {
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            String email = "s" + i + "@student.ca";
+            insert(email, "Student " + i, "p");
+            emails.add(email);
+        }
+
+        assertEquals(1200, studentDB.getStudentsByEmails(emails).size());
+    }
+
+    @Test
+    void testUnitOfWorkSharesStudentUntilWritten() throws Exception {
+        insert("a@student.ca", "Student A", "p1");
+
+        UnitOfWork.run(() -> {
+            Student first = studentDB.getStudentByEmail("a@student.ca");
+            assertSame(first, studentDB.getStudentsByEmails(List.of("a@student.ca")).get(0));
+            assertSame(first, studentDB.getAllStudents().get(0));
+
+            studentDB.updateStudent(new Student("Renamed", "a@student.ca"));
+            assertEquals("Renamed", studentDB.getStudentByEmail("a@student.ca").getName());
+        });
+    }
+}
@@ -6,6 +6,7 @@ import skolard.objects.Student;
 import skolard.objects.SupportTicket;
 import skolard.objects.Tutor;
 import skolard.objects.User;
+import skolard.persistence.ConnectionSource;
 import skolard.persistence.StudentPersistence;
 import skolard.persistence.SupportPersistence;
 import skolard.persistence.TutorPersistence;
@@ -13,6 +14,7 @@ import skolard.persistence.TutorPersistence;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -38,14 +40,15 @@ public class SupportDBTest {
     void init() throws Exception {
         mockStudentDB = mock(StudentPersistence.class);
         mockTutorDB = mock(TutorPersistence.class);
-        supportDB = new SupportDB(connection, mockStudentDB, mockTutorDB);
+        supportDB = new SupportDB(ConnectionSource.of(connection), mockStudentDB, mockTutorDB);
 
         try (Statement stmt = connection.createStatement()) {
             stmt.execute("DELETE FROM support_ticket");
         }
 
-        when(mockStudentDB.getStudentByEmail("student@skolard.ca")).thenReturn((Student) mockStudent);
-        when(mockTutorDB.getTutorByEmail("tutor@skolard.ca")).thenReturn((Tutor) mockTutor);
+        // Requesters are resolved in batches, one lookup per role
+        when(mockStudentDB.getStudentsByEmails(Set.of("student@skolard.ca"))).thenReturn(List.of((Student) mockStudent));
+        when(mockTutorDB.getTutorsByEmails(Set.of("tutor@skolard.ca"))).thenReturn(List.of((Tutor) mockTutor));
     }
 
     @Test
@@ -128,6 +131,19 @@ public class SupportDBTest {
         assertNull(fetched);
     }
 
+    @Test
+    void testRequestersAreLookedUpOncePerRole() {
+        supportDB.addTicket(new SupportTicket(mockStudent, "First", "Desc"));
+        supportDB.addTicket(new SupportTicket(mockStudent, "Second", "Desc"));
+        supportDB.addTicket(new SupportTicket(mockTutor, "Third", "Desc"));
+
+        assertEquals(3, supportDB.getAllTickets().size());
+        verify(mockStudentDB, times(1)).getStudentsByEmails(any());
+        verify(mockTutorDB, times(1)).getTutorsByEmails(any());
+        verify(mockStudentDB, never()).getStudentByEmail(any());
+        verify(mockTutorDB, never()).getTutorByEmail(any());
+    }
+
     @Test
     void testGetTicketsByQuery_roleFallback() throws Exception {
         try (PreparedStatement stmt = connection.prepareStatement("""
@@ -138,8 +154,8 @@ public class SupportDBTest {
             stmt.setString(2, "alien");
             stmt.setString(3, "Bad role");
             stmt.setString(4, "Invalid role test");
-            stmt.setString(5, LocalDateTime.now().toString());
-            stmt.setString(6, null);
+            stmt.setLong(5, EpochTime.toNanos(LocalDateTime.now()));
+            stmt.setNull(6, java.sql.Types.INTEGER);
             stmt.setInt(7, 0);
             stmt.executeUpdate();
         }
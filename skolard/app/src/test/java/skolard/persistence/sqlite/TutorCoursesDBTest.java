@@ -1,5 +1,6 @@
 package skolard.persistence.sqlite;
 
+import skolard.persistence.ConnectionSource;
 import org.junit.jupiter.api.*;
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -24,7 +25,7 @@ public class TutorCoursesDBTest {
         try (Statement stmt = connection.createStatement()) {
             stmt.execute("DELETE FROM tutorCourse");
         }
-        tutorCoursesDB = new TutorCoursesDB(connection);
+        tutorCoursesDB = new TutorCoursesDB(ConnectionSource.of(connection));
     }
 
     @Test
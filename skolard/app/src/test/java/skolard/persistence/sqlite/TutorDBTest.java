@@ -4,7 +4,10 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -14,6 +17,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
 import skolard.objects.Tutor;
+import skolard.persistence.ConnectionSource;
+import skolard.persistence.UnitOfWork;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class TutorDBTest {
@@ -30,9 +35,10 @@ public class TutorDBTest {
     @BeforeEach
     void setUp() throws Exception {
         try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DELETE FROM tutorCourse");
             stmt.execute("DELETE FROM tutor");
         }
-        tutorDB = new TutorDB(connection);
+        tutorDB = new TutorDB(ConnectionSource.of(connection));
     }
 
     // Helper to insert a tutor with password manually
@@ -124,4 +130,67 @@ public class TutorDBTest {
         List<Tutor> tutors = tutorDB.getAllTutors();
         assertEquals(2, tutors.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetAllTutorsLoadsCourses() throws Exception {
+        insertTutorWithPassword("Tutor A", "a@skolard.ca", "Bio A", "p1");
+        insertTutorWithPassword("Tutor B", "b@skolard.ca", "Bio B", "p2");
+        tutorDB.addCourseToTutor(new Tutor("Tutor A", "a@skolard.ca", "Bio A"), "COMP1010", 4.0);
+        tutorDB.addCourseToTutor(new Tutor("Tutor A", "a@skolard.ca", "Bio A"), "MATH1500", 3.5);
+
+        Map<String, Tutor> byEmail = tutorDB.getAllTutors().stream()
+            .collect(Collectors.toMap(Tutor::getEmail, t -> t));
+
+        assertEquals(Map.of("COMP1010", 4.0, "MATH1500", 3.5), byEmail.get("a@skolard.ca").getCoursesWithGrades());
+        assertTrue(byEmail.get("b@skolard.ca").getCoursesWithGrades().isEmpty());
+    }
+
+    @Test
+    void testGetTutorsByEmails() throws Exception {
+        insertTutorWithPassword("Tutor A", "a@skolard.ca", "Bio A", "p1");
+        insertTutorWithPassword("Tutor B", "b@skolard.ca", "Bio B", "p2");
+        insertTutorWithPassword("Tutor C", "c@skolard.ca", "Bio C", "p3");
+        tutorDB.addCourseToTutor(new Tutor("Tutor B", "b@skolard.ca", "Bio B"), "PHYS1050", 4.5);
+
+        List<Tutor> tutors = tutorDB.getTutorsByEmails(List.of("b@skolard.ca", "c@skolard.ca", "b@skolard.ca", "ghost@skolard.ca"));
+
+        Map<String, Tutor> byEmail = tutors.stream().collect(Collectors.toMap(Tutor::getEmail, t -> t));
+        assertEquals(2, tutors.size());
+        assertEquals(Map.of("PHYS1050", 4.5), byEmail.get("b@skolard.ca").getCoursesWithGrades());
+        assertEquals("Tutor C", byEmail.get("c@skolard.ca").getName());
+    }
+
+    @Test
+    void testGetTutorsByEmailsEmptyAndLargeBatches() throws Exception {
+        assertTrue(tutorDB.getTutorsByEmails(List.of()).isEmpty());
+
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            String email = "t" + i + "@skolard.ca";
+            insertTutorWithPassword("Tutor " + i, email, "Bio", "p");
+            emails.add(email);
+        }
+
+        assertEquals(1200, tutorDB.getTutorsByEmails(emails).size());
+    }
+
+    @Test
+    void testUnitOfWorkSharesTutorUntilWritten() throws Exception {
+        insertTutorWithPassword("Tutor A", "a@skolard.ca", "Bio A", "p1");
+
+        UnitOfWork.run(() -> {
+            Tutor first = tutorDB.getTutorByEmail("a@skolard.ca");
+            assertSame(first, tutorDB.getTutorByEmail("a@skolard.ca"));
+            assertSame(first, tutorDB.getTutorsByEmails(List.of("a@skolard.ca")).get(0));
+            assertSame(first, tutorDB.getAllTutors().get(0));
+
+            // A write evicts the tutor so the next lookup sees the change
+            tutorDB.updateTutor(new Tutor("Tutor A", "a@skolard.ca", "New bio"));
+            Tutor reloaded = tutorDB.getTutorByEmail("a@skolard.ca");
+            assertNotSame(first, reloaded);
+            assertEquals("New bio", reloaded.getBio());
+        });
+
+        assertFalse(UnitOfWork.isActive());
+    }
+}
@@ -3,6 +3,7 @@ package skolard.persistence.stub;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import skolard.objects.FAQ;
+import skolard.persistence.RankedFAQ;
 
 import java.util.List;
 
@@ -70,5 +71,40 @@ class FAQStubTest {
         List<FAQ> results = faqStub.searchFAQs("nonexistent");
         assertTrue(results.isEmpty());
     }
-}
 
+    @Test
+    void testSearchFAQsMatchesWordPrefixes() {
+        assertEquals(1, faqStub.searchFAQs("mess").size());
+        assertTrue(faqStub.searchFAQs("essaging").isEmpty());
+    }
+
+    @Test
+    void testSearchFAQsRequiresEveryTerm() {
+        assertEquals(2, faqStub.searchFAQs("view").size());
+        List<FAQ> results = faqStub.searchFAQs("view tutor");
+        assertEquals(1, results.size());
+        assertEquals("How can I contact a tutor?", results.get(0).getQuestion());
+    }
+
+    @Test
+    void testSearchFAQsWithoutTermsReturnsEmptyList() {
+        assertTrue(faqStub.searchFAQs(null).isEmpty());
+        assertTrue(faqStub.searchFAQs(" ?! ").isEmpty());
+    }
+
+    @Test
+    void testRankFAQsPrefersQuestionMatchesAndHonoursLimit() {
+        faqStub.addFAQ(new FAQ("Where do sessions show up?", "Booked sessions appear on your profile."));
+
+        List<RankedFAQ> ranked = faqStub.rankFAQs("session", 10);
+        assertEquals(2, ranked.size());
+        assertTrue(ranked.get(0).getScore() > ranked.get(1).getScore());
+        assertEquals(1, faqStub.rankFAQs("session", 1).size());
+    }
+
+    @Test
+    void testDeletedFAQNoLongerFound() {
+        faqStub.deleteFAQByQuestion("How can I contact a tutor?");
+        assertTrue(faqStub.searchFAQs("tutor").isEmpty());
+    }
+}
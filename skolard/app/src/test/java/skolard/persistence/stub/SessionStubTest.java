@@ -5,9 +5,13 @@ import org.junit.jupiter.api.Test;
 import skolard.objects.Session;
 import skolard.objects.Student;
 import skolard.objects.Tutor;
+import skolard.persistence.SessionPage;
+import skolard.persistence.SessionSort;
+import skolard.persistence.SessionTimeframe;
 import skolard.utils.PasswordUtil;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -116,6 +120,63 @@ class SessionStubTest {
         assertTrue(sessions.isEmpty());
     }
 
+    @Test
+    void testFindAvailableSessionsAppliesPredicates() {
+        LocalDateTime now = LocalDateTime.now();
+        Tutor tutor = new Tutor("Test Tutor", "test@skolard.ca", PasswordUtil.hash("test123"), "Test Subject", Map.of("TEST 2000", 4.0));
+        Tutor self = new Tutor("Self", "self@skolard.ca", PasswordUtil.hash("self123"), "Self", Map.of());
+        Student student = new Student("Test Student", "student@skolard.ca", PasswordUtil.hash("student123"));
+
+        Session open = sessionStub.addSession(new Session(-1, tutor, null, now.plusDays(1), now.plusDays(1).plusHours(1), "TEST 2000"));
+        Session lowerCase = sessionStub.addSession(new Session(-1, tutor, null, now.plusDays(2), now.plusDays(2).plusHours(1), "test 2000"));
+        sessionStub.addSession(new Session(-1, tutor, null, now.minusDays(1), now.minusDays(1).plusHours(1), "TEST 2000"));
+        sessionStub.addSession(new Session(-1, tutor, null, null, null, "TEST 2000"));
+        sessionStub.addSession(new Session(-1, tutor, student, now.plusDays(1), now.plusDays(1).plusHours(1), "TEST 2000"));
+        sessionStub.addSession(new Session(-1, self, null, now.plusDays(1), now.plusDays(1).plusHours(1), "TEST 2000"));
+
+        List<Session> result = sessionStub.findAvailableSessions("TEST 2000", now, null, "SELF@skolard.ca", SessionSort.NONE, 0);
+
+        assertEquals(List.of(open.getSessionId(), lowerCase.getSessionId()),
+                result.stream().map(Session::getSessionId).toList());
+    }
+
+    @Test
+    void testFindAvailableSessionsWithinTimeWindowByStartTime() {
+        LocalDateTime now = LocalDateTime.now();
+        Tutor tutor = new Tutor("Test Tutor", "test@skolard.ca", PasswordUtil.hash("test123"), "Test Subject", Map.of());
+
+        Session later = sessionStub.addSession(new Session(-1, tutor, null, now.plusDays(2), now.plusDays(2).plusHours(1), "TEST 2000"));
+        Session sooner = sessionStub.addSession(new Session(-1, tutor, null, now.plusDays(1), now.plusDays(1).plusHours(1), "TEST 2000"));
+        sessionStub.addSession(new Session(-1, tutor, null, now.plusDays(5), now.plusDays(5).plusHours(1), "TEST 2000"));
+
+        List<Session> result = sessionStub.findAvailableSessions("TEST 2000", now, now.plusDays(3), null, SessionSort.START_TIME, 0);
+
+        assertEquals(List.of(sooner.getSessionId(), later.getSessionId()),
+                result.stream().map(Session::getSessionId).toList());
+    }
+
+    @Test
+    void testFindAvailableSessionsSortsByCourseGradeAndTutorAverage() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Tutor specialist = new Tutor("Specialist", "specialist@skolard.ca", PasswordUtil.hash("spec123"), "Bio",
+                Map.of("TEST 2000", 4.5, "TEST 3000", 3.5));
+        Tutor allRounder = new Tutor("All Rounder", "allrounder@skolard.ca", PasswordUtil.hash("all123"), "Bio",
+                Map.of("TEST 2000", 3.0, "TEST 4000", 5.5));
+
+        Session byAllRounder = sessionStub.addSession(new Session(-1, allRounder, null, start, start.plusHours(1), "TEST 2000"));
+        Session bySpecialist = sessionStub.addSession(new Session(-1, specialist, null, start, start.plusHours(1), "TEST 2000"));
+
+        List<Session> byGrade = sessionStub.findAvailableSessions("TEST 2000", null, null, null, SessionSort.COURSE_GRADE, 0);
+        assertEquals(List.of(bySpecialist.getSessionId(), byAllRounder.getSessionId()),
+                byGrade.stream().map(Session::getSessionId).toList());
+
+        List<Session> byAverage = sessionStub.findAvailableSessions("TEST 2000", null, null, null, SessionSort.TUTOR_AVERAGE, 0);
+        assertEquals(List.of(byAllRounder.getSessionId(), bySpecialist.getSessionId()),
+                byAverage.stream().map(Session::getSessionId).toList());
+
+        assertEquals(1, sessionStub.findAvailableSessions("TEST 2000", null, null, null, SessionSort.NONE, 1).size());
+    }
+
     @Test
     void testHydrateTutorSessions() {
         Tutor tutor = new Tutor("Amrit Singh", "amrit@skolard.ca", PasswordUtil.hash("amrit123"), "CS & Math Tutor", Map.of());
@@ -131,6 +192,76 @@ class SessionStubTest {
         assertNotNull(student.getPastSessions());
         assertNotNull(student.getUpcomingSessions());
     }
-}
 
+    @Test
+    void testStreamAllSessionsMatchesGetAllSessions() {
+        assertEquals(sessionStub.getAllSessions().size(), sessionStub.streamAllSessions(0).count());
+    }
+
+    @Test
+    void testTutorSessionsPageFollowsCursor() {
+        LocalDateTime base = LocalDateTime.now().plusDays(10);
+        Tutor tutor = new Tutor("Page Tutor", "page@skolard.ca", "Bio");
+        for (int i = 0; i < 3; i++) {
+            sessionStub.addSession(new Session(-1, tutor, null, base.plusHours(i), base.plusHours(i + 1), "PAGE 1000"));
+        }
+
+        SessionPage first = sessionStub.getTutorSessionsPage("page@skolard.ca", SessionTimeframe.UPCOMING, null, 2);
+        assertEquals(2, first.getSessions().size());
+        assertTrue(first.hasNext());
+
+        SessionPage second = sessionStub.getTutorSessionsPage("page@skolard.ca", SessionTimeframe.UPCOMING,
+                first.getNextCursor(), 2);
+        assertEquals(List.of(base.plusHours(2)), second.getSessions().stream().map(Session::getStartDateTime).toList());
+        assertFalse(second.hasNext());
+        assertTrue(sessionStub.getTutorSessionsPage("page@skolard.ca", SessionTimeframe.PAST, null, 2)
+                .getSessions().isEmpty());
+    }
+
+    @Test
+    void testFindAvailableSessionsPageMatchesTimeOrderedSearch() {
+        List<Session> all = sessionStub.findAvailableSessions("COMP 1010", null, null, null, SessionSort.START_TIME, 0);
+        SessionPage page = sessionStub.findAvailableSessionsPage("COMP 1010", null, null, null, null, 0);
+        assertEquals(all, page.getSessions());
+        assertFalse(page.hasNext());
+    }
 
+    @Test
+    void testFindRankedSessionsPageFollowsCursor() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Tutor specialist = new Tutor("Specialist", "specialist@skolard.ca", PasswordUtil.hash("spec123"), "Bio",
+                Map.of("TEST 2000", 4.5, "TEST 3000", 3.5));
+        Tutor allRounder = new Tutor("All Rounder", "allrounder@skolard.ca", PasswordUtil.hash("all123"), "Bio",
+                Map.of("TEST 2000", 3.0, "TEST 4000", 5.5));
+        for (int i = 0; i < 2; i++) {
+            sessionStub.addSession(new Session(-1, allRounder, null, start, start.plusHours(1), "TEST 2000"));
+            sessionStub.addSession(new Session(-1, specialist, null, start, start.plusHours(1), "TEST 2000"));
+        }
+
+        SessionPage first = sessionStub.findRankedSessionsPage("TEST 2000", null, null, SessionSort.COURSE_GRADE, null, 3);
+        assertTrue(first.hasNext());
+        SessionPage second = sessionStub.findRankedSessionsPage("TEST 2000", null, null, SessionSort.COURSE_GRADE,
+                first.getNextCursor(), 3);
+        assertFalse(second.hasNext());
+
+        List<Session> walked = new ArrayList<>(first.getSessions());
+        walked.addAll(second.getSessions());
+        assertEquals(sessionStub.findAvailableSessions("TEST 2000", null, null, null, SessionSort.COURSE_GRADE, 0), walked);
+        assertThrows(IllegalArgumentException.class, () -> sessionStub.findRankedSessionsPage("TEST 2000", null, null,
+                SessionSort.TUTOR_AVERAGE, first.getNextCursor(), 3));
+    }
+
+    @Test
+    void testConditionalBookAndUnbook() {
+        Tutor tutor = new Tutor("Book Tutor", "book@skolard.ca", "Bio");
+        Student student = new Student("Book Student", "bookstudent@skolard.ca");
+        Session added = sessionStub.addSession(new Session(-1, tutor, null, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(1).plusHours(1), "BOOK 1000"));
+
+        assertTrue(sessionStub.bookSession(added.getSessionId(), student));
+        assertFalse(sessionStub.bookSession(added.getSessionId(), new Student("Late", "late@skolard.ca")));
+        assertFalse(sessionStub.unbookSession(added.getSessionId(), "late@skolard.ca"));
+        assertTrue(sessionStub.unbookSession(added.getSessionId(), "bookstudent@skolard.ca"));
+        assertFalse(sessionStub.getSessionById(added.getSessionId()).isBooked());
+    }
+}
@@ -46,6 +46,15 @@ class StudentStubTest {
         assertNull(student);
     }
 
+    @Test
+    void testGetStudentsByEmails() {
+        List<Student> students = studentStub.getStudentsByEmails(
+            List.of("yabm@myumanitoba.ca", "wickj@myumanitoba.ca", "nonexistent@example.com"));
+
+        assertEquals(2, students.size());
+        assertTrue(studentStub.getStudentsByEmails(List.of()).isEmpty());
+    }
+
     @Test
     void testDeleteStudentByEmail() {
         studentStub.deleteStudentByEmail("yabm@myumanitoba.ca");
@@ -47,6 +47,19 @@ class TutorStubTest {
         assertNull(tutor);
     }
 
+    @Test
+    void testGetTutorsByEmails() {
+        Tutor other = new Tutor("Alice Smith", "alice@example.com", PasswordUtil.hash("abc123"), "Math expert", new HashMap<>());
+        tutorStub.addTutor(other);
+
+        List<Tutor> tutors = tutorStub.getTutorsByEmails(
+            List.of("alice@example.com", "mattyab@myumanitoba.ca", "alice@example.com", "nonexistent@example.com"));
+
+        assertEquals(2, tutors.size());
+        assertTrue(tutors.contains(other));
+        assertTrue(tutorStub.getTutorsByEmails(List.of()).isEmpty());
+    }
+
     @Test
     void testDeleteTutorByEmail() {
         tutorStub.deleteTutorByEmail("mattyab@myumanitoba.ca");
@@ -0,0 +1,106 @@
+package skolard.presentation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import javax.swing.JButton;
+import javax.swing.SwingUtilities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UiTaskTest {
+
+    @Test
+    public void testBusyComponentDisabledUntilResultDelivered() throws Exception {
+        JButton button = new JButton("Load");
+        CompletableFuture<String> future = new CompletableFuture<>();
+        List<String> delivered = new ArrayList<>();
+        AtomicReference<UiTask<String>> task = new AtomicReference<>();
+
+        SwingUtilities.invokeAndWait(() ->
+            task.set(UiTask.start(future, delivered::add, error -> fail(error), button)));
+        assertFalse(button.isEnabled());
+        assertFalse(task.get().isDone());
+
+        // Completed off the event thread; the result is handed back to it
+        future.complete("rows");
+        SwingUtilities.invokeAndWait(() -> {});
+
+        assertEquals(List.of("rows"), delivered);
+        assertTrue(button.isEnabled());
+        assertTrue(task.get().isDone());
+    }
+
+    @Test
+    public void testCallbacksRunOnEventThread() throws Exception {
+        AtomicReference<Boolean> onEventThread = new AtomicReference<>();
+        CompletableFuture<String> future = new CompletableFuture<>();
+
+        SwingUtilities.invokeAndWait(() -> UiTask.start(future,
+            result -> onEventThread.set(SwingUtilities.isEventDispatchThread()), error -> fail(error)));
+        future.complete("done");
+        SwingUtilities.invokeAndWait(() -> {});
+
+        assertTrue(onEventThread.get());
+    }
+
+    @Test
+    public void testCancelledTaskNeverCallsBack() throws Exception {
+        JButton button = new JButton("Search");
+        CompletableFuture<String> future = new CompletableFuture<>();
+        List<Object> delivered = new ArrayList<>();
+
+        SwingUtilities.invokeAndWait(() -> {
+            UiTask<String> task = UiTask.start(future, delivered::add, delivered::add, button);
+            assertTrue(task.cancel());
+            assertFalse(task.cancel());
+        });
+        future.complete("stale");
+        SwingUtilities.invokeAndWait(() -> {});
+
+        assertTrue(delivered.isEmpty());
+        assertTrue(button.isEnabled());
+        assertTrue(future.isCancelled());
+    }
+
+    @Test
+    public void testDisabledComponentStaysDisabled() throws Exception {
+        JButton button = new JButton("More");
+        button.setEnabled(false);
+
+        SwingUtilities.invokeAndWait(() ->
+            UiTask.start(CompletableFuture.completedFuture("page"), result -> {}, error -> fail(error), button));
+
+        assertFalse(button.isEnabled());
+    }
+
+    @Test
+    @Timeout(5)
+    public void testFailureIsUnwrapped() throws Exception {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CompletableFuture<String> future = CompletableFuture.supplyAsync(() -> {
+            throw new IllegalArgumentException("Session not found");
+        });
+
+        SwingUtilities.invokeAndWait(() ->
+            UiTask.start(future.thenApply(s -> s), result -> fail("unexpected result"), failure::set));
+        while (failure.get() == null) {
+            SwingUtilities.invokeAndWait(() -> {});
+        }
+
+        assertInstanceOf(IllegalArgumentException.class, failure.get());
+        assertFalse(failure.get() instanceof CompletionException);
+        assertEquals("Session not found", failure.get().getMessage());
+    }
+
+    @Test
+    public void testCancelNullTaskIsSafe() {
+        assertDoesNotThrow(() -> UiTask.cancel(null));
+    }
+}